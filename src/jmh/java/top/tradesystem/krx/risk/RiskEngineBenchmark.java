@@ -0,0 +1,142 @@
+package top.tradesystem.krx.risk;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import top.tradesystem.krx.config.KrxJournalProperties;
+import top.tradesystem.krx.config.KrxRiskProperties;
+import top.tradesystem.krx.journal.EventJournals;
+import top.tradesystem.krx.journal.JournalOrderEventSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 전 체크 latency 측정. ./gradlew jmh
+ *
+ * <p>예산: 단일 스레드 p99 &lt; 1µs, 4 스레드 경합 p99 &lt; 5µs, gc.alloc.rate.norm ≈ 0 B/op.
+ * SampleTime 결과의 p0.99 / p0.999 와 gc profiler 의 alloc.rate.norm 으로 확인한다.
+ * sink=journal 은 운영 기본값 (order-events: true, fsync BATCH) 과 같은 "orders" journal sink 를 붙인 경우:
+ * 호출 스레드는 ring buffer publish 만 하므로 noop 과 같은 예산 안이어야 하고, 끝날 때 버린 이벤트 수를 로그로 남긴다.
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xms1g", "-Xmx1g"})
+public class RiskEngineBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskEngineBenchmark.class);
+
+    static final int SYMBOLS = 2_700;
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+        @Param({"noop", "journal"})
+        String sink;
+
+        RiskEngine engine;
+        String[] codes;
+        long[] prices;
+
+        Path journalDir;
+        EventJournals journals;
+        JournalOrderEventSink journalSink;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            KrxRiskProperties props = new KrxRiskProperties(
+                    8192, 30, 1_000_000L, 100_000_000L, 300_000_000L, Long.MAX_VALUE / 4,
+                    20_000_000L, 2_000L, 256, List.of(), null, null);
+            OrderEventSink events = OrderEventSink.NOOP;
+            if ("journal".equals(sink)) {
+                journalDir = Files.createTempDirectory("risk-bench-journal");
+                KrxJournalProperties jp = new KrxJournalProperties(
+                        journalDir.toString(), 64, "BATCH", 50, 1024, false, true, 1 << 16);
+                journals = new EventJournals(jp);
+                journals.start();
+                journalSink = new JournalOrderEventSink(journals, jp);
+                journalSink.start();
+                events = journalSink;
+            }
+            engine = new RiskEngine(props, events);
+
+            codes = new String[SYMBOLS];
+            prices = new long[SYMBOLS];
+            List<String> all = new ArrayList<>(SYMBOLS);
+            Map<String, Long> close = new HashMap<>();
+            for (int i = 0; i < SYMBOLS; i++) {
+                codes[i] = String.format("%06d", 100 + i * 7);
+                // 1,000 ~ 900,000 원 사이로 흩어 호가단위 구간을 모두 지나게
+                long p = 1_000L + (i * 331L) % 900_000L;
+                p -= p % PriceBand.tickSize(p);
+                prices[i] = p;
+                all.add(codes[i]);
+                close.put(codes[i], p);
+            }
+            engine.installReference("20260116", all, close);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (journalSink == null) return;
+            journalSink.stop();
+            log.info("orders journal: lastSeq={}, dropped={}",
+                    journals.journal(JournalOrderEventSink.JOURNAL).lastSeq(), journalSink.dropped());
+            journals.stop();
+            try (var files = Files.walk(journalDir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Account {
+        String id;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setup(Engine e) {
+            id = "BENCH-" + Thread.currentThread().threadId();
+            e.engine.register(id);
+        }
+    }
+
+    /** 정상 매수 통과 + 예약 해제 (상태가 쌓이지 않게) */
+    @Benchmark
+    public RiskVerdict buyAccepted(Engine e, Account a) {
+        int i = a.cursor = (a.cursor + 1) % SYMBOLS;
+        RiskVerdict v = e.engine.check(a.id, e.codes[i], OrderSide.BUY, 10, e.prices[i]);
+        if (v == RiskVerdict.ACCEPTED) e.engine.release(a.id, e.codes[i], OrderSide.BUY, 10, e.prices[i]);
+        return v;
+    }
+
+    /** 가격제한폭 밖 → 예약 전에 거부 */
+    @Benchmark
+    public RiskVerdict outOfBand(Engine e, Account a) {
+        int i = a.cursor = (a.cursor + 1) % SYMBOLS;
+        return e.engine.check(a.id, e.codes[i], OrderSide.BUY, 10, e.prices[i] * 2);
+    }
+
+    /** 보유 없는 매도 → CAS 한 번 읽고 거부 */
+    @Benchmark
+    public RiskVerdict sellWithoutPosition(Engine e, Account a) {
+        int i = a.cursor = (a.cursor + 1) % SYMBOLS;
+        return e.engine.check(a.id, e.codes[i], OrderSide.SELL, 10, e.prices[i]);
+    }
+
+    /** 4 스레드가 각자 계좌로 동시에 체크 (LongAdder 통계 / 공유 map 경합) */
+    @Benchmark
+    @Threads(4)
+    public void buyAcceptedContended(Engine e, Account a, Blackhole bh) {
+        bh.consume(buyAccepted(e, a));
+    }
+}
@@ -0,0 +1,195 @@
+package top.tradesystem.krx.adjust;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterCacheBus;
+import top.tradesystem.krx.dto.KrxAdjFactorRow;
+import top.tradesystem.krx.dto.KrxAdjustedPriceRow;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxPriceGapRow;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxAdjustmentMapper;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxTickerMasterMapper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 수정주가 서비스.
+ * - 수정계수는 krx_adj_factor 에 저장
+ * - 종목별 수정 시계열은 메모리 LRU 캐시에 두고, 일자 sync 때마다 증분 갱신
+ *   (새 이벤트가 생긴 종목만 버리고, 나머지는 꼬리에 하루 append)
+ */
+@Service
+public class AdjustedPriceService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdjustedPriceService.class);
+    private static final int MAX_CACHED_SYMBOLS = 4096;
+    private static final int REBUILD_CONCURRENCY = 8;
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int GAP_LOOKBACK_DAYS = 400; // 이보다 오래 정지됐다 재개한 종목은 rebuild 가 잡음
+
+    private final KrxAdjustmentMapper mapper;
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxTickerMasterMapper tickerMasterMapper;
+    private final TransactionTemplate tx;
+
+    private final Map<String, AdjustedSeries> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AdjustedSeries> eldest) {
+                    return size() > MAX_CACHED_SYMBOLS;
+                }
+            });
+
+    public AdjustedPriceService(
+            KrxAdjustmentMapper mapper,
+            KrxDailyPriceMapper priceMapper,
+            KrxTickerMasterMapper tickerMasterMapper,
+            PlatformTransactionManager txManager
+    ) {
+        this.mapper = mapper;
+        this.priceMapper = priceMapper;
+        this.tickerMasterMapper = tickerMasterMapper;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public Mono<List<KrxAdjustedPriceRow>> series(String code, String from, String to) {
+        return Mono.fromCallable(() -> getOrBuild(code).slice(from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxAdjFactorRow>> factors(String code) {
+        return Mono.fromCallable(() -> mapper.findFactorsByCode(code))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private AdjustedSeries getOrBuild(String code) {
+        AdjustedSeries s = cache.get(code);
+        if (s != null) return s;
+
+        AdjustedSeries built = AdjustedSeries.build(
+                code,
+                priceMapper.findByCodeBetween(code, null, null),
+                mapper.findFactorsByCode(code)
+        );
+        cache.put(code, built);
+        return built;
+    }
+
+    // =========================
+    // 2) 전체 재계산 (이력 스캔)
+    //    - code 가 없으면 krx_ticker_master 전 종목
+    // =========================
+    public Mono<RebuildResult> rebuild(String code) {
+        Mono<List<String>> codes = (code == null || code.isBlank())
+                ? Mono.fromCallable(tickerMasterMapper::findAllCodes).subscribeOn(Schedulers.boundedElastic())
+                : Mono.just(List.of(code));
+
+        long t0 = System.nanoTime();
+        return codes.flatMapMany(Flux::fromIterable)
+                .flatMap(c -> Mono.fromCallable(() -> rebuildCode(c))
+                        .subscribeOn(Schedulers.boundedElastic()), REBUILD_CONCURRENCY)
+                .collectList()
+                .map(counts -> new RebuildResult(
+                        counts.size(),
+                        counts.stream().mapToInt(Integer::intValue).sum(),
+                        (System.nanoTime() - t0) / 1_000_000L
+                ));
+    }
+
+    private int rebuildCode(String code) {
+        List<KrxAdjFactorRow> events = mapper.findHistoryGaps(code).stream()
+                .map(AdjustmentDetector::detect)
+                .filter(Objects::nonNull)
+                .toList();
+
+        tx.executeWithoutResult(status -> {
+            mapper.deleteFactorsByCode(code);
+            if (!events.isEmpty()) mapper.upsertFactors(events);
+        });
+        cache.remove(code);
+        return events.size();
+    }
+
+    // =========================
+    // 3) 증분 갱신: 일자 sync 직후
+    // =========================
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        refreshAsync(e, true);
+    }
+
+    /** 다른 노드에서 저장된 일자: 계수는 그 노드가 이미 저장했으므로 캐시만 맞춤 */
+    @EventListener
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        KrxDailyPriceSyncedEvent synced = ClusterCacheBus.remoteDailyPrice(e);
+        if (synced != null) refreshAsync(synced, false);
+    }
+
+    private void refreshAsync(KrxDailyPriceSyncedEvent e, boolean persist) {
+        if (e.saved() <= 0) return;
+        Mono.fromCallable(() -> refreshDay(e.basDd(), e.market(), persist))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        n -> log.debug("adjustment refresh {} {}: {} events", e.basDd(), e.market(), n),
+                        err -> log.warn("adjustment refresh failed: {} {}", e.basDd(), e.market(), err)
+                );
+    }
+
+    int refreshDay(String basDd, String market, boolean persist) {
+        String lookbackFrom = LocalDate.parse(basDd, YYYYMMDD).minusDays(GAP_LOOKBACK_DAYS).format(YYYYMMDD);
+        List<KrxPriceGapRow> gaps = mapper.findDayGaps(basDd, market, lookbackFrom);
+        List<KrxAdjFactorRow> events = gaps.stream()
+                .map(AdjustmentDetector::detect)
+                .filter(Objects::nonNull)
+                .toList();
+        if (persist && !events.isEmpty()) mapper.upsertFactors(events);
+
+        // 이벤트가 난 종목: 과거 전체 계수가 바뀌므로 캐시 폐기 → 다음 조회 때 재생성
+        Set<String> changed = new HashSet<>();
+        for (KrxAdjFactorRow f : events) {
+            changed.add(f.isuCd());
+            cache.remove(f.isuCd());
+        }
+
+        // 나머지 캐시된 종목: 당일 row 를 꼬리에 붙임
+        Map<String, KrxDailyPriceRow> today = new HashMap<>();
+        for (KrxDailyPriceRow r : priceMapper.findByBasDdAndMarket(basDd, market)) today.put(r.isuCd(), r);
+
+        for (Map.Entry<String, KrxDailyPriceRow> t : today.entrySet()) {
+            if (changed.contains(t.getKey())) continue;
+            cache.computeIfPresent(t.getKey(), (k, s) -> {
+                String last = s.lastDate();
+                if (last == null || basDd.compareTo(last) > 0) return s.append(t.getValue());
+                return null; // 과거 일자 재적재 → 해당 종목 캐시 폐기
+            });
+        }
+        return events.size();
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record RebuildResult(int symbols, int events, long elapsedMs) {}
+}
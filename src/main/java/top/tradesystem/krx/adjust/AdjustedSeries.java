@@ -0,0 +1,125 @@
+package top.tradesystem.krx.adjust;
+
+import top.tradesystem.krx.dto.KrxAdjFactorRow;
+import top.tradesystem.krx.dto.KrxAdjustedPriceRow;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 종목 하나의 수정주가 시계열 (불변, primitive 배열).
+ * - 값이 없으면 NaN / -1
+ * - 새 거래일은 append() 로 꼬리에만 붙인다 (최신일의 누적계수는 항상 1)
+ */
+final class AdjustedSeries {
+
+    final String code;
+    final String[] dates;
+    final double[] open;
+    final double[] high;
+    final double[] low;
+    final double[] close;
+    final long[] volume;
+    final double[] factor;
+
+    private AdjustedSeries(String code, String[] dates, double[] open, double[] high, double[] low,
+                           double[] close, long[] volume, double[] factor) {
+        this.code = code;
+        this.dates = dates;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.factor = factor;
+    }
+
+    /** raw: bas_dd 오름차순, factors: ex_dd 오름차순 */
+    static AdjustedSeries build(String code, List<KrxDailyPriceRow> raw, List<KrxAdjFactorRow> factors) {
+        int n = raw.size();
+        String[] dates = new String[n];
+        double[] o = new double[n], h = new double[n], l = new double[n], c = new double[n], f = new double[n];
+        long[] v = new long[n];
+
+        // 뒤에서부터 훑으며 "해당 일자 이후 ex_dd" 계수를 누적
+        double cum = 1.0;
+        int j = factors.size() - 1;
+        for (int i = n - 1; i >= 0; i--) {
+            KrxDailyPriceRow r = raw.get(i);
+            while (j >= 0 && factors.get(j).exDd().compareTo(r.basDd()) > 0) {
+                cum *= factors.get(j).factor().doubleValue();
+                j--;
+            }
+            dates[i] = r.basDd();
+            f[i] = cum;
+            o[i] = adj(r.tddOpnprc(), cum);
+            h[i] = adj(r.tddHgprc(), cum);
+            l[i] = adj(r.tddLwprc(), cum);
+            c[i] = adj(r.tddClsprc(), cum);
+            v[i] = r.accTrdvol() == null ? -1 : Math.round(r.accTrdvol() / cum);
+        }
+        return new AdjustedSeries(code, dates, o, h, l, c, v, f);
+    }
+
+    String lastDate() {
+        return dates.length == 0 ? null : dates[dates.length - 1];
+    }
+
+    AdjustedSeries append(KrxDailyPriceRow r) {
+        int n = dates.length;
+        String[] d = Arrays.copyOf(dates, n + 1);
+        double[] o = Arrays.copyOf(open, n + 1), h = Arrays.copyOf(high, n + 1), l = Arrays.copyOf(low, n + 1);
+        double[] c = Arrays.copyOf(close, n + 1), f = Arrays.copyOf(factor, n + 1);
+        long[] v = Arrays.copyOf(volume, n + 1);
+
+        d[n] = r.basDd();
+        o[n] = adj(r.tddOpnprc(), 1.0);
+        h[n] = adj(r.tddHgprc(), 1.0);
+        l[n] = adj(r.tddLwprc(), 1.0);
+        c[n] = adj(r.tddClsprc(), 1.0);
+        v[n] = r.accTrdvol() == null ? -1 : r.accTrdvol();
+        f[n] = 1.0;
+        return new AdjustedSeries(code, d, o, h, l, c, v, f);
+    }
+
+    List<KrxAdjustedPriceRow> slice(String from, String to) {
+        int start = from == null ? 0 : lowerBound(from);
+        int end = to == null ? dates.length : upperBound(to);
+        List<KrxAdjustedPriceRow> out = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            out.add(new KrxAdjustedPriceRow(
+                    dates[i], code, box(open[i]), box(high[i]), box(low[i]), box(close[i]),
+                    volume[i] < 0 ? null : volume[i], factor[i]));
+        }
+        return out;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0, hi = dates.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates[mid].compareTo(key) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private int upperBound(String key) {
+        int lo = 0, hi = dates.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates[mid].compareTo(key) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static double adj(BigDecimal v, double cum) {
+        return v == null ? Double.NaN : v.doubleValue() * cum;
+    }
+
+    private static Double box(double v) {
+        return Double.isNaN(v) ? null : v;
+    }
+}
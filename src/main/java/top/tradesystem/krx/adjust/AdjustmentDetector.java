@@ -0,0 +1,62 @@
+package top.tradesystem.krx.adjust;
+
+import top.tradesystem.krx.dto.KrxAdjFactorRow;
+import top.tradesystem.krx.dto.KrxPriceGapRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 수정계수 감지.
+ *
+ * KRX 대비(CMPPREVDD_PRC)는 "기준가" 대비 값이다. 평소 기준가 = 직전 종가지만
+ * 권리락/분할/병합일에는 KRX 가 기준가를 조정하므로
+ * <pre>
+ *   기준가 = 당일 종가 - 대비
+ *   factor = 기준가 / 직전 종가   (≠ 1 이면 이벤트)
+ * </pre>
+ * 상장주식수 변화는 이벤트 종류 분류에만 사용한다
+ * (CB 전환 등 주식수만 바뀌고 가격 조정이 없는 경우는 이벤트가 아님).
+ */
+final class AdjustmentDetector {
+
+    // 기준가는 호가단위로 반올림되므로 약간의 오차는 무시
+    private static final double TOLERANCE = 0.001;
+    private static final double SHARE_TOLERANCE = 0.02;
+
+    private AdjustmentDetector() {}
+
+    static KrxAdjFactorRow detect(KrxPriceGapRow g) {
+        if (g == null || g.prevClose() == null || g.close() == null || g.cmpprevddPrc() == null) return null;
+        if (g.prevClose().signum() <= 0 || g.close().signum() <= 0) return null;
+
+        BigDecimal base = g.close().subtract(g.cmpprevddPrc());
+        if (base.signum() <= 0) return null;
+
+        BigDecimal factor = base.divide(g.prevClose(), 12, RoundingMode.HALF_UP);
+        double f = factor.doubleValue();
+        if (Math.abs(f - 1.0) < TOLERANCE) return null;
+
+        return new KrxAdjFactorRow(
+                g.isuCd(),
+                g.basDd(),
+                factor,
+                g.prevClose(),
+                base,
+                g.prevShrs(),
+                g.shrs(),
+                classify(f, g.prevShrs(), g.shrs())
+        );
+    }
+
+    private static String classify(double factor, Long prevShrs, Long shrs) {
+        if (prevShrs == null || shrs == null || prevShrs <= 0 || shrs <= 0) return "PRICE_BASE";
+
+        double shareRatio = (double) prevShrs / shrs; // 분할이면 < 1
+        if (Math.abs(shareRatio - 1.0) < 1e-9) return "PRICE_BASE";          // 주식수 변화 없이 기준가만 조정
+        if (Math.abs(shareRatio - factor) / factor < SHARE_TOLERANCE) {
+            return factor < 1.0 ? "SPLIT" : "REVERSE_SPLIT";                    // 가격/주식수가 정확히 반비례
+        }
+        return factor < 1.0 ? "RIGHTS" : "MERGER";                             // 유/무상증자, 감자/합병 등
+    }
+}
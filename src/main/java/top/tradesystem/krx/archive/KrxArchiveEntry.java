@@ -0,0 +1,26 @@
+package top.tradesystem.krx.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 원본 응답 보관 인덱스 1건.
+ * - endpoint: KRX path (예: stk_bydd_trd)
+ * - file: archive 루트 기준 상대 경로
+ */
+public record KrxArchiveEntry(
+        String endpoint,
+        String basDd,
+        String market,
+        String file,
+        long rawBytes,
+        long storedBytes,
+        LocalDateTime archivedAt
+) {
+    String key() {
+        return key(endpoint, basDd, market);
+    }
+
+    static String key(String endpoint, String basDd, String market) {
+        return endpoint + "|" + basDd + "|" + market;
+    }
+}
@@ -0,0 +1,140 @@
+package top.tradesystem.krx.archive;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.client.KrxOpenApiClient;
+import top.tradesystem.krx.config.KrxArchiveProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.service.KrxDailyTradeService;
+import top.tradesystem.krx.service.KrxIndexDailyPriceService;
+import top.tradesystem.krx.service.KrxTickerMasterSyncService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * archive 에 보관된 원본 응답으로 parse → row → upsert 를 다시 돌린다 (KRX 호출 없음).
+ * - 파일 읽기/압축 해제/파싱은 CPU 코어 수만큼 병렬
+ * - fromApiMap 버그 수정이나 컬럼 추가 후 과거 데이터를 재적재할 때 사용
+ */
+@Service
+public class KrxArchiveReplayService {
+
+    private final KrxRawArchive archive;
+    private final KrxOpenApiClient client;
+    private final KrxDailyPriceService dailyPriceService;
+    private final KrxDailyTradeService dailyTradeService;
+    private final KrxTickerMasterSyncService tickerMasterSyncService;
+    private final KrxIndexDailyPriceService indexDailyPriceService;
+    private final KrxArchiveProperties props;
+
+    public KrxArchiveReplayService(
+            KrxRawArchive archive,
+            KrxOpenApiClient client,
+            KrxDailyPriceService dailyPriceService,
+            KrxDailyTradeService dailyTradeService,
+            KrxTickerMasterSyncService tickerMasterSyncService,
+            KrxIndexDailyPriceService indexDailyPriceService,
+            KrxArchiveProperties props
+    ) {
+        this.archive = archive;
+        this.client = client;
+        this.dailyPriceService = dailyPriceService;
+        this.dailyTradeService = dailyTradeService;
+        this.tickerMasterSyncService = tickerMasterSyncService;
+        this.indexDailyPriceService = indexDailyPriceService;
+        this.props = props;
+    }
+
+    public List<KrxArchiveEntry> index(String target, String from, String to, String market) {
+        return archive.find(endpoints(target), from, to, market);
+    }
+
+    public Mono<ReplayResult> replay(String target, String from, String to, String market) {
+        String t = target.toUpperCase(Locale.ROOT);
+        int parallelism = props.replayParallelism();
+        long t0 = System.nanoTime();
+
+        // 디렉터리 탐색 / gzip 읽기는 blocking 이므로 boundedElastic 에서
+        return Mono.fromCallable(() -> archive.find(endpoints(t), from, to, market))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(Flux::fromIterable)
+                .parallel(parallelism)
+                .runOn(Schedulers.boundedElastic())
+                .map(e -> new Parsed(e, client.parseArchived(e, readQuietly(e))))
+                .sequential()
+                .flatMap(p -> save(t, p), parallelism)
+                .reduceWith(() -> new long[3], (acc, saved) -> {
+                    acc[0]++;
+                    acc[1] += saved[0];
+                    acc[2] += saved[1];
+                    return acc;
+                })
+                .map(acc -> new ReplayResult(t, from, to, market, (int) acc[0], acc[1], acc[2],
+                        (System.nanoTime() - t0) / 1_000_000L));
+    }
+
+    // 반환: {parsedRows, saved}
+    private Mono<long[]> save(String target, Parsed p) {
+        KrxArchiveEntry e = p.entry();
+        long parsed = p.rows().size();
+        if ("INDEX".equals(target)) {
+            return indexDailyPriceService.saveApiRows(e.basDd(), KrxIndexFamily.valueOf(e.market()), p.rows())
+                    .map(r -> new long[]{parsed, r.saved()});
+        }
+        Market market = Market.valueOf(e.market());
+
+        return switch (target) {
+            case "PRICE" -> dailyPriceService.saveApiRows(e.basDd(), market, p.rows())
+                    .map(r -> new long[]{parsed, r.saved()});
+            case "TRADE" -> dailyTradeService.saveApiRows(e.basDd(), market,
+                            p.rows().stream().map(KrxDailyPriceRow::toObjectMap).toList())
+                    .map(r -> new long[]{parsed, r.saved()});
+            case "TICKER" -> tickerMasterSyncService.saveApiRows(p.rows())
+                    .map(r -> new long[]{parsed, r.affected()});
+            default -> Mono.error(new IllegalArgumentException("target must be PRICE|TRADE|TICKER|INDEX"));
+        };
+    }
+
+    private byte[] readQuietly(KrxArchiveEntry e) {
+        try {
+            return archive.read(e);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("archive read failed: " + e.file(), ex);
+        }
+    }
+
+    // 일별 시세/매매는 같은 *_bydd_trd 응답을 공유
+    private static List<String> endpoints(String target) {
+        return switch (target.toUpperCase(Locale.ROOT)) {
+            case "PRICE", "TRADE" -> List.of("stk_bydd_trd", "ksq_bydd_trd");
+            case "TICKER" -> List.of("stk_isu_base_info", "ksq_isu_base_info");
+            case "INDEX" -> List.of("krx_dd_trd", "kospi_dd_trd", "kosdaq_dd_trd");
+            default -> throw new IllegalArgumentException("target must be PRICE|TRADE|TICKER|INDEX");
+        };
+    }
+
+    private record Parsed(KrxArchiveEntry entry, List<Map<String, String>> rows) {}
+
+    // =========================
+    // DTO
+    // =========================
+    public record ReplayResult(
+            String target,
+            String from,
+            String to,
+            String market,
+            int files,
+            long parsedRows,
+            long saved,
+            long elapsedMs
+    ) {}
+}
@@ -0,0 +1,224 @@
+package top.tradesystem.krx.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxArchiveProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * KRX 원본 응답(byte 그대로) 로컬 보관소.
+ *
+ * <pre>
+ * {dir}/{endpoint}/{yyyy}/{basDd}_{market}.json.gz
+ * {dir}/index.tsv   (endpoint, basDd, market, file, rawBytes, storedBytes, archivedAt)
+ * </pre>
+ *
+ * 같은 키로 다시 받으면 파일을 덮어쓰고 인덱스는 마지막 줄이 이긴다.
+ */
+@Component
+public class KrxRawArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(KrxRawArchive.class);
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final Pattern BAS_DD = Pattern.compile("\\d{8}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final KrxArchiveProperties props;
+    private final Path root;
+    private final Path indexPath;
+    private final ConcurrentSkipListMap<String, KrxArchiveEntry> index = new ConcurrentSkipListMap<>();
+    private final Object indexLock = new Object();
+
+    public KrxRawArchive(KrxArchiveProperties props) {
+        this.props = props;
+        this.root = Path.of(props.dir()).toAbsolutePath().normalize();
+        this.indexPath = root.resolve(INDEX_FILE);
+        if (props.enabled()) loadIndex();
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    // =========================
+    // 1) 저장
+    // =========================
+    public KrxArchiveEntry store(String endpoint, String basDd, String market, byte[] raw) throws IOException {
+        Writer w = openWriter(endpoint, basDd, market);
+        try {
+            w.write(ByteBuffer.wrap(raw));
+            return w.commit();
+        } catch (IOException | RuntimeException e) {
+            w.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * 응답을 받는 대로 조각 단위로 압축 저장 (전체 byte[] 를 만들지 않음).
+     * commit 전에는 임시 파일이라 중간에 끊겨도 깨진 파일이 인덱스에 걸리지 않는다.
+     */
+    public Writer openWriter(String endpoint, String basDd, String market) throws IOException {
+        if (basDd == null || !BAS_DD.matcher(basDd).matches()) {
+            throw new IllegalArgumentException("basDd must be YYYYMMDD: " + basDd);
+        }
+        String ep = normalizeEndpoint(endpoint);
+        String rel = ep + "/" + basDd.substring(0, 4) + "/" + basDd + "_" + market + ".json.gz";
+        Path target = root.resolve(rel);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), basDd + "_", ".tmp");
+        return new Writer(ep, basDd, market, rel, target, tmp);
+    }
+
+    public final class Writer {
+        private final String endpoint;
+        private final String basDd;
+        private final String market;
+        private final String rel;
+        private final Path target;
+        private final Path tmp;
+        private final OutputStream out;
+        private final byte[] scratch = new byte[BUFFER_SIZE];
+        private long rawBytes;
+        private boolean closed;
+
+        private Writer(String endpoint, String basDd, String market, String rel, Path target, Path tmp)
+                throws IOException {
+            this.endpoint = endpoint;
+            this.basDd = basDd;
+            this.market = market;
+            this.rel = rel;
+            this.target = target;
+            this.tmp = tmp;
+            this.out = new GZIPOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE);
+        }
+
+        /** buf 의 position 은 건드리지 않음 (같은 buffer 를 parser 도 읽음) */
+        public void write(ByteBuffer buf) throws IOException {
+            ByteBuffer b = buf.duplicate();
+            while (b.hasRemaining()) {
+                int n = Math.min(b.remaining(), scratch.length);
+                b.get(scratch, 0, n);
+                out.write(scratch, 0, n);
+                rawBytes += n;
+            }
+        }
+
+        public KrxArchiveEntry commit() throws IOException {
+            closed = true;
+            try {
+                out.close();
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+
+            KrxArchiveEntry entry = new KrxArchiveEntry(
+                    endpoint, basDd, market, rel, rawBytes, Files.size(target), LocalDateTime.now());
+            appendIndex(entry);
+            return entry;
+        }
+
+        public void abort() {
+            if (closed) return;
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                log.warn("KRX raw archive tmp cleanup failed: {}", tmp, e);
+            }
+        }
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    public byte[] read(KrxArchiveEntry entry) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(root.resolve(entry.file())), BUFFER_SIZE)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * @param endpoints null/empty 면 전체
+     * @param market    null/blank/ALL 이면 전체
+     */
+    public List<KrxArchiveEntry> find(Collection<String> endpoints, String from, String to, String market) {
+        Set<String> eps = endpoints == null ? Set.of()
+                : endpoints.stream().map(KrxRawArchive::normalizeEndpoint).collect(Collectors.toSet());
+        boolean anyMarket = market == null || market.isBlank() || "ALL".equalsIgnoreCase(market);
+
+        return index.values().stream()
+                .filter(e -> eps.isEmpty() || eps.contains(e.endpoint()))
+                .filter(e -> from == null || e.basDd().compareTo(from) >= 0)
+                .filter(e -> to == null || e.basDd().compareTo(to) <= 0)
+                .filter(e -> anyMarket || e.market().equalsIgnoreCase(market))
+                .sorted(Comparator.comparing(KrxArchiveEntry::basDd).thenComparing(KrxArchiveEntry::endpoint))
+                .toList();
+    }
+
+    // =========================
+    // 3) 인덱스
+    // =========================
+    private void appendIndex(KrxArchiveEntry e) throws IOException {
+        String line = String.join("\t",
+                e.endpoint(), e.basDd(), e.market(), e.file(),
+                Long.toString(e.rawBytes()), Long.toString(e.storedBytes()), e.archivedAt().toString()) + "\n";
+        synchronized (indexLock) {
+            Files.writeString(indexPath, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            index.put(e.key(), e);
+        }
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexPath)) return;
+        try {
+            for (String line : Files.readAllLines(indexPath, StandardCharsets.UTF_8)) {
+                String[] f = line.split("\t");
+                if (f.length < 7) continue;
+                KrxArchiveEntry e = new KrxArchiveEntry(
+                        f[0], f[1], f[2], f[3], Long.parseLong(f[4]), Long.parseLong(f[5]), LocalDateTime.parse(f[6]));
+                index.put(e.key(), e);
+            }
+            log.info("KRX raw archive index loaded: {} entries ({})", index.size(), root);
+        } catch (Exception e) {
+            log.warn("KRX raw archive index load failed: {}", indexPath, e);
+        }
+    }
+
+    static String normalizeEndpoint(String endpoint) {
+        String ep = endpoint == null ? "" : endpoint.trim();
+        while (ep.startsWith("/")) ep = ep.substring(1);
+        if (ep.isEmpty() || ep.contains("..") || ep.contains("/") || ep.contains("\\")) {
+            throw new IllegalArgumentException("invalid endpoint: " + endpoint);
+        }
+        return ep;
+    }
+}
@@ -0,0 +1,8 @@
+package top.tradesystem.krx.backfill;
+
+// backfill 대상 데이터셋
+public enum BackfillKind {
+    PRICE,  // krx_daily_price
+    TRADE,  // krx_daily_trade
+    INDEX   // krx_index_daily_price (market 자리에 지수 계열 KRX|KOSPI|KOSDAQ)
+}
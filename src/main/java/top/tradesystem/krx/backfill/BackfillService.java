@@ -0,0 +1,209 @@
+package top.tradesystem.krx.backfill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxBackfillProperties;
+import top.tradesystem.krx.dto.KrxBackfillItemRow;
+import top.tradesystem.krx.dto.KrxBackfillJobRow;
+import top.tradesystem.krx.dto.KrxBackfillStatusCount;
+import top.tradesystem.krx.repository.KrxBackfillMapper;
+import top.tradesystem.krx.scheduler.JobLeaseService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 영속 backfill 큐.
+ * - from~to 요청을 (basDd, market) item 으로 쪼개 MySQL 에 저장
+ * - 워커는 SELECT ... FOR UPDATE SKIP LOCKED 로 item 을 가져감
+ * - 완료된 item 이 곧 checkpoint → 재시작하면 남은 item 부터 이어서 처리
+ */
+@Service
+public class BackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillService.class);
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int INSERT_CHUNK = 1000;
+
+    private final KrxBackfillMapper mapper;
+    private final TransactionTemplate tx;
+    private final KrxBackfillProperties props;
+    private final String owner;
+
+    public BackfillService(
+            KrxBackfillMapper mapper,
+            PlatformTransactionManager txManager,
+            KrxBackfillProperties props,
+            JobLeaseService leaseService
+    ) {
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(txManager);
+        this.props = props;
+        this.owner = leaseService.ownerId();
+    }
+
+    // =========================
+    // 1) 제출
+    // =========================
+    public Mono<KrxBackfillJobRow> submit(String kind, String from, String to, String market) {
+        // 잘못된 kind / market / 날짜도 다른 서비스처럼 Mono.error 로
+        return Mono.defer(() -> {
+            BackfillKind k = BackfillKind.valueOf(kind.toUpperCase(Locale.ROOT));
+            LocalDate start = LocalDate.parse(from, YYYYMMDD);
+            LocalDate end = LocalDate.parse(to, YYYYMMDD);
+            if (end.isBefore(start)) return Mono.error(new IllegalArgumentException("to must be >= from"));
+
+            String m = (market == null || market.isBlank()) ? "KOSPI" : market.toUpperCase(Locale.ROOT);
+            List<String> markets = k == BackfillKind.INDEX
+                    ? switch (m) {
+                        case "KRX", "KOSPI", "KOSDAQ" -> List.of(m);
+                        case "ALL" -> List.of("KRX", "KOSPI", "KOSDAQ");
+                        default -> throw new IllegalArgumentException("index family must be KRX|KOSPI|KOSDAQ|ALL");
+                    }
+                    : switch (m) {
+                        case "KOSPI", "KOSDAQ" -> List.of(m);
+                        case "ALL" -> List.of("KOSPI", "KOSDAQ");
+                        default -> throw new IllegalArgumentException("market must be KOSPI|KOSDAQ|ALL");
+                    };
+
+            // 주말은 KRX 데이터가 없으므로 item 을 만들지 않음 (공휴일은 0건으로 DONE 처리됨)
+            List<KrxBackfillItemRow> items = new ArrayList<>();
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+                for (String mk : markets) {
+                    items.add(new KrxBackfillItemRow(null, null, k.name(), d.format(YYYYMMDD), mk, "PENDING", 0));
+                }
+            }
+
+            return Mono.fromCallable(() -> tx.execute(status -> {
+                        mapper.insertJob(k.name(), m, from, to, items.size());
+                        long jobId = mapper.lastInsertId();
+                        for (int i = 0; i < items.size(); i += INSERT_CHUNK) {
+                            mapper.insertItems(jobId, items.subList(i, Math.min(items.size(), i + INSERT_CHUNK)));
+                        }
+                        mapper.finishJobIfDrained(jobId); // item 0건이면 바로 DONE
+                        return mapper.findJob(jobId);
+                    }))
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    // =========================
+    // 2) 조회 / 취소
+    // =========================
+    public Mono<BackfillProgress> progress(long jobId) {
+        return Mono.fromCallable(() -> {
+                    KrxBackfillJobRow job = mapper.findJob(jobId);
+                    if (job == null) throw new IllegalArgumentException("backfill job not found: " + jobId);
+                    List<KrxBackfillStatusCount> counts = mapper.countItemsByStatus(jobId);
+                    int recent = mapper.countFinishedSince(jobId, props.throughputWindowSeconds());
+                    return BackfillProgress.of(job, counts, recent, props.throughputWindowSeconds());
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxBackfillJobRow>> recentJobs(int limit) {
+        return Mono.fromCallable(() -> mapper.findRecentJobs(Math.max(1, Math.min(limit, 200))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<KrxBackfillJobRow> cancel(long jobId) {
+        return Mono.fromCallable(() -> {
+                    mapper.cancelJob(jobId);
+                    return mapper.findJob(jobId);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // 3) 워커용 (blocking)
+    // =========================
+    List<KrxBackfillItemRow> claim(int limit) {
+        List<KrxBackfillItemRow> claimed = tx.execute(status -> {
+            List<KrxBackfillItemRow> items = mapper.lockClaimable(limit);
+            if (items.isEmpty()) return items;
+            mapper.markClaimed(items.stream().map(KrxBackfillItemRow::id).toList(), owner);
+            items.stream().map(KrxBackfillItemRow::jobId).distinct().forEach(mapper::markJobRunning);
+            return items;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    // claim 때 attempts 가 1 늘었으므로 (claimed_by, attempts+1) 이 그대로일 때만 마무리
+    // → stale 로 되돌려져 다시 claim 된 item 을 예전 워커가 끝내버리지 않게
+    void complete(KrxBackfillItemRow item, int saved) {
+        if (mapper.markItemDone(item.id(), owner, claimedAttempt(item), saved) == 0) {
+            log.warn("backfill item {} was reclaimed, result discarded", item.id());
+            return;
+        }
+        mapper.finishJobIfDrained(item.jobId());
+    }
+
+    void fail(KrxBackfillItemRow item, Throwable error) {
+        String msg = String.valueOf(error.getMessage());
+        if (mapper.markItemFailed(item.id(), owner, claimedAttempt(item),
+                msg.length() <= 1000 ? msg : msg.substring(0, 1000), props.maxAttempts()) == 0) {
+            log.warn("backfill item {} was reclaimed, failure discarded", item.id());
+            return;
+        }
+        mapper.finishJobIfDrained(item.jobId());
+    }
+
+    private static int claimedAttempt(KrxBackfillItemRow item) {
+        return (item.attempts() == null ? 0 : item.attempts()) + 1;
+    }
+
+    int resetStaleClaims() {
+        return mapper.resetStaleClaims(props.staleClaimSeconds());
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record BackfillProgress(
+            KrxBackfillJobRow job,
+            int pending,
+            int running,
+            int done,
+            int failed,
+            long savedRows,
+            double percent,
+            double itemsPerSecond,
+            Long etaSeconds
+    ) {
+        static BackfillProgress of(KrxBackfillJobRow job, List<KrxBackfillStatusCount> counts,
+                                   int finishedInWindow, int windowSeconds) {
+            int pending = 0, running = 0, done = 0, failed = 0;
+            long saved = 0;
+            for (KrxBackfillStatusCount c : counts) {
+                int n = c.items() == null ? 0 : c.items();
+                switch (c.status()) {
+                    case "PENDING" -> pending = n;
+                    case "CLAIMED" -> running = n;
+                    case "DONE" -> done = n;
+                    case "FAILED" -> failed = n;
+                    default -> { }
+                }
+                saved += c.saved() == null ? 0 : c.saved();
+            }
+
+            int total = pending + running + done + failed;
+            double percent = total == 0 ? 100.0 : (done + failed) * 100.0 / total;
+            double rate = (double) finishedInWindow / windowSeconds;
+            int remaining = pending + running;
+            Long eta = remaining == 0 ? Long.valueOf(0L) : (rate > 0 ? Long.valueOf(Math.round(remaining / rate)) : null);
+
+            return new BackfillProgress(job, pending, running, done, failed, saved, percent, rate, eta);
+        }
+    }
+}
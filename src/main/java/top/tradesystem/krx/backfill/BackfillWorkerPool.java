@@ -0,0 +1,152 @@
+package top.tradesystem.krx.backfill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxBackfillProperties;
+import top.tradesystem.krx.dto.KrxBackfillItemRow;
+import top.tradesystem.krx.ratelimit.KrxRequestPriority;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.service.KrxDailyTradeService;
+import top.tradesystem.krx.service.KrxIndexDailyPriceService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * backfill item 을 처리하는 워커들 (virtual thread).
+ * - 워커 하나 = item 하나씩 claim → sync → DONE/FAILED 기록
+ * - blocking 호출이지만 virtual thread 라 carrier 를 점유하지 않음
+ */
+@Component
+public class BackfillWorkerPool implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillWorkerPool.class);
+    private static final Duration ITEM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final BackfillService backfillService;
+    private final KrxDailyPriceService dailyPriceService;
+    private final KrxDailyTradeService dailyTradeService;
+    private final KrxIndexDailyPriceService indexDailyPriceService;
+    private final KrxBackfillProperties props;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public BackfillWorkerPool(
+            BackfillService backfillService,
+            KrxDailyPriceService dailyPriceService,
+            KrxDailyTradeService dailyTradeService,
+            KrxIndexDailyPriceService indexDailyPriceService,
+            KrxBackfillProperties props
+    ) {
+        this.backfillService = backfillService;
+        this.dailyPriceService = dailyPriceService;
+        this.dailyTradeService = dailyTradeService;
+        this.indexDailyPriceService = indexDailyPriceService;
+        this.props = props;
+    }
+
+    @Override
+    public void start() {
+        if (!props.workersEnabled() || running) return;
+        running = true;
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.submit(this::resetStaleClaimsQuietly);
+        for (int i = 0; i < props.workers(); i++) {
+            executor.submit(this::loop);
+        }
+        log.info("backfill workers started: {}", props.workers());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 죽은 노드가 잡고 있던 item 을 주기적으로 회수
+    @Scheduled(fixedDelayString = "${krx.backfill.stale-check-ms:60000}")
+    public void resetStaleClaimsQuietly() {
+        if (!running) return;
+        try {
+            int n = backfillService.resetStaleClaims();
+            if (n > 0) log.warn("backfill: reset {} stale claimed items", n);
+        } catch (Exception e) {
+            log.warn("backfill: stale claim reset failed", e);
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                List<KrxBackfillItemRow> items = backfillService.claim(1);
+                if (items.isEmpty()) {
+                    Thread.sleep(props.pollIntervalMs());
+                    continue;
+                }
+                for (KrxBackfillItemRow item : items) process(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("backfill worker error", e);
+                sleepQuietly(props.pollIntervalMs());
+            }
+        }
+    }
+
+    private void process(KrxBackfillItemRow item) {
+        try {
+            int saved = execute(item);
+            backfillService.complete(item, saved);
+        } catch (Exception e) {
+            log.warn("backfill item failed: job={}, {} {} {}", item.jobId(), item.kind(), item.basDd(), item.market(), e);
+            backfillService.fail(item, e);
+        }
+    }
+
+    private int execute(KrxBackfillItemRow item) {
+        Integer saved = switch (BackfillKind.valueOf(item.kind())) {
+            case PRICE -> dailyPriceService.sync(item.basDd(), item.market())
+                    .map(KrxDailyPriceService.SyncResult::saved)
+                    .contextWrite(KrxRequestPriority.BULK::apply)
+                    .block(ITEM_TIMEOUT);
+            case TRADE -> dailyTradeService.sync(item.basDd(), item.market())
+                    .map(KrxDailyTradeService.SyncResult::saved)
+                    .contextWrite(KrxRequestPriority.BULK::apply)
+                    .block(ITEM_TIMEOUT);
+            case INDEX -> indexDailyPriceService.sync(item.basDd(), item.market())
+                    .map(KrxIndexDailyPriceService.SyncResult::saved)
+                    .contextWrite(KrxRequestPriority.BULK::apply)
+                    .block(ITEM_TIMEOUT);
+        };
+        return saved == null ? 0 : saved;
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
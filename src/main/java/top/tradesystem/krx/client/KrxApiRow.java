@@ -0,0 +1,118 @@
+package top.tradesystem.krx.client;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 저할당 모드의 응답 row (LinkedHashMap 대신).
+ *
+ * <p>키 배열({@link Schema})은 응답 1건의 row 끼리 공유하고 row 는 값 배열만 가진다
+ * → row 당 Entry/table 할당이 없고, 순회 순서는 키가 처음 나온 순서.
+ * 키가 없으면 null, JSON null 은 NULL 표식으로 구분 (containsKey).
+ * 파서 스레드만 쓰고, 완성된 row 는 읽기만 한다.
+ */
+final class KrxApiRow extends AbstractMap<String, String> {
+
+    private static final String NULL = new String("null"); // identity 표식
+
+    static final class Schema {
+        private final Map<String, Integer> index = new HashMap<>();
+        private String[] keys = new String[32];
+        private int size;
+
+        int slot(String key) {
+            Integer i = index.get(key);
+            if (i != null) return i;
+            if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+            keys[size] = key;
+            index.put(key, size);
+            return size++;
+        }
+
+        int indexOf(Object key) {
+            Integer i = index.get(key);
+            return i == null ? -1 : i;
+        }
+    }
+
+    private final Schema schema;
+    private String[] values;
+
+    KrxApiRow(Schema schema) {
+        this.schema = schema;
+        this.values = new String[Math.max(schema.size, 8)];
+    }
+
+    @Override
+    public String put(String key, String value) {
+        int i = schema.slot(key);
+        if (i >= values.length) values = Arrays.copyOf(values, Math.max(i + 1, values.length * 2));
+        String old = values[i];
+        values[i] = value == null ? NULL : value;
+        return unwrap(old);
+    }
+
+    @Override
+    public String get(Object key) {
+        int i = schema.indexOf(key);
+        return i < 0 || i >= values.length ? null : unwrap(values[i]);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int i = schema.indexOf(key);
+        return i >= 0 && i < values.length && values[i] != null;
+    }
+
+    @Override
+    public int size() {
+        int n = 0;
+        for (String v : values) if (v != null) n++;
+        return n;
+    }
+
+    private static String unwrap(String v) {
+        return v == NULL ? null : v;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return KrxApiRow.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null) from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<String, String> e = new SimpleImmutableEntry<>(schema.keys[next], unwrap(values[next]));
+                        next = advance(next + 1);
+                        return e;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -1,25 +1,41 @@
 package top.tradesystem.krx.client;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.archive.KrxArchiveEntry;
+import top.tradesystem.krx.archive.KrxRawArchive;
+import top.tradesystem.krx.config.KrxIngestProperties;
 import top.tradesystem.krx.config.KrxProperties;
 import top.tradesystem.krx.dto.KrxDailyTradeRequest;
+import top.tradesystem.krx.dto.KrxIndexFamily;
 import top.tradesystem.krx.dto.KrxIsuBaseInfoRequest;
 import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.ratelimit.KrxRateLimiter;
+import top.tradesystem.krx.ratelimit.KrxRequestPriority;
+import top.tradesystem.krx.source.MarketDataSource;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.*;
-import java.util.*;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Component
-public class KrxOpenApiClient {
+public class KrxOpenApiClient implements MarketDataSource {
+
+    public static final String SOURCE_ID = "krx-openapi";
+
+    private static final Logger log = LoggerFactory.getLogger(KrxOpenApiClient.class);
 
     // KOSPI / KOSDAQ endpoint 분리 (KRX 기준)
     private static final String PATH_STK_ISU_BASE_INFO = "/stk_isu_base_info";
@@ -30,6 +46,12 @@ public class KrxOpenApiClient {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final KrxRawArchive archive;
+    private final KrxRateLimiter rateLimiter;
+    private final boolean lowAlloc;
+
+    // 지수 API base (…/svc/apis/idx)
+    private final String indexBaseUrl;
 
     // fallback charset (application.yml)
     private final Charset fallbackCharset;
@@ -37,154 +59,199 @@ public class KrxOpenApiClient {
     public KrxOpenApiClient(
             WebClient.Builder webClientBuilder,
             ObjectMapper objectMapper,
-            KrxProperties props
+            KrxProperties props,
+            KrxRawArchive archive,
+            KrxRateLimiter rateLimiter,
+            KrxIngestProperties ingestProps
     ) {
         this.objectMapper = objectMapper;
+        this.archive = archive;
+        this.rateLimiter = rateLimiter;
+        this.lowAlloc = ingestProps.lowAlloc();
+        this.indexBaseUrl = props.indexBaseUrl();
         this.fallbackCharset = Charset.forName(props.responseCharset()); // e.g. "EUC-KR" or "MS949"
 
         this.webClient = webClientBuilder
                 .baseUrl(props.baseUrl())
-                // ✅ application.yml의 auth-key를 "AUTH_KEY" 헤더로 넣음
-                .defaultHeader("AUTH_KEY", props.authKey())
+                // ✅ "AUTH_KEY" 헤더는 호출마다 rate limiter 가 고른 키로 넣음 (krx.rate-limit.keys)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
+    @Override
+    public String id() {
+        return SOURCE_ID;
+    }
+
     // =========================
     // 1) 종목 마스터(기초정보)
     // =========================
+    @Override
     public Mono<List<Map<String, String>>> fetchIsuBaseInfo(String basDd, Market market) {
-        String path = switch (market) {
+        return postForOutBlock1List(isuBaseInfoPath(market), basDd, market, new KrxIsuBaseInfoRequest(basDd));
+    }
+
+    public static String isuBaseInfoPath(Market market) {
+        return switch (market) {
             case KOSPI -> PATH_STK_ISU_BASE_INFO;
             case KOSDAQ -> PATH_KSQ_ISU_BASE_INFO;
             default -> throw new IllegalArgumentException("Unsupported market: " + market);
         };
-        return postForOutBlock1List(path, new KrxIsuBaseInfoRequest(basDd));
     }
 
     // =========================
     // 2) 일별 매매 정보
     // =========================
+    @Override
     public Mono<List<Map<String, String>>> fetchDailyTrade(String basDd, Market market) {
-        String path = switch (market) {
+        return postForOutBlock1List(dailyTradePath(market), basDd, market, new KrxDailyTradeRequest(basDd));
+    }
+
+    public static String dailyTradePath(Market market) {
+        return switch (market) {
             case KOSPI -> PATH_STK_BYDD_TRD;
             case KOSDAQ -> PATH_KSQ_BYDD_TRD;
             default -> throw new IllegalArgumentException("Unsupported market: " + market);
         };
-        return postForOutBlock1List(path, new KrxDailyTradeRequest(basDd));
     }
 
     // =========================
-    // 공통: byte[]로 받아 "자동 디코딩" 후
-    //      JSON이 [..] 배열이든 {OutBlock_1:[..]}든 처리
+    // 3) 지수 일별 시세 (idx/*_dd_trd)
     // =========================
-    private Mono<List<Map<String, String>>> postForOutBlock1List(String path, Object body) {
-        return webClient
-                .post()
-                .uri(path)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(byte[].class)
-                .map(bytes -> decodeKrxJson(bytes)) // ✅ 여기서 자동 디코딩
-                .map(json -> parseOutBlock1OrArray(json, path, body));
+    @Override
+    public Mono<List<Map<String, String>>> fetchIndexDaily(String basDd, KrxIndexFamily family) {
+        // 절대 URL 이면 WebClient baseUrl(sto) 대신 그대로 사용됨
+        return postForOutBlock1List(indexBaseUrl + family.path(), family.path(), basDd, family.name(),
+                new KrxDailyTradeRequest(basDd));
     }
 
-    /**
-     * ✅ 응답이 UTF-8인지 MS949/EUC-KR인지 섞여오는 케이스 대응
-     * - UTF-8 먼저 "엄격 디코딩(에러면 실패)" 시도
-     * - 실패하면 MS949 → application.yml fallbackCharset 순으로 시도
-     */
-    private String decodeKrxJson(byte[] bytes) {
-        List<Charset> candidates = new ArrayList<>();
-        candidates.add(StandardCharsets.UTF_8);
-
-        // Windows 계열/한글 응답에서 흔한 후보
-        try { candidates.add(Charset.forName("MS949")); } catch (Exception ignored) {}
-        // yml fallback (EUC-KR 등)
-        candidates.add(fallbackCharset);
-
-        for (Charset cs : candidates) {
-            String s = tryDecodeStrict(bytes, cs);
-            if (s != null && looksLikeJson(s)) {
-                return s;
-            }
-        }
-
-        // 그래도 못 맞추면 그냥 fallbackCharset로 "느슨" 디코딩
-        return new String(bytes, fallbackCharset);
+    // =========================
+    // 공통: body 를 DataBuffer 조각으로 받아 바로 파싱 (전체 byte[] 로 모으지 않음)
+    //      - JSON이 [..] 배열이든 {OutBlock_1:[..]}든 처리, charset 은 조각을 보며 판별
+    //      - 같은 조각을 archive 에 gzip 으로 흘려 씀 (재수집 없이 replay 가능)
+    //      - 조각은 파싱/보관 직후 release → netty pool 로 바로 반환
+    //      - 호출 전에 rate limiter 자리를 받고, 끝나면 결과(성공/429/5xx/지연)를 돌려줌
+    // =========================
+    private Mono<List<Map<String, String>>> postForOutBlock1List(String path, String basDd, Market market, Object body) {
+        return postForOutBlock1List(path, path, basDd, market.name(), body);
     }
 
-    private String tryDecodeStrict(byte[] bytes, Charset cs) {
-        try {
-            CharsetDecoder dec = cs.newDecoder()
-                    .onMalformedInput(CodingErrorAction.REPORT)
-                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private Mono<List<Map<String, String>>> postForOutBlock1List(
+            String uri, String path, String basDd, String archiveKey, Object body
+    ) {
+        return streamOutBlock1(uri, path, basDd, archiveKey, body).collectList();
+    }
 
-            CharBuffer cb = dec.decode(ByteBuffer.wrap(bytes));
-            return cb.toString();
-        } catch (Exception e) {
-            return null;
-        }
+    private Flux<Map<String, String>> streamOutBlock1(
+            String uri, String path, String basDd, String archiveKey, Object body
+    ) {
+        return Mono.deferContextual(ctx -> rateLimiter.acquire(KrxRequestPriority.from(ctx)))
+                .flatMapMany(permit -> request(uri, path, basDd, archiveKey, body, permit.authKey())
+                        .doOnComplete(() -> permit.release(KrxRateLimiter.Outcome.SUCCESS))
+                        .doOnError(e -> permit.release(KrxRateLimiter.classify(e)))
+                        .doOnCancel(() -> permit.release(KrxRateLimiter.Outcome.IGNORED)));
     }
 
-    private boolean looksLikeJson(String s) {
-        if (s == null) return false;
-        String t = s.trim();
-        return (t.startsWith("{") && t.endsWith("}")) || (t.startsWith("[") && t.endsWith("]"));
+    private Flux<Map<String, String>> request(
+            String uri, String path, String basDd, String archiveKey, Object body, String authKey
+    ) {
+        return Flux.defer(() -> {
+            KrxOutBlockStreamParser parser = new KrxOutBlockStreamParser(
+                    objectMapper.getFactory(), fallbackCharset, path, body, lowAlloc);
+            ArchiveSink sink = new ArchiveSink(path, basDd, archiveKey);
+
+            return webClient
+                    .post()
+                    .uri(uri)
+                    .header("AUTH_KEY", authKey)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    // 파싱/파일 쓰기는 event loop 밖에서
+                    .publishOn(Schedulers.boundedElastic())
+                    .concatMapIterable(buf -> {
+                        try {
+                            List<Map<String, String>> rows = new ArrayList<>();
+                            try (DataBuffer.ByteBufferIterator it = buf.readableByteBuffers()) {
+                                while (it.hasNext()) {
+                                    ByteBuffer bb = it.next();
+                                    sink.write(bb);
+                                    rows.addAll(parser.feed(bb));
+                                }
+                            }
+                            return rows;
+                        } finally {
+                            DataBufferUtils.release(buf);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> {
+                        List<Map<String, String>> rest = parser.finish();
+                        sink.commit();
+                        return Flux.fromIterable(rest);
+                    }))
+                    .doOnError(e -> sink.abort())
+                    .doOnCancel(sink::abort)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
     }
 
-    private List<Map<String, String>> parseOutBlock1OrArray(String json, String path, Object body) {
-        try {
-            JsonNode root = objectMapper.readTree(json);
+    // archive 가 꺼져 있거나 쓰기 실패해도 수집은 계속
+    private final class ArchiveSink {
+        private final String path;
+        private final String basDd;
+        private final String archiveKey;
+        private KrxRawArchive.Writer writer;
+        private boolean failed;
+
+        ArchiveSink(String path, String basDd, String archiveKey) {
+            this.path = path;
+            this.basDd = basDd;
+            this.archiveKey = archiveKey;
+            this.failed = !archive.enabled();
+        }
 
-            // 1) 응답이 [ ... ] 형태면 그대로 파싱
-            if (root.isArray()) {
-                return objectMapper.readValue(
-                        json,
-                        new TypeReference<List<Map<String, String>>>() {}
-                );
+        void write(ByteBuffer bb) {
+            if (failed) return;
+            try {
+                if (writer == null) writer = archive.openWriter(path, basDd, archiveKey);
+                writer.write(bb);
+            } catch (Exception e) {
+                giveUp(e);
             }
+        }
 
-            // 2) 응답이 { ... } 형태면 OutBlock_1 / outBlock1 / OutBlock1 등 후보 키를 찾아 파싱
-            if (root.isObject()) {
-                String[] candidates = {
-                        "OutBlock_1", "OUTBLOCK_1", "outBlock1", "out_block1",
-                        "OutBlock1", "output", "result", "data"
-                };
-
-                for (String k : candidates) {
-                    JsonNode n = root.get(k);
-                    if (n != null && n.isArray()) {
-                        return objectMapper.convertValue(
-                                n,
-                                new TypeReference<List<Map<String, String>>>() {}
-                        );
-                    }
-                }
-
-                // 3) 그래도 없으면: "배열처럼 생긴 첫 array 필드"를 하나 찾아서 반환 (KRX 변형 대응)
-                for (Iterator<Map.Entry<String, JsonNode>> it = root.fields(); it.hasNext(); ) {
-                    Map.Entry<String, JsonNode> e = it.next();
-                    if (e.getValue() != null && e.getValue().isArray()) {
-                        return objectMapper.convertValue(
-                                e.getValue(),
-                                new TypeReference<List<Map<String, String>>>() {}
-                        );
-                    }
-                }
+        void commit() {
+            if (failed || writer == null) return;
+            try {
+                writer.commit();
+            } catch (Exception e) {
+                giveUp(e);
             }
+        }
 
-            // 여기까지 오면 파싱 불가
-            throw new RuntimeException("KRX JSON 구조가 예상과 다릅니다. path=" + path + ", body=" + body
-                    + ", rootType=" + root.getNodeType());
+        void abort() {
+            if (writer != null) writer.abort();
+        }
 
-        } catch (Exception e) {
-            String head = json == null ? "" : json.substring(0, Math.min(json.length(), 300));
-            throw new RuntimeException("KRX 응답 JSON 파싱 실패. path=" + path + ", body=" + body + ", head=" + head, e);
+        private void giveUp(Exception e) {
+            failed = true;
+            abort();
+            log.warn("KRX raw archive failed: endpoint={}, basDd={}, market={}", path, basDd, archiveKey, e);
         }
     }
 
+    // =========================
+    // archive replay: 네트워크 없이 보관된 원본을 같은 파서로 처리
+    // =========================
+    public List<Map<String, String>> parseArchived(KrxArchiveEntry entry, byte[] raw) {
+        KrxOutBlockStreamParser parser = new KrxOutBlockStreamParser(
+                objectMapper.getFactory(), fallbackCharset, "/" + entry.endpoint(), "archive:" + entry.file(), lowAlloc);
+        List<Map<String, String>> rows = new ArrayList<>(parser.feed(ByteBuffer.wrap(raw)));
+        rows.addAll(parser.finish());
+        return rows;
+    }
+
     // 일별 시세(OHLC 등) - 현재 sto/*_bydd_trd 응답에 시세/거래정보가 함께 포함되므로 동일 호출 재사용
     public Mono<List<Map<String, String>>> fetchDailyPrice(String basDd, Market market) {
         return fetchDailyTrade(basDd, market);
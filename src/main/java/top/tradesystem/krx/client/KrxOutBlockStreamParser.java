@@ -0,0 +1,355 @@
+package top.tradesystem.krx.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KRX 응답을 조각(ByteBuffer) 단위로 받아 OutBlock row 를 바로 꺼내는 파서 (응답 1건당 1개, 단일 스레드).
+ *
+ * <p>응답 모양: {@code [ {...}, ... ]} 또는 {@code { "OutBlock_1": [ {...}, ... ], ... }}.
+ * 최상위 객체면 예전 파서와 같은 우선순위로 row 배열을 고른다: {@link #BLOCK_KEYS} 순서, 없으면 첫 배열.
+ * OutBlock_1 의 row 는 바로 내보내고, 더 나은 키가 뒤에 나올 수 있는 배열의 row 는 끝까지 들고 있다가 finish 에서.
+ *
+ * <p>charset: KRX 는 UTF-8 / MS949 가 섞여 온다.
+ * <ul>
+ *   <li>ASCII 만 나오는 동안은 판단 보류 (두 charset 에서 동일)</li>
+ *   <li>첫 비 ASCII 부터는 Jackson 에 넘기지 않고 모아 두며 엄격 UTF-8 검사.
+ *       비 ASCII 문자가 {@link #CONFIRM_CHARS}개 (또는 {@link #DETECT_MAX_BYTES} 만큼) 모두 통과하면 UTF-8 확정
+ *       → 원본 byte 를 그대로 Jackson 에 넘김 (MS949 한글 일부는 한 글자만 보면 UTF-8 로도 읽힘)</li>
+ *   <li>중간에 한 번이라도 실패하면 legacy(MS949) 확정 → 조각마다 UTF-8 로 변환해서 넘김</li>
+ *   <li>확정 전에 입력이 끝나면 모은 byte 전체를 엄격 UTF-8 로 판단</li>
+ * </ul>
+ * MS949 의 2번째 byte 범위에는 '"' 와 '\' 가 없어 JSON 구조가 깨지지 않는다.
+ *
+ * <p>lowAlloc (krx.ingest.low-alloc): row 는 키 배열을 공유하는 {@link KrxApiRow},
+ * 시장/소속부/종목코드/종목명과 1글자 값은 worker 별 {@link KrxStringPool} 에서,
+ * MS949 → UTF-8 변환 버퍼는 응답 안에서 재사용.
+ */
+final class KrxOutBlockStreamParser {
+
+    private static final int HEAD_BYTES = 300;
+    private static final int CONFIRM_CHARS = 16;
+    private static final int DETECT_MAX_BYTES = 64 * 1024;
+    /** 최상위 객체에서 row 배열로 볼 키 (앞일수록 우선) */
+    private static final List<String> BLOCK_KEYS = List.of(
+            "OutBlock_1", "OUTBLOCK_1", "outBlock1", "out_block1", "OutBlock1", "output", "result", "data");
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    private static final Set<String> POOLED_KEYS = Set.of(
+            "MKT_NM", "SECT_TP_NM", "IDX_CLSS", "ISU_CD", "ISU_SRT_CD", "ISU_NM", "ISU_ABBRV");
+
+    private enum Mode { UNKNOWN, UTF8, LEGACY }
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final Charset legacyCharset;
+    private final String path;
+    private final Object body;
+    private final boolean lowAlloc;
+
+    private Mode mode = Mode.UNKNOWN;
+    private ByteBuffer pending;            // UNKNOWN 동안 첫 비 ASCII 부터 모아 둔 byte (아직 Jackson 에 안 넘김)
+    private CharsetDecoder legacy;
+    private ByteBuffer legacyCarry;
+
+    // lowAlloc
+    private final KrxApiRow.Schema schema = new KrxApiRow.Schema();
+    private KrxStringPool pool;
+    private CharsetEncoder utf8Encoder;
+    private CharBuffer charScratch;
+    private ByteBuffer byteScratch;
+
+    // 에러 메시지용 응답 앞부분
+    private final byte[] head = new byte[HEAD_BYTES];
+    private int headLen;
+
+    // token 상태
+    private int depth;
+    private boolean rootIsObject;
+    private String rootKey;                // 최상위 객체에서 지금 보고 있는 필드
+    private int rowsDepth = -1;
+    private int rowsRank = Integer.MAX_VALUE; // 고른 배열의 BLOCK_KEYS 순위 (0 = 확정)
+    private boolean rowsFound;
+    private boolean inRows;
+    private List<Map<String, String>> held; // 확정 전 배열의 row
+    private Map<String, String> current;
+    private String key;
+    private boolean pooledKey;
+
+    KrxOutBlockStreamParser(JsonFactory factory, Charset legacyCharset, String path, Object body) {
+        this(factory, legacyCharset, path, body, false);
+    }
+
+    KrxOutBlockStreamParser(JsonFactory factory, Charset legacyCharset, String path, Object body, boolean lowAlloc) {
+        try {
+            this.parser = factory.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("non-blocking JSON parser unavailable", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.legacyCharset = legacyCharset;
+        this.path = path;
+        this.body = body;
+        this.lowAlloc = lowAlloc;
+    }
+
+    /** 조각 하나를 먹이고 그 안에서 완성된 row 를 반환. buf 의 position 은 건드리지 않음 */
+    List<Map<String, String>> feed(ByteBuffer buf) {
+        List<Map<String, String>> out = new ArrayList<>();
+        if (lowAlloc) pool = KrxStringPool.local(); // 조각마다 스레드가 바뀔 수 있음
+        try {
+            captureHead(buf);
+            ByteBuffer in = pending == null ? buf.duplicate() : concat(pending, buf);
+            pending = null;
+
+            if (mode == Mode.UNKNOWN) in = detect(in, out);
+            if (mode == Mode.LEGACY) {
+                feedJson(transcode(in, false), out);
+            } else if (mode == Mode.UTF8) {
+                feedJson(in, out);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw fail(e);
+        }
+        return out;
+    }
+
+    /** 입력 끝: 남은 row 반환. row 배열을 못 찾았거나 JSON 이 끊겼으면 에러 */
+    List<Map<String, String>> finish() {
+        List<Map<String, String>> out = new ArrayList<>();
+        if (lowAlloc) pool = KrxStringPool.local();
+        try {
+            if (pending != null) {
+                // 확정 전에 끝남: 모은 byte 가 통째로 UTF-8 이면 UTF-8 (끝에 잘린 multibyte 가 있으면 아님)
+                mode = utf8NonAsciiChars(pending, true) >= 0 ? Mode.UTF8 : Mode.LEGACY;
+                feedJson(mode == Mode.LEGACY ? transcode(pending, false) : pending, out);
+                pending = null;
+            }
+            if (mode == Mode.LEGACY) feedJson(transcode(ByteBuffer.allocate(0), true), out);
+            feeder.endOfInput();
+            drain(out);
+            parser.close();
+            if (held != null) out.addAll(held);
+        } catch (IOException | RuntimeException e) {
+            throw fail(e);
+        }
+        if (!rowsFound) {
+            throw fail(new IllegalStateException("KRX JSON 구조가 예상과 다릅니다 (row 배열 없음)"));
+        }
+        if (depth != 0) {
+            throw fail(new IllegalStateException("KRX 응답이 중간에 끊겼습니다"));
+        }
+        return out;
+    }
+
+    // =========================
+    // charset
+    // =========================
+    /**
+     * 첫 비 ASCII 문자 앞까지(ASCII)는 바로 Jackson 에 넘기고, 그 뒤는 charset 이 확정될 때까지 pending 에 모음.
+     * 확정되면 모은 것 전부를 반환 (mode 에 맞게 호출부가 처리).
+     */
+    private ByteBuffer detect(ByteBuffer in, List<Map<String, String>> out) throws IOException {
+        int i = firstNonAscii(in);
+        if (i < 0) {
+            feedJson(in, out);
+            return EMPTY;
+        }
+
+        ByteBuffer ascii = in.duplicate().limit(i);
+        feedJson(ascii, out);
+        ByteBuffer rest = in.duplicate().position(i);
+
+        int chars = utf8NonAsciiChars(rest, false);
+        if (chars < 0) {
+            mode = Mode.LEGACY;
+        } else if (chars >= CONFIRM_CHARS || rest.remaining() >= DETECT_MAX_BYTES) {
+            mode = Mode.UTF8;
+        } else {
+            pending = copy(rest);
+            return EMPTY;
+        }
+        return rest;
+    }
+
+    /** 엄격 UTF-8 로 읽히면 비 ASCII 문자 수, 아니면 -1 (endOfInput=false 면 끝에 잘린 multibyte 는 허용) */
+    private static int utf8NonAsciiChars(ByteBuffer b, boolean endOfInput) {
+        CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer chars = CharBuffer.allocate(b.remaining());
+        if (utf8.decode(b.duplicate(), chars, endOfInput).isError()) return -1;
+        if (endOfInput && utf8.flush(chars).isError()) return -1;
+        int n = 0;
+        for (int i = 0; i < chars.position(); i++) {
+            if (chars.get(i) >= 0x80) n++;
+        }
+        return n;
+    }
+
+    private ByteBuffer transcode(ByteBuffer in, boolean endOfInput) throws CharacterCodingException {
+        if (legacy == null) {
+            legacy = legacyCharset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        ByteBuffer src = legacyCarry == null ? in : concat(legacyCarry, in);
+        int maxChars = (int) (src.remaining() * (double) legacy.maxCharsPerByte()) + 1;
+        CharBuffer chars = lowAlloc ? charScratch(maxChars) : CharBuffer.allocate(maxChars);
+        legacy.decode(src, chars, endOfInput);
+        if (endOfInput) legacy.flush(chars);
+        legacyCarry = src.hasRemaining() ? copy(src) : null;
+        if (!lowAlloc) return StandardCharsets.UTF_8.newEncoder().encode(chars.flip());
+
+        // 이전 조각은 drain 에서 다 읽혔으므로 (NOT_AVAILABLE) 같은 버퍼에 덮어써도 됨
+        chars.flip();
+        ByteBuffer out = byteScratch(chars.remaining() * 3 + 1);
+        if (utf8Encoder == null) utf8Encoder = StandardCharsets.UTF_8.newEncoder();
+        utf8Encoder.reset();
+        utf8Encoder.encode(chars, out, true);
+        utf8Encoder.flush(out);
+        return out.flip();
+    }
+
+    private CharBuffer charScratch(int capacity) {
+        if (charScratch == null || charScratch.capacity() < capacity) charScratch = CharBuffer.allocate(capacity);
+        return charScratch.clear();
+    }
+
+    private ByteBuffer byteScratch(int capacity) {
+        if (byteScratch == null || byteScratch.capacity() < capacity) byteScratch = ByteBuffer.allocate(capacity);
+        return byteScratch.clear();
+    }
+
+    private static int firstNonAscii(ByteBuffer b) {
+        for (int i = b.position(); i < b.limit(); i++) {
+            if (b.get(i) < 0) return i;
+        }
+        return -1;
+    }
+
+    private static ByteBuffer concat(ByteBuffer a, ByteBuffer b) {
+        ByteBuffer out = ByteBuffer.allocate(a.remaining() + b.remaining());
+        out.put(a.duplicate()).put(b.duplicate());
+        return out.flip();
+    }
+
+    private static ByteBuffer copy(ByteBuffer b) {
+        ByteBuffer out = ByteBuffer.allocate(b.remaining());
+        out.put(b);
+        return out.flip();
+    }
+
+    // =========================
+    // token → row
+    // =========================
+    private void feedJson(ByteBuffer in, List<Map<String, String>> out) throws IOException {
+        if (!in.hasRemaining()) return;
+        feeder.feedInput(in);
+        drain(out);
+    }
+
+    private void drain(List<Map<String, String>> out) throws IOException {
+        JsonToken t;
+        while ((t = parser.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) {
+            onToken(t, out);
+        }
+    }
+
+    private void onToken(JsonToken t, List<Map<String, String>> out) throws IOException {
+        boolean inRowObject = current != null && depth == rowsDepth + 1;
+        switch (t) {
+            case START_OBJECT -> {
+                depth++;
+                if (depth == 1) rootIsObject = true;
+                if (inRows && depth == rowsDepth + 1) {
+                    current = lowAlloc ? new KrxApiRow(schema) : new LinkedHashMap<>();
+                }
+            }
+            case END_OBJECT -> {
+                if (inRowObject) {
+                    (held == null ? out : held).add(current);
+                    current = null;
+                }
+                depth--;
+            }
+            case START_ARRAY -> {
+                depth++;
+                if (depth == 1) {
+                    selectRows(0);
+                } else if (depth == 2 && rootIsObject) {
+                    int rank = BLOCK_KEYS.indexOf(rootKey);
+                    selectRows(rank < 0 ? BLOCK_KEYS.size() : rank);
+                }
+            }
+            case END_ARRAY -> {
+                if (inRows && depth == rowsDepth) inRows = false;
+                depth--;
+            }
+            case FIELD_NAME -> {
+                if (depth == 1 && rootIsObject) rootKey = parser.currentName();
+                if (inRowObject) {
+                    key = parser.currentName();
+                    pooledKey = lowAlloc && POOLED_KEYS.contains(key);
+                }
+            }
+            case VALUE_NULL -> {
+                if (inRowObject && key != null) current.put(key, null);
+            }
+            default -> {
+                // 문자열/숫자/불리언: 텍스트 그대로 (중첩 객체/배열 안의 값은 무시)
+                if (inRowObject && key != null && t.isScalarValue()) current.put(key, lowAlloc ? text() : parser.getText());
+            }
+        }
+    }
+
+    /** 지금 열린 배열이 고른 것보다 우선이면 row 배열로 바꿈 (앞서 모은 row 는 버림) */
+    private void selectRows(int rank) {
+        if (rank >= rowsRank) return;
+        rowsFound = true;
+        rowsDepth = depth;
+        rowsRank = rank;
+        inRows = true;
+        held = rank == 0 ? null : new ArrayList<>();
+    }
+
+    private String text() throws IOException {
+        char[] buf = parser.getTextCharacters();
+        int off = parser.getTextOffset();
+        int len = parser.getTextLength();
+        return pooledKey || len <= 1 ? pool.get(buf, off, len) : new String(buf, off, len);
+    }
+
+    // =========================
+    // 에러
+    // =========================
+    private void captureHead(ByteBuffer buf) {
+        if (headLen >= HEAD_BYTES) return;
+        ByteBuffer b = buf.duplicate();
+        int n = Math.min(b.remaining(), HEAD_BYTES - headLen);
+        b.get(head, headLen, n);
+        headLen += n;
+    }
+
+    private RuntimeException fail(Exception e) {
+        Charset cs = mode == Mode.LEGACY ? legacyCharset : StandardCharsets.UTF_8;
+        String h = new String(head, 0, headLen, cs);
+        return new RuntimeException("KRX 응답 JSON 파싱 실패. path=" + path + ", body=" + body + ", head=" + h, e);
+    }
+}
@@ -0,0 +1,41 @@
+package top.tradesystem.krx.client;
+
+/**
+ * 반복되는 짧은 값(시장/소속부/종목코드/종목명 …)을 같은 String 인스턴스로 돌려주는 worker 별 pool.
+ *
+ * <p>direct-mapped: 슬롯 하나에 하나, 충돌하면 덮어씀 (크기 고정, 잠금 없음).
+ * 조회는 char 구간으로 해서 hit 이면 String 을 만들지 않는다.
+ */
+final class KrxStringPool {
+
+    private static final int SLOTS = 8192; // 2의 거듭제곱
+    private static final int MAX_LEN = 64;
+
+    private static final ThreadLocal<KrxStringPool> LOCAL = ThreadLocal.withInitial(KrxStringPool::new);
+
+    private final String[] table = new String[SLOTS];
+
+    static KrxStringPool local() {
+        return LOCAL.get();
+    }
+
+    String get(char[] buf, int off, int len) {
+        if (len > MAX_LEN) return new String(buf, off, len);
+        int h = 0;
+        for (int i = off; i < off + len; i++) h = 31 * h + buf[i];
+        int slot = (h ^ (h >>> 16)) & (SLOTS - 1);
+        String s = table[slot];
+        if (s != null && matches(s, buf, off, len)) return s;
+        s = new String(buf, off, len);
+        table[slot] = s;
+        return s;
+    }
+
+    private static boolean matches(String s, char[] buf, int off, int len) {
+        if (s.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            if (s.charAt(i) != buf[off + i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package top.tradesystem.krx.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxClusterProperties;
+import top.tradesystem.krx.dto.KrxCacheInvalidationRow;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxClusterMapper;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 간 캐시 무효화 broadcast (krx_cache_invalidation 테이블 polling).
+ * - publish: 테이블에 한 줄 쓰고, 로컬에도 KrxCacheInvalidatedEvent(remote=false) 발행
+ * - poller : 다른 노드가 쓴 줄을 읽어 KrxCacheInvalidatedEvent(remote=true) 발행
+ *
+ * auto-increment id 는 commit 순서와 다를 수 있어서, 연속 구간(safeId)까지만 확정하고
+ * 그 위는 이미 전달한 id 를 기억해 중복을 막는다. 오래 비어 있는 id(rollback)는 건너뜀.
+ */
+@Component
+public class ClusterCacheBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheBus.class);
+
+    public static final String DAILY_PRICE = "daily-price";      // key: basDd:market:saved
+    public static final String INDEX_DAILY = "index-daily";      // key: basDd:family
+    public static final String TICKER_MASTER = "ticker-master";  // key: * (종목 목록 전체)
+
+    private static final int BATCH = 500;
+    private static final long GAP_TIMEOUT_MS = 10_000L;
+
+    private final KrxClusterProperties props;
+    private final KrxClusterMapper mapper;
+    private final ApplicationEventPublisher events;
+    private final String nodeId;
+
+    // poller 스레드 전용
+    private long safeId;
+    private long gapSince;
+    private final Set<Long> delivered = new HashSet<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public ClusterCacheBus(
+            KrxClusterProperties props,
+            KrxClusterMapper mapper,
+            ApplicationEventPublisher events,
+            ClusterMembership membership
+    ) {
+        this.props = props;
+        this.mapper = mapper;
+        this.events = events;
+        this.nodeId = membership.nodeId();
+    }
+
+    // =========================
+    // 1) 발행
+    // =========================
+    public void publish(String topic, String key) {
+        events.publishEvent(new KrxCacheInvalidatedEvent(topic, key, nodeId, false));
+        if (!props.enabled()) return;
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                mapper.insertInvalidation(nodeId, topic, key);
+            } catch (Exception e) {
+                log.warn("cache invalidation broadcast failed: {} {}", topic, key, e);
+            }
+        });
+    }
+
+    /** 일봉 저장 → 다른 노드의 파생 캐시(수정주가/공분산/리스크 기준가) 갱신 */
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        if (e.saved() <= 0) return;
+        publish(DAILY_PRICE, e.basDd() + ":" + e.market() + ":" + e.saved());
+    }
+
+    /** 다른 노드의 일봉 저장이면 원래 이벤트로 되돌림 (로컬 리스너 재사용), 아니면 null */
+    public static KrxDailyPriceSyncedEvent remoteDailyPrice(KrxCacheInvalidatedEvent e) {
+        if (!e.remote() || !DAILY_PRICE.equals(e.topic())) return null;
+        String[] k = e.key().split(":");
+        if (k.length != 3) return null;
+        return new KrxDailyPriceSyncedEvent(k[0], k[1], Integer.parseInt(k[2]));
+    }
+
+    // =========================
+    // 2) 수신
+    // =========================
+    @Override
+    public void start() {
+        if (!props.enabled() || running) return;
+        Long max = mapper.findMaxInvalidationId();
+        safeId = max == null ? 0L : max; // 기동 이전 기록은 받을 필요 없음 (캐시가 비어 있음)
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-cache-bus");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::pollQuietly,
+                props.invalidationPollMs(), props.invalidationPollMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("cache invalidation poll failed", e);
+        }
+    }
+
+    void poll() {
+        List<KrxCacheInvalidationRow> rows = mapper.findInvalidationsAfter(safeId, BATCH);
+        for (KrxCacheInvalidationRow r : rows) {
+            if (!delivered.add(r.id()) || nodeId.equals(r.origin())) continue;
+            try {
+                events.publishEvent(new KrxCacheInvalidatedEvent(r.topic(), r.cacheKey(), r.origin(), true));
+            } catch (Exception e) {
+                log.warn("cache invalidation listener failed: {} {}", r.topic(), r.cacheKey(), e);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        long next = safeId;
+        boolean blocked = false;
+        for (KrxCacheInvalidationRow r : rows) {
+            if (r.id() != next + 1) {
+                if (gapSince == 0) gapSince = now;
+                if (now - gapSince < GAP_TIMEOUT_MS) {
+                    blocked = true;
+                    break;
+                }
+                gapSince = 0; // 아직 commit 안 된 게 아니라 rollback 된 id
+            }
+            next = r.id();
+        }
+        if (!blocked) gapSince = 0;
+        long confirmed = next;
+        safeId = confirmed;
+        delivered.removeIf(id -> id <= confirmed);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
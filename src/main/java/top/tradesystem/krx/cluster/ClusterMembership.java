@@ -0,0 +1,172 @@
+package top.tradesystem.krx.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxClusterProperties;
+import top.tradesystem.krx.dto.KrxClusterNodeRow;
+import top.tradesystem.krx.repository.KrxClusterMapper;
+import top.tradesystem.krx.scheduler.JobLeaseService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클러스터 멤버십 (MySQL).
+ * - heartbeat: krx_cluster_node 에 주기적으로 기록, node-ttl 안에 기록한 노드만 살아 있는 노드
+ * - 살아 있는 노드 목록으로 consistent hash ring 구성 → 목록이 바뀌면(노드 추가/사망) ring 재구성 = 샤드 재배정
+ * - leader: krx_job_lease 'cluster:leader' lease 를 heartbeat 마다 획득/연장
+ * node id 는 JobLeaseService.ownerId (pid@host) 라 한 호스트에 JVM 여러 개를 띄워도 구분된다.
+ */
+@Component
+public class ClusterMembership implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    static final String LEADER_LEASE = "cluster:leader";
+    private static final long HOUSEKEEPING_MS = 60_000L;
+
+    private final KrxClusterProperties props;
+    private final KrxClusterMapper mapper;
+    private final JobLeaseService leaseService;
+    private final String nodeId;
+
+    private volatile HashRing ring;
+    private volatile List<KrxClusterNodeRow> liveNodes = List.of();
+    private volatile boolean leader;
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+    private long lastHousekeeping;
+
+    public ClusterMembership(KrxClusterProperties props, KrxClusterMapper mapper, JobLeaseService leaseService) {
+        this.props = props;
+        this.mapper = mapper;
+        this.leaseService = leaseService;
+        this.nodeId = leaseService.ownerId();
+        this.ring = new HashRing(List.of(nodeId), props.virtualNodes());
+        this.leader = !props.enabled(); // 단일 노드 모드: 항상 leader
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /** key 담당 노드 */
+    public String owner(String key) {
+        String o = ring.owner(key);
+        return o != null ? o : nodeId;
+    }
+
+    /** 살아 있는 노드의 advertised url (모르면 null) */
+    public String baseUrl(String node) {
+        for (KrxClusterNodeRow r : liveNodes) {
+            if (r.nodeId().equals(node)) return r.baseUrl();
+        }
+        return null;
+    }
+
+    // =========================
+    // heartbeat / leader
+    // =========================
+    @Override
+    public void start() {
+        if (!props.enabled() || running) return;
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::tickQuietly, 0, props.heartbeatMs(), TimeUnit.MILLISECONDS);
+        log.info("cluster node started: {} ({})", nodeId, props.advertisedUrl());
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (Exception e) {
+            // DB 를 못 보면 leader 는 내려놓음 (lease 가 만료되면 다른 노드가 인수)
+            if (leader) log.warn("cluster heartbeat failed, stepping down as leader", e);
+            else log.warn("cluster heartbeat failed", e);
+            leader = false;
+        }
+    }
+
+    void tick() {
+        mapper.heartbeat(nodeId, props.advertisedUrl());
+
+        List<KrxClusterNodeRow> nodes = mapper.findLiveNodes(props.nodeTtlMs());
+        List<String> ids = nodes.stream().map(KrxClusterNodeRow::nodeId).toList();
+        if (!ids.contains(nodeId)) return; // 방금 쓴 heartbeat 가 안 보이면 이번 tick 은 건너뜀
+        liveNodes = nodes;
+        if (!ids.equals(ring.nodes())) {
+            log.info("cluster ring changed: {} -> {}", ring.nodes(), ids);
+            ring = new HashRing(ids, props.virtualNodes());
+        }
+
+        boolean now = leaseService.tryAcquire(LEADER_LEASE, Duration.ofSeconds(props.leaderLeaseSeconds()));
+        if (now != leader) log.info("cluster leader {}: {}", now ? "acquired" : "lost", nodeId);
+        leader = now;
+
+        long t = System.currentTimeMillis();
+        if (leader && t - lastHousekeeping >= HOUSEKEEPING_MS) {
+            lastHousekeeping = t;
+            int nodesRemoved = mapper.deleteStaleNodes(props.retentionHours());
+            int purged = mapper.purgeInvalidations(props.retentionHours());
+            if (nodesRemoved + purged > 0) {
+                log.debug("cluster housekeeping: {} stale nodes, {} invalidations purged", nodesRemoved, purged);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 정상 종료: 바로 ring 에서 빠지고 leader 도 넘김 (ttl 기다리지 않음)
+        try {
+            mapper.markLeft(nodeId);
+            if (leader) leaseService.release(LEADER_LEASE);
+        } catch (Exception e) {
+            log.warn("cluster leave failed: {}", nodeId, e);
+        }
+        leader = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // =========================
+    // 조회
+    // =========================
+    public Status status() {
+        List<NodeView> nodes = liveNodes.stream()
+                .map(r -> new NodeView(r.nodeId(), r.baseUrl(), r.startedAt().toString(), r.heartbeatAt().toString()))
+                .toList();
+        return new Status(props.enabled(), nodeId, leader, ring.nodes().size(), nodes);
+    }
+
+    public record NodeView(String nodeId, String baseUrl, String startedAt, String heartbeatAt) {}
+
+    public record Status(boolean enabled, String nodeId, boolean leader, int ringNodes, List<NodeView> liveNodes) {}
+}
@@ -0,0 +1,134 @@
+package top.tradesystem.krx.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.config.KrxClusterProperties;
+import top.tradesystem.krx.ratelimit.KrxRequestPriority;
+import top.tradesystem.krx.scheduler.JobLeaseService;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * sync 작업 샤딩.
+ * - 작업 단위 = (dataset, basDd, market) → consistent hash 로 담당 노드 결정
+ * - 담당이 자기면 item lease 아래 로컬 실행, 아니면 담당 노드의 internal endpoint 로 넘기고 결과를 받음
+ * - 담당 노드에 연결이 안 되면(죽었는데 아직 ttl 전) 로컬 실행으로 대체 → lease 가 중복 실행을 막음
+ * range sync / backfill / EOD 는 모두 서비스의 단일 일자 sync 를 거치므로 따로 손댈 필요 없음.
+ */
+@Component
+public class ClusterSyncCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterSyncCoordinator.class);
+
+    public static final String FORWARD_PATH = "/api/krx/cluster/internal/sync";
+    public static final String ORIGIN_HEADER = "X-Krx-Cluster-Origin";
+    public static final String PRIORITY_HEADER = "X-Krx-Priority"; // Reactor Context 는 노드를 넘지 못하므로 header 로
+
+    private final ClusterMembership membership;
+    private final JobLeaseService leaseService;
+    private final KrxClusterProperties props;
+    private final WebClient client = WebClient.create();
+
+    // dataset → (basDd, market) 로컬 실행
+    private final Map<String, BiFunction<String, String, Mono<?>>> handlers = new ConcurrentHashMap<>();
+
+    private final LongAdder local = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder fallback = new LongAdder();
+    private final LongAdder busy = new LongAdder();
+
+    public ClusterSyncCoordinator(ClusterMembership membership, JobLeaseService leaseService, KrxClusterProperties props) {
+        this.membership = membership;
+        this.leaseService = leaseService;
+        this.props = props;
+    }
+
+    /** 서비스가 생성자에서 등록 (다른 노드가 넘긴 작업을 실행할 때 사용) */
+    public void register(String dataset, BiFunction<String, String, Mono<?>> handler) {
+        if (handlers.putIfAbsent(dataset, handler) != null) {
+            throw new IllegalStateException("cluster sync handler already registered: " + dataset);
+        }
+    }
+
+    public static String key(String dataset, String basDd, String market) {
+        return dataset + ":" + basDd + ":" + market;
+    }
+
+    // =========================
+    // 1) 라우팅
+    // =========================
+    public <T> Mono<T> route(String dataset, String basDd, String market, Class<T> type, Supplier<Mono<T>> localRun) {
+        if (!props.enabled()) return Mono.defer(localRun);
+
+        String key = key(dataset, basDd, market);
+        return Mono.deferContextual(ctx -> {
+            String owner = membership.owner(key);
+            String url = owner.equals(membership.nodeId()) ? null : membership.baseUrl(owner);
+            if (url == null) return exclusive(key, localRun);
+
+            forwarded.increment();
+            return client.post()
+                    .uri(url + FORWARD_PATH + "?dataset={d}&basDd={b}&market={m}", dataset, basDd, market)
+                    .header(ORIGIN_HEADER, membership.nodeId())
+                    .header(PRIORITY_HEADER, KrxRequestPriority.from(ctx).name())
+                    .retrieve()
+                    .bodyToMono(type)
+                    .timeout(Duration.ofSeconds(props.forwardTimeoutSeconds()))
+                    .onErrorResume(WebClientRequestException.class, e -> {
+                        fallback.increment();
+                        log.warn("cluster forward to {} failed, running locally: {}", owner, key, e);
+                        return exclusive(key, localRun);
+                    });
+        });
+    }
+
+    /** 다른 노드가 넘긴 작업: 다시 라우팅하지 않고 이 노드에서 실행 */
+    public Mono<Object> runForwarded(String dataset, String basDd, String market) {
+        BiFunction<String, String, Mono<?>> handler = handlers.get(dataset);
+        if (handler == null) return Mono.error(new IllegalArgumentException("unknown cluster dataset: " + dataset));
+        return exclusive(key(dataset, basDd, market), () -> handler.apply(basDd, market).cast(Object.class));
+    }
+
+    // =========================
+    // 2) item lease: 같은 작업이 동시에 두 번 돌지 않게 (노드 안/노드 사이 모두)
+    //    (ring 이 바뀌는 순간 / fallback 실행 때 겹칠 수 있음)
+    // =========================
+    private <T> Mono<T> exclusive(String key, Supplier<Mono<T>> run) {
+        String lease = "sync:" + key;
+        Duration ttl = Duration.ofSeconds(props.syncLeaseSeconds());
+
+        // lease token 은 호출마다 달라서 같은 노드의 중복 요청도 하나만 실행 (나머지는 busy)
+        return leaseService.exclusive(lease, ttl,
+                l -> {
+                    local.increment();
+                    return Mono.defer(run);
+                },
+                () -> {
+                    busy.increment();
+                    return Mono.error(new IllegalStateException("sync already running: " + key));
+                });
+    }
+
+    // =========================
+    // 조회
+    // =========================
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("datasets", handlers.keySet().stream().sorted().toList());
+        m.put("local", local.sum());
+        m.put("forwarded", forwarded.sum());
+        m.put("fallback", fallback.sum());
+        m.put("busy", busy.sum());
+        return m;
+    }
+}
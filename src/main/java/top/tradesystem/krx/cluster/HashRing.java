@@ -0,0 +1,70 @@
+package top.tradesystem.krx.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * consistent hash ring (불변, 노드 목록이 바뀌면 새로 만듦).
+ * 노드 하나가 빠지면 그 노드 몫의 key 만 다른 노드로 옮겨지고 나머지 배정은 그대로.
+ */
+final class HashRing {
+
+    private final List<String> nodes;
+    private final long[] points;   // 정렬된 hash
+    private final String[] owners; // points[i] 의 노드
+
+    HashRing(List<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        List<Point> ps = new ArrayList<>(this.nodes.size() * virtualNodes);
+        for (String node : this.nodes) {
+            for (int v = 0; v < virtualNodes; v++) ps.add(new Point(hash(node + "#" + v), node));
+        }
+        // 충돌 시 node 이름 순 → 모든 노드가 같은 ring 을 만듦
+        ps.sort((a, b) -> {
+            int c = Long.compareUnsigned(a.hash(), b.hash());
+            return c != 0 ? c : a.owner().compareTo(b.owner());
+        });
+        this.points = new long[ps.size()];
+        this.owners = new String[ps.size()];
+        for (int i = 0; i < ps.size(); i++) {
+            points[i] = ps.get(i).hash();
+            owners[i] = ps.get(i).owner();
+        }
+    }
+
+    private record Point(long hash, String owner) {}
+
+    List<String> nodes() {
+        return nodes;
+    }
+
+    /** key 의 담당 노드 (ring 이 비었으면 null) */
+    String owner(String key) {
+        if (points.length == 0) return null;
+        long h = hash(key);
+        int lo = 0;
+        int hi = points.length;
+        while (lo < hi) { // h 이상인 첫 point
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(points[mid], h) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return owners[lo == points.length ? 0 : lo];
+    }
+
+    /** FNV-1a 64 + splitmix 마무리 (노드 간 같은 값이 나와야 하므로 String.hashCode 대신) */
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
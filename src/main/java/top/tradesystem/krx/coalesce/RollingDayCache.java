@@ -0,0 +1,160 @@
+package top.tradesystem.krx.coalesce;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterCacheBus;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * asOf 거래일 기준으로 만든 무거운 결과(공분산 행렬, 팩터 패널 ...)의 LRU 캐시 + 일자 sync 때 하루씩 굴리기.
+ * <ul>
+ *   <li>미스 때 build 는 {@link SingleFlight} 로 합쳐 키당 한 번만 (boundedElastic)</li>
+ *   <li>{@link #refreshDay}: 그날 입력을 한 번 읽어 캐시된 값마다
+ *       같은 날 → 최신 하루만 교체 / 바로 다음 거래일 → 하루 굴림 (coverage 가 모자라면 다른 시장 이벤트를 기다림) /
+ *       거래일이 비었거나 rebuildEveryDays 만큼 굴렸음 → 제거 / 창 안의 과거 일자 정정 → 제거</li>
+ *   <li>값 하나를 바꾸는 동안은 그 값으로 synchronized → 조회 쪽도 같은 lock 으로 읽으면 됨</li>
+ * </ul>
+ * @param <V> 캐시 값
+ * @param <D> 하루치 입력 (종목 → 값)
+ */
+public final class RollingDayCache<V, D> {
+
+    private static final Logger log = LoggerFactory.getLogger(RollingDayCache.class);
+
+    /** 값 종류별 동작 (refreshDay 안에서 값 lock 을 잡은 채 호출됨) */
+    public interface Ops<V, D> {
+        /** 캐시 키, asOf 가 바뀌면 키도 바뀜 */
+        String key(V v);
+
+        String asOf(V v);
+
+        /** 값에 들어 있는 가장 오래된 거래일 (이 날 이후 정정이면 제거) */
+        String oldestDay(V v);
+
+        /** 마지막 전체 계산 이후 굴린 일수 */
+        int rolls(V v);
+
+        /** basDd 하루 전 종목 입력 */
+        D loadDay(String basDd);
+
+        /** 값의 종목 중 day 에 입력이 있는 비율 */
+        double coverage(V v, D day);
+
+        /** asOf 와 같은 날 재적재 / 두 번째 시장 도착 */
+        void replaceNewest(V v, D day);
+
+        /** 바로 다음 거래일 basDd 로 하루 굴림 */
+        void roll(V v, String basDd, D day);
+    }
+
+    private final String name;
+    private final Ops<V, D> ops;
+    private final KrxRollupMapper rollupMapper;
+    private final SingleFlight singleFlight;
+    private final int rebuildEveryDays;
+    private final double dayCoverage;
+    private final Map<String, V> cache;
+    private final Object updateLock = new Object();
+
+    public RollingDayCache(String name, Ops<V, D> ops, KrxRollupMapper rollupMapper, SingleFlight singleFlight,
+                           int entries, int rebuildEveryDays, double dayCoverage) {
+        this.name = name;
+        this.ops = ops;
+        this.rollupMapper = rollupMapper;
+        this.singleFlight = singleFlight;
+        this.rebuildEveryDays = rebuildEveryDays;
+        this.dayCoverage = dayCoverage;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(entries * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > entries;
+            }
+        });
+    }
+
+    // =========================
+    // 1) 조회 (캐시 + single-flight)
+    // =========================
+    public Mono<V> get(String key, Supplier<V> build) {
+        return Mono.defer(() -> {
+            V v = cache.get(key);
+            if (v != null) return Mono.just(v);
+            return singleFlight.execute(name, key, () -> Mono.fromCallable(build::get)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(built -> cache.put(key, built)));
+        });
+    }
+
+    public List<V> values() {
+        synchronized (cache) {
+            return new ArrayList<>(cache.values());
+        }
+    }
+
+    // =========================
+    // 2) 증분 갱신: 일자 sync 직후
+    // =========================
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        if (e.saved() <= 0 || cache.isEmpty()) return;
+        Mono.fromRunnable(() -> refreshDay(e.basDd(), e.market()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        x -> { },
+                        err -> log.warn("{} refresh failed: {} {}", name, e.basDd(), e.market(), err)
+                );
+    }
+
+    /** 다른 노드에서 저장된 일자도 같은 방식으로 반영 */
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        KrxDailyPriceSyncedEvent synced = ClusterCacheBus.remoteDailyPrice(e);
+        if (synced != null) onDailyPriceSynced(synced);
+    }
+
+    public void refreshDay(String basDd, String market) {
+        synchronized (updateLock) {
+            List<Map.Entry<String, V>> entries;
+            synchronized (cache) {
+                entries = new ArrayList<>(cache.entrySet());
+            }
+            if (entries.isEmpty()) return;
+
+            D day = ops.loadDay(basDd);
+            for (Map.Entry<String, V> en : entries) {
+                String key = en.getKey();
+                V v = en.getValue();
+                synchronized (v) {
+                    String asOf = ops.asOf(v);
+                    if (basDd.equals(asOf)) {
+                        ops.replaceNewest(v, day);
+                        log.debug("{} {} replaced newest {}", name, key, basDd);
+                    } else if (basDd.compareTo(asOf) > 0) {
+                        List<String> between = rollupMapper.findTradingDays(asOf, basDd, market);
+                        boolean next = between.size() == 2 && between.get(0).equals(asOf) && between.get(1).equals(basDd);
+                        if (!next || ops.rolls(v) + 1 >= rebuildEveryDays) {
+                            cache.remove(key); // 중간 거래일이 비었거나 오래 굴렸음 → 다음 조회 때 새로 계산
+                            continue;
+                        }
+                        if (ops.coverage(v, day) < dayCoverage) continue; // 다른 시장 이벤트를 기다림
+                        ops.roll(v, basDd, day);
+                        cache.remove(key);
+                        cache.put(ops.key(v), v);
+                        log.debug("{} {} rolled to {}", name, key, basDd);
+                    } else if (basDd.compareTo(ops.oldestDay(v)) >= 0) {
+                        cache.remove(key); // 창 안의 과거 일자 정정 → 이후 값이 전부 바뀜
+                    }
+                }
+            }
+        }
+    }
+}
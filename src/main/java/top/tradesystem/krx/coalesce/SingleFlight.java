@@ -0,0 +1,102 @@
+package top.tradesystem.krx.coalesce;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.config.KrxCoalesceProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 동일 요청 합치기 (single-flight).
+ *
+ * <p>같은 group+key 로 실행 중인 요청이 있으면 새로 실행하지 않고 그 결과를 같이 받는다.
+ * 실행이 끝나면(성공/실패/전원 취소) 바로 빠지므로 결과를 캐시하지는 않음 — 캐시는 {@link TtlCache}.
+ * <ul>
+ *   <li>share(): 구독자가 전부 취소하면 원천도 취소, 다음 요청이 새로 실행</li>
+ *   <li>metrics: krx.singleflight.calls{group, role=leader|coalesced}, krx.singleflight.coalesce.ratio{group}</li>
+ * </ul>
+ */
+@Component
+public class SingleFlight {
+
+    private final KrxCoalesceProperties props;
+    private final MeterRegistry meters;
+    private final ConcurrentHashMap<String, Flight> inflight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GroupStats> groups = new ConcurrentHashMap<>();
+
+    public SingleFlight(KrxCoalesceProperties props, MeterRegistry meters) {
+        this.props = props;
+        this.meters = meters;
+        Gauge.builder("krx.singleflight.inflight", inflight, Map::size).register(meters);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String group, String key, Supplier<Mono<T>> loader) {
+        if (!props.enabled()) return Mono.defer(loader);
+        return Mono.defer(() -> {
+            String k = group + '\u0000' + key;
+            GroupStats stats = stats(group);
+            boolean[] leader = new boolean[1];
+            Flight f = inflight.computeIfAbsent(k, x -> {
+                leader[0] = true;
+                return new Flight(k, loader);
+            });
+            (leader[0] ? stats.leaders : stats.coalesced).increment();
+            return (Mono<T>) f.shared;
+        });
+    }
+
+    private final class Flight {
+        final Mono<Object> shared;
+
+        Flight(String key, Supplier<? extends Mono<?>> loader) {
+            this.shared = Mono.<Object>defer(loader)
+                    .doFinally(s -> inflight.remove(key, this))
+                    .share();
+        }
+    }
+
+    private GroupStats stats(String group) {
+        GroupStats s = groups.get(group);
+        return s != null ? s : groups.computeIfAbsent(group, g -> new GroupStats(g, meters));
+    }
+
+    public Map<String, Stats> stats() {
+        Map<String, Stats> out = new LinkedHashMap<>();
+        groups.forEach((g, s) -> out.put(g, new Stats(s.leaders.sum(), s.coalesced.sum(), s.ratio())));
+        return out;
+    }
+
+    private static final class GroupStats {
+        final LongAdder leaders = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+
+        GroupStats(String group, MeterRegistry meters) {
+            FunctionCounter.builder("krx.singleflight.calls", leaders, LongAdder::sum)
+                    .tags("group", group, "role", "leader").register(meters);
+            FunctionCounter.builder("krx.singleflight.calls", coalesced, LongAdder::sum)
+                    .tags("group", group, "role", "coalesced").register(meters);
+            Gauge.builder("krx.singleflight.coalesce.ratio", this, GroupStats::ratio)
+                    .tag("group", group).register(meters);
+        }
+
+        /** 전체 요청 중 합쳐진(실제 실행 안 한) 비율 */
+        double ratio() {
+            long l = leaders.sum();
+            long c = coalesced.sum();
+            return l + c == 0 ? 0.0 : (double) c / (l + c);
+        }
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record Stats(long executed, long coalesced, double coalesceRatio) {}
+}
@@ -0,0 +1,57 @@
+package top.tradesystem.krx.coalesce;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 짧은 TTL + LRU 캐시 (응답 값 그대로 보관).
+ * 만료/미스 때의 로딩은 호출부가 {@link SingleFlight} 로 감싸서 넘김 → 만료 순간 몰린 요청도 원천 호출 1번.
+ * 실패는 캐시하지 않음.
+ */
+public final class TtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TtlCache(long ttlMs, int maxSize) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Mono<V> get(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> e = entries.get(key);
+            long now = System.nanoTime();
+            if (e != null && now - e.loadedAt < ttlNanos) {
+                hits.increment();
+                return Mono.just(e.value);
+            }
+            misses.increment();
+            return loader.get().doOnNext(v -> entries.put(key, new Entry<>(v, System.nanoTime())));
+        });
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum());
+    }
+
+    private record Entry<V>(V value, long loadedAt) {}
+
+    public record Stats(int size, long hits, long misses) {}
+}
@@ -0,0 +1,45 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxDailyTradeRow;
+import top.tradesystem.krx.dto.KrxIndexDailyPriceRow;
+import top.tradesystem.krx.ingest.WriteBehindBuffer;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxDailyTradeMapper;
+import top.tradesystem.krx.repository.KrxIndexDailyPriceMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+// 테이블별 write-behind 버퍼 (종료 시 close → 남은 row flush)
+@Configuration
+public class IngestConfig {
+
+    @Bean
+    public WriteBehindBuffer<KrxDailyPriceRow> dailyPriceWriteBuffer(KrxDailyPriceMapper mapper, KrxIngestProperties p) {
+        return buffer("daily-price", mapper::upsertBatch, p);
+    }
+
+    @Bean
+    public WriteBehindBuffer<KrxDailyTradeRow> dailyTradeWriteBuffer(KrxDailyTradeMapper mapper, KrxIngestProperties p) {
+        return buffer("daily-trade", mapper::upsertBatch, p);
+    }
+
+    @Bean
+    public WriteBehindBuffer<KrxIndexDailyPriceRow> indexDailyWriteBuffer(KrxIndexDailyPriceMapper mapper,
+                                                                         KrxIngestProperties p) {
+        return buffer("index-daily", mapper::upsertBatch, p);
+    }
+
+    private static <T> WriteBehindBuffer<T> buffer(
+            String name,
+            Function<List<T>, Integer> upsert,
+            KrxIngestProperties p
+    ) {
+        return new WriteBehindBuffer<>(name, upsert::apply, p.batchSize(), Duration.ofMillis(p.maxDelayMs()),
+                p.capacity(), p.writers());
+    }
+}
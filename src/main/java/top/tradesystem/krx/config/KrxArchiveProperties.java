@@ -0,0 +1,15 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "krx.archive")
+public record KrxArchiveProperties(
+        boolean enabled,
+        String dir,
+        int replayParallelism
+) {
+    public KrxArchiveProperties {
+        if (dir == null || dir.isBlank()) dir = "./data/krx-archive";
+        if (replayParallelism <= 0) replayParallelism = Runtime.getRuntime().availableProcessors();
+    }
+}
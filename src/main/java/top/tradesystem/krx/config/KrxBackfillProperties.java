@@ -0,0 +1,21 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "krx.backfill")
+public record KrxBackfillProperties(
+        boolean workersEnabled,
+        int workers,
+        long pollIntervalMs,
+        int maxAttempts,
+        int staleClaimSeconds,
+        int throughputWindowSeconds
+) {
+    public KrxBackfillProperties {
+        if (workers <= 0) workers = 4;
+        if (pollIntervalMs <= 0) pollIntervalMs = 1000;
+        if (maxAttempts <= 0) maxAttempts = 3;
+        if (staleClaimSeconds <= 0) staleClaimSeconds = 600;
+        if (throughputWindowSeconds <= 0) throughputWindowSeconds = 300;
+    }
+}
@@ -0,0 +1,43 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 멀티 노드 조정 설정 (krx.cluster.*)
+ *
+ * @param enabled              false 면 단일 노드처럼 동작 (항상 leader, sync 는 로컬 실행, 무효화는 로컬 이벤트만)
+ * @param advertisedUrl        다른 노드가 이 노드로 sync 를 넘길 때 쓰는 주소 (예: http://10.0.0.5:7777)
+ * @param heartbeatMs          heartbeat / leader lease 갱신 주기
+ * @param nodeTtlMs            heartbeat 가 이보다 오래되면 죽은 노드로 보고 샤드 재배정
+ * @param leaderLeaseSeconds   leader lease 길이 (죽은 leader 는 이 시간 뒤 다른 노드가 인수)
+ * @param virtualNodes         consistent hash ring 에서 노드당 가상 노드 수
+ * @param syncLeaseSeconds     (dataset, basDd, market) 단위 실행 lease, 실행 중 1/3 주기로 연장
+ * @param forwardTimeoutSeconds 다른 노드로 넘긴 sync 응답 대기 시간
+ * @param invalidationPollMs   캐시 무효화 테이블 polling 주기
+ * @param retentionHours       무효화 기록 / 떠난 노드 보관 시간 (leader 가 정리)
+ */
+@ConfigurationProperties(prefix = "krx.cluster")
+public record KrxClusterProperties(
+        boolean enabled,
+        String advertisedUrl,
+        long heartbeatMs,
+        long nodeTtlMs,
+        int leaderLeaseSeconds,
+        int virtualNodes,
+        int syncLeaseSeconds,
+        int forwardTimeoutSeconds,
+        long invalidationPollMs,
+        int retentionHours
+) {
+    public KrxClusterProperties {
+        if (advertisedUrl == null || advertisedUrl.isBlank()) advertisedUrl = "http://localhost:7777";
+        if (heartbeatMs <= 0) heartbeatMs = 2_000L;
+        if (nodeTtlMs <= 0) nodeTtlMs = heartbeatMs * 5;
+        if (leaderLeaseSeconds <= 0) leaderLeaseSeconds = 15;
+        if (virtualNodes <= 0) virtualNodes = 64;
+        if (syncLeaseSeconds <= 0) syncLeaseSeconds = 60;
+        if (forwardTimeoutSeconds <= 0) forwardTimeoutSeconds = 300;
+        if (invalidationPollMs <= 0) invalidationPollMs = 1_000L;
+        if (retentionHours <= 0) retentionHours = 24;
+    }
+}
@@ -0,0 +1,22 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 동일 요청 합치기 / 짧은 TTL 캐시 설정 (krx.coalesce.*)
+ *
+ * @param enabled         false 면 single-flight 없이 요청마다 그대로 실행
+ * @param tickerTtlMs     종목 마스터 API(/api/krx/tickers/*) 응답 캐시 시간
+ * @param tickerCacheSize 종목 마스터 캐시 최대 key 수 (basDd × 시장)
+ */
+@ConfigurationProperties(prefix = "krx.coalesce")
+public record KrxCoalesceProperties(
+        boolean enabled,
+        long tickerTtlMs,
+        int tickerCacheSize
+) {
+    public KrxCoalesceProperties {
+        if (tickerTtlMs <= 0) tickerTtlMs = 30_000L;
+        if (tickerCacheSize <= 0) tickerCacheSize = 64;
+    }
+}
@@ -4,6 +4,27 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(KrxProperties.class)
+@EnableConfigurationProperties({
+        KrxProperties.class,
+        KrxSchedulerProperties.class,
+        KrxBackfillProperties.class,
+        KrxArchiveProperties.class,
+        KrxSourceProperties.class,
+        KrxRealtimeProperties.class,
+        KrxIngestProperties.class,
+        KrxQualityProperties.class,
+        KrxPartitionProperties.class,
+        KrxCovarianceProperties.class,
+        KrxRiskProperties.class,
+        KrxPaperProperties.class,
+        KrxJournalProperties.class,
+        KrxCoalesceProperties.class,
+        KrxStartupProperties.class,
+        KrxClusterProperties.class,
+        KrxRateLimitProperties.class,
+        KrxHistoryProperties.class,
+        KrxFactorProperties.class,
+        KrxTelemetryProperties.class
+})
 public class KrxConfig {
 }
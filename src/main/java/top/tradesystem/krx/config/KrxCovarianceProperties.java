@@ -0,0 +1,39 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 전 종목 rolling 공분산/상관 설정 (krx.covariance.*)
+ *
+ * @param enabled          일자 sync 이벤트로 캐시된 행렬을 증분 갱신할지
+ * @param defaultWindow    window 를 안 주면 쓰는 거래일 수
+ * @param maxWindow        허용 최대 window
+ * @param minObsRatio      window 중 이 비율 이상 수익률이 있는 종목만 universe 에 포함 (없는 날은 0)
+ * @param dayCoverage      증분 갱신 시 당일 수익률이 universe 의 이 비율 이상 모여야 반영 (KOSPI/KOSDAQ 둘 다 들어온 뒤)
+ * @param cacheEntries     (window, asOf) 행렬 캐시 수 (2,700 종목이면 항목당 ~60MB)
+ * @param threads          행렬 계산 병렬도 (0 이면 CPU 수)
+ * @param simd             Vector API 커널 사용 (--add-modules jdk.incubator.vector 가 없으면 scalar 로 대체)
+ * @param rebuildEveryDays 증분 갱신을 이만큼 한 뒤엔 전체 재계산 (universe 갱신, 오차 누적 방지)
+ */
+@ConfigurationProperties(prefix = "krx.covariance")
+public record KrxCovarianceProperties(
+        boolean enabled,
+        int defaultWindow,
+        int maxWindow,
+        double minObsRatio,
+        double dayCoverage,
+        int cacheEntries,
+        int threads,
+        boolean simd,
+        int rebuildEveryDays
+) {
+    public KrxCovarianceProperties {
+        if (defaultWindow <= 1) defaultWindow = 60;
+        if (maxWindow < defaultWindow) maxWindow = Math.max(504, defaultWindow);
+        if (minObsRatio <= 0 || minObsRatio > 1) minObsRatio = 0.8;
+        if (dayCoverage <= 0 || dayCoverage > 1) dayCoverage = 0.9;
+        if (cacheEntries <= 0) cacheEntries = 4;
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        if (rebuildEveryDays <= 0) rebuildEveryDays = 20;
+    }
+}
@@ -0,0 +1,31 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 팩터 패널 설정 (krx.factor.*)
+ *
+ * @param enabled          일자 sync 이벤트로 캐시된 패널에 하루씩 이어 붙일지
+ * @param historyDays      패널이 값을 내는 거래일 수 (앞에 팩터 warmup 만큼 더 읽음)
+ * @param cacheEntries     asOf 별 패널 캐시 수 (2,700 종목 × ~500 일 × 13 컬럼이면 항목당 ~140MB)
+ * @param threads          계산 병렬도 (0 이면 CPU 수)
+ * @param dayCoverage      증분 갱신 시 당일 데이터가 universe 의 이 비율 이상 모여야 반영 (KOSPI/KOSDAQ 둘 다 들어온 뒤)
+ * @param rebuildEveryDays 이만큼 이어 붙인 뒤엔 전체 재계산 (universe 갱신, 패널 길이 제한)
+ */
+@ConfigurationProperties(prefix = "krx.factor")
+public record KrxFactorProperties(
+        boolean enabled,
+        int historyDays,
+        int cacheEntries,
+        int threads,
+        double dayCoverage,
+        int rebuildEveryDays
+) {
+    public KrxFactorProperties {
+        if (historyDays <= 0) historyDays = 250;
+        if (cacheEntries <= 0) cacheEntries = 2;
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        if (dayCoverage <= 0 || dayCoverage > 1) dayCoverage = 0.9;
+        if (rebuildEveryDays <= 0) rebuildEveryDays = 20;
+    }
+}
@@ -0,0 +1,21 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 일봉 압축 이력 설정 (krx.history.*)
+ *
+ * @param enabled         종목 시계열 조회에 압축 blob 을 쓸지 (false 면 krx_daily_price 만 읽음)
+ * @param scheduleEnabled 매월 초 지난달 compaction 을 자동 실행할지 (cron: krx.history.compact-cron)
+ * @param batchSize       compaction 때 한 번에 upsert 하는 blob 수
+ */
+@ConfigurationProperties(prefix = "krx.history")
+public record KrxHistoryProperties(
+        boolean enabled,
+        boolean scheduleEnabled,
+        int batchSize
+) {
+    public KrxHistoryProperties {
+        if (batchSize <= 0) batchSize = 500;
+    }
+}
@@ -0,0 +1,32 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * write-behind 적재 버퍼 설정 (krx.ingest.*)
+ *
+ * @param batchSize        한 번에 upsert 하는 최대 row 수
+ * @param maxDelayMs       첫 row 가 들어온 뒤 batch 가 덜 차도 flush 하는 시간
+ * @param capacity         버퍼에 쌓아둘 수 있는 최대 row 수 (가득 차면 제출 쪽이 대기 → fetch 가 느려짐)
+ * @param writers          동시에 flush 하는 writer 수 (버퍼별)
+ * @param rangeConcurrency range sync 시 동시에 fetch 하는 일자 수
+ * @param lowAlloc         저할당 수집 경로 (worker 별 문자열 pool/변환 버퍼 재사용, 응답 row 는 키 배열 공유 map,
+ *                         Map → DTO 는 중간 String 없이 숫자 파싱). false 면 기존 경로 — 둘을 바꿔가며 비교
+ */
+@ConfigurationProperties(prefix = "krx.ingest")
+public record KrxIngestProperties(
+        int batchSize,
+        long maxDelayMs,
+        int capacity,
+        int writers,
+        int rangeConcurrency,
+        boolean lowAlloc
+) {
+    public KrxIngestProperties {
+        if (batchSize <= 0) batchSize = 2000;
+        if (maxDelayMs <= 0) maxDelayMs = 200;
+        if (capacity < batchSize) capacity = batchSize * 16;
+        if (writers <= 0) writers = 2;
+        if (rangeConcurrency <= 0) rangeConcurrency = 4;
+    }
+}
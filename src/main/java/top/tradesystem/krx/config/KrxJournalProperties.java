@@ -0,0 +1,38 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * append-only 이벤트 journal 설정 (krx.journal.*)
+ *
+ * @param dir             journal 루트 ({dir}/{name}/*.seg, {dir}/{name}/snapshots/*.snap)
+ * @param segmentMb       segment 파일 크기 (고정, 미리 mmap)
+ * @param fsync           EVERY: 매 기록 force / BATCH: flushIntervalMs·flushBatch 단위로 묶어서 / NONE: roll·종료 때만
+ * @param flushIntervalMs BATCH 모드 주기 flush 간격
+ * @param flushBatch      BATCH 모드에서 이만큼 쌓이면 기록 스레드가 바로 flush
+ * @param syncAudit       sync 결과(SyncResult)를 "sync" journal 에 남길지
+ * @param orderEvents     리스크 엔진 주문 이벤트(통과/해제/체결)를 "orders" journal 에 남길지
+ * @param orderRingSize   주문 이벤트를 기록 스레드로 넘기는 ring buffer 크기 (2의 거듭제곱으로 올림)
+ */
+@ConfigurationProperties(prefix = "krx.journal")
+public record KrxJournalProperties(
+        String dir,
+        int segmentMb,
+        String fsync,
+        long flushIntervalMs,
+        int flushBatch,
+        boolean syncAudit,
+        boolean orderEvents,
+        int orderRingSize
+) {
+    public KrxJournalProperties {
+        if (dir == null || dir.isBlank()) dir = "./data/journal";
+        if (segmentMb <= 0) segmentMb = 64;
+        segmentMb = Math.min(segmentMb, 1024); // int offset
+        if (fsync == null || fsync.isBlank()) fsync = "BATCH";
+        if (flushIntervalMs <= 0) flushIntervalMs = 50;
+        if (flushBatch <= 0) flushBatch = 1024;
+        if (orderRingSize <= 0) orderRingSize = 1 << 16;
+        orderRingSize = Math.max(1024, Integer.highestOneBit(orderRingSize - 1) << 1);
+    }
+}
@@ -0,0 +1,53 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 모의매매(paper trading) 설정 (krx.paper.*)
+ *
+ * @param journalDir     체결/포지션/손익 append-only journal 디렉터리
+ * @param threads        동시에 돌릴 시뮬레이션 수 (0 이면 CPU 수)
+ * @param orderPoolSize  시뮬레이션당 미리 만들어 두는 주문 slot 수 (모자라면 주문 거부)
+ * @param pathSteps      OHLC 로 만든 장중 경로에서 구간(시→저/고→고/저→종)당 tick 수
+ * @param participation  tick 거래량 중 체결 가능한 비율 (시장 충격 없는 최대 참여율)
+ * @param commissionBps  매매 수수료 (양방향, bp)
+ * @param taxBps         매도 거래세 (bp)
+ * @param initialCash    요청에 없을 때 시작 현금
+ * @param maxSimulations 요청 1건당 최대 시뮬레이션 수
+ * @param keepRuns       메모리에 결과를 남겨둘 최근 실행 수
+ * @param maxDays        요청 구간(from~to) 최대 달력 일수
+ * @param maxSymbols     요청 1건이 읽을 최대 종목 수 (symbols 가 비면 구간의 전 종목 기준)
+ * @param maxCells       bar 배열 크기 상한 (거래일 × 종목, 1 cell = OHLCV 40B)
+ */
+@ConfigurationProperties(prefix = "krx.paper")
+public record KrxPaperProperties(
+        String journalDir,
+        int threads,
+        int orderPoolSize,
+        int pathSteps,
+        double participation,
+        double commissionBps,
+        double taxBps,
+        long initialCash,
+        int maxSimulations,
+        int keepRuns,
+        int maxDays,
+        int maxSymbols,
+        long maxCells
+) {
+    public KrxPaperProperties {
+        if (journalDir == null || journalDir.isBlank()) journalDir = "./data/paper";
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        if (orderPoolSize <= 0) orderPoolSize = 16_384;
+        if (pathSteps <= 0) pathSteps = 4;
+        if (participation <= 0 || participation > 1) participation = 0.1;
+        if (commissionBps < 0) commissionBps = 1.5;
+        if (taxBps < 0) taxBps = 15;
+        if (initialCash <= 0) initialCash = 100_000_000L;
+        if (maxSimulations <= 0) maxSimulations = 256;
+        if (keepRuns <= 0) keepRuns = 20;
+        if (maxDays <= 0) maxDays = 1_100;
+        if (maxSymbols <= 0) maxSymbols = 3_000;
+        if (maxCells <= 0 || maxCells > Integer.MAX_VALUE) maxCells = 2_500_000L; // ≈ 100MB
+    }
+}
@@ -0,0 +1,30 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 일별 시세/매매 테이블 파티션 관리 설정 (krx.partition.*)
+ *
+ * @param enabled        스케줄 실행 여부 (false 면 수동 POST 만)
+ * @param cron           유지보수 실행 시각 (미래 파티션 생성 → archive 이관)
+ * @param monthsAhead    오늘 기준 몇 달 뒤까지 월 파티션을 미리 만들어 둘지
+ * @param hotYears       hot 테이블에 남겨둘 연수 (올해 제외). 이보다 오래된 파티션은 archive 대상
+ * @param archiveEnabled 스케줄 실행 때 archive 이관까지 할지 (수동 POST 는 항상 가능)
+ * @param leaseSeconds   여러 인스턴스 중 한 곳만 DDL 을 돌리도록 잡는 lease 시간
+ */
+@ConfigurationProperties(prefix = "krx.partition")
+public record KrxPartitionProperties(
+        boolean enabled,
+        String cron,
+        int monthsAhead,
+        int hotYears,
+        boolean archiveEnabled,
+        int leaseSeconds
+) {
+    public KrxPartitionProperties {
+        if (cron == null || cron.isBlank()) cron = "0 10 5 * * *";
+        if (monthsAhead <= 0) monthsAhead = 3;
+        if (hotYears <= 0) hotYears = 5;
+        if (leaseSeconds <= 0) leaseSeconds = 3600;
+    }
+}
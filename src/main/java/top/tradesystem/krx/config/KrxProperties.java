@@ -5,6 +5,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "krx")
 public record KrxProperties(
         String baseUrl,
+        String indexBaseUrl,
         String authKey,
         int timeoutSeconds,
         String responseCharset
@@ -12,5 +13,9 @@ public record KrxProperties(
     public KrxProperties {
         if (timeoutSeconds <= 0) timeoutSeconds = 30;
         if (responseCharset == null || responseCharset.isBlank()) responseCharset = "MS949"; // KRX가 종종 EUC-KR/MS949
+        // 지수 API 는 sto 대신 idx 경로 (미설정 시 base-url 에서 유도)
+        if ((indexBaseUrl == null || indexBaseUrl.isBlank()) && baseUrl != null) {
+            indexBaseUrl = baseUrl.replaceAll("/sto/?$", "/idx");
+        }
     }
 }
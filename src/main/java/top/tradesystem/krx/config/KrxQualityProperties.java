@@ -0,0 +1,43 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 적재 전 데이터 품질 검증 설정 (krx.quality.*)
+ *
+ * @param enabled                 검증 여부 (false 면 바로 upsert)
+ * @param priceLimitPct           가격제한폭 (%) — 2015-06-15 이전 일자는 15% 적용
+ * @param priceLimitTolerancePct  가격제한폭 허용 오차 (%p, 호가단위 절사 여유)
+ * @param avgPriceTolerancePct    평균 체결가(거래대금/거래량)가 저가~고가 밖으로 벗어나도 되는 폭 (%)
+ * @param rowCountWarnPct         직전 거래일 대비 row 수 변화율 WARN 기준 (%)
+ * @param rowCountErrorPct        직전 거래일 대비 row 수 변화율 ERROR(격리) 기준 (%)
+ * @param missingCodeErrorRatio   상장 종목 중 당일 누락 비율이 이 값을 넘으면 ERROR(격리)
+ * @param maxErrorRatio           종목 단위 ERROR 비율이 이 값을 넘으면 격리
+ * @param minErrorsToQuarantine   종목 단위 ERROR 가 이 수 이하면 비율과 상관없이 격리하지 않음
+ * @param maxIssuesPerCheck       check 별로 저장하는 이슈 상세 최대 수 (집계 수치는 전부 반영)
+ */
+@ConfigurationProperties(prefix = "krx.quality")
+public record KrxQualityProperties(
+        boolean enabled,
+        double priceLimitPct,
+        double priceLimitTolerancePct,
+        double avgPriceTolerancePct,
+        double rowCountWarnPct,
+        double rowCountErrorPct,
+        double missingCodeErrorRatio,
+        double maxErrorRatio,
+        int minErrorsToQuarantine,
+        int maxIssuesPerCheck
+) {
+    public KrxQualityProperties {
+        if (priceLimitPct <= 0) priceLimitPct = 30.0;
+        if (priceLimitTolerancePct <= 0) priceLimitTolerancePct = 0.5;
+        if (avgPriceTolerancePct <= 0) avgPriceTolerancePct = 1.0;
+        if (rowCountWarnPct <= 0) rowCountWarnPct = 5.0;
+        if (rowCountErrorPct <= 0) rowCountErrorPct = 20.0;
+        if (missingCodeErrorRatio <= 0) missingCodeErrorRatio = 0.05;
+        if (maxErrorRatio <= 0) maxErrorRatio = 0.01;
+        if (minErrorsToQuarantine <= 0) minErrorsToQuarantine = 5;
+        if (maxIssuesPerCheck <= 0) maxIssuesPerCheck = 200;
+    }
+}
@@ -0,0 +1,60 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * KRX OpenAPI 적응형 호출 제한 (krx.rate-limit.*)
+ *
+ * @param enabled            false 면 제한 없이 호출 (일일 사용량 집계만 함)
+ * @param keys               AUTH_KEY 목록 (비우면 krx.auth-key 하나)
+ * @param initialLimit       키별 시작 동시 호출 수
+ * @param minLimit           감소 하한
+ * @param maxLimit           증가 상한
+ * @param backoffRatio       429/5xx/지연 급증 시 동시 호출 수에 곱하는 값 (multiplicative decrease)
+ * @param latencySpikeMs     응답이 이보다 오래 걸리면 과부하로 봄
+ * @param cooldownMs         429 를 받은 키는 이 시간 동안 새 호출을 보내지 않음
+ * @param bulkQuotaReserve   일일 한도 중 bulk(backfill) 가 쓰지 못하는 비율 (EOD 등 급한 작업 몫)
+ * @param quotaFlushMs       일일 사용량 DB 반영/재조회 주기
+ */
+@ConfigurationProperties(prefix = "krx.rate-limit")
+public record KrxRateLimitProperties(
+        boolean enabled,
+        List<Key> keys,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double backoffRatio,
+        long latencySpikeMs,
+        long cooldownMs,
+        double bulkQuotaReserve,
+        long quotaFlushMs
+) {
+    public KrxRateLimitProperties {
+        if (keys == null) keys = List.of();
+        if (minLimit <= 0) minLimit = 1;
+        if (maxLimit <= 0) maxLimit = 16;
+        if (maxLimit < minLimit) maxLimit = minLimit;
+        if (initialLimit <= 0) initialLimit = 4;
+        initialLimit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        if (backoffRatio <= 0 || backoffRatio >= 1) backoffRatio = 0.5;
+        if (latencySpikeMs <= 0) latencySpikeMs = 5_000L;
+        if (cooldownMs <= 0) cooldownMs = 2_000L;
+        if (bulkQuotaReserve < 0 || bulkQuotaReserve >= 1) bulkQuotaReserve = 0.1;
+        if (quotaFlushMs <= 0) quotaFlushMs = 5_000L;
+    }
+
+    /**
+     * @param name       로그/지표/DB 에 쓰는 이름 (AUTH_KEY 원문 대신)
+     * @param authKey    AUTH_KEY
+     * @param weight     weighted round-robin 가중치
+     * @param dailyQuota 일일 호출 한도
+     */
+    public record Key(String name, String authKey, int weight, int dailyQuota) {
+        public Key {
+            if (weight <= 0) weight = 1;
+            if (dailyQuota <= 0) dailyQuota = 10_000;
+        }
+    }
+}
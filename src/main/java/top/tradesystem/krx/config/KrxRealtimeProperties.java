@@ -0,0 +1,38 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * 실시간 시세 설정 (krx.realtime.*)
+ *
+ * @param enabled          feed/consumer 기동 여부
+ * @param adapter          simulator | websocket
+ * @param websocketUrl     websocket adapter 접속 주소
+ * @param ringSize         ring buffer 크기 (2의 거듭제곱으로 올림)
+ * @param symbols          simulator 종목 "MARKET:CODE:기준가" (예: KOSPI:005930:71000)
+ * @param ticksPerSecond   simulator 초당 tick 수 (전 종목 합)
+ * @param sseSampleMs      SSE 구독자에게 종목별로 보내는 최소 간격
+ * @param eodMergeEnabled  장 마감 후 당일 누적 bar 를 krx_daily_price 에 반영
+ */
+@ConfigurationProperties(prefix = "krx.realtime")
+public record KrxRealtimeProperties(
+        boolean enabled,
+        String adapter,
+        String websocketUrl,
+        int ringSize,
+        List<String> symbols,
+        int ticksPerSecond,
+        long sseSampleMs,
+        boolean eodMergeEnabled
+) {
+    public KrxRealtimeProperties {
+        if (adapter == null || adapter.isBlank()) adapter = "simulator";
+        if (ringSize <= 0) ringSize = 1 << 16;
+        ringSize = Math.max(1024, Integer.highestOneBit(ringSize - 1) << 1);
+        if (symbols == null) symbols = List.of();
+        if (ticksPerSecond <= 0) ticksPerSecond = 1000;
+        if (sseSampleMs <= 0) sseSampleMs = 200;
+    }
+}
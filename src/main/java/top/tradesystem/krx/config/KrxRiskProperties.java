@@ -0,0 +1,53 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * 주문 전 리스크 체크 설정 (krx.risk.*). 금액 단위는 원.
+ *
+ * @param maxSymbols        종목 id 용량 (계좌별 종목 배열 크기, 상장 종목 수보다 넉넉히)
+ * @param priceBandPct      가격제한폭 (전일 종가 대비 %, 2015-06-15 이후 30)
+ * @param maxOrderQty       주문 1건 최대 수량
+ * @param maxOrderNotional  주문 1건 최대 금액
+ * @param maxSymbolExposure 계좌·종목별 (미체결 매수 + 보유 평가액) 한도
+ * @param maxAccountExposure 계좌별 미체결 매수 금액 한도
+ * @param dailyLossLimit    계좌별 당일 실현손실 한도 (넘으면 신규 주문 거부)
+ * @param duplicateWindowMs 같은 (종목, 방향, 수량, 가격) 주문을 중복으로 볼 시간 (0 이면 끔)
+ * @param duplicateSlots    계좌별 중복 판정 table 크기 (2의 거듭제곱으로 올림)
+ * @param accounts          기동 시 등록할 계좌
+ * @param reloadCron        기준 데이터(전일 종가/종목 마스터) 재적재 시각
+ * @param resetCron         당일 실현손익 초기화 시각
+ */
+@ConfigurationProperties(prefix = "krx.risk")
+public record KrxRiskProperties(
+        int maxSymbols,
+        int priceBandPct,
+        long maxOrderQty,
+        long maxOrderNotional,
+        long maxSymbolExposure,
+        long maxAccountExposure,
+        long dailyLossLimit,
+        long duplicateWindowMs,
+        int duplicateSlots,
+        List<String> accounts,
+        String reloadCron,
+        String resetCron
+) {
+    public KrxRiskProperties {
+        if (maxSymbols <= 0) maxSymbols = 8192;
+        if (priceBandPct <= 0) priceBandPct = 30;
+        if (maxOrderQty <= 0) maxOrderQty = 1_000_000L;
+        if (maxOrderNotional <= 0) maxOrderNotional = 100_000_000L;
+        if (maxSymbolExposure <= 0) maxSymbolExposure = 300_000_000L;
+        if (maxAccountExposure <= 0) maxAccountExposure = 1_000_000_000L;
+        if (dailyLossLimit <= 0) dailyLossLimit = 20_000_000L;
+        if (duplicateWindowMs < 0) duplicateWindowMs = 0;
+        if (duplicateSlots <= 0) duplicateSlots = 256;
+        duplicateSlots = Math.max(16, Integer.highestOneBit(duplicateSlots - 1) << 1);
+        if (accounts == null) accounts = List.of();
+        if (reloadCron == null || reloadCron.isBlank()) reloadCron = "0 0 8 * * MON-FRI";
+        if (resetCron == null || resetCron.isBlank()) resetCron = "0 50 7 * * MON-FRI";
+    }
+}
@@ -0,0 +1,21 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalTime;
+
+@ConfigurationProperties(prefix = "krx.scheduler")
+public record KrxSchedulerProperties(
+        boolean enabled,
+        String eodCron,
+        String zone,
+        int leaseSeconds,
+        LocalTime marketClose
+) {
+    public KrxSchedulerProperties {
+        if (eodCron == null || eodCron.isBlank()) eodCron = "0 30 18 * * MON-FRI"; // 장 마감(15:30) 이후 KRX 데이터 반영 여유
+        if (zone == null || zone.isBlank()) zone = "Asia/Seoul";
+        if (leaseSeconds <= 0) leaseSeconds = 900;
+        if (marketClose == null) marketClose = LocalTime.of(15, 30);
+    }
+}
@@ -0,0 +1,33 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * 시세 원천 선택/hedge 설정 (krx.sources.*)
+ *
+ * @param order           우선순위: 첫 upstream 원천이 기준(항상 1순위), 나머지 upstream 은 health 점수가 같을 때 이 순서
+ * @param archiveEnabled  raw archive 를 보조 원천으로 쓸지 (오프라인 테스트/장애 대비)
+ * @param hedgeEnabled    1순위가 p95 안에 답이 없으면 2순위를 동시에 호출
+ * @param hedgeMinMs      hedge 지연 하한
+ * @param hedgeMaxMs      hedge 지연 상한 (표본이 부족할 때 기본값으로도 사용)
+ * @param latencyWindow   p95 계산에 쓰는 최근 표본 수
+ */
+@ConfigurationProperties(prefix = "krx.sources")
+public record KrxSourceProperties(
+        List<String> order,
+        boolean archiveEnabled,
+        boolean hedgeEnabled,
+        long hedgeMinMs,
+        long hedgeMaxMs,
+        int latencyWindow
+) {
+    public KrxSourceProperties {
+        if (order == null || order.isEmpty()) order = List.of("krx-openapi", "krx-archive");
+        if (hedgeMinMs <= 0) hedgeMinMs = 200;
+        if (hedgeMaxMs <= 0) hedgeMaxMs = 5000;
+        if (hedgeMaxMs < hedgeMinMs) hedgeMaxMs = hedgeMinMs;
+        if (latencyWindow <= 0) latencyWindow = 256;
+    }
+}
@@ -0,0 +1,21 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 기동 직후 warm-up 설정 (krx.startup.*)
+ *
+ * @param warmupEnabled    readiness 이후 백그라운드 warm-up 여부
+ * @param warmupDelayMs    ready 후 warm-up 시작까지 대기 (첫 요청들과 겹치지 않게)
+ * @param warmupCovariance 기본 window 공분산 행렬까지 미리 계산할지 (종목 수에 따라 수 초)
+ */
+@ConfigurationProperties(prefix = "krx.startup")
+public record KrxStartupProperties(
+        boolean warmupEnabled,
+        long warmupDelayMs,
+        boolean warmupCovariance
+) {
+    public KrxStartupProperties {
+        if (warmupDelayMs < 0) warmupDelayMs = 0;
+    }
+}
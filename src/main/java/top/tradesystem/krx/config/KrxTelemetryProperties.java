@@ -0,0 +1,39 @@
+package top.tradesystem.krx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * mapper statement / HTTP route 지연 계측 설정 (krx.telemetry.*)
+ *
+ * @param enabled             false 면 MyBatis interceptor 를 끼우지 않고 route 계측도 건너뜀
+ * @param slowQueryMs         이 시간 이상 걸린 statement 를 slow query 로 기록
+ * @param explain             slow SELECT 의 EXPLAIN 을 별도 커넥션으로 떠 둘지
+ * @param explainCooldownMs   같은 statement 의 EXPLAIN 최소 간격 (그 사이 slow 는 직전 plan 을 같이 보여줌)
+ * @param explainTimeoutSec   EXPLAIN 쿼리 타임아웃
+ * @param slowQueryCapacity   최근 slow query 보관 개수 (넘치면 오래된 것부터 버림)
+ * @param maxSqlLength        보관하는 SQL 최대 길이 (foreach IN 목록 등은 잘라냄)
+ * @param maxShapesPerStatement statement 별로 세는 파라미터 shape 종류 수 (넘치면 "other")
+ * @param routeSloMs          route 지연 SLO (이보다 느린 요청을 breach 로 셈)
+ */
+@ConfigurationProperties(prefix = "krx.telemetry")
+public record KrxTelemetryProperties(
+        boolean enabled,
+        long slowQueryMs,
+        boolean explain,
+        long explainCooldownMs,
+        int explainTimeoutSec,
+        int slowQueryCapacity,
+        int maxSqlLength,
+        int maxShapesPerStatement,
+        long routeSloMs
+) {
+    public KrxTelemetryProperties {
+        if (slowQueryMs <= 0) slowQueryMs = 500L;
+        if (explainCooldownMs <= 0) explainCooldownMs = 60_000L;
+        if (explainTimeoutSec <= 0) explainTimeoutSec = 5;
+        if (slowQueryCapacity <= 0) slowQueryCapacity = 200;
+        if (maxSqlLength <= 0) maxSqlLength = 4000;
+        if (maxShapesPerStatement <= 0) maxShapesPerStatement = 16;
+        if (routeSloMs <= 0) routeSloMs = 500L;
+    }
+}
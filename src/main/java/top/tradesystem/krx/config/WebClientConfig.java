@@ -11,7 +11,9 @@ public class WebClientConfig {
     @Bean
     public WebClient.Builder webClientBuilder() {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(20 * 1024 * 1024)) // 10MB
+                // bodyToMono(String/byte[]/객체) 처럼 body 를 한 번에 모으는 디코딩에만 적용.
+                // KrxOpenApiClient 는 DataBuffer 조각으로 스트리밍 파싱하므로 이 한도와 무관.
+                .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(20 * 1024 * 1024)) // 20MB
                 .build();
 
         return WebClient.builder()
@@ -0,0 +1,42 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.adjust.AdjustedPriceService;
+import top.tradesystem.krx.dto.KrxAdjFactorRow;
+import top.tradesystem.krx.dto.KrxAdjustedPriceRow;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/prices/adjusted", produces = "application/json; charset=UTF-8")
+public class KrxAdjustedPriceController {
+
+    private final AdjustedPriceService service;
+
+    public KrxAdjustedPriceController(AdjustedPriceService service) {
+        this.service = service;
+    }
+
+    // ✅ 수정주가 시계열: GET /api/krx/prices/adjusted/005930?from=20200101&to=20260119
+    @GetMapping("/{code}")
+    public Mono<List<KrxAdjustedPriceRow>> series(
+            @PathVariable String code,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return service.series(code, from, to);
+    }
+
+    // ✅ 수정계수 목록: GET /api/krx/prices/adjusted/005930/factors
+    @GetMapping("/{code}/factors")
+    public Mono<List<KrxAdjFactorRow>> factors(@PathVariable String code) {
+        return service.factors(code);
+    }
+
+    // ✅ 이력 스캔 재계산: POST /api/krx/prices/adjusted/rebuild?code=005930 (code 생략 시 전 종목)
+    @PostMapping("/rebuild")
+    public Mono<AdjustedPriceService.RebuildResult> rebuild(@RequestParam(required = false) String code) {
+        return service.rebuild(code);
+    }
+}
@@ -0,0 +1,41 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.archive.KrxArchiveEntry;
+import top.tradesystem.krx.archive.KrxArchiveReplayService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/archive", produces = "application/json; charset=UTF-8")
+public class KrxArchiveController {
+
+    private final KrxArchiveReplayService replayService;
+
+    public KrxArchiveController(KrxArchiveReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    // ✅ 보관 목록: GET /api/krx/archive/index?target=PRICE|TRADE|TICKER|INDEX&from=20250101&to=20251231&market=ALL
+    @GetMapping("/index")
+    public List<KrxArchiveEntry> index(
+            @RequestParam(defaultValue = "PRICE") String target,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "ALL") String market
+    ) {
+        return replayService.index(target, from, to, market);
+    }
+
+    // ✅ 재적재(네트워크 X): POST /api/krx/archive/replay?target=PRICE&from=20160101&to=20251231&market=ALL
+    @PostMapping("/replay")
+    public Mono<KrxArchiveReplayService.ReplayResult> replay(
+            @RequestParam String target,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "ALL") String market
+    ) {
+        return replayService.replay(target, from, to, market);
+    }
+}
@@ -0,0 +1,48 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.backfill.BackfillService;
+import top.tradesystem.krx.dto.KrxBackfillJobRow;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/backfill/jobs", produces = "application/json; charset=UTF-8")
+public class KrxBackfillController {
+
+    private final BackfillService service;
+
+    public KrxBackfillController(BackfillService service) {
+        this.service = service;
+    }
+
+    // ✅ 제출: POST /api/krx/backfill/jobs?kind=PRICE|TRADE&from=20160101&to=20251231&market=KOSPI|KOSDAQ|ALL
+    @PostMapping
+    public Mono<KrxBackfillJobRow> submit(
+            @RequestParam String kind,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "KOSPI") String market
+    ) {
+        return service.submit(kind, from, to, market);
+    }
+
+    // ✅ 목록: GET /api/krx/backfill/jobs?limit=20
+    @GetMapping
+    public Mono<List<KrxBackfillJobRow>> list(@RequestParam(defaultValue = "20") int limit) {
+        return service.recentJobs(limit);
+    }
+
+    // ✅ 진행률/처리량/ETA: GET /api/krx/backfill/jobs/{id}
+    @GetMapping("/{id}")
+    public Mono<BackfillService.BackfillProgress> progress(@PathVariable long id) {
+        return service.progress(id);
+    }
+
+    // ✅ 취소: POST /api/krx/backfill/jobs/{id}/cancel
+    @PostMapping("/{id}/cancel")
+    public Mono<KrxBackfillJobRow> cancel(@PathVariable long id) {
+        return service.cancel(id);
+    }
+}
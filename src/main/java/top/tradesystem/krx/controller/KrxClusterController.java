@@ -0,0 +1,60 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.cluster.ClusterMembership;
+import top.tradesystem.krx.cluster.ClusterSyncCoordinator;
+import top.tradesystem.krx.ratelimit.KrxRequestPriority;
+
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping(value = "/api/krx/cluster", produces = "application/json; charset=UTF-8")
+public class KrxClusterController {
+
+    private final ClusterMembership membership;
+    private final ClusterSyncCoordinator coordinator;
+
+    public KrxClusterController(ClusterMembership membership, ClusterSyncCoordinator coordinator) {
+        this.membership = membership;
+        this.coordinator = coordinator;
+    }
+
+    // ✅ 노드/leader 상태: GET /api/krx/cluster
+    @GetMapping
+    public Mono<ClusterMembership.Status> status() {
+        return Mono.just(membership.status());
+    }
+
+    // ✅ 작업 담당 노드: GET /api/krx/cluster/owner?dataset=PRICE&basDd=20260116&market=KOSPI
+    @GetMapping("/owner")
+    public Mono<Map<String, String>> owner(
+            @RequestParam String dataset,
+            @RequestParam String basDd,
+            @RequestParam String market
+    ) {
+        String key = ClusterSyncCoordinator.key(dataset.toUpperCase(Locale.ROOT), basDd, market.toUpperCase(Locale.ROOT));
+        String owner = membership.owner(key);
+        String url = membership.baseUrl(owner);
+        return Mono.just(Map.of("key", key, "owner", owner, "baseUrl", url == null ? "" : url));
+    }
+
+    // ✅ 로컬/전달/대체 실행 횟수: GET /api/krx/cluster/stats
+    @GetMapping("/stats")
+    public Mono<Map<String, Object>> stats() {
+        return Mono.just(coordinator.stats());
+    }
+
+    // ✅ 노드 간 전달 전용 (담당 노드에서 실행): POST /api/krx/cluster/internal/sync?dataset=PRICE&basDd=20260116&market=KOSPI
+    @PostMapping("/internal/sync")
+    public Mono<Object> internalSync(
+            @RequestParam String dataset,
+            @RequestParam String basDd,
+            @RequestParam String market,
+            @RequestHeader(value = ClusterSyncCoordinator.PRIORITY_HEADER, required = false) String priority
+    ) {
+        return coordinator.runForwarded(dataset, basDd, market)
+                .contextWrite(KrxRequestPriority.parse(priority)::apply);
+    }
+}
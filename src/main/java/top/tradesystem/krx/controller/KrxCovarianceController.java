@@ -0,0 +1,62 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.covariance.CovarianceService;
+import top.tradesystem.krx.wire.KrxWireFormat;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/covariance", produces = "application/json; charset=UTF-8")
+public class KrxCovarianceController {
+
+    private final CovarianceService service;
+
+    public KrxCovarianceController(CovarianceService service) {
+        this.service = service;
+    }
+
+    // ✅ 두 종목 공분산/상관: GET /api/krx/covariance/pair?a=005930&b=000660&window=60&asOf=20260119
+    @GetMapping("/pair")
+    public Mono<CovarianceService.PairResult> pair(
+            @RequestParam String a,
+            @RequestParam String b,
+            @RequestParam(required = false) Integer window,
+            @RequestParam(required = false) String asOf
+    ) {
+        return service.pair(a, b, window, asOf);
+    }
+
+    // ✅ 상관 상위 종목: GET /api/krx/covariance/005930/neighbors?k=20&window=60
+    @GetMapping("/{code}/neighbors")
+    public Mono<CovarianceService.NeighborResult> neighbors(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "20") int k,
+            @RequestParam(required = false) Integer window,
+            @RequestParam(required = false) String asOf
+    ) {
+        return service.neighbors(code, k, window, asOf);
+    }
+
+    // ✅ 상관 행렬(float32): GET /api/krx/covariance/matrix?window=60&symbols=005930,000660 (생략 시 전 종목)
+    //    Accept: application/cbor | application/x-jackson-smile
+    @GetMapping(value = "/matrix", produces = {KrxWireFormat.CBOR_VALUE, KrxWireFormat.SMILE_VALUE})
+    public Mono<ResponseEntity<byte[]>> matrix(
+            @RequestParam(required = false) Integer window,
+            @RequestParam(required = false) String asOf,
+            @RequestParam(required = false) List<String> symbols,
+            @RequestHeader(value = "Accept", required = false) String accept
+    ) {
+        KrxWireFormat format = KrxWireFormat.negotiate(accept);
+        return service.correlationMatrix(window, asOf, symbols, format)
+                .map(body -> ResponseEntity.ok().contentType(format.mediaType()).body(body));
+    }
+
+    // ✅ 캐시된 행렬: GET /api/krx/covariance/cache
+    @GetMapping("/cache")
+    public List<CovarianceService.CacheEntry> cache() {
+        return service.cached();
+    }
+}
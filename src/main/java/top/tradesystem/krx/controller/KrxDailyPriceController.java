@@ -1,9 +1,19 @@
 package top.tradesystem.krx.controller;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxPriceHistoryStatsRow;
+import top.tradesystem.krx.history.PriceDeltaCodec;
+import top.tradesystem.krx.history.PriceHistoryStore;
 import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.wire.KrxWireFormat;
 
 import java.util.List;
 
@@ -12,9 +22,11 @@ import java.util.List;
 public class KrxDailyPriceController {
 
     private final KrxDailyPriceService service;
+    private final PriceHistoryStore historyStore;
 
-    public KrxDailyPriceController(KrxDailyPriceService service) {
+    public KrxDailyPriceController(KrxDailyPriceService service, PriceHistoryStore historyStore) {
         this.service = service;
+        this.historyStore = historyStore;
     }
 
     // ✅ DB 조회: GET /api/krx/prices/daily/kospi?basDd=20260119
@@ -29,6 +41,77 @@ public class KrxDailyPriceController {
         return service.kosdaq(basDd);
     }
 
+    // ✅ 바이너리(컬럼) 조회: 같은 경로에 Accept: application/cbor | application/x-jackson-smile
+    @GetMapping(value = {"/kospi", "/kosdaq"}, produces = {KrxWireFormat.CBOR_VALUE, KrxWireFormat.SMILE_VALUE})
+    public ResponseEntity<Flux<DataBuffer>> dayColumnar(
+            @RequestParam String basDd,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        String market = request.getPath().value().endsWith("/kosdaq") ? "KOSDAQ" : "KOSPI";
+        return columnar(basDd, basDd, market, accept, response);
+    }
+
+    // ✅ 기간 bulk: GET /api/krx/prices/daily/bulk?from=20210101&to=20251231&market=KOSPI|KOSDAQ|ALL
+    //    Accept: application/cbor | application/x-jackson-smile
+    @GetMapping(value = "/bulk", produces = {KrxWireFormat.CBOR_VALUE, KrxWireFormat.SMILE_VALUE})
+    public ResponseEntity<Flux<DataBuffer>> bulk(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "ALL") String market,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            ServerHttpResponse response
+    ) {
+        return columnar(from, to, market, accept, response);
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> columnar(
+            String from, String to, String market, String accept, ServerHttpResponse response) {
+        KrxWireFormat format = KrxWireFormat.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .body(service.exportColumnar(from, to, market, format, response.bufferFactory()));
+    }
+
+    // ✅ 종목 전 기간 시계열: GET /api/krx/prices/daily/history/005930?from=20100101&to=20251231
+    @GetMapping("/history/{code}")
+    public Mono<List<KrxDailyPriceRow>> history(
+            @PathVariable String code,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return historyStore.series(code, from, to);
+    }
+
+    // ✅ 같은 시계열을 delta 압축 포맷으로: Accept: application/x-krx-price-delta
+    @GetMapping(value = "/history/{code}", produces = PriceDeltaCodec.MEDIA_TYPE_VALUE)
+    public Mono<ResponseEntity<byte[]>> historyEncoded(
+            @PathVariable String code,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return historyStore.encodedSeries(code, from, to)
+                .map(body -> ResponseEntity.ok()
+                        .contentType(MediaType.valueOf(PriceDeltaCodec.MEDIA_TYPE_VALUE))
+                        .body(body));
+    }
+
+    // ✅ 압축 이력 생성(월 단위): POST /api/krx/prices/daily/history/compact?fromMonth=201001&toMonth=202512
+    @PostMapping("/history/compact")
+    public Mono<PriceHistoryStore.CompactResult> compactHistory(
+            @RequestParam String fromMonth,
+            @RequestParam String toMonth
+    ) {
+        return historyStore.compact(fromMonth, toMonth);
+    }
+
+    // ✅ 압축 이력 현황: GET /api/krx/prices/daily/history/stats
+    @GetMapping("/history/stats")
+    public Mono<KrxPriceHistoryStatsRow> historyStats() {
+        return historyStore.stats();
+    }
+
     // ✅ DB 단건 조회: GET /api/krx/prices/daily/{basDd}/{code}
     @GetMapping("/{basDd}/{code}")
     public Mono<KrxDailyPriceRow> one(@PathVariable String basDd, @PathVariable String code) {
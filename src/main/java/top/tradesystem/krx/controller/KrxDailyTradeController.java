@@ -1,10 +1,16 @@
 package top.tradesystem.krx.controller;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import top.tradesystem.krx.dto.KrxDailyTradeRow;
 import top.tradesystem.krx.service.KrxDailyTradeService;
+import top.tradesystem.krx.wire.KrxWireFormat;
 
 import java.util.List;
 
@@ -30,6 +36,39 @@ public class KrxDailyTradeController {
         return service.kosdaq(basDd);
     }
 
+    // ✅ 바이너리(컬럼) 조회: 같은 경로에 Accept: application/cbor | application/x-jackson-smile
+    @GetMapping(value = {"/kospi", "/kosdaq"}, produces = {KrxWireFormat.CBOR_VALUE, KrxWireFormat.SMILE_VALUE})
+    public ResponseEntity<Flux<DataBuffer>> dayColumnar(
+            @RequestParam String basDd,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        String market = request.getPath().value().endsWith("/kosdaq") ? "KOSDAQ" : "KOSPI";
+        return columnar(basDd, basDd, market, accept, response);
+    }
+
+    // ✅ 기간 bulk: GET /api/krx/trades/daily/bulk?from=20210101&to=20251231&market=KOSPI|KOSDAQ|ALL
+    //    Accept: application/cbor | application/x-jackson-smile
+    @GetMapping(value = "/bulk", produces = {KrxWireFormat.CBOR_VALUE, KrxWireFormat.SMILE_VALUE})
+    public ResponseEntity<Flux<DataBuffer>> bulk(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "ALL") String market,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            ServerHttpResponse response
+    ) {
+        return columnar(from, to, market, accept, response);
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> columnar(
+            String from, String to, String market, String accept, ServerHttpResponse response) {
+        KrxWireFormat format = KrxWireFormat.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .body(service.exportColumnar(from, to, market, format, response.bufferFactory()));
+    }
+
     // ✅ DB 단건 조회: GET /api/krx/trades/daily/{basDd}/{code}
     @GetMapping("/{basDd}/{code}")
     public Mono<KrxDailyTradeRow> one(@PathVariable String basDd, @PathVariable String code) {
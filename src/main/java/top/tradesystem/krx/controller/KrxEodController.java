@@ -0,0 +1,47 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxEodJobRunRow;
+import top.tradesystem.krx.dto.KrxEodRunRow;
+import top.tradesystem.krx.scheduler.EodOrchestrator;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/eod", produces = "application/json; charset=UTF-8")
+public class KrxEodController {
+
+    private final EodOrchestrator orchestrator;
+
+    public KrxEodController(EodOrchestrator orchestrator) {
+        this.orchestrator = orchestrator;
+    }
+
+    // ✅ 수동 실행: POST /api/krx/eod/run?basDd=20260119&force=false
+    @PostMapping("/run")
+    public Mono<EodOrchestrator.EodRunResult> run(
+            @RequestParam String basDd,
+            @RequestParam(defaultValue = "false") boolean force
+    ) {
+        return orchestrator.run(basDd, force);
+    }
+
+    // ✅ 일자 요약: GET /api/krx/eod/runs/20260119
+    @GetMapping("/runs/{basDd}")
+    public Mono<KrxEodRunRow> run(@PathVariable String basDd) {
+        return orchestrator.findRun(basDd);
+    }
+
+    // ✅ job 상태: GET /api/krx/eod/runs/20260119/jobs
+    @GetMapping("/runs/{basDd}/jobs")
+    public Mono<List<KrxEodJobRunRow>> jobs(@PathVariable String basDd) {
+        return orchestrator.findJobs(basDd);
+    }
+
+    // ✅ 최근 실행(적재 완료 지연 포함): GET /api/krx/eod/runs?limit=20
+    @GetMapping("/runs")
+    public Mono<List<KrxEodRunRow>> recent(@RequestParam(defaultValue = "20") int limit) {
+        return orchestrator.recentRuns(limit);
+    }
+}
@@ -0,0 +1,51 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.factor.FactorService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/factors", produces = "application/json; charset=UTF-8")
+public class KrxFactorController {
+
+    private final FactorService service;
+
+    public KrxFactorController(FactorService service) {
+        this.service = service;
+    }
+
+    // ✅ 팩터 정의 (위상 정렬 순서): GET /api/krx/factors
+    @GetMapping
+    public List<FactorService.FactorInfo> factors() {
+        return service.factors();
+    }
+
+    // ✅ 횡단면 상위 종목: GET /api/krx/factors/mom_12_1_z?asOf=20260119&top=50&asc=false
+    @GetMapping("/{name}")
+    public Mono<FactorService.CrossSectionResult> crossSection(
+            @PathVariable String name,
+            @RequestParam(required = false) String asOf,
+            @RequestParam(defaultValue = "50") int top,
+            @RequestParam(defaultValue = "false") boolean asc
+    ) {
+        return service.crossSection(name, asOf, top, asc);
+    }
+
+    // ✅ 종목 팩터 시계열: GET /api/krx/factors/vol_60/005930?asOf=20260119
+    @GetMapping("/{name}/{code}")
+    public Mono<FactorService.SeriesResult> series(
+            @PathVariable String name,
+            @PathVariable String code,
+            @RequestParam(required = false) String asOf
+    ) {
+        return service.series(name, code, asOf);
+    }
+
+    // ✅ 캐시된 패널: GET /api/krx/factors/cache
+    @GetMapping("/cache")
+    public List<FactorService.CacheEntry> cache() {
+        return service.cached();
+    }
+}
@@ -0,0 +1,64 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxIndexDailyPriceRow;
+import top.tradesystem.krx.service.KrxIndexDailyPriceService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/indices/daily", produces = "application/json; charset=UTF-8")
+public class KrxIndexDailyPriceController {
+
+    private final KrxIndexDailyPriceService service;
+
+    public KrxIndexDailyPriceController(KrxIndexDailyPriceService service) {
+        this.service = service;
+    }
+
+    // ✅ DB 조회: GET /api/krx/indices/daily?basDd=20260119&family=KRX|KOSPI|KOSDAQ
+    @GetMapping
+    public Mono<List<KrxIndexDailyPriceRow>> byDay(
+            @RequestParam String basDd,
+            @RequestParam(defaultValue = "KOSPI") String family
+    ) {
+        return service.findByBasDd(basDd, family);
+    }
+
+    // ✅ 지수명 목록: GET /api/krx/indices/daily/names?family=KOSPI
+    @GetMapping("/names")
+    public Mono<List<String>> names(@RequestParam(defaultValue = "KOSPI") String family) {
+        return service.names(family);
+    }
+
+    // ✅ 시계열: GET /api/krx/indices/daily/series?family=KOSPI&idxNm=코스피 200&from=20250101&to=20251231
+    @GetMapping("/series")
+    public Mono<List<KrxIndexDailyPriceRow>> series(
+            @RequestParam(defaultValue = "KOSPI") String family,
+            @RequestParam String idxNm,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return service.series(family, idxNm, from, to);
+    }
+
+    // ✅ 저장(단일일자): POST /api/krx/indices/daily/sync?basDd=20260119&family=KRX|KOSPI|KOSDAQ|ALL
+    @PostMapping("/sync")
+    public Mono<KrxIndexDailyPriceService.SyncResult> sync(
+            @RequestParam String basDd,
+            @RequestParam(defaultValue = "ALL") String family
+    ) {
+        return service.sync(basDd, family);
+    }
+
+    // ✅ 저장(from~to): POST /api/krx/indices/daily/sync-range?from=20260101&to=20260131&family=ALL
+    @PostMapping("/sync-range")
+    public Mono<KrxIndexDailyPriceService.RangeSyncResult> syncRange(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "ALL") String family
+    ) {
+        return service.syncRange(from, to, family);
+    }
+}
@@ -0,0 +1,26 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.ingest.WriteBehindBuffer;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/ingest", produces = "application/json; charset=UTF-8")
+public class KrxIngestController {
+
+    private final List<WriteBehindBuffer<?>> buffers;
+
+    public KrxIngestController(List<WriteBehindBuffer<?>> buffers) {
+        this.buffers = buffers;
+    }
+
+    // ✅ write-behind 버퍼 상태: GET /api/krx/ingest/buffers
+    @GetMapping("/buffers")
+    public Mono<List<WriteBehindBuffer.Stats>> buffers() {
+        return Mono.fromSupplier(() -> buffers.stream().map(WriteBehindBuffer::stats).toList());
+    }
+}
@@ -0,0 +1,95 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.journal.EventJournal;
+import top.tradesystem.krx.journal.EventJournals;
+import top.tradesystem.krx.journal.JournalReader;
+import top.tradesystem.krx.journal.JournalRecord;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/journal", produces = "application/json; charset=UTF-8")
+public class KrxJournalController {
+
+    private static final int MAX_LIMIT = 10_000;
+    private static final int TAIL_BATCH = 512;
+    private static final Duration TAIL_POLL = Duration.ofMillis(200);
+
+    private final EventJournals journals;
+
+    public KrxJournalController(EventJournals journals) {
+        this.journals = journals;
+    }
+
+    // ✅ journal 목록/상태: GET /api/krx/journal
+    @GetMapping
+    public Mono<List<EventJournal.Stats>> list() {
+        return Mono.fromCallable(() -> {
+                    List<EventJournal.Stats> out = new ArrayList<>();
+                    for (String name : journals.names()) out.add(journals.existing(name).stats());
+                    return out;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ✅ 기록 조회: GET /api/krx/journal/sync/records?fromSeq=1&limit=100
+    @GetMapping("/{name}/records")
+    public Mono<List<RecordView>> records(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "1") long fromSeq,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return Mono.fromCallable(() -> journals.existing(name).read(fromSeq, Math.max(1, Math.min(limit, MAX_LIMIT)))
+                        .stream().map(r -> view(name, r)).toList())
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ✅ 실시간 tail(SSE): GET /api/krx/journal/orders/tail?fromSeq=1  (fromSeq 없으면 지금 이후 기록만)
+    @GetMapping(value = "/{name}/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RecordView>> tail(
+            @PathVariable String name,
+            @RequestParam(required = false) Long fromSeq
+    ) {
+        return Flux.defer(() -> {
+            EventJournal journal = journals.existing(name);
+            JournalReader reader = journal.reader(fromSeq != null ? fromSeq : journal.lastSeq() + 1);
+            return Flux.interval(Duration.ZERO, TAIL_POLL)
+                    .onBackpressureDrop()
+                    .concatMap(t -> Mono.fromCallable(() -> {
+                        List<JournalRecord> batch = new ArrayList<>();
+                        reader.poll(batch::add, TAIL_BATCH);
+                        return batch;
+                    }).subscribeOn(Schedulers.boundedElastic()))
+                    .flatMapIterable(batch -> batch);
+        }).map(r -> ServerSentEvent.builder(view(name, r)).id(Long.toString(r.seq())).build());
+    }
+
+    // ✅ 강제 flush: POST /api/krx/journal/flush
+    @PostMapping("/flush")
+    public Mono<Void> flush() {
+        return Mono.fromRunnable(journals::flushAll)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    // ✅ 오래된 segment 삭제: POST /api/krx/journal/sync/compact?beforeSeq=100000
+    @PostMapping("/{name}/compact")
+    public Mono<Integer> compact(@PathVariable String name, @RequestParam long beforeSeq) {
+        return Mono.fromCallable(() -> journals.existing(name).compact(beforeSeq))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private RecordView view(String name, JournalRecord r) {
+        return new RecordView(r.seq(), r.timestampMs(), r.type(), r.payload().length, journals.decode(name, r));
+    }
+
+    public record RecordView(long seq, long timestampMs, int type, int bytes, Object body) {}
+}
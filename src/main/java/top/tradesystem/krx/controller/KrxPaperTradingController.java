@@ -0,0 +1,46 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.paper.PaperTradingService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/paper", produces = "application/json; charset=UTF-8")
+public class KrxPaperTradingController {
+
+    private final PaperTradingService service;
+
+    public KrxPaperTradingController(PaperTradingService service) {
+        this.service = service;
+    }
+
+    // ✅ 모의매매 실행 (전략마다 독립 시뮬레이션, 병렬): POST /api/krx/paper/runs
+    //    {"from":"20250101","to":"20251231","symbols":["005930","000660"],"initialCash":100000000,
+    //     "strategies":[{"name":"buy-and-hold"},{"name":"ma-cross","params":{"fast":"5","slow":"20"}}]}
+    @PostMapping("/runs")
+    public Mono<PaperTradingService.RunResult> run(@RequestBody PaperTradingService.RunRequest req) {
+        return service.run(req);
+    }
+
+    // ✅ 최근 실행 목록: GET /api/krx/paper/runs
+    @GetMapping("/runs")
+    public List<PaperTradingService.RunSummary> recent() {
+        return service.recent();
+    }
+
+    // ✅ 실행 결과: GET /api/krx/paper/runs/{runId}
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<PaperTradingService.RunResult> find(@PathVariable String runId) {
+        PaperTradingService.RunResult r = service.find(runId);
+        return r == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(r);
+    }
+
+    // ✅ 전략 목록: GET /api/krx/paper/strategies
+    @GetMapping("/strategies")
+    public List<String> strategies() {
+        return service.strategies();
+    }
+}
@@ -0,0 +1,53 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxPartitionArchiveLogRow;
+import top.tradesystem.krx.dto.KrxPartitionRow;
+import top.tradesystem.krx.partition.PartitionMaintenanceService;
+import top.tradesystem.krx.partition.PartitionedTable;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/partitions", produces = "application/json; charset=UTF-8")
+public class KrxPartitionController {
+
+    private final PartitionMaintenanceService service;
+
+    public KrxPartitionController(PartitionMaintenanceService service) {
+        this.service = service;
+    }
+
+    // ✅ 파티션 목록(추정 row 수/크기): GET /api/krx/partitions?table=PRICE
+    @GetMapping
+    public Mono<List<KrxPartitionRow>> partitions(@RequestParam(defaultValue = "PRICE") String table) {
+        return service.partitions(PartitionedTable.parse(table));
+    }
+
+    // ✅ 미래 파티션 생성 (+archive): POST /api/krx/partitions/maintain?archive=false
+    @PostMapping("/maintain")
+    public Mono<PartitionMaintenanceService.MaintainResult> maintain(
+            @RequestParam(defaultValue = "false") boolean archive
+    ) {
+        return service.maintain(archive);
+    }
+
+    // ✅ cold 파티션 archive 이관: POST /api/krx/partitions/archive?table=PRICE&dryRun=true
+    @PostMapping("/archive")
+    public Mono<PartitionMaintenanceService.ArchiveResult> archive(
+            @RequestParam(defaultValue = "PRICE") String table,
+            @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return service.archive(PartitionedTable.parse(table), dryRun);
+    }
+
+    // ✅ 이관 이력: GET /api/krx/partitions/archive-log?table=PRICE&limit=50
+    @GetMapping("/archive-log")
+    public Mono<List<KrxPartitionArchiveLogRow>> archiveLog(
+            @RequestParam(required = false) String table,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return service.archiveLog(table == null ? null : PartitionedTable.parse(table), limit);
+    }
+}
@@ -0,0 +1,63 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxQualityIssueRow;
+import top.tradesystem.krx.dto.KrxQualityRunRow;
+import top.tradesystem.krx.dto.KrxQuarantineRow;
+import top.tradesystem.krx.quality.QuarantineService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/quality", produces = "application/json; charset=UTF-8")
+public class KrxQualityController {
+
+    private final QuarantineService quarantineService;
+
+    public KrxQualityController(QuarantineService quarantineService) {
+        this.quarantineService = quarantineService;
+    }
+
+    // ✅ 최근 검증 결과: GET /api/krx/quality/runs?limit=50
+    @GetMapping("/runs")
+    public Mono<List<KrxQualityRunRow>> runs(@RequestParam(defaultValue = "50") int limit) {
+        return quarantineService.recentRuns(limit);
+    }
+
+    // ✅ 이슈 상세: GET /api/krx/quality/issues?basDd=20260119&market=KOSPI&dataset=PRICE
+    @GetMapping("/issues")
+    public Mono<List<KrxQualityIssueRow>> issues(
+            @RequestParam String basDd,
+            @RequestParam String market,
+            @RequestParam(defaultValue = "PRICE") String dataset
+    ) {
+        return quarantineService.issues(basDd, market, dataset);
+    }
+
+    // ✅ 격리 목록: GET /api/krx/quality/quarantine?status=PENDING
+    @GetMapping("/quarantine")
+    public Mono<List<KrxQuarantineRow>> quarantine(@RequestParam(required = false) String status) {
+        return quarantineService.list(status);
+    }
+
+    // ✅ 격리 해제(보관한 원본을 검증 없이 저장): POST /api/krx/quality/quarantine/release?basDd=20260119&market=KOSPI&dataset=PRICE
+    @PostMapping("/quarantine/release")
+    public Mono<QuarantineService.ResolveResult> release(
+            @RequestParam String basDd,
+            @RequestParam String market,
+            @RequestParam(defaultValue = "PRICE") String dataset
+    ) {
+        return quarantineService.release(basDd, market, dataset);
+    }
+
+    // ✅ 격리 폐기: POST /api/krx/quality/quarantine/discard?basDd=20260119&market=KOSPI&dataset=PRICE
+    @PostMapping("/quarantine/discard")
+    public Mono<QuarantineService.ResolveResult> discard(
+            @RequestParam String basDd,
+            @RequestParam String market,
+            @RequestParam(defaultValue = "PRICE") String dataset
+    ) {
+        return quarantineService.discard(basDd, market, dataset);
+    }
+}
@@ -0,0 +1,56 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.realtime.QuoteSnapshot;
+import top.tradesystem.krx.realtime.RealtimeEodMerger;
+import top.tradesystem.krx.realtime.RealtimeQuoteService;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping(value = "/api/krx/realtime", produces = "application/json; charset=UTF-8")
+public class KrxRealtimeController {
+
+    private final RealtimeQuoteService service;
+    private final RealtimeEodMerger merger;
+
+    public KrxRealtimeController(RealtimeQuoteService service, RealtimeEodMerger merger) {
+        this.service = service;
+        this.merger = merger;
+    }
+
+    // ✅ 최신 시세: GET /api/krx/realtime/quotes/005930
+    @GetMapping("/quotes/{symbol}")
+    public Mono<QuoteSnapshot> latest(@PathVariable String symbol) {
+        return Mono.justOrEmpty(service.latest(symbol));
+    }
+
+    // ✅ 실시간 구독(SSE): GET /api/krx/realtime/quotes/stream?symbols=005930,000660
+    @GetMapping(value = "/quotes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QuoteSnapshot>> stream(@RequestParam(required = false) String symbols) {
+        Set<String> filter = symbols == null ? Set.of()
+                : Arrays.stream(symbols.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+        return service.stream(filter)
+                .map(q -> ServerSentEvent.builder(q).id(Long.toString(q.seq())).event(q.symbol()).build());
+    }
+
+    // ✅ 파이프라인 상태: GET /api/krx/realtime/stats
+    @GetMapping("/stats")
+    public Mono<RealtimeQuoteService.Stats> stats() {
+        return Mono.fromSupplier(service::stats);
+    }
+
+    // ✅ 수동 EOD 반영: POST /api/krx/realtime/merge?basDd=20260119
+    //    - basDd 는 오늘(스케줄러 zone)만, EOD 배치가 이미 저장한 시장은 건너뜀
+    @PostMapping("/merge")
+    public Mono<Integer> merge(@RequestParam String basDd) {
+        return merger.merge(basDd);
+    }
+}
@@ -0,0 +1,119 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.risk.OrderSide;
+import top.tradesystem.krx.risk.RiskEngine;
+import top.tradesystem.krx.risk.RiskReferenceLoader;
+import top.tradesystem.krx.risk.RiskVerdict;
+
+@RestController
+@RequestMapping(value = "/api/krx/risk", produces = "application/json; charset=UTF-8")
+public class KrxRiskController {
+
+    private final RiskEngine engine;
+    private final RiskReferenceLoader loader;
+
+    public KrxRiskController(RiskEngine engine, RiskReferenceLoader loader) {
+        this.engine = engine;
+        this.loader = loader;
+    }
+
+    // ✅ 주문 전 체크: POST /api/krx/risk/check?account=A1&code=005930&side=BUY&qty=10&price=71000
+    //    (운영 주문 경로는 RiskEngine.check 를 직접 호출, 이 endpoint 는 점검용)
+    //    check/release/fill 은 lock 없는 메모리 연산 + ring buffer publish 뿐이라 event loop 에서 바로
+    @PostMapping("/check")
+    public Mono<CheckResult> check(
+            @RequestParam String account,
+            @RequestParam String code,
+            @RequestParam OrderSide side,
+            @RequestParam long qty,
+            @RequestParam long price
+    ) {
+        return Mono.fromCallable(() -> {
+            RiskVerdict v = engine.check(account, code, side, qty, price);
+            return new CheckResult(v, v.accepted(), v.description());
+        });
+    }
+
+    // ✅ 예약 해제(거부/취소): POST /api/krx/risk/release?account=A1&code=005930&side=BUY&qty=10&price=71000
+    //    예약보다 많이 풀려 하거나 모르는 계좌/종목이면 409
+    @PostMapping("/release")
+    public Mono<ResponseEntity<Void>> release(
+            @RequestParam String account,
+            @RequestParam String code,
+            @RequestParam OrderSide side,
+            @RequestParam long qty,
+            @RequestParam long price
+    ) {
+        return Mono.fromCallable(() -> applied(engine.release(account, code, side, qty, price)));
+    }
+
+    // ✅ 체결 반영: POST /api/krx/risk/fill?account=A1&code=005930&side=BUY&qty=10&orderPrice=71000&fillPrice=70900
+    //    맞는 예약/보유가 없으면 (매도 수량 > 보유 등) 409
+    @PostMapping("/fill")
+    public Mono<ResponseEntity<Void>> fill(
+            @RequestParam String account,
+            @RequestParam String code,
+            @RequestParam OrderSide side,
+            @RequestParam long qty,
+            @RequestParam long orderPrice,
+            @RequestParam long fillPrice
+    ) {
+        return Mono.fromCallable(() -> applied(engine.onFill(account, code, side, qty, orderPrice, fillPrice)));
+    }
+
+    private static ResponseEntity<Void> applied(boolean ok) {
+        return ok ? ResponseEntity.noContent().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // ✅ 계좌 등록: POST /api/krx/risk/accounts/A1
+    @PostMapping("/accounts/{account}")
+    public void register(@PathVariable String account) {
+        engine.register(account);
+    }
+
+    // ✅ 잔고 동기화: PUT /api/krx/risk/accounts/A1/positions/005930?qty=100&avgPrice=70000
+    @PutMapping("/accounts/{account}/positions/{code}")
+    public ResponseEntity<Void> syncPosition(
+            @PathVariable String account,
+            @PathVariable String code,
+            @RequestParam long qty,
+            @RequestParam long avgPrice
+    ) {
+        return engine.syncPosition(account, code, qty, avgPrice)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // ✅ 계좌 상태: GET /api/krx/risk/accounts/A1
+    @GetMapping("/accounts/{account}")
+    public ResponseEntity<RiskEngine.AccountView> account(@PathVariable String account) {
+        RiskEngine.AccountView v = engine.account(account);
+        return v == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(v);
+    }
+
+    // ✅ 가격제한폭: GET /api/krx/risk/bands/005930
+    @GetMapping("/bands/{code}")
+    public ResponseEntity<RiskEngine.Band> band(@PathVariable String code) {
+        RiskEngine.Band b = engine.band(code);
+        return b == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(b);
+    }
+
+    // ✅ 기준 데이터 재적재: POST /api/krx/risk/reference/reload
+    @PostMapping("/reference/reload")
+    public Mono<RiskEngine.ReferenceInfo> reload() {
+        return Mono.fromCallable(loader::reload).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ✅ 체크 통계: GET /api/krx/risk/stats
+    @GetMapping("/stats")
+    public RiskEngine.Stats stats() {
+        return engine.stats();
+    }
+
+    public record CheckResult(RiskVerdict verdict, boolean accepted, String reason) {}
+}
@@ -0,0 +1,59 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxMarketBreadthRow;
+import top.tradesystem.krx.dto.KrxPriceBarRow;
+import top.tradesystem.krx.service.KrxRollupService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/rollups", produces = "application/json; charset=UTF-8")
+public class KrxRollupController {
+
+    private final KrxRollupService service;
+
+    public KrxRollupController(KrxRollupService service) {
+        this.service = service;
+    }
+
+    // ✅ 주봉: GET /api/krx/rollups/weekly/005930?from=20250101&to=20260119
+    @GetMapping("/weekly/{code}")
+    public Mono<List<KrxPriceBarRow>> weekly(
+            @PathVariable String code,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return service.weekly(code, from, to);
+    }
+
+    // ✅ 월봉: GET /api/krx/rollups/monthly/005930?from=20200101&to=20260119
+    @GetMapping("/monthly/{code}")
+    public Mono<List<KrxPriceBarRow>> monthly(
+            @PathVariable String code,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return service.monthly(code, from, to);
+    }
+
+    // ✅ 시장 등락/거래대금: GET /api/krx/rollups/breadth?basDd=20260119&market=KOSDAQ
+    @GetMapping("/breadth")
+    public Mono<List<KrxMarketBreadthRow>> breadth(
+            @RequestParam String basDd,
+            @RequestParam(defaultValue = "KOSPI") String market
+    ) {
+        return service.breadth(basDd, market);
+    }
+
+    // ✅ 재생성: POST /api/krx/rollups/rebuild?from=20160101&to=20251231&market=ALL
+    @PostMapping("/rebuild")
+    public Mono<KrxRollupService.RebuildResult> rebuild(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "ALL") String market
+    ) {
+        return service.rebuild(from, to, market);
+    }
+}
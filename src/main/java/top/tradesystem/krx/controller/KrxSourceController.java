@@ -0,0 +1,36 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.ratelimit.KrxRateLimiter;
+import top.tradesystem.krx.source.MarketDataSourceRegistry;
+import top.tradesystem.krx.source.SourceHealth;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/krx/sources", produces = "application/json; charset=UTF-8")
+public class KrxSourceController {
+
+    private final MarketDataSourceRegistry registry;
+    private final KrxRateLimiter rateLimiter;
+
+    public KrxSourceController(MarketDataSourceRegistry registry, KrxRateLimiter rateLimiter) {
+        this.registry = registry;
+        this.rateLimiter = rateLimiter;
+    }
+
+    // ✅ 원천별 상태(성공률/p95/점수): GET /api/krx/sources/health
+    @GetMapping("/health")
+    public Mono<List<SourceHealth.Snapshot>> health() {
+        return Mono.fromSupplier(registry::snapshots);
+    }
+
+    // ✅ KRX 호출 제한 상태(키별 동시 호출 한도/일일 사용량/대기열): GET /api/krx/sources/rate-limit
+    @GetMapping("/rate-limit")
+    public Mono<KrxRateLimiter.Stats> rateLimit() {
+        return Mono.fromSupplier(rateLimiter::stats);
+    }
+}
@@ -0,0 +1,48 @@
+package top.tradesystem.krx.controller;
+
+import org.springframework.web.bind.annotation.*;
+import top.tradesystem.krx.telemetry.MapperTimingInterceptor;
+import top.tradesystem.krx.telemetry.RouteLatencyFilter;
+import top.tradesystem.krx.telemetry.SlowQueryLog;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(value = "/api/krx/telemetry", produces = "application/json; charset=UTF-8")
+public class KrxTelemetryController {
+
+    private final SlowQueryLog slowQueries;
+    private final MapperTimingInterceptor statements;
+    private final RouteLatencyFilter routes;
+
+    public KrxTelemetryController(SlowQueryLog slowQueries, MapperTimingInterceptor statements, RouteLatencyFilter routes) {
+        this.slowQueries = slowQueries;
+        this.statements = statements;
+        this.routes = routes;
+    }
+
+    // ✅ 최근 slow query (느린 순, EXPLAIN 포함): GET /api/krx/telemetry/slow-queries?top=20
+    @GetMapping("/slow-queries")
+    public List<SlowQueryLog.SlowQuery> slowQueries(@RequestParam(defaultValue = "20") int top) {
+        return slowQueries.slowest(top);
+    }
+
+    // ✅ slow query 기록 비우기: DELETE /api/krx/telemetry/slow-queries
+    @DeleteMapping("/slow-queries")
+    public Map<String, Object> clearSlowQueries() {
+        return Map.of("cleared", slowQueries.clear());
+    }
+
+    // ✅ mapper statement 별 지연/row 수/파라미터 shape (누적 시간 순): GET /api/krx/telemetry/statements?top=50
+    @GetMapping("/statements")
+    public List<MapperTimingInterceptor.StatementView> statements(@RequestParam(defaultValue = "50") int top) {
+        return statements.statements(top);
+    }
+
+    // ✅ route 별 지연 / SLO 달성률 (p95 느린 순): GET /api/krx/telemetry/routes
+    @GetMapping("/routes")
+    public List<RouteLatencyFilter.RouteView> routes() {
+        return routes.routes();
+    }
+}
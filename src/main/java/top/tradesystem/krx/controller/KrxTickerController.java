@@ -1,5 +1,8 @@
 package top.tradesystem.krx.controller;
 
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.coalesce.TtlCache;
+import top.tradesystem.krx.config.KrxCoalesceProperties;
 import top.tradesystem.krx.service.KrxTickerService;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +16,15 @@ import java.util.Map;
 public class KrxTickerController {
 
     private final KrxTickerService service;
+    private final SingleFlight singleFlight;
 
-    public KrxTickerController(KrxTickerService service) {
+    // KRX OpenAPI 프록시라 짧게라도 캐시 (만료 순간 몰린 요청은 service 의 single-flight 가 합침)
+    private final TtlCache<String, List<Map<String, String>>> cache;
+
+    public KrxTickerController(KrxTickerService service, SingleFlight singleFlight, KrxCoalesceProperties props) {
         this.service = service;
+        this.singleFlight = singleFlight;
+        this.cache = new TtlCache<>(props.tickerTtlMs(), props.tickerCacheSize());
     }
 
     @GetMapping("/kospi")
@@ -25,7 +34,7 @@ public class KrxTickerController {
             String basDd
     ) {
         String dd = (basDd == null || basDd.isBlank()) ? service.guessLatestBusinessDay() : basDd;
-        return service.getKospi(dd);
+        return cache.get("KOSPI:" + dd, () -> service.getKospi(dd));
     }
 
     @GetMapping("/kosdaq")
@@ -35,7 +44,7 @@ public class KrxTickerController {
             String basDd
     ) {
         String dd = (basDd == null || basDd.isBlank()) ? service.guessLatestBusinessDay() : basDd;
-        return service.getKosdaq(dd);
+        return cache.get("KOSDAQ:" + dd, () -> service.getKosdaq(dd));
     }
 
     @GetMapping("/all")
@@ -45,6 +54,14 @@ public class KrxTickerController {
             String basDd
     ) {
         String dd = (basDd == null || basDd.isBlank()) ? service.guessLatestBusinessDay() : basDd;
-        return service.getAll(dd);
+        return cache.get("ALL:" + dd, () -> service.getAll(dd));
+    }
+
+    // ✅ 캐시/요청 합치기 상태: GET /api/krx/tickers/cache
+    @GetMapping("/cache")
+    public Mono<CacheStats> cacheStats() {
+        return Mono.fromSupplier(() -> new CacheStats(cache.stats(), singleFlight.stats()));
     }
+
+    public record CacheStats(TtlCache.Stats cache, Map<String, SingleFlight.Stats> singleFlight) {}
 }
@@ -0,0 +1,292 @@
+package top.tradesystem.krx.covariance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.coalesce.RollingDayCache;
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.config.KrxCovarianceProperties;
+import top.tradesystem.krx.dto.KrxReturnRow;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+import top.tradesystem.krx.wire.KrxMatrixEncoder;
+import top.tradesystem.krx.wire.KrxWireFormat;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 전 종목 rolling 공분산/상관 서비스.
+ * - krx_daily_price 에서 최근 W 거래일 수익률을 종목×일 double[] 로 만들고 Gram 행렬을 병렬 계산
+ * - 결과는 (window, asOf) 단위 {@link RollingDayCache}, 같은 키 동시 요청은 한 번만 계산
+ * - 일자 sync 이벤트마다 캐시된 행렬을 하루씩 rank-2 update 로 굴림 (전체 재계산 없음)
+ */
+@Service
+public class CovarianceService {
+
+    private static final Logger log = LoggerFactory.getLogger(CovarianceService.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CALENDAR_MARKET = "KOSPI"; // 거래일 달력 기준
+    private static final int MAX_NEIGHBORS = 500;
+
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxRollupMapper rollupMapper;
+    private final KrxCovarianceProperties props;
+    private final GramKernel kernel;
+    private final ForkJoinPool pool;
+
+    private final RollingDayCache<RollingCovariance, Map<String, Double>> cache;
+
+    public CovarianceService(
+            KrxDailyPriceMapper priceMapper,
+            KrxRollupMapper rollupMapper,
+            KrxCovarianceProperties props,
+            SingleFlight singleFlight
+    ) {
+        this.priceMapper = priceMapper;
+        this.rollupMapper = rollupMapper;
+        this.props = props;
+        this.kernel = GramKernels.create(props.simd());
+        this.pool = new ForkJoinPool(props.threads());
+        this.cache = new RollingDayCache<>("covariance", new Rolling(), rollupMapper, singleFlight,
+                props.cacheEntries(), props.rebuildEveryDays(), props.dayCoverage());
+        log.info("covariance kernel={}, threads={}", kernel.name(), props.threads());
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public Mono<PairResult> pair(String a, String b, Integer window, String asOf) {
+        return getOrBuild(window, asOf).map(c -> {
+            int i = require(c, a);
+            int j = require(c, b);
+            return new PairResult(a, b, c.window(), c.asOf(), c.cov(i, j), c.corr(i, j));
+        });
+    }
+
+    /** code 와 상관계수 절댓값이 큰 종목 k 개 */
+    public Mono<NeighborResult> neighbors(String code, int k, Integer window, String asOf) {
+        return getOrBuild(window, asOf).map(c -> {
+            int i = require(c, code);
+            int[] top = c.topCorrelated(i, Math.max(1, Math.min(k, MAX_NEIGHBORS)));
+            List<Neighbor> out = new ArrayList<>(top.length);
+            for (int j : top) out.add(new Neighbor(c.symbol(j), c.corr(i, j), c.cov(i, j)));
+            return new NeighborResult(code, c.window(), c.asOf(), out);
+        });
+    }
+
+    /** 상관 행렬 (symbols 가 비면 universe 전체, 없는 종목은 제외) */
+    public Mono<byte[]> correlationMatrix(Integer window, String asOf, List<String> symbols, KrxWireFormat format) {
+        return getOrBuild(window, asOf).map(c -> {
+            int[] subset = subset(c, symbols);
+            String[] names = new String[subset.length];
+            for (int q = 0; q < subset.length; q++) names[q] = c.symbol(subset[q]);
+            return KrxMatrixEncoder.encode(c.window(), c.asOf(), names, c.correlation(subset), format);
+        });
+    }
+
+    /** 기본 window, 최근 거래일 행렬을 미리 계산 (기동 warm-up) */
+    public Mono<CacheEntry> warmUp() {
+        return getOrBuild(null, null).map(c -> new CacheEntry(c.window(), c.asOf(), c.oldestDay(), c.size(), c.rolls()));
+    }
+
+    public List<CacheEntry> cached() {
+        return cache.values().stream()
+                .map(c -> new CacheEntry(c.window(), c.asOf(), c.oldestDay(), c.size(), c.rolls()))
+                .toList();
+    }
+
+    private int window(Integer window) {
+        int w = window == null ? props.defaultWindow() : window;
+        if (w < 2 || w > props.maxWindow()) {
+            throw new IllegalArgumentException("window must be 2.." + props.maxWindow());
+        }
+        return w;
+    }
+
+    private static int require(RollingCovariance c, String code) {
+        Integer i = c.indexOf(code);
+        if (i == null) throw new IllegalArgumentException("not in covariance universe: " + code);
+        return i;
+    }
+
+    private static int[] subset(RollingCovariance c, List<String> symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            int[] all = new int[c.size()];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            return all;
+        }
+        return symbols.stream().map(String::trim).distinct()
+                .map(c::indexOf).filter(i -> i != null)
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    // =========================
+    // 2) 계산 (캐시 + single-flight)
+    // =========================
+    /** window 검증 + asOf 거래일 확정은 boundedElastic 에서, 이후 결과도 boundedElastic 에서 나옴 */
+    private Mono<RollingCovariance> getOrBuild(Integer window, String asOf) {
+        return Mono.fromCallable(() -> new Target(window(window), resolveAsOf(asOf)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(t -> cache.get(key(t.window(), t.asOf()), () -> build(t.window(), t.asOf())));
+    }
+
+    private record Target(int window, String asOf) {}
+
+    /** asOf 가 없거나 휴장일이면 그 이전 마지막 거래일 */
+    private String resolveAsOf(String asOf) {
+        LocalDate to = asOf == null || asOf.isBlank() ? LocalDate.now(ZoneId.of("Asia/Seoul")) : LocalDate.parse(asOf, YYYYMMDD);
+        List<String> days = rollupMapper.findTradingDays(to.minusDays(14).format(YYYYMMDD), to.format(YYYYMMDD), CALENDAR_MARKET);
+        if (days.isEmpty()) throw new IllegalStateException("no trading day on or before " + to.format(YYYYMMDD));
+        return days.get(days.size() - 1);
+    }
+
+    RollingCovariance build(int w, String asOf) {
+        long t0 = System.nanoTime();
+        String from = LocalDate.parse(asOf, YYYYMMDD).minusDays(w * 2L + 30).format(YYYYMMDD);
+        List<String> all = rollupMapper.findTradingDays(from, asOf, CALENDAR_MARKET);
+        if (all.size() < w) {
+            throw new IllegalStateException("not enough trading days for window " + w + " (" + all.size() + ")");
+        }
+        String[] days = all.subList(all.size() - w, all.size()).toArray(String[]::new);
+        Map<String, Integer> dayIndex = new HashMap<>(w * 2);
+        for (int t = 0; t < w; t++) dayIndex.put(days[t], t);
+
+        // 종목별 수익률 열 (없는 날 NaN)
+        Map<String, double[]> series = new HashMap<>(4096);
+        priceMapper.streamReturns(days[0], asOf, ctx -> {
+            KrxReturnRow r = ctx.getResultObject();
+            Integer t = dayIndex.get(r.basDd());
+            double v = r.dailyReturn();
+            if (t == null || Double.isNaN(v)) return;
+            series.computeIfAbsent(r.isuCd(), k -> {
+                double[] a = new double[w];
+                Arrays.fill(a, Double.NaN);
+                return a;
+            })[t] = v;
+        });
+
+        int minObs = (int) Math.ceil(props.minObsRatio() * w);
+        List<String> universe = new ArrayList<>();
+        for (Map.Entry<String, double[]> e : series.entrySet()) {
+            int obs = 0;
+            for (double v : e.getValue()) if (!Double.isNaN(v)) obs++;
+            if (obs >= minObs) universe.add(e.getKey());
+        }
+        Collections.sort(universe);
+
+        int n = universe.size();
+        if (n == 0) throw new IllegalStateException("empty covariance universe: window=" + w + ", asOf=" + asOf);
+        double[] x = new double[n * w];
+        for (int i = 0; i < n; i++) {
+            double[] s = series.get(universe.get(i));
+            for (int t = 0; t < w; t++) x[i * w + t] = Double.isNaN(s[t]) ? 0.0 : s[t];
+        }
+        series.clear();
+
+        RollingCovariance c = new RollingCovariance(w, universe.toArray(String[]::new), x, days, kernel, pool);
+        log.info("covariance built: window={}, asOf={}, symbols={}, kernel={}, {}ms",
+                w, asOf, n, kernel.name(), (System.nanoTime() - t0) / 1_000_000L);
+        return c;
+    }
+
+    private static String key(int w, String asOf) {
+        return w + ":" + asOf;
+    }
+
+    // =========================
+    // 3) 증분 갱신: 일자 sync 직후 ({@link RollingDayCache#refreshDay})
+    // =========================
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        if (props.enabled()) cache.onDailyPriceSynced(e);
+    }
+
+    @EventListener
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        if (props.enabled()) cache.onCacheInvalidated(e);
+    }
+
+    private final class Rolling implements RollingDayCache.Ops<RollingCovariance, Map<String, Double>> {
+        @Override
+        public String key(RollingCovariance c) {
+            return CovarianceService.key(c.window(), c.asOf());
+        }
+
+        @Override
+        public String asOf(RollingCovariance c) {
+            return c.asOf();
+        }
+
+        @Override
+        public String oldestDay(RollingCovariance c) {
+            return c.oldestDay();
+        }
+
+        @Override
+        public int rolls(RollingCovariance c) {
+            return c.rolls();
+        }
+
+        @Override
+        public Map<String, Double> loadDay(String basDd) {
+            Map<String, Double> day = new HashMap<>(4096);
+            priceMapper.streamReturns(basDd, basDd, ctx -> {
+                KrxReturnRow r = ctx.getResultObject();
+                double v = r.dailyReturn();
+                if (!Double.isNaN(v)) day.put(r.isuCd(), v);
+            });
+            return day;
+        }
+
+        @Override
+        public double coverage(RollingCovariance c, Map<String, Double> day) {
+            int hit = 0;
+            for (int i = 0; i < c.size(); i++) if (day.containsKey(c.symbol(i))) hit++;
+            return (double) hit / c.size();
+        }
+
+        @Override
+        public void replaceNewest(RollingCovariance c, Map<String, Double> day) {
+            c.replaceNewest(column(c, day), kernel, pool);
+        }
+
+        @Override
+        public void roll(RollingCovariance c, String basDd, Map<String, Double> day) {
+            c.roll(basDd, column(c, day), kernel, pool);
+        }
+    }
+
+    private static double[] column(RollingCovariance c, Map<String, Double> day) {
+        double[] y = new double[c.size()];
+        for (int i = 0; i < y.length; i++) {
+            Double v = day.get(c.symbol(i));
+            y[i] = v == null ? 0.0 : v;
+        }
+        return y;
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record PairResult(String a, String b, int window, String asOf, double cov, double corr) {}
+
+    public record Neighbor(String isuCd, double corr, double cov) {}
+
+    public record NeighborResult(String isuCd, int window, String asOf, List<Neighbor> neighbors) {}
+
+    public record CacheEntry(int window, String asOf, String oldestDay, int symbols, int rolls) {}
+}
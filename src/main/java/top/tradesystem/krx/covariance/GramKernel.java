@@ -0,0 +1,17 @@
+package top.tradesystem.krx.covariance;
+
+/**
+ * 행렬 계산의 가장 안쪽 루프. 모든 배열은 종목 단위 row-major (종목 i 의 window 가 x[i*w .. i*w+w)).
+ */
+interface GramKernel {
+
+    String name();
+
+    /** out[0..3] = dot(x[a..a+len), x[b_k..b_k+len)) — a 를 한 번 읽어 4개 row 와 곱함 */
+    void dot4(double[] x, int a, int b0, int b1, int b2, int b3, int len, double[] out);
+
+    double dot(double[] x, int a, int b, int len);
+
+    /** p[off+j] += yi*y[j] - zi*z[j] (j < n) — rolling 갱신의 rank-2 update 한 줄 */
+    void rank2Row(double[] p, int off, double yi, double[] y, double zi, double[] z, int n);
+}
@@ -0,0 +1,87 @@
+package top.tradesystem.krx.covariance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 커널 선택 + cache-blocked / 병렬 Gram 행렬 (P = X Xᵀ) 계산.
+ *
+ * <p>종목 row 를 B 개씩 묶은 tile 쌍 (bi ≤ bj) 단위로 병렬 처리. B 는 두 tile(2·B·w·8 byte)이
+ * L2 (256KB 가정) 에 들어가도록 window 길이에 맞춰 정한다. 대칭이라 위 삼각만 계산하고 아래는 복사.
+ */
+final class GramKernels {
+
+    private static final Logger log = LoggerFactory.getLogger(GramKernels.class);
+    private static final int L2_BYTES = 256 * 1024;
+    // src/vector/java (incubator 모듈로 따로 컴파일) → main 에서는 이름으로만 참조
+    private static final String VECTOR_KERNEL = "top.tradesystem.krx.covariance.VectorGramKernel";
+
+    private GramKernels() {
+    }
+
+    static GramKernel create(boolean simd) {
+        if (simd && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (GramKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API kernel unavailable, falling back to scalar", e);
+            }
+        } else if (simd) {
+            log.info("jdk.incubator.vector not in boot layer (--add-modules), using scalar kernel");
+        }
+        return new ScalarGramKernel();
+    }
+
+    static int blockSize(int w) {
+        int b = L2_BYTES / (2 * Math.max(1, w) * Double.BYTES);
+        b = Math.max(16, Math.min(128, b));
+        return b & ~3;
+    }
+
+    /** out[i*n+j] = dot(x_i, x_j), 전체 n×n (대칭) */
+    static void gram(double[] x, int n, int w, double[] out, GramKernel k, ForkJoinPool pool) {
+        int b = blockSize(w);
+        int tiles = (n + b - 1) / b;
+        List<int[]> pairs = new ArrayList<>(tiles * (tiles + 1) / 2);
+        for (int bi = 0; bi < tiles; bi++) {
+            for (int bj = bi; bj < tiles; bj++) pairs.add(new int[]{bi, bj});
+        }
+        pool.submit(() -> IntStream.range(0, pairs.size()).parallel()
+                        .forEach(t -> tile(x, n, w, out, k, b, pairs.get(t)[0], pairs.get(t)[1])))
+                .join();
+    }
+
+    private static void tile(double[] x, int n, int w, double[] out, GramKernel k, int b, int bi, int bj) {
+        double[] acc = new double[4];
+        int iEnd = Math.min(n, (bi + 1) * b);
+        int jEnd = Math.min(n, (bj + 1) * b);
+        for (int i = bi * b; i < iEnd; i++) {
+            int a = i * w;
+            int j = bi == bj ? i : bj * b;
+            for (; j + 3 < jEnd; j += 4) {
+                k.dot4(x, a, j * w, (j + 1) * w, (j + 2) * w, (j + 3) * w, w, acc);
+                for (int q = 0; q < 4; q++) {
+                    out[i * n + j + q] = acc[q];
+                    out[(j + q) * n + i] = acc[q];
+                }
+            }
+            for (; j < jEnd; j++) {
+                double d = k.dot(x, a, j * w, w);
+                out[i * n + j] = d;
+                out[j * n + i] = d;
+            }
+        }
+    }
+
+    /** p += y yᵀ - z zᵀ (n×n), row 단위 병렬 */
+    static void rank2(double[] p, int n, double[] y, double[] z, GramKernel k, ForkJoinPool pool) {
+        pool.submit(() -> IntStream.range(0, n).parallel()
+                        .forEach(i -> k.rank2Row(p, i * n, y[i], y, z[i], z, n)))
+                .join();
+    }
+}
@@ -0,0 +1,161 @@
+package top.tradesystem.krx.covariance;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 고정 universe × window 거래일 rolling 공분산 상태.
+ *
+ * <pre>
+ * x    : n×w 수익률 ring (종목 row-major, 열은 거래일 slot)
+ * sum  : S_i  = Σ_k x_ik
+ * prod : P_ij = Σ_k x_ik x_jk
+ * cov  : (P_ij - S_i S_j / w) / (w - 1)
+ * </pre>
+ * 하루 넘길 때는 가장 오래된 열 z 를 빼고 새 열 y 를 넣는 rank-2 update (O(n²)) 로 끝난다.
+ * 읽기/갱신 모두 this 로 동기화 (갱신은 수 ms).
+ */
+final class RollingCovariance {
+
+    private final int window;
+    private final String[] symbols;
+    private final Map<String, Integer> index;
+    private final double[] x;
+    private final String[] days;    // slot 별 bas_dd
+    private final double[] sum;
+    private final double[] prod;
+
+    private int head;               // 가장 오래된 slot (다음에 덮어쓸 곳)
+    private String asOf;
+    private int rolls;
+
+    RollingCovariance(int window, String[] symbols, double[] x, String[] days, GramKernel k, ForkJoinPool pool) {
+        int n = symbols.length;
+        this.window = window;
+        this.symbols = symbols;
+        this.index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(symbols[i], i);
+        this.x = x;
+        this.days = days;
+        this.sum = new double[n];
+        for (int i = 0; i < n; i++) {
+            double s = 0;
+            for (int t = 0; t < window; t++) s += x[i * window + t];
+            sum[i] = s;
+        }
+        this.prod = new double[n * n];
+        GramKernels.gram(x, n, window, prod, k, pool);
+        this.head = 0;
+        this.asOf = days[window - 1];
+    }
+
+    int window() {
+        return window;
+    }
+
+    int size() {
+        return symbols.length;
+    }
+
+    synchronized String asOf() {
+        return asOf;
+    }
+
+    synchronized String oldestDay() {
+        return days[head];
+    }
+
+    synchronized int rolls() {
+        return rolls;
+    }
+
+    Integer indexOf(String code) {
+        return index.get(code);
+    }
+
+    String symbol(int i) {
+        return symbols[i];
+    }
+
+    // =========================
+    // 갱신
+    // =========================
+
+    /** 다음 거래일 열 추가 (가장 오래된 열 제거) */
+    synchronized void roll(String basDd, double[] y, GramKernel k, ForkJoinPool pool) {
+        replaceSlot(head, y, k, pool);
+        days[head] = basDd;
+        head = (head + 1) % window;
+        asOf = basDd;
+        rolls++;
+    }
+
+    /** 같은 날 재적재: 가장 최근 열을 새 값으로 교체 */
+    synchronized void replaceNewest(double[] y, GramKernel k, ForkJoinPool pool) {
+        replaceSlot((head + window - 1) % window, y, k, pool);
+    }
+
+    private void replaceSlot(int slot, double[] y, GramKernel k, ForkJoinPool pool) {
+        int n = symbols.length;
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            z[i] = x[i * window + slot];
+            x[i * window + slot] = y[i];
+            sum[i] += y[i] - z[i];
+        }
+        GramKernels.rank2(prod, n, y, z, k, pool);
+    }
+
+    // =========================
+    // 조회
+    // =========================
+    synchronized double cov(int i, int j) {
+        int n = symbols.length;
+        return (prod[i * n + j] - sum[i] * sum[j] / window) / (window - 1);
+    }
+
+    synchronized double corr(int i, int j) {
+        double d = Math.sqrt(cov(i, i) * cov(j, j));
+        return d > 0 ? cov(i, j) / d : Double.NaN;
+    }
+
+    /** i 와 상관계수 절댓값이 큰 순 k 개 */
+    synchronized int[] topCorrelated(int i, int k) {
+        int n = symbols.length;
+        double[] c = new double[n];
+        Integer[] order = new Integer[n];
+        for (int j = 0; j < n; j++) {
+            c[j] = j == i ? Double.NaN : corr(i, j);
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(abs(c[b]), abs(c[a])));
+        int m = Math.min(k, n - 1);
+        int[] out = new int[m];
+        for (int q = 0; q < m; q++) out[q] = order[q];
+        return out;
+    }
+
+    private static double abs(double v) {
+        return Double.isNaN(v) ? -1 : Math.abs(v);
+    }
+
+    /** 주어진 종목들(없으면 전체)의 상관 행렬, float32 row-major */
+    synchronized float[] correlation(int[] subset) {
+        int m = subset.length;
+        double[] sd = new double[m];
+        for (int a = 0; a < m; a++) sd[a] = Math.sqrt(cov(subset[a], subset[a]));
+
+        float[] out = new float[m * m];
+        for (int a = 0; a < m; a++) {
+            for (int b = a; b < m; b++) {
+                double d = sd[a] * sd[b];
+                float v = a == b ? 1f : (float) (d > 0 ? cov(subset[a], subset[b]) / d : Double.NaN);
+                out[a * m + b] = v;
+                out[b * m + a] = v;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,47 @@
+package top.tradesystem.krx.covariance;
+
+/**
+ * 기본 커널. 누산기를 나눠 두어 JIT 가 dependency chain 없이 파이프라인/자동 벡터화할 수 있게 함.
+ */
+final class ScalarGramKernel implements GramKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void dot4(double[] x, int a, int b0, int b1, int b2, int b3, int len, double[] out) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        for (int k = 0; k < len; k++) {
+            double v = x[a + k];
+            s0 += v * x[b0 + k];
+            s1 += v * x[b1 + k];
+            s2 += v * x[b2 + k];
+            s3 += v * x[b3 + k];
+        }
+        out[0] = s0;
+        out[1] = s1;
+        out[2] = s2;
+        out[3] = s3;
+    }
+
+    @Override
+    public double dot(double[] x, int a, int b, int len) {
+        double s0 = 0, s1 = 0;
+        int k = 0;
+        for (; k + 1 < len; k += 2) {
+            s0 += x[a + k] * x[b + k];
+            s1 += x[a + k + 1] * x[b + k + 1];
+        }
+        if (k < len) s0 += x[a + k] * x[b + k];
+        return s0 + s1;
+    }
+
+    @Override
+    public void rank2Row(double[] p, int off, double yi, double[] y, double zi, double[] z, int n) {
+        for (int j = 0; j < n; j++) {
+            p[off + j] += yi * y[j] - zi * z[j];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 권리락/액면분할 등 수정계수 (krx_adj_factor)
+ * - exDd 이전 가격에 factor 를 곱하면 exDd 기준으로 연속적인 가격이 된다.
+ */
+public record KrxAdjFactorRow(
+        String isuCd,
+        String exDd,
+        BigDecimal factor,
+        BigDecimal prevClose,
+        BigDecimal basePrice,
+        Long prevShrs,
+        Long shrs,
+        String reason
+) {}
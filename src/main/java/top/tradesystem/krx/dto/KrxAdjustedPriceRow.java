@@ -0,0 +1,13 @@
+package top.tradesystem.krx.dto;
+
+// 수정주가 OHLCV (factor = 해당 일자에 적용된 누적 수정계수)
+public record KrxAdjustedPriceRow(
+        String basDd,
+        String isuCd,
+        Double open,
+        Double high,
+        Double low,
+        Double close,
+        Long volume,
+        double factor
+) {}
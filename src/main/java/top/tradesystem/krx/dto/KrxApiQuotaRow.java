@@ -0,0 +1,9 @@
+package top.tradesystem.krx.dto;
+
+// KRX OpenAPI 일일 호출량 (krx_api_quota)
+// - quotaDd 는 KST 기준 일자 (KRX 한도가 자정에 초기화)
+public record KrxApiQuotaRow(
+        String keyName,
+        String quotaDd,
+        int used
+) {}
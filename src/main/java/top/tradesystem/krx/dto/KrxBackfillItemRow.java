@@ -0,0 +1,12 @@
+package top.tradesystem.krx.dto;
+
+// backfill work item = (job, basDd, market) 하나 (krx_backfill_item)
+public record KrxBackfillItemRow(
+        Long id,
+        Long jobId,
+        String kind,
+        String basDd,
+        String market,
+        String status,
+        Integer attempts
+) {}
@@ -0,0 +1,16 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+// backfill job (krx_backfill_job)
+public record KrxBackfillJobRow(
+        Long id,
+        String kind,
+        String market,
+        String fromDd,
+        String toDd,
+        String status,
+        Integer totalItems,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
@@ -0,0 +1,8 @@
+package top.tradesystem.krx.dto;
+
+// job 의 item 상태별 집계
+public record KrxBackfillStatusCount(
+        String status,
+        Integer items,
+        Long saved
+) {}
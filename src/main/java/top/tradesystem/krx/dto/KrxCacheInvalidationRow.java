@@ -0,0 +1,12 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+// 캐시 무효화 브로드캐스트 (krx_cache_invalidation)
+public record KrxCacheInvalidationRow(
+        long id,
+        String origin,
+        String topic,
+        String cacheKey,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,13 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+// 클러스터 노드 (krx_cluster_node)
+// - heartbeatAt 이 node-ttl 안이면 살아 있는 노드로 보고 sync 샤드를 받음
+public record KrxClusterNodeRow(
+        String nodeId,
+        String baseUrl,
+        LocalDateTime startedAt,
+        LocalDateTime heartbeatAt,
+        String status
+) {}
@@ -53,7 +53,7 @@ public record KrxDailyPriceRow(
     }
 
     // Map<String,String> -> Map<String,Object> 로 캐스팅이 필요할 때 사용
-    public static Map<String, Object> toObjectMap(Map<String, String> in) {
+    public static Map<String, Object> toObjectMap(Map<String, ?> in) {
         Map<String, Object> out = new LinkedHashMap<>();
         if (in != null) out.putAll(in);
         return out;
@@ -0,0 +1,16 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+// EOD DAG 개별 job 실행 상태 (krx_eod_job_run)
+public record KrxEodJobRunRow(
+        String basDd,
+        String jobId,
+        String status,
+        Integer attempt,
+        Integer saved,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        Long durationMs,
+        String errorMessage
+) {}
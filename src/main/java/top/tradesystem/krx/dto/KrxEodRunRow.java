@@ -0,0 +1,14 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+// EOD 일자별 실행 요약 (krx_eod_run)
+// - availableLagMs: 장 마감 시각 대비 데이터 적재 완료까지 걸린 시간
+public record KrxEodRunRow(
+        String basDd,
+        String status,
+        String owner,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        Long availableLagMs
+) {}
@@ -0,0 +1,21 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 팩터 계산용 컬럼 (krx_daily_price).
+ * 수익률은 {@link KrxReturnRow} 와 같은 식 (기준가 대비 → 수정계수 불필요).
+ */
+public record KrxFactorInputRow(
+        String basDd,
+        String isuCd,
+        BigDecimal tddClsprc,
+        BigDecimal cmpprevddPrc,
+        Long accTrdvol,
+        BigDecimal accTrdval,
+        BigDecimal mktcap
+) {
+    public double dailyReturn() {
+        return KrxReturnRow.dailyReturn(tddClsprc, cmpprevddPrc, accTrdvol);
+    }
+}
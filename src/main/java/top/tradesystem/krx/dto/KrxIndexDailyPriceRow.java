@@ -5,6 +5,7 @@ import java.util.Map;
 
 public record KrxIndexDailyPriceRow(
         String basDd,
+        String idxClss,
         String idxNm,
         BigDecimal clpr,
         BigDecimal vs,
@@ -16,26 +17,39 @@ public record KrxIndexDailyPriceRow(
         BigDecimal accTrdval
 ) {
     public static KrxIndexDailyPriceRow fromApiMap(String basDd, Map<String, ?> m) {
+        return fromApiMap(basDd, null, m);
+    }
+
+    public static KrxIndexDailyPriceRow fromApiMap(String basDd, String idxClss, Map<String, ?> m) {
         if (m == null) return null;
 
         // 실제 키는 API마다 조금씩 다를 수 있어(명세서/샘플 응답 기준으로 맞추면 됨)
-        // 아래는 흔한 네이밍 패턴 예시
+        // idx/*_dd_trd 는 CLSPRC_IDX / CMPPREVDD_IDX ... 형태, 구 샘플은 CLPR / VS ... 형태
         String idxNm = s(m.get("IDX_NM"));
+        if (idxNm == null || idxNm.isBlank()) return null;
+
+        String clss = idxClss != null ? idxClss : s(m.get("IDX_CLSS"));
 
         return new KrxIndexDailyPriceRow(
                 basDd,
-                idxNm,
-                bd(m.get("CLPR")),
-                bd(m.get("VS")),
+                clss,
+                idxNm.trim(),
+                bd(first(m, "CLSPRC_IDX", "CLPR")),
+                bd(first(m, "CMPPREVDD_IDX", "VS")),
                 bd(m.get("FLUC_RT")),
-                bd(m.get("OPNPRC")),
-                bd(m.get("HGPRC")),
-                bd(m.get("LWPRC")),
+                bd(first(m, "OPNPRC_IDX", "OPNPRC")),
+                bd(first(m, "HGPRC_IDX", "HGPRC")),
+                bd(first(m, "LWPRC_IDX", "LWPRC")),
                 bd(m.get("ACC_TRDVOL")),
                 bd(m.get("ACC_TRDVAL"))
         );
     }
 
+    private static Object first(Map<String, ?> m, String primary, String legacy) {
+        Object v = m.get(primary);
+        return v != null ? v : m.get(legacy);
+    }
+
     private static String s(Object o) { return o == null ? null : String.valueOf(o); }
 
     private static BigDecimal bd(Object o) {
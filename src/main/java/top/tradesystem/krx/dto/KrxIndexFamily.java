@@ -0,0 +1,18 @@
+package top.tradesystem.krx.dto;
+
+// KRX 지수 계열 (idx/*_dd_trd)
+public enum KrxIndexFamily {
+    KRX("/krx_dd_trd"),
+    KOSPI("/kospi_dd_trd"),
+    KOSDAQ("/kosdaq_dd_trd");
+
+    private final String path;
+
+    KrxIndexFamily(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+}
@@ -0,0 +1,17 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+// 일자/시장/소속부별 등락 종목수와 거래대금 합계 (sectTpNm = "*" 은 시장 전체)
+public record KrxMarketBreadthRow(
+        String basDd,
+        String market,
+        String sectTpNm,
+        Integer issues,
+        Integer advancers,
+        Integer decliners,
+        Integer unchanged,
+        Long totalTrdvol,
+        BigDecimal totalTrdval,
+        BigDecimal totalMktcap
+) {}
@@ -0,0 +1,12 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+public record KrxPartitionArchiveLogRow(
+        String tableName,
+        String partitionName,
+        String fromDd,
+        String toDd,
+        long movedRows,
+        LocalDateTime archivedAt
+) {}
@@ -0,0 +1,20 @@
+package top.tradesystem.krx.dto;
+
+/**
+ * information_schema.PARTITIONS 한 줄.
+ *
+ * @param lessThan 상한 bas_dd (미포함), MAXVALUE 파티션이면 null
+ * @param tableRows InnoDB 통계 추정치
+ */
+public record KrxPartitionRow(
+        String tableName,
+        String partitionName,
+        String lessThan,
+        Long tableRows,
+        Long dataBytes,
+        Long indexBytes
+) {
+    public boolean maxValue() {
+        return lessThan == null;
+    }
+}
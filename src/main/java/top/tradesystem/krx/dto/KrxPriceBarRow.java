@@ -0,0 +1,19 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+// 주봉/월봉 (period: 주봉=주 시작 월요일 yyyyMMdd, 월봉=yyyyMM)
+public record KrxPriceBarRow(
+        String isuCd,
+        String period,
+        String market,
+        String firstDd,
+        String lastDd,
+        BigDecimal open,
+        BigDecimal high,
+        BigDecimal low,
+        BigDecimal close,
+        Long volume,
+        BigDecimal trdval,
+        Integer days
+) {}
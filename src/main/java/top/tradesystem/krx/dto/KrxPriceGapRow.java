@@ -0,0 +1,15 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+// 종목별 (직전 거래일, 당일) 종가/기준가/상장주식수 비교용
+public record KrxPriceGapRow(
+        String isuCd,
+        String basDd,
+        String prevDd,
+        BigDecimal prevClose,
+        BigDecimal close,
+        BigDecimal cmpprevddPrc,
+        Long prevShrs,
+        Long shrs
+) {}
@@ -0,0 +1,10 @@
+package top.tradesystem.krx.dto;
+
+// 일봉 압축 이력 (krx_price_history_blob)
+// - payload: 한 종목 한 달치 PriceDeltaCodec 인코딩
+public record KrxPriceHistoryBlobRow(
+        String isuCd,
+        String yyyymm,
+        int rowCount,
+        byte[] payload
+) {}
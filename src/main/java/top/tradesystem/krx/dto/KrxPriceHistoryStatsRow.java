@@ -0,0 +1,9 @@
+package top.tradesystem.krx.dto;
+
+// 압축 이력 현황 (blob 수 / 원본 row 수 / payload 합계 byte)
+public record KrxPriceHistoryStatsRow(
+        long months,
+        long blobs,
+        long rows,
+        long payloadBytes
+) {}
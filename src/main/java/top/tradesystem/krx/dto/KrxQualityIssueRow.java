@@ -0,0 +1,11 @@
+package top.tradesystem.krx.dto;
+
+public record KrxQualityIssueRow(
+        String basDd,
+        String market,
+        String dataset,
+        String checkId,
+        String severity,
+        String isuCd,
+        String message
+) {}
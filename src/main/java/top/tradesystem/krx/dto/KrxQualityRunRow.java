@@ -0,0 +1,15 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+public record KrxQualityRunRow(
+        String basDd,
+        String market,
+        String dataset,
+        int rowCount,
+        int errorCount,
+        int warnCount,
+        boolean quarantined,
+        long elapsedMs,
+        LocalDateTime checkedAt
+) {}
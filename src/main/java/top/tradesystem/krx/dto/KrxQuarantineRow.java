@@ -0,0 +1,13 @@
+package top.tradesystem.krx.dto;
+
+import java.time.LocalDateTime;
+
+public record KrxQuarantineRow(
+        String basDd,
+        String market,
+        String dataset,
+        String reason,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime resolvedAt
+) {}
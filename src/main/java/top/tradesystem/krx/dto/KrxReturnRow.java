@@ -0,0 +1,30 @@
+package top.tradesystem.krx.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 수익률 계산용 최소 컬럼 (krx_daily_price).
+ * KRX 의 대비(cmpprevdd_prc)는 기준가(권리락/분할 반영된 전일가) 대비라서
+ * cmp / (close - cmp) 는 따로 수정계수를 곱하지 않아도 조정 수익률이 된다.
+ */
+public record KrxReturnRow(
+        String basDd,
+        String isuCd,
+        BigDecimal tddClsprc,
+        BigDecimal cmpprevddPrc,
+        Long accTrdvol
+) {
+    /** 일간 단순 수익률, 계산할 수 없으면 NaN (거래 없음은 0) */
+    public double dailyReturn() {
+        return dailyReturn(tddClsprc, cmpprevddPrc, accTrdvol);
+    }
+
+    public static double dailyReturn(BigDecimal tddClsprc, BigDecimal cmpprevddPrc, Long accTrdvol) {
+        if (accTrdvol != null && accTrdvol == 0L) return 0.0;
+        if (tddClsprc == null || cmpprevddPrc == null) return Double.NaN;
+        double close = tddClsprc.doubleValue();
+        double cmp = cmpprevddPrc.doubleValue();
+        double base = close - cmp;
+        return base > 0 ? cmp / base : Double.NaN;
+    }
+}
@@ -0,0 +1,7 @@
+package top.tradesystem.krx.dto;
+
+// 저장은 끝났는데 주봉/월봉/등락 집계 갱신이 확인되지 않은 (일자, 시장)
+public record KrxRollupPendingRow(
+        String basDd,
+        String market
+) {}
@@ -0,0 +1,13 @@
+package top.tradesystem.krx.event;
+
+/**
+ * 읽기 캐시 무효화 (ClusterCacheBus 가 발행).
+ * - remote=false: 이 노드에서 난 변경 (로컬 리스너는 보통 원래 이벤트로 이미 처리함)
+ * - remote=true : 다른 노드에서 난 변경 → 이 노드 캐시를 맞춰야 함
+ */
+public record KrxCacheInvalidatedEvent(
+        String topic,
+        String key,
+        String origin,
+        boolean remote
+) {}
@@ -0,0 +1,11 @@
+package top.tradesystem.krx.event;
+
+/**
+ * krx_daily_price 에 (basDd, market) 하루치가 저장된 뒤 발행.
+ * - 파생 데이터(수정주가 등)는 이 이벤트를 받아 증분 갱신한다.
+ */
+public record KrxDailyPriceSyncedEvent(
+        String basDd,
+        String market,
+        int saved
+) {}
@@ -0,0 +1,38 @@
+package top.tradesystem.krx.factor;
+
+import java.util.List;
+
+/**
+ * 팩터 정의.
+ *
+ * <p>값은 (종목 i, 거래일 t) 마다 double 하나, 계산할 수 없으면 NaN.
+ * t 시점 값은 t 와 그 이전 {@link #lookback()} 거래일의 입력/의존 팩터만 읽어야 한다
+ * (그래야 일자 sync 뒤 마지막 날만 다시 계산해도 결과가 같음).
+ * <ul>
+ *   <li>{@link PerSymbol}: 종목끼리 독립 (모멘텀, 변동성 …) → 날짜 × 종목 블록으로 나눠 병렬</li>
+ *   <li>{@link CrossSection}: 같은 날 전 종목을 봄 (z-score, 순위 …) → 날짜 단위로 병렬</li>
+ * </ul>
+ * Spring bean 으로 등록하면 {@link FactorService} 가 기본 팩터({@link Factors#defaults()})와 같이 계산한다.
+ */
+public sealed interface Factor permits Factor.PerSymbol, Factor.CrossSection {
+
+    /** 고유 이름 (다른 팩터의 dependsOn 에서 참조) */
+    String name();
+
+    /** t 외에 읽는 과거 거래일 수 (t-lookback .. t) */
+    int lookback();
+
+    /** 먼저 계산돼야 하는 팩터 이름, {@link FactorFrame#dep(int, int, int)} 의 순서 */
+    default List<String> dependsOn() {
+        return List.of();
+    }
+
+    non-sealed interface PerSymbol extends Factor {
+        double value(FactorFrame f, int i, int t);
+    }
+
+    non-sealed interface CrossSection extends Factor {
+        /** out[i] 에 t 일의 전 종목 값을 채움 (NaN 으로 초기화돼 있음) */
+        void compute(FactorFrame f, int t, double[] out);
+    }
+}
@@ -0,0 +1,120 @@
+package top.tradesystem.krx.factor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@link FactorGraph} 를 패널의 거래일 구간 [from, to) 에 대해 계산.
+ * <ul>
+ *   <li>level 순서대로, 같은 level 의 팩터는 한꺼번에 fork</li>
+ *   <li>PerSymbol: 날짜 → 종목 순으로 반씩 쪼갬 (DAY_BLOCK × SYMBOL_BLOCK 이하가 되면 직접 계산)</li>
+ *   <li>CrossSection: 날짜로만 쪼갬, leaf 마다 n 칸 scratch 하나</li>
+ *   <li>warmup 이전 날짜는 NaN 으로 남김</li>
+ * </ul>
+ */
+final class FactorEngine {
+
+    private static final int DAY_BLOCK = 8;
+    private static final int SYMBOL_BLOCK = 512;
+    private static final int CROSS_DAY_BLOCK = 2;
+
+    private final ForkJoinPool pool;
+
+    FactorEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    void evaluate(FactorPanel p, int from, int to) {
+        FactorGraph g = p.graph();
+        for (int[] level : g.levels()) {
+            List<RecursiveAction> tasks = new ArrayList<>(level.length);
+            for (int slot : level) {
+                int start = Math.max(from, g.warmup(slot));
+                if (start >= to) continue;
+                FactorFrame frame = p.frame(slot);
+                switch (g.factor(slot)) {
+                    case Factor.PerSymbol f -> tasks.add(new PerSymbolTask(f, frame, p, slot, start, to, 0, p.symbols()));
+                    case Factor.CrossSection f -> tasks.add(new CrossSectionTask(f, frame, p, slot, start, to));
+                }
+            }
+            if (tasks.isEmpty()) continue;
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+    }
+
+    private static final class PerSymbolTask extends RecursiveAction {
+        private final Factor.PerSymbol f;
+        private final FactorFrame frame;
+        private final FactorPanel p;
+        private final int slot, t0, t1, i0, i1;
+
+        PerSymbolTask(Factor.PerSymbol f, FactorFrame frame, FactorPanel p, int slot, int t0, int t1, int i0, int i1) {
+            this.f = f;
+            this.frame = frame;
+            this.p = p;
+            this.slot = slot;
+            this.t0 = t0;
+            this.t1 = t1;
+            this.i0 = i0;
+            this.i1 = i1;
+        }
+
+        @Override
+        protected void compute() {
+            if (t1 - t0 > DAY_BLOCK) {
+                int mid = (t0 + t1) >>> 1;
+                invokeAll(new PerSymbolTask(f, frame, p, slot, t0, mid, i0, i1),
+                        new PerSymbolTask(f, frame, p, slot, mid, t1, i0, i1));
+            } else if (i1 - i0 > SYMBOL_BLOCK) {
+                int mid = (i0 + i1) >>> 1;
+                invokeAll(new PerSymbolTask(f, frame, p, slot, t0, t1, i0, mid),
+                        new PerSymbolTask(f, frame, p, slot, t0, t1, mid, i1));
+            } else {
+                for (int t = t0; t < t1; t++) {
+                    for (int i = i0; i < i1; i++) p.setValue(slot, i, t, f.value(frame, i, t));
+                }
+            }
+        }
+    }
+
+    private static final class CrossSectionTask extends RecursiveAction {
+        private final Factor.CrossSection f;
+        private final FactorFrame frame;
+        private final FactorPanel p;
+        private final int slot, t0, t1;
+
+        CrossSectionTask(Factor.CrossSection f, FactorFrame frame, FactorPanel p, int slot, int t0, int t1) {
+            this.f = f;
+            this.frame = frame;
+            this.p = p;
+            this.slot = slot;
+            this.t0 = t0;
+            this.t1 = t1;
+        }
+
+        @Override
+        protected void compute() {
+            if (t1 - t0 > CROSS_DAY_BLOCK) {
+                int mid = (t0 + t1) >>> 1;
+                invokeAll(new CrossSectionTask(f, frame, p, slot, t0, mid),
+                        new CrossSectionTask(f, frame, p, slot, mid, t1));
+                return;
+            }
+            double[] out = new double[p.symbols()];
+            for (int t = t0; t < t1; t++) {
+                Arrays.fill(out, Double.NaN);
+                f.compute(frame, t, out);
+                p.setRow(slot, t, out);
+            }
+        }
+    }
+}
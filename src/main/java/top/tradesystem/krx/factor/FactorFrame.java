@@ -0,0 +1,36 @@
+package top.tradesystem.krx.factor;
+
+/**
+ * 팩터 하나가 계산 중에 보는 패널 view.
+ * dep(k, …) 의 k 는 그 팩터 {@link Factor#dependsOn()} 의 순서. 없는 값은 NaN.
+ */
+public final class FactorFrame {
+
+    private final FactorPanel panel;
+    private final int[] deps;
+
+    FactorFrame(FactorPanel panel, int[] deps) {
+        this.panel = panel;
+        this.deps = deps;
+    }
+
+    public int symbols() {
+        return panel.symbols();
+    }
+
+    public String symbol(int i) {
+        return panel.symbol(i);
+    }
+
+    public String day(int t) {
+        return panel.day(t);
+    }
+
+    public double input(FactorInput c, int i, int t) {
+        return panel.input(c, i, t);
+    }
+
+    public double dep(int k, int i, int t) {
+        return panel.value(deps[k], i, t);
+    }
+}
@@ -0,0 +1,129 @@
+package top.tradesystem.krx.factor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팩터 의존 DAG.
+ * <ul>
+ *   <li>slot: 위상 정렬 순서 (의존 팩터가 항상 앞 slot)</li>
+ *   <li>level: 같은 level 끼리는 서로 의존하지 않음 → 같이 병렬 실행</li>
+ *   <li>warmup: 첫 유효 거래일 index = lookback + 의존 팩터 warmup 중 최댓값</li>
+ * </ul>
+ * 이름 중복, 없는 의존, 순환은 생성 시 IllegalArgumentException.
+ */
+public final class FactorGraph {
+
+    private final Factor[] factors;
+    private final Map<String, Integer> slots;
+    private final int[][] deps;
+    private final int[] warmup;
+    private final List<int[]> levels;
+
+    private FactorGraph(Factor[] factors, Map<String, Integer> slots, int[][] deps, int[] warmup, List<int[]> levels) {
+        this.factors = factors;
+        this.slots = slots;
+        this.deps = deps;
+        this.warmup = warmup;
+        this.levels = levels;
+    }
+
+    public static FactorGraph of(Collection<? extends Factor> defs) {
+        Map<String, Factor> byName = new LinkedHashMap<>();
+        for (Factor f : defs) {
+            if (f.lookback() < 0) throw new IllegalArgumentException("negative lookback: " + f.name());
+            if (byName.putIfAbsent(f.name(), f) != null) {
+                throw new IllegalArgumentException("duplicate factor: " + f.name());
+            }
+        }
+        for (Factor f : byName.values()) {
+            for (String d : f.dependsOn()) {
+                if (!byName.containsKey(d)) throw new IllegalArgumentException("unknown dependency: " + f.name() + " -> " + d);
+            }
+        }
+
+        // Kahn: 남은 의존이 없는 팩터를 level 단위로 떼어냄
+        Map<String, Integer> remaining = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Factor f : byName.values()) {
+            remaining.put(f.name(), f.dependsOn().size());
+            for (String d : f.dependsOn()) dependents.computeIfAbsent(d, k -> new ArrayList<>()).add(f.name());
+        }
+        List<String> ready = new ArrayList<>();
+        for (Factor f : byName.values()) if (f.dependsOn().isEmpty()) ready.add(f.name());
+
+        int n = byName.size();
+        Factor[] order = new Factor[n];
+        Map<String, Integer> slots = new HashMap<>(n * 2);
+        List<int[]> levels = new ArrayList<>();
+        int next = 0;
+        while (!ready.isEmpty()) {
+            int[] level = new int[ready.size()];
+            List<String> after = new ArrayList<>();
+            for (int q = 0; q < ready.size(); q++) {
+                String name = ready.get(q);
+                order[next] = byName.get(name);
+                slots.put(name, next);
+                level[q] = next++;
+                for (String x : dependents.getOrDefault(name, List.of())) {
+                    if (remaining.merge(x, -1, Integer::sum) == 0) after.add(x);
+                }
+            }
+            levels.add(level);
+            ready = after;
+        }
+        if (next < n) {
+            List<String> cyclic = remaining.entrySet().stream().filter(e -> e.getValue() > 0).map(Map.Entry::getKey).sorted().toList();
+            throw new IllegalArgumentException("factor dependency cycle: " + cyclic);
+        }
+
+        int[][] deps = new int[n][];
+        int[] warmup = new int[n];
+        for (int s = 0; s < n; s++) {
+            List<String> ds = order[s].dependsOn();
+            deps[s] = new int[ds.size()];
+            int w = 0;
+            for (int k = 0; k < ds.size(); k++) {
+                deps[s][k] = slots.get(ds.get(k));
+                w = Math.max(w, warmup[deps[s][k]]);
+            }
+            warmup[s] = w + order[s].lookback();
+        }
+        return new FactorGraph(order, Map.copyOf(slots), deps, warmup, List.copyOf(levels));
+    }
+
+    public int size() {
+        return factors.length;
+    }
+
+    public Factor factor(int slot) {
+        return factors[slot];
+    }
+
+    /** 없으면 null */
+    public Integer slot(String name) {
+        return slots.get(name);
+    }
+
+    public int warmup(int slot) {
+        return warmup[slot];
+    }
+
+    public int maxWarmup() {
+        int w = 0;
+        for (int x : warmup) w = Math.max(w, x);
+        return w;
+    }
+
+    int[] deps(int slot) {
+        return deps[slot];
+    }
+
+    List<int[]> levels() {
+        return levels;
+    }
+}
@@ -0,0 +1,24 @@
+package top.tradesystem.krx.factor;
+
+import top.tradesystem.krx.dto.KrxFactorInputRow;
+
+/**
+ * 팩터가 읽을 수 있는 원천 컬럼 (종목 × 거래일, 없으면 NaN).
+ */
+public enum FactorInput {
+    CLOSE,      // 종가 (수정 전)
+    RETURN,     // 일간 수익률 (권리락/분할 반영)
+    TRDVAL,     // 거래대금 acc_trdval
+    MKTCAP;     // 시가총액
+
+    static final int COUNT = values().length;
+
+    double read(KrxFactorInputRow r) {
+        return switch (this) {
+            case CLOSE -> r.tddClsprc() == null ? Double.NaN : r.tddClsprc().doubleValue();
+            case RETURN -> r.dailyReturn();
+            case TRDVAL -> r.accTrdval() == null ? Double.NaN : r.accTrdval().doubleValue();
+            case MKTCAP -> r.mktcap() == null ? Double.NaN : r.mktcap().doubleValue();
+        };
+    }
+}
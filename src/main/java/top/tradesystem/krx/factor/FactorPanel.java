@@ -0,0 +1,147 @@
+package top.tradesystem.krx.factor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 고정 universe × 거래일 팩터 패널 (primitive array).
+ *
+ * <pre>
+ * inputs[c] : 원천 컬럼 c, 날짜 row-major (t * n + i)
+ * values[s] : 팩터 slot s, 같은 배치
+ * </pre>
+ * 날짜 row-major 라 하루 추가는 배열 끝에 n 칸 쓰기, 횡단면 계산/조회는 연속 구간 읽기.
+ * 빈 칸은 NaN. 동기화는 호출부(FactorService)가 this 로.
+ */
+final class FactorPanel {
+
+    private final FactorGraph graph;
+    private final String[] symbols;
+    private final Map<String, Integer> index;
+    private final int n;
+
+    private String[] days;
+    private double[][] inputs;
+    private double[][] values;
+    private int size;
+    private int rolls;
+
+    FactorPanel(FactorGraph graph, String[] symbols, String[] days, int capacity) {
+        this.graph = graph;
+        this.symbols = symbols;
+        this.n = symbols.length;
+        this.index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) index.put(symbols[i], i);
+        int cap = Math.max(capacity, days.length);
+        this.days = Arrays.copyOf(days, cap);
+        this.size = days.length;
+        this.inputs = new double[FactorInput.COUNT][];
+        for (int c = 0; c < inputs.length; c++) inputs[c] = nanArray(cap * n);
+        this.values = new double[graph.size()][];
+        for (int s = 0; s < values.length; s++) values[s] = nanArray(cap * n);
+    }
+
+    private static double[] nanArray(int len) {
+        double[] a = new double[len];
+        Arrays.fill(a, Double.NaN);
+        return a;
+    }
+
+    FactorGraph graph() {
+        return graph;
+    }
+
+    int symbols() {
+        return n;
+    }
+
+    int days() {
+        return size;
+    }
+
+    String symbol(int i) {
+        return symbols[i];
+    }
+
+    Integer indexOf(String code) {
+        return index.get(code);
+    }
+
+    String day(int t) {
+        return days[t];
+    }
+
+    String asOf() {
+        return days[size - 1];
+    }
+
+    int rolls() {
+        return rolls;
+    }
+
+    /** 첫 유효 거래일 index (모든 팩터 warmup 이후) */
+    int firstOutput() {
+        return Math.min(graph.maxWarmup(), size - 1);
+    }
+
+    long bytes() {
+        return (long) (inputs.length + values.length) * days.length * n * Double.BYTES;
+    }
+
+    double input(FactorInput c, int i, int t) {
+        return inputs[c.ordinal()][t * n + i];
+    }
+
+    void setInput(FactorInput c, int i, int t, double v) {
+        inputs[c.ordinal()][t * n + i] = v;
+    }
+
+    double value(int slot, int i, int t) {
+        return values[slot][t * n + i];
+    }
+
+    void setValue(int slot, int i, int t, double v) {
+        values[slot][t * n + i] = v;
+    }
+
+    /** t 일 전 종목 값 (NaN 포함) */
+    double[] row(int slot, int t) {
+        return Arrays.copyOfRange(values[slot], t * n, (t + 1) * n);
+    }
+
+    void setRow(int slot, int t, double[] row) {
+        System.arraycopy(row, 0, values[slot], t * n, n);
+    }
+
+    /** 마지막 날 다시 채우기 전 입력/값을 비움 */
+    void clearDay(int t) {
+        for (double[] a : inputs) Arrays.fill(a, t * n, (t + 1) * n, Double.NaN);
+        for (double[] a : values) Arrays.fill(a, t * n, (t + 1) * n, Double.NaN);
+    }
+
+    /** 거래일 하나 추가 (capacity 가 차면 1.5 배) → 새 t */
+    int append(String day) {
+        if (size == days.length) grow(size + (size >> 1) + 1);
+        days[size] = day;
+        rolls++;
+        return size++;
+    }
+
+    private void grow(int cap) {
+        days = Arrays.copyOf(days, cap);
+        for (int c = 0; c < inputs.length; c++) inputs[c] = grown(inputs[c], cap * n);
+        for (int s = 0; s < values.length; s++) values[s] = grown(values[s], cap * n);
+    }
+
+    private static double[] grown(double[] a, int len) {
+        int old = a.length;
+        double[] b = Arrays.copyOf(a, len);
+        Arrays.fill(b, old, len, Double.NaN);
+        return b;
+    }
+
+    FactorFrame frame(int slot) {
+        return new FactorFrame(this, graph.deps(slot));
+    }
+}
@@ -0,0 +1,307 @@
+package top.tradesystem.krx.factor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.coalesce.RollingDayCache;
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.config.KrxFactorProperties;
+import top.tradesystem.krx.dto.KrxFactorInputRow;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 전 종목 팩터 패널 서비스.
+ * - 기본 팩터 + Spring bean 으로 등록된 {@link Factor} 로 DAG 를 만들고, 최근 historyDays (+ warmup) 거래일을 한 번에 계산
+ * - 결과는 asOf 단위 {@link RollingDayCache} ({@link FactorPanel}), 같은 키 동시 요청은 한 번만 계산
+ * - 일자 sync 이벤트마다 캐시된 패널에 그날 하루만 이어 붙여 계산 (전체 재계산 없음)
+ */
+@Service
+public class FactorService {
+
+    private static final Logger log = LoggerFactory.getLogger(FactorService.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CALENDAR_MARKET = "KOSPI"; // 거래일 달력 기준
+    private static final int MAX_TOP = 5000;
+
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxRollupMapper rollupMapper;
+    private final KrxFactorProperties props;
+    private final FactorGraph graph;
+    private final FactorEngine engine;
+
+    private final RollingDayCache<FactorPanel, Map<String, KrxFactorInputRow>> cache;
+
+    public FactorService(
+            KrxDailyPriceMapper priceMapper,
+            KrxRollupMapper rollupMapper,
+            KrxFactorProperties props,
+            SingleFlight singleFlight,
+            ObjectProvider<Factor> extraFactors
+    ) {
+        this.priceMapper = priceMapper;
+        this.rollupMapper = rollupMapper;
+        this.props = props;
+        List<Factor> defs = new ArrayList<>(Factors.defaults());
+        extraFactors.orderedStream().forEach(defs::add);
+        this.graph = FactorGraph.of(defs);
+        this.engine = new FactorEngine(new ForkJoinPool(props.threads()));
+        this.cache = new RollingDayCache<>("factor", new Rolling(), rollupMapper, singleFlight,
+                props.cacheEntries(), props.rebuildEveryDays(), props.dayCoverage());
+        log.info("factor graph: {} factors, {} levels, warmup={} days, threads={}",
+                graph.size(), graph.levels().size(), graph.maxWarmup(), props.threads());
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public List<FactorInfo> factors() {
+        List<FactorInfo> out = new ArrayList<>(graph.size());
+        for (int s = 0; s < graph.size(); s++) {
+            Factor f = graph.factor(s);
+            String kind = f instanceof Factor.CrossSection ? "CROSS_SECTION" : "PER_SYMBOL";
+            out.add(new FactorInfo(f.name(), kind, f.lookback(), graph.warmup(s), f.dependsOn()));
+        }
+        return out;
+    }
+
+    /** asOf 일 전 종목 값, 큰 순 (asc 면 작은 순) top 개 */
+    public Mono<CrossSectionResult> crossSection(String name, String asOf, int top, boolean asc) {
+        return getOrBuild(asOf).map(p -> {
+            int slot = requireFactor(name);
+            synchronized (p) {
+                int t = p.days() - 1;
+                double[] row = p.row(slot, t);
+                List<Score> scores = new ArrayList<>();
+                for (int i = 0; i < row.length; i++) {
+                    if (!Double.isNaN(row[i])) scores.add(new Score(p.symbol(i), row[i]));
+                }
+                Comparator<Score> cmp = Comparator.comparingDouble(Score::value);
+                scores.sort(asc ? cmp : cmp.reversed());
+                int k = Math.max(1, Math.min(top, MAX_TOP));
+                return new CrossSectionResult(name, p.day(t), scores.size(), List.copyOf(scores.subList(0, Math.min(k, scores.size()))));
+            }
+        });
+    }
+
+    /** 한 종목의 팩터 시계열 (warmup 이후 ~ asOf) */
+    public Mono<SeriesResult> series(String name, String code, String asOf) {
+        return getOrBuild(asOf).map(p -> {
+            int slot = requireFactor(name);
+            synchronized (p) {
+                Integer i = p.indexOf(code);
+                if (i == null) throw new IllegalArgumentException("not in factor universe: " + code);
+                List<Point> points = new ArrayList<>(p.days() - p.firstOutput());
+                for (int t = p.firstOutput(); t < p.days(); t++) {
+                    double v = p.value(slot, i, t);
+                    points.add(new Point(p.day(t), Double.isNaN(v) ? null : v));
+                }
+                return new SeriesResult(name, code, points);
+            }
+        });
+    }
+
+    public List<CacheEntry> cached() {
+        return cache.values().stream().map(FactorService::entry).toList();
+    }
+
+    private static CacheEntry entry(FactorPanel p) {
+        synchronized (p) {
+            return new CacheEntry(p.asOf(), p.day(p.firstOutput()), p.symbols(), p.days(),
+                    p.graph().size(), p.rolls(), p.bytes() / (1024 * 1024));
+        }
+    }
+
+    private int requireFactor(String name) {
+        Integer slot = graph.slot(name);
+        if (slot == null) throw new IllegalArgumentException("unknown factor: " + name);
+        return slot;
+    }
+
+    // =========================
+    // 2) 계산 (캐시 + single-flight)
+    // =========================
+    /** asOf 거래일 확정은 boundedElastic 에서, 이후 결과도 boundedElastic 에서 나옴 */
+    private Mono<FactorPanel> getOrBuild(String asOf) {
+        return Mono.fromCallable(() -> resolveAsOf(asOf))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(day -> cache.get(day, () -> build(day)));
+    }
+
+    /** asOf 가 없거나 휴장일이면 그 이전 마지막 거래일 */
+    private String resolveAsOf(String asOf) {
+        LocalDate to = asOf == null || asOf.isBlank() ? LocalDate.now(ZoneId.of("Asia/Seoul")) : LocalDate.parse(asOf, YYYYMMDD);
+        List<String> days = rollupMapper.findTradingDays(to.minusDays(14).format(YYYYMMDD), to.format(YYYYMMDD), CALENDAR_MARKET);
+        if (days.isEmpty()) throw new IllegalStateException("no trading day on or before " + to.format(YYYYMMDD));
+        return days.get(days.size() - 1);
+    }
+
+    FactorPanel build(String asOf) {
+        long t0 = System.nanoTime();
+        int warmup = graph.maxWarmup();
+        int need = props.historyDays() + warmup;
+        String from = LocalDate.parse(asOf, YYYYMMDD).minusDays(need * 2L + 30).format(YYYYMMDD);
+        List<String> all = rollupMapper.findTradingDays(from, asOf, CALENDAR_MARKET);
+        if (all.size() <= warmup) {
+            throw new IllegalStateException("not enough trading days for factor warmup " + warmup + " (" + all.size() + ")");
+        }
+        String[] days = all.subList(Math.max(0, all.size() - need), all.size()).toArray(String[]::new);
+        int w = days.length;
+        Map<String, Integer> dayIndex = new HashMap<>(w * 2);
+        for (int t = 0; t < w; t++) dayIndex.put(days[t], t);
+
+        // 종목별 입력 열 [컬럼][t] (없는 날 NaN) → universe 확정 뒤 날짜 row-major 로 옮김
+        Map<String, double[][]> series = new HashMap<>(4096);
+        priceMapper.streamFactorInputs(days[0], asOf, ctx -> {
+            KrxFactorInputRow r = ctx.getResultObject();
+            Integer t = dayIndex.get(r.basDd());
+            if (t == null) return;
+            double[][] cols = series.computeIfAbsent(r.isuCd(), k -> {
+                double[][] a = new double[FactorInput.COUNT][w];
+                for (double[] c : a) Arrays.fill(c, Double.NaN);
+                return a;
+            });
+            for (FactorInput c : FactorInput.values()) cols[c.ordinal()][t] = c.read(r);
+        });
+
+        // 값을 내는 구간에 한 번이라도 종가가 있는 종목만
+        int firstOutput = Math.min(warmup, w - 1);
+        List<String> universe = new ArrayList<>();
+        for (Map.Entry<String, double[][]> e : series.entrySet()) {
+            double[] close = e.getValue()[FactorInput.CLOSE.ordinal()];
+            for (int t = firstOutput; t < w; t++) {
+                if (!Double.isNaN(close[t])) {
+                    universe.add(e.getKey());
+                    break;
+                }
+            }
+        }
+        Collections.sort(universe);
+        if (universe.isEmpty()) throw new IllegalStateException("empty factor universe: asOf=" + asOf);
+
+        FactorPanel p = new FactorPanel(graph, universe.toArray(String[]::new), days, w + props.rebuildEveryDays());
+        for (int i = 0; i < universe.size(); i++) {
+            double[][] cols = series.get(universe.get(i));
+            for (FactorInput c : FactorInput.values()) {
+                double[] col = cols[c.ordinal()];
+                for (int t = 0; t < w; t++) p.setInput(c, i, t, col[t]);
+            }
+        }
+        series.clear();
+
+        long t1 = System.nanoTime();
+        engine.evaluate(p, 0, w);
+        log.info("factor panel built: asOf={}, symbols={}, days={}, factors={}, load {}ms, compute {}ms",
+                asOf, universe.size(), w, graph.size(),
+                (t1 - t0) / 1_000_000L, (System.nanoTime() - t1) / 1_000_000L);
+        return p;
+    }
+
+    // =========================
+    // 3) 증분 갱신: 일자 sync 직후 ({@link RollingDayCache#refreshDay})
+    // =========================
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        if (props.enabled()) cache.onDailyPriceSynced(e);
+    }
+
+    @EventListener
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        if (props.enabled()) cache.onCacheInvalidated(e);
+    }
+
+    private final class Rolling implements RollingDayCache.Ops<FactorPanel, Map<String, KrxFactorInputRow>> {
+        @Override
+        public String key(FactorPanel p) {
+            return p.asOf();
+        }
+
+        @Override
+        public String asOf(FactorPanel p) {
+            return p.asOf();
+        }
+
+        @Override
+        public String oldestDay(FactorPanel p) {
+            return p.day(0);
+        }
+
+        @Override
+        public int rolls(FactorPanel p) {
+            return p.rolls();
+        }
+
+        @Override
+        public Map<String, KrxFactorInputRow> loadDay(String basDd) {
+            Map<String, KrxFactorInputRow> day = new HashMap<>(4096);
+            priceMapper.streamFactorInputs(basDd, basDd, ctx -> {
+                KrxFactorInputRow r = ctx.getResultObject();
+                day.put(r.isuCd(), r);
+            });
+            return day;
+        }
+
+        @Override
+        public double coverage(FactorPanel p, Map<String, KrxFactorInputRow> day) {
+            int hit = 0;
+            for (int i = 0; i < p.symbols(); i++) if (day.containsKey(p.symbol(i))) hit++;
+            return (double) hit / p.symbols();
+        }
+
+        @Override
+        public void replaceNewest(FactorPanel p, Map<String, KrxFactorInputRow> day) {
+            int t = p.days() - 1; // 마지막 날만 다시
+            p.clearDay(t);
+            fill(p, t, day);
+            engine.evaluate(p, t, t + 1);
+        }
+
+        @Override
+        public void roll(FactorPanel p, String basDd, Map<String, KrxFactorInputRow> day) {
+            int t = p.append(basDd);
+            fill(p, t, day);
+            engine.evaluate(p, t, t + 1);
+        }
+    }
+
+    private static void fill(FactorPanel p, int t, Map<String, KrxFactorInputRow> day) {
+        for (int i = 0; i < p.symbols(); i++) {
+            KrxFactorInputRow r = day.get(p.symbol(i));
+            if (r == null) continue;
+            for (FactorInput c : FactorInput.values()) p.setInput(c, i, t, c.read(r));
+        }
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record FactorInfo(String name, String kind, int lookback, int warmup, List<String> dependsOn) {}
+
+    public record Score(String isuCd, double value) {}
+
+    public record CrossSectionResult(String factor, String asOf, int count, List<Score> values) {}
+
+    public record Point(String basDd, Double value) {}
+
+    public record SeriesResult(String factor, String isuCd, List<Point> points) {}
+
+    public record CacheEntry(String asOf, String firstDay, int symbols, int days, int factors, int rolls, long megabytes) {}
+}
@@ -0,0 +1,178 @@
+package top.tradesystem.krx.factor;
+
+import java.util.List;
+
+/**
+ * 기본 팩터.
+ * <ul>
+ *   <li>ret_1d: 일간 수익률 (권리락/분할 반영)</li>
+ *   <li>mom_12_1: 252 거래일 누적 수익률, 최근 21 일 제외</li>
+ *   <li>size: ln(시가총액) — 장부가가 없어서 value 는 시가총액 기반 size 로 대신 (z 를 뒤집어 쓰면 소형 tilt)</li>
+ *   <li>liq_20: ln(20 일 평균 거래대금)</li>
+ *   <li>vol_60: 60 일 수익률 표준편차 (연율화)</li>
+ *   <li>*_z: 같은 날 전 종목 z-score, ±3 에서 자름</li>
+ * </ul>
+ * window 중 관측치가 MIN_OBS_RATIO 미만이면 NaN.
+ */
+public final class Factors {
+
+    private static final double MIN_OBS_RATIO = 0.8;
+    private static final double ANNUALIZE = Math.sqrt(252.0);
+    private static final double Z_CLIP = 3.0;
+
+    private Factors() {
+    }
+
+    public static List<Factor> defaults() {
+        return List.of(
+                dailyReturn(),
+                momentum("mom_12_1", 252, 21),
+                size("size"),
+                liquidity("liq_20", 20),
+                volatility("vol_60", 60),
+                zscore("mom_12_1_z", "mom_12_1"),
+                zscore("size_z", "size"),
+                zscore("liq_20_z", "liq_20"),
+                zscore("vol_60_z", "vol_60")
+        );
+    }
+
+    public static Factor.PerSymbol dailyReturn() {
+        return perSymbol("ret_1d", 0, List.of(), (f, i, t) -> f.input(FactorInput.RETURN, i, t));
+    }
+
+    /** 복리 누적 수익률 (t-window, t-skip] */
+    public static Factor.PerSymbol momentum(String name, int window, int skip) {
+        if (skip < 0 || skip >= window) throw new IllegalArgumentException("skip must be 0.." + (window - 1));
+        int need = minObs(window - skip);
+        return perSymbol(name, window - 1, List.of("ret_1d"), (f, i, t) -> {
+            double logSum = 0;
+            int obs = 0;
+            for (int k = t - window + 1; k <= t - skip; k++) {
+                double r = f.dep(0, i, k);
+                if (Double.isNaN(r) || r <= -1.0) continue;
+                logSum += Math.log1p(r);
+                obs++;
+            }
+            return obs < need ? Double.NaN : Math.expm1(logSum);
+        });
+    }
+
+    public static Factor.PerSymbol size(String name) {
+        return perSymbol(name, 0, List.of(), (f, i, t) -> {
+            double cap = f.input(FactorInput.MKTCAP, i, t);
+            return cap > 0 ? Math.log(cap) : Double.NaN;
+        });
+    }
+
+    public static Factor.PerSymbol liquidity(String name, int window) {
+        int need = minObs(window);
+        return perSymbol(name, window - 1, List.of(), (f, i, t) -> {
+            double sum = 0;
+            int obs = 0;
+            for (int k = t - window + 1; k <= t; k++) {
+                double v = f.input(FactorInput.TRDVAL, i, k);
+                if (Double.isNaN(v)) continue;
+                sum += v;
+                obs++;
+            }
+            return obs < need || sum <= 0 ? Double.NaN : Math.log(sum / obs);
+        });
+    }
+
+    public static Factor.PerSymbol volatility(String name, int window) {
+        int need = Math.max(2, minObs(window));
+        return perSymbol(name, window - 1, List.of("ret_1d"), (f, i, t) -> {
+            double sum = 0;
+            double sq = 0;
+            int obs = 0;
+            for (int k = t - window + 1; k <= t; k++) {
+                double r = f.dep(0, i, k);
+                if (Double.isNaN(r)) continue;
+                sum += r;
+                sq += r * r;
+                obs++;
+            }
+            if (obs < need) return Double.NaN;
+            double var = (sq - sum * sum / obs) / (obs - 1);
+            return Math.sqrt(Math.max(var, 0.0)) * ANNUALIZE;
+        });
+    }
+
+    /** 같은 날 횡단면 z-score (NaN 제외), ±Z_CLIP 에서 자름 */
+    public static Factor.CrossSection zscore(String name, String source) {
+        return new Factor.CrossSection() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int lookback() {
+                return 0;
+            }
+
+            @Override
+            public List<String> dependsOn() {
+                return List.of(source);
+            }
+
+            @Override
+            public void compute(FactorFrame f, int t, double[] out) {
+                int n = f.symbols();
+                double sum = 0;
+                double sq = 0;
+                int obs = 0;
+                for (int i = 0; i < n; i++) {
+                    double v = f.dep(0, i, t);
+                    if (Double.isNaN(v)) continue;
+                    sum += v;
+                    sq += v * v;
+                    obs++;
+                }
+                if (obs < 2) return;
+                double mean = sum / obs;
+                double sd = Math.sqrt(Math.max((sq - sum * mean) / (obs - 1), 0.0));
+                if (sd == 0) return;
+                for (int i = 0; i < n; i++) {
+                    double v = f.dep(0, i, t);
+                    if (Double.isNaN(v)) continue;
+                    out[i] = Math.max(-Z_CLIP, Math.min(Z_CLIP, (v - mean) / sd));
+                }
+            }
+        };
+    }
+
+    private static int minObs(int window) {
+        return Math.max(1, (int) Math.ceil(MIN_OBS_RATIO * window));
+    }
+
+    @FunctionalInterface
+    private interface ValueFn {
+        double value(FactorFrame f, int i, int t);
+    }
+
+    private static Factor.PerSymbol perSymbol(String name, int lookback, List<String> deps, ValueFn fn) {
+        return new Factor.PerSymbol() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int lookback() {
+                return lookback;
+            }
+
+            @Override
+            public List<String> dependsOn() {
+                return deps;
+            }
+
+            @Override
+            public double value(FactorFrame f, int i, int t) {
+                return fn.value(f, i, t);
+            }
+        };
+    }
+}
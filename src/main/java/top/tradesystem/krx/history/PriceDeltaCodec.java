@@ -0,0 +1,400 @@
+package top.tradesystem.krx.history;
+
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 일봉 시계열 압축 포맷 (저장 tier / series API 공용).
+ *
+ * <pre>
+ * "KPD" version(1)  n(varint)
+ * bas_dd   : epoch day 첫 값, 첫 delta, 이후 delta-of-delta (평일 연속이면 0)   — zigzag varint
+ * 문자열   : isu_cd, market, isu_nm, sect_tp_nm 각각 사전 + (index, run) RLE  — 한 달이면 보통 2~3 byte
+ * 숫자 10개: flags, scale, tick(gcd), 값                                       — zigzag varint
+ *            가격 수준(종가/시가/고가/저가/시총/상장주식수)은 전일 대비 delta,
+ *            나머지(대비/등락률/거래량/거래대금)는 값 그대로.
+ *            값은 컬럼 scale 의 unscaled long 을 tick 으로 나눈 수 (호가 단위면 tick=5,10,...)
+ * null     : 컬럼에 null 이 있으면 flags 에 표시하고 존재 bitmap, 값은 있는 row 만
+ * </pre>
+ * row 는 bas_dd 오름차순·중복 없음이어야 함. 복원한 BigDecimal 은 컬럼 scale 로 맞춰짐 (DB 컬럼과 같음).
+ */
+public final class PriceDeltaCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-krx-price-delta";
+
+    private static final byte[] MAGIC = {'K', 'P', 'D'};
+    private static final int VERSION = 1;
+    private static final int FLAG_NULLS = 1;
+    private static final int MAX_SCALE = 18;
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private PriceDeltaCodec() {
+    }
+
+    private enum Mode { DELTA, RAW }
+
+    // 숫자 컬럼 순서 = 포맷
+    private static final List<Column> COLUMNS = List.of(
+            new Column(Mode.DELTA, KrxDailyPriceRow::tddClsprc),
+            new Column(Mode.RAW, KrxDailyPriceRow::cmpprevddPrc),
+            new Column(Mode.RAW, KrxDailyPriceRow::flucRt),
+            new Column(Mode.DELTA, KrxDailyPriceRow::tddOpnprc),
+            new Column(Mode.DELTA, KrxDailyPriceRow::tddHgprc),
+            new Column(Mode.DELTA, KrxDailyPriceRow::tddLwprc),
+            new Column(Mode.RAW, r -> dec(r.accTrdvol())),
+            new Column(Mode.RAW, KrxDailyPriceRow::accTrdval),
+            new Column(Mode.DELTA, KrxDailyPriceRow::mktcap),
+            new Column(Mode.DELTA, r -> dec(r.listShrs()))
+    );
+
+    private record Column(Mode mode, Function<KrxDailyPriceRow, BigDecimal> getter) {}
+
+    // =========================
+    // 1) encode
+    // =========================
+    public static byte[] encode(List<KrxDailyPriceRow> rows) {
+        int n = rows.size();
+        Out out = new Out(64 + n * 24);
+        out.bytes(MAGIC);
+        out.u8(VERSION);
+        out.uvarint(n);
+        if (n == 0) return out.toArray();
+
+        encodeDates(rows, out);
+        encodeStrings(rows, KrxDailyPriceRow::isuCd, out);
+        encodeStrings(rows, KrxDailyPriceRow::market, out);
+        encodeStrings(rows, KrxDailyPriceRow::isuNm, out);
+        encodeStrings(rows, KrxDailyPriceRow::sectTpNm, out);
+        for (Column c : COLUMNS) encodeNumbers(rows, c, out);
+        return out.toArray();
+    }
+
+    private static void encodeDates(List<KrxDailyPriceRow> rows, Out out) {
+        long prev = 0;
+        long prevDelta = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            long day = LocalDate.parse(rows.get(i).basDd(), YYYYMMDD).toEpochDay();
+            if (i == 0) {
+                out.svarint(day);
+            } else {
+                long delta = day - prev;
+                if (delta <= 0) throw new IllegalArgumentException("rows must be sorted by basDd without duplicates");
+                out.svarint(i == 1 ? delta : delta - prevDelta);
+                prevDelta = delta;
+            }
+            prev = day;
+        }
+    }
+
+    private static void encodeStrings(List<KrxDailyPriceRow> rows, Function<KrxDailyPriceRow, String> getter, Out out) {
+        Map<String, Integer> dict = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] codes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String s = getter.apply(rows.get(i));
+            if (s == null) continue; // 0 = null
+            Integer code = dict.get(s);
+            if (code == null) {
+                entries.add(s);
+                code = entries.size();
+                dict.put(s, code);
+            }
+            codes[i] = code;
+        }
+
+        out.uvarint(entries.size());
+        for (String s : entries) out.string(s);
+        for (int i = 0; i < codes.length; ) {
+            int j = i + 1;
+            while (j < codes.length && codes[j] == codes[i]) j++;
+            out.uvarint(codes[i]);
+            out.uvarint(j - i);
+            i = j;
+        }
+    }
+
+    private static void encodeNumbers(List<KrxDailyPriceRow> rows, Column c, Out out) {
+        int n = rows.size();
+        BigDecimal[] values = new BigDecimal[n];
+        boolean nulls = false;
+        int scale = 0;
+        int present = 0;
+        for (int i = 0; i < n; i++) {
+            BigDecimal v = c.getter().apply(rows.get(i));
+            values[i] = v;
+            if (v == null) {
+                nulls = true;
+            } else {
+                scale = Math.max(scale, v.scale());
+                present++;
+            }
+        }
+        if (scale > MAX_SCALE) throw new IllegalArgumentException("scale too large: " + scale);
+
+        long[] unscaled = new long[present];
+        int k = 0;
+        for (BigDecimal v : values) {
+            if (v != null) unscaled[k++] = unscaledLong(v, scale);
+        }
+
+        // DELTA: 첫 값은 그대로, 나머지는 전일 대비. tick 은 인코딩할 값들의 최대공약수
+        long[] items = c.mode() == Mode.DELTA ? deltas(unscaled) : unscaled;
+        int from = c.mode() == Mode.DELTA ? 1 : 0;
+        long tick = 0;
+        for (int i = from; i < items.length; i++) tick = gcd(tick, items[i]);
+        if (tick == 0) tick = 1;
+
+        out.u8(nulls ? FLAG_NULLS : 0);
+        out.u8(scale);
+        out.uvarint(tick);
+        if (nulls) {
+            byte[] bitmap = new byte[(n + 7) >>> 3];
+            for (int i = 0; i < n; i++) {
+                if (values[i] != null) bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+            out.bytes(bitmap);
+        }
+        for (int i = 0; i < items.length; i++) {
+            out.svarint(i < from ? items[i] : items[i] / tick);
+        }
+    }
+
+    private static long[] deltas(long[] v) {
+        long[] d = new long[v.length];
+        for (int i = 0; i < v.length; i++) d[i] = i == 0 ? v[0] : Math.subtractExact(v[i], v[i - 1]);
+        return d;
+    }
+
+    private static long unscaledLong(BigDecimal v, int scale) {
+        try {
+            return v.setScale(scale).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("value out of range: " + v, e);
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static BigDecimal dec(Long v) {
+        return v == null ? null : BigDecimal.valueOf(v);
+    }
+
+    // =========================
+    // 2) decode
+    // =========================
+    public static List<KrxDailyPriceRow> decode(byte[] data) {
+        In in = new In(data);
+        for (byte b : MAGIC) {
+            if (in.u8() != (b & 0xff)) throw new IllegalArgumentException("not a KRX price delta payload");
+        }
+        int version = in.u8();
+        if (version != VERSION) throw new IllegalArgumentException("unsupported price delta version: " + version);
+        int n = (int) in.uvarint();
+        if (n == 0) return List.of();
+
+        String[] basDd = decodeDates(in, n);
+        String[] isuCd = decodeStrings(in, n);
+        String[] market = decodeStrings(in, n);
+        String[] isuNm = decodeStrings(in, n);
+        String[] sectTpNm = decodeStrings(in, n);
+        BigDecimal[][] cols = new BigDecimal[COLUMNS.size()][];
+        for (int c = 0; c < cols.length; c++) cols[c] = decodeNumbers(in, n, COLUMNS.get(c).mode());
+
+        List<KrxDailyPriceRow> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rows.add(new KrxDailyPriceRow(
+                    basDd[i], market[i], isuCd[i], isuNm[i], sectTpNm[i],
+                    cols[0][i], cols[1][i], cols[2][i], cols[3][i], cols[4][i], cols[5][i],
+                    lng(cols[6][i]), cols[7][i], cols[8][i], lng(cols[9][i])
+            ));
+        }
+        return rows;
+    }
+
+    private static String[] decodeDates(In in, int n) {
+        String[] out = new String[n];
+        long day = 0;
+        long delta = 0;
+        for (int i = 0; i < n; i++) {
+            long v = in.svarint();
+            if (i == 0) {
+                day = v;
+            } else {
+                delta = i == 1 ? v : delta + v;
+                day += delta;
+            }
+            out[i] = LocalDate.ofEpochDay(day).format(YYYYMMDD);
+        }
+        return out;
+    }
+
+    private static String[] decodeStrings(In in, int n) {
+        int size = (int) in.uvarint();
+        String[] dict = new String[size + 1];
+        for (int i = 1; i <= size; i++) dict[i] = in.string();
+
+        String[] out = new String[n];
+        int i = 0;
+        while (i < n) {
+            int code = (int) in.uvarint();
+            int run = (int) in.uvarint();
+            if (code > size || run <= 0 || i + run > n) throw new IllegalArgumentException("corrupt string column");
+            Arrays.fill(out, i, i + run, dict[code]);
+            i += run;
+        }
+        return out;
+    }
+
+    private static BigDecimal[] decodeNumbers(In in, int n, Mode mode) {
+        int flags = in.u8();
+        int scale = in.u8();
+        long tick = in.uvarint();
+        boolean[] presentAt = new boolean[n];
+        if ((flags & FLAG_NULLS) != 0) {
+            byte[] bitmap = in.bytes((n + 7) >>> 3);
+            for (int i = 0; i < n; i++) presentAt[i] = (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+        } else {
+            Arrays.fill(presentAt, true);
+        }
+
+        BigDecimal[] out = new BigDecimal[n];
+        long prev = 0;
+        boolean first = true;
+        for (int i = 0; i < n; i++) {
+            if (!presentAt[i]) continue;
+            long v = in.svarint();
+            long value;
+            if (mode == Mode.DELTA) {
+                value = first ? v : prev + v * tick;
+            } else {
+                value = v * tick;
+            }
+            first = false;
+            prev = value;
+            out[i] = new BigDecimal(BigInteger.valueOf(value), scale);
+        }
+        return out;
+    }
+
+    private static Long lng(BigDecimal v) {
+        return v == null ? null : v.longValueExact();
+    }
+
+    // =========================
+    // byte 입출력 (varint: LEB128, signed 는 zigzag)
+    // =========================
+    private static final class Out {
+        private byte[] buf;
+        private int len;
+
+        Out(int capacity) {
+            buf = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+
+        void u8(int v) {
+            ensure(1);
+            buf[len++] = (byte) v;
+        }
+
+        void bytes(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+        }
+
+        void uvarint(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[len++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[len++] = (byte) v;
+        }
+
+        void svarint(long v) {
+            uvarint((v << 1) ^ (v >> 63));
+        }
+
+        void string(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            uvarint(b.length);
+            bytes(b);
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(buf, len);
+        }
+    }
+
+    private static final class In {
+        private final byte[] buf;
+        private int pos;
+
+        In(byte[] buf) {
+            this.buf = buf;
+        }
+
+        private void need(int n) {
+            if (pos + n > buf.length) throw new IllegalArgumentException("truncated price delta payload");
+        }
+
+        int u8() {
+            need(1);
+            return buf[pos++] & 0xff;
+        }
+
+        byte[] bytes(int n) {
+            need(n);
+            byte[] b = Arrays.copyOfRange(buf, pos, pos + n);
+            pos += n;
+            return b;
+        }
+
+        long uvarint() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IllegalArgumentException("varint too long");
+        }
+
+        long svarint() {
+            long v = uvarint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string() {
+            int n = (int) uvarint();
+            need(n);
+            String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+    }
+}
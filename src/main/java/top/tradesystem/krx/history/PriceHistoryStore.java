@@ -0,0 +1,219 @@
+package top.tradesystem.krx.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterMembership;
+import top.tradesystem.krx.config.KrxHistoryProperties;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxPriceHistoryBlobRow;
+import top.tradesystem.krx.dto.KrxPriceHistoryStatsRow;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxPriceHistoryMapper;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * 일봉 압축 이력 (종목 × 월 blob).
+ * <ul>
+ *   <li>compaction: 월 단위로 krx_daily_price(hot + archive) 를 읽어 종목별 {@link PriceDeltaCodec} blob 으로 upsert</li>
+ *   <li>조회: blob 이 있는 달은 blob 을 풀고, 없는 구간(이번 달 / 아직 안 만든 달)만 원본 테이블에서 읽어 이어 붙임</li>
+ *   <li>이미 compaction 된 달이 다시 적재되면 그 달 blob 을 지움 → 원본에서 읽다가 다음 compaction 때 재생성</li>
+ * </ul>
+ */
+@Service
+public class PriceHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryStore.class);
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final KrxPriceHistoryMapper mapper;
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxHistoryProperties props;
+    private final ClusterMembership cluster;
+    private final ZoneId zone;
+
+    public PriceHistoryStore(
+            KrxPriceHistoryMapper mapper,
+            KrxDailyPriceMapper priceMapper,
+            KrxHistoryProperties props,
+            KrxSchedulerProperties schedulerProps,
+            ClusterMembership cluster
+    ) {
+        this.mapper = mapper;
+        this.priceMapper = priceMapper;
+        this.props = props;
+        this.cluster = cluster;
+        this.zone = ZoneId.of(schedulerProps.zone());
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public Mono<List<KrxDailyPriceRow>> series(String code, String from, String to) {
+        return blocking(() -> load(code, from, to));
+    }
+
+    /** 응답도 같은 포맷으로 (Accept: application/x-krx-price-delta) */
+    public Mono<byte[]> encodedSeries(String code, String from, String to) {
+        return blocking(() -> PriceDeltaCodec.encode(load(code, from, to)));
+    }
+
+    private List<KrxDailyPriceRow> load(String code, String from, String to) {
+        if (!props.enabled()) return priceMapper.findByCodeBetween(code, from, to);
+
+        List<KrxPriceHistoryBlobRow> blobs = mapper.findBlobs(code, month(from), month(to));
+        List<KrxDailyPriceRow> out = new ArrayList<>();
+        String cursor = from; // 아직 채우지 않은 구간의 시작 (null = 처음부터)
+        for (KrxPriceHistoryBlobRow b : blobs) {
+            YearMonth ym = YearMonth.parse(b.yyyymm(), YYYYMM);
+            String monthStart = b.yyyymm() + "01";
+            if (cursor == null || cursor.compareTo(monthStart) < 0) {
+                // yyyymm00: 그 달 1일 바로 앞 (bas_dd 문자열 비교)
+                out.addAll(priceMapper.findByCodeBetween(code, cursor, b.yyyymm() + "00"));
+            }
+            for (KrxDailyPriceRow r : PriceDeltaCodec.decode(b.payload())) {
+                if ((from == null || r.basDd().compareTo(from) >= 0) && (to == null || r.basDd().compareTo(to) <= 0)) {
+                    out.add(r);
+                }
+            }
+            cursor = ym.plusMonths(1).format(YYYYMM) + "01";
+        }
+        if (to == null || cursor == null || cursor.compareTo(to) <= 0) {
+            out.addAll(priceMapper.findByCodeBetween(code, cursor, to));
+        }
+        return out;
+    }
+
+    private static String month(String basDd) {
+        return basDd == null ? null : basDd.substring(0, 6);
+    }
+
+    // =========================
+    // 2) compaction
+    // =========================
+    public Mono<CompactResult> compact(String fromMonth, String toMonth) {
+        YearMonth start = YearMonth.parse(fromMonth, YYYYMM);
+        YearMonth end = YearMonth.parse(toMonth, YYYYMM);
+        if (end.isBefore(start)) return Mono.error(new IllegalArgumentException("toMonth must be >= fromMonth"));
+
+        return blocking(() -> {
+            long t0 = System.nanoTime();
+            int months = 0;
+            int symbols = 0;
+            long rows = 0;
+            long bytes = 0;
+            for (YearMonth ym = start; !ym.isAfter(end); ym = ym.plusMonths(1)) {
+                MonthResult r = compactMonth(ym);
+                months++;
+                symbols += r.symbols();
+                rows += r.rows();
+                bytes += r.bytes();
+            }
+            return new CompactResult(fromMonth, toMonth, months, symbols, rows, bytes,
+                    (System.nanoTime() - t0) / 1_000_000L);
+        });
+    }
+
+    private MonthResult compactMonth(YearMonth ym) {
+        String from = ym.atDay(1).format(DateTimeFormatter.BASIC_ISO_DATE);
+        String to = ym.atEndOfMonth().format(DateTimeFormatter.BASIC_ISO_DATE);
+
+        // 종목별 bas_dd 순 (archive 로 옮긴 뒤 다시 적재된 row 가 있으면 뒤에 읽은 hot 이 이김)
+        Map<String, TreeMap<String, KrxDailyPriceRow>> bySymbol = new LinkedHashMap<>();
+        priceMapper.streamArchiveRange(from, to, null, ctx -> add(bySymbol, ctx.getResultObject()));
+        priceMapper.streamRange(from, to, null, ctx -> add(bySymbol, ctx.getResultObject()));
+
+        List<KrxPriceHistoryBlobRow> batch = new ArrayList<>(props.batchSize());
+        long rows = 0;
+        long bytes = 0;
+        for (Map.Entry<String, TreeMap<String, KrxDailyPriceRow>> e : bySymbol.entrySet()) {
+            List<KrxDailyPriceRow> series = new ArrayList<>(e.getValue().values());
+            byte[] payload;
+            try {
+                payload = PriceDeltaCodec.encode(series);
+            } catch (IllegalArgumentException ex) {
+                // 표현 못 하는 값 → 이 종목/월은 원본에서 읽음
+                log.warn("price history encode skipped: {} {}", e.getKey(), ym, ex);
+                continue;
+            }
+            batch.add(new KrxPriceHistoryBlobRow(e.getKey(), ym.format(YYYYMM), series.size(), payload));
+            rows += series.size();
+            bytes += payload.length;
+            if (batch.size() >= props.batchSize()) {
+                mapper.upsertBlobs(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) mapper.upsertBlobs(batch);
+
+        log.info("price history compacted {}: {} symbols, {} rows, {} bytes", ym, bySymbol.size(), rows, bytes);
+        return new MonthResult(bySymbol.size(), rows, bytes);
+    }
+
+    private static void add(Map<String, TreeMap<String, KrxDailyPriceRow>> bySymbol, KrxDailyPriceRow r) {
+        bySymbol.computeIfAbsent(r.isuCd(), k -> new TreeMap<>()).put(r.basDd(), r);
+    }
+
+    /** 매월 초 지난달 (leader 만) */
+    @Scheduled(cron = "${krx.history.compact-cron:0 30 6 1 * *}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void scheduled() {
+        if (!props.scheduleEnabled() || !cluster.isLeader()) return;
+        String prev = YearMonth.now(zone).minusMonths(1).format(YYYYMM);
+        compact(prev, prev).subscribe(
+                r -> log.info("price history scheduled compaction done: {}", r),
+                e -> log.warn("price history scheduled compaction failed: {}", prev, e)
+        );
+    }
+
+    // =========================
+    // 3) 무효화: compaction 된 달이 다시 적재됨
+    // =========================
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        if (e.saved() <= 0) return;
+        String yyyymm = month(e.basDd());
+        blocking(() -> mapper.deleteMonth(yyyymm))
+                .subscribe(
+                        n -> { if (n > 0) log.info("price history {} invalidated by sync {}: {} blobs", yyyymm, e.basDd(), n); },
+                        err -> log.warn("price history invalidation failed: {}", yyyymm, err)
+                );
+    }
+
+    public Mono<KrxPriceHistoryStatsRow> stats() {
+        return blocking(mapper::stats);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> c) {
+        return Mono.fromCallable(c).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    private record MonthResult(int symbols, long rows, long bytes) {}
+
+    public record CompactResult(
+            String fromMonth,
+            String toMonth,
+            int months,
+            int symbols,
+            long rows,
+            long payloadBytes,
+            long elapsedMs
+    ) {}
+}
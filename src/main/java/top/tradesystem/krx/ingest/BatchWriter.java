@@ -0,0 +1,10 @@
+package top.tradesystem.krx.ingest;
+
+import java.util.List;
+
+/** write-behind 버퍼가 flush 할 때 호출하는 실제 저장 (보통 mapper::upsertBatch) */
+@FunctionalInterface
+public interface BatchWriter<T> {
+
+    void write(List<T> rows);
+}
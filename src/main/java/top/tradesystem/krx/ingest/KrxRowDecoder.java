@@ -0,0 +1,212 @@
+package top.tradesystem.krx.ingest;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxIngestProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxDailyTradeRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 응답 row(Map) → DTO 변환.
+ * <ul>
+ *   <li>기본: DTO 의 fromApiMap (Map 복사 → trim/replace(",") 로 새 String → BigDecimal(String))</li>
+ *   <li>lowAlloc: Map 복사 없이, 숫자는 문자를 한 번 훑어 long 으로 모은 뒤 BigDecimal.valueOf(unscaled, scale)
+ *       (콤마/공백을 지운 중간 String 없음). 18 자리 초과·지수 표기 등은 기본 경로와 같은 방식으로</li>
+ * </ul>
+ * 두 경로 결과는 같아야 한다 (IngestAllocationTest).
+ */
+@Component
+public class KrxRowDecoder {
+
+    private final boolean lowAlloc;
+
+    public KrxRowDecoder(KrxIngestProperties props) {
+        this.lowAlloc = props.lowAlloc();
+    }
+
+    public boolean lowAlloc() {
+        return lowAlloc;
+    }
+
+    // =========================
+    // 1) 목록 변환
+    // =========================
+    public List<KrxDailyPriceRow> dailyPrices(String basDd, String market, List<? extends Map<String, ?>> rows) {
+        if (rows == null || rows.isEmpty()) return List.of();
+        if (!lowAlloc) {
+            return rows.stream()
+                    .map(KrxDailyPriceRow::toObjectMap)
+                    .map(m -> KrxDailyPriceRow.fromApiMap(basDd, market, m))
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        List<KrxDailyPriceRow> out = new ArrayList<>(rows.size());
+        for (Map<String, ?> m : rows) {
+            if (m != null) out.add(dailyPrice(basDd, market, m));
+        }
+        return out;
+    }
+
+    public List<KrxDailyTradeRow> dailyTrades(String basDd, List<? extends Map<String, ?>> rows) {
+        if (rows == null || rows.isEmpty()) return List.of();
+        if (!lowAlloc) {
+            return rows.stream()
+                    .map(m -> KrxDailyTradeRow.fromApiMap(basDd, objectMap(m)))
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        List<KrxDailyTradeRow> out = new ArrayList<>(rows.size());
+        for (Map<String, ?> m : rows) {
+            if (m != null) out.add(dailyTrade(basDd, m));
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> objectMap(Map<String, ?> m) {
+        return (Map<String, Object>) m;
+    }
+
+    // =========================
+    // 2) row 하나 (lowAlloc)
+    // =========================
+    static KrxDailyPriceRow dailyPrice(String basDd, String market, Map<String, ?> m) {
+        String mkt = str(m.get("MKT_NM"));
+        return new KrxDailyPriceRow(
+                basDd,
+                mkt == null || mkt.isBlank() ? blankToNull(market) : mkt,
+                str(m.get("ISU_CD")),
+                str(m.get("ISU_NM")),
+                str(m.get("SECT_TP_NM")),
+                decimal(m.get("TDD_CLSPRC")),
+                decimal(m.get("CMPPREVDD_PRC")),
+                decimal(m.get("FLUC_RT")),
+                decimal(m.get("TDD_OPNPRC")),
+                decimal(m.get("TDD_HGPRC")),
+                decimal(m.get("TDD_LWPRC")),
+                lng(m.get("ACC_TRDVOL")),
+                decimal(m.get("ACC_TRDVAL")),
+                decimal(m.get("MKTCAP")),
+                lng(m.get("LIST_SHRS"))
+        );
+    }
+
+    static KrxDailyTradeRow dailyTrade(String basDd, Map<String, ?> m) {
+        return new KrxDailyTradeRow(
+                basDd,
+                str(m.get("ISU_CD")),
+                str(m.get("ISU_NM")),
+                str(m.get("MKT_NM")),
+                str(m.get("SECT_TP_NM")),
+                str(m.get("TDD_CLSPRC")),
+                str(m.get("CMPPREVDD_PRC")),
+                str(m.get("FLUC_RT")),
+                str(m.get("TDD_OPNPRC")),
+                str(m.get("TDD_HGPRC")),
+                str(m.get("TDD_LWPRC")),
+                str(m.get("ACC_TRDVOL")),
+                str(m.get("ACC_TRDVAL")),
+                str(m.get("MKTCAP")),
+                str(m.get("LIST_SHRS"))
+        );
+    }
+
+    // String.trim / String.valueOf(String) 은 바꿀 게 없으면 같은 인스턴스
+    private static String str(Object o) {
+        return o == null ? null : String.valueOf(o).trim();
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
+
+    // =========================
+    // 3) 숫자 (KrxDailyPriceRow.dec / lng 와 같은 결과)
+    // =========================
+    static BigDecimal decimal(Object o) {
+        if (!(o instanceof String s)) return o == null ? null : slowDecimal(String.valueOf(o));
+        int end = s.length();
+        int i = 0;
+        while (i < end && s.charAt(i) <= ' ') i++;
+        while (end > i && s.charAt(end - 1) <= ' ') end--;
+        if (i == end) return null;
+
+        boolean neg = false;
+        char c0 = s.charAt(i);
+        if (c0 == '-' || c0 == '+') {
+            neg = c0 == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean any = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) return slowDecimal(s);
+                unscaled = unscaled * 10 + (c - '0');
+                if (unscaled != 0) digits++;
+                if (scale >= 0) scale++;
+                any = true;
+            } else if (c == ',') {
+                // 천 단위 구분
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return slowDecimal(s);
+            }
+        }
+        if (!any) return null; // "-", ".", "," …
+        return BigDecimal.valueOf(neg ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    static Long lng(Object o) {
+        if (!(o instanceof String s)) return o == null ? null : slowLong(String.valueOf(o));
+        int end = s.length();
+        int i = 0;
+        while (i < end && s.charAt(i) <= ' ') i++;
+        while (end > i && s.charAt(end - 1) <= ' ') end--;
+        if (i == end) return null;
+
+        boolean neg = false;
+        char c0 = s.charAt(i);
+        if (c0 == '-' || c0 == '+') {
+            neg = c0 == '-';
+            i++;
+        }
+        long v = 0;
+        int digits = 0;
+        boolean any = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) return slowLong(s);
+                v = v * 10 + (c - '0');
+                if (v != 0) digits++;
+                any = true;
+            } else if (c != ',') {
+                return slowLong(s);
+            }
+        }
+        if (!any) return null;
+        return neg ? -v : v;
+    }
+
+    private static BigDecimal slowDecimal(String raw) {
+        String s = raw.trim();
+        if (s.isEmpty() || "-".equals(s)) return null;
+        try { return new BigDecimal(s.replace(",", "")); } catch (Exception e) { return null; }
+    }
+
+    private static Long slowLong(String raw) {
+        String s = raw.trim();
+        if (s.isEmpty() || "-".equals(s)) return null;
+        try { return Long.parseLong(s.replace(",", "")); } catch (Exception e) { return null; }
+    }
+}
@@ -0,0 +1,209 @@
+package top.tradesystem.krx.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 파싱 → DB 사이의 write-behind 버퍼.
+ *
+ * <pre>
+ * submit(일자 rows) ─→ queue ─(batchSize 또는 maxDelay)─→ flusher ─→ writer pool ─→ BatchWriter
+ *        ↑ capacity 초과 시 대기 (backpressure)                    └→ 제출 단위(ticket)별 ack
+ * </pre>
+ *
+ * 여러 일자/시장의 row 가 한 batch 로 묶이거나 한 일자가 여러 batch 로 나뉘어도,
+ * submit 이 돌려주는 Mono 는 그 제출분이 전부 저장된 뒤에 저장 row 수로 완료된다.
+ */
+public final class WriteBehindBuffer<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    private static final int LOCK_RETRIES = 3;
+
+    private final String name;
+    private final BatchWriter<T> writer;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private final BlockingQueue<Entry<T>> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final Semaphore writerSlots;
+    private final ExecutorService writers;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public WriteBehindBuffer(String name, BatchWriter<T> writer, int batchSize, Duration maxDelay,
+                             int capacity, int writers) {
+        this.name = name;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.capacity = new Semaphore(capacity);
+        this.writerSlots = new Semaphore(writers);
+        this.writers = Executors.newFixedThreadPool(writers, Thread.ofPlatform().name("wb-" + name + "-", 0).factory());
+        this.flusher = Thread.ofPlatform().name("wb-" + name + "-flusher").daemon().start(this::flushLoop);
+    }
+
+    // =========================
+    // 1) 제출
+    // =========================
+
+    /** rows 가 모두 저장되면 저장 row 수로 완료. 버퍼가 가득 차 있으면 자리가 날 때까지 기다린다 */
+    public Mono<Integer> submit(List<T> rows) {
+        if (rows == null || rows.isEmpty()) return Mono.just(0);
+        return Mono.fromCallable(() -> enqueue(rows))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::fromFuture);
+    }
+
+    private CompletableFuture<Integer> enqueue(List<T> rows) throws InterruptedException {
+        if (!running) throw new IllegalStateException("write-behind buffer closed: " + name);
+        Ticket ticket = new Ticket(rows.size());
+        // capacity 보다 큰 제출도 batchSize 단위로 나눠 넣으면 막히지 않음
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            List<T> chunk = rows.subList(i, Math.min(rows.size(), i + batchSize));
+            capacity.acquire(chunk.size());
+            for (T row : chunk) queue.add(new Entry<>(row, ticket));
+        }
+        return ticket.future;
+    }
+
+    // =========================
+    // 2) flush
+    // =========================
+    private void flushLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                List<Entry<T>> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0 || !running) break;
+                    Entry<T> e = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (e == null) break;
+                    batch.add(e);
+                }
+
+                // writer 가 모두 바쁘면 여기서 멈춤 → queue 가 차고 → submit 이 대기
+                writerSlots.acquire();
+                writers.execute(() -> {
+                    try {
+                        flush(batch);
+                    } finally {
+                        writerSlots.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("write-behind {} flusher error", name, e);
+            }
+        }
+    }
+
+    private void flush(List<Entry<T>> batch) {
+        List<T> rows = new ArrayList<>(batch.size());
+        for (Entry<T> e : batch) rows.add(e.row);
+
+        try {
+            writeWithRetry(rows);
+            flushedRows.add(rows.size());
+            flushedBatches.increment();
+
+            Map<Ticket, Integer> acks = new IdentityHashMap<>();
+            for (Entry<T> e : batch) acks.merge(e.ticket, 1, Integer::sum);
+            acks.forEach(Ticket::ack);
+        } catch (Exception ex) {
+            failedBatches.increment();
+            log.warn("write-behind {} batch failed: {} rows", name, rows.size(), ex);
+            for (Entry<T> e : batch) e.ticket.fail(ex);
+        } finally {
+            capacity.release(batch.size());
+        }
+    }
+
+    // 서로 다른 batch 가 같은 인덱스 구간을 동시에 잡으면 InnoDB deadlock 이 날 수 있음 → 재시도
+    private void writeWithRetry(List<T> rows) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.write(rows);
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= LOCK_RETRIES) throw e;
+                log.info("write-behind {} lock conflict, retry {}/{}", name, attempt, LOCK_RETRIES);
+                Thread.sleep(50L * attempt);
+            }
+        }
+    }
+
+    // =========================
+    // 3) 상태 / 종료
+    // =========================
+    public Stats stats() {
+        return new Stats(name, queue.size(), capacity.availablePermits(), flushedBatches.sum(), flushedRows.sum(),
+                failedBatches.sum());
+    }
+
+    /** 남은 row 를 모두 flush 한 뒤 종료 */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join(Duration.ofSeconds(30));
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("write-behind {} writers did not finish in time", name);
+        }
+    }
+
+    public record Stats(String name, int queued, int freeCapacity, long batches, long rows, long failedBatches) {}
+
+    private record Entry<T>(T row, Ticket ticket) {}
+
+    // 한 번의 submit 호출
+    private static final class Ticket {
+        final int total;
+        final AtomicInteger remaining;
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        Ticket(int total) {
+            this.total = total;
+            this.remaining = new AtomicInteger(total);
+        }
+
+        void ack(int n) {
+            if (remaining.addAndGet(-n) == 0) future.complete(total);
+        }
+
+        void fail(Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package top.tradesystem.krx.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * append-only 이벤트 journal 하나 ({dir}/{name}).
+ *
+ * <ul>
+ *   <li>기록: 고정 크기 mmap segment 에 순서대로, seq 는 1 부터 빈틈 없이 증가</li>
+ *   <li>기록 1건 = header(length, crc32c, seq, ts, type) + payload, 자세한 배치는 {@link JournalSegment}</li>
+ *   <li>segment 가 차면 다음 파일을 먼저 만들고 나서 현재 파일 끝에 -1 표시 (reader 가 항상 다음 파일을 찾음)</li>
+ *   <li>fsync: EVERY 는 기록마다, BATCH 는 {@link #flush()} (주기 / flushBatch 건) 로 묶어서</li>
+ *   <li>재시작: 마지막 segment 를 seq·crc 로 검증, 쓰다 죽은 꼬리는 0 으로 지우고 이어 씀.
+ *       roll 도중 죽어 마감 안 된 직전 segment 는 -1 을 채워 넣음</li>
+ *   <li>복구: 최신 snapshot + 그 뒤 기록 재생 ({@link #recover})</li>
+ * </ul>
+ * 기록은 lock 하나로 직렬화 (기록 경로가 짧아 경합이 거의 없음), 읽기는 lock 없이 {@link JournalReader}.
+ */
+public final class EventJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class);
+
+    private static final long SNAPSHOT_MAGIC = 0x50414E534C4E524AL; // "JRNLSNAP"
+    private static final int SNAPSHOT_HEADER = 24;
+    private static final int KEEP_SNAPSHOTS = 2;
+
+    private final String name;
+    private final Path dir;
+    private final Path snapshotDir;
+    private final int segmentSize;
+    private final FsyncMode fsync;
+    private final int flushBatch;
+
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Object flushLock = new Object();
+    private final CRC32C writeCrc = new CRC32C();
+
+    // writeLock 안에서만
+    private JournalSegment active;
+    private ByteBuffer activeView;
+    private int writePos;
+    private int flushedPos;
+    private int unflushed;
+    private long nextSeq;
+
+    private volatile long lastSeq;
+    private final AtomicLong durableSeq = new AtomicLong();
+    private volatile boolean closed;
+
+    private EventJournal(String name, Path dir, int segmentSize, FsyncMode fsync, int flushBatch) {
+        this.name = name;
+        this.dir = dir;
+        this.snapshotDir = dir.resolve("snapshots");
+        this.segmentSize = segmentSize & ~7;
+        this.fsync = fsync;
+        this.flushBatch = flushBatch;
+    }
+
+    public static EventJournal open(String name, Path dir, int segmentSize, FsyncMode fsync, int flushBatch)
+            throws IOException {
+        if (segmentSize < JournalSegment.FILE_HEADER + JournalSegment.RECORD_HEADER + 8) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        EventJournal j = new EventJournal(name, dir, segmentSize, fsync, flushBatch);
+        j.recoverSegments();
+        return j;
+    }
+
+    // =========================
+    // 1) 재시작: segment 검증
+    // =========================
+    private void recoverSegments() throws IOException {
+        Files.createDirectories(dir);
+        Files.createDirectories(snapshotDir);
+
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(JournalSegment::isSegment).sorted().toList();
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            try {
+                JournalSegment seg = JournalSegment.open(files.get(i), last);
+                segments.put(seg.firstSeq, seg);
+            } catch (IOException e) {
+                // roll 도중 죽어서 header 도 못 쓴 마지막 파일만 버릴 수 있음
+                if (!last) throw e;
+                log.warn("journal {}: dropping unreadable tail segment {}", name, files.get(i), e);
+                Files.delete(files.get(i));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openActive(JournalSegment.create(dir, 1L, segmentSize), JournalSegment.FILE_HEADER, 1L);
+            return;
+        }
+        if (segments.size() >= 2) sealPrevious();
+
+        JournalSegment tail = writable(segments.lastEntry().getValue());
+        Scan scan = scan(tail);
+        if (scan.sealed()) {
+            tail.force();
+            openActive(JournalSegment.create(dir, scan.nextSeq(), segmentSize), JournalSegment.FILE_HEADER, scan.nextSeq());
+        } else {
+            if (tail.zeroTailIfDirty(scan.pos())) {
+                log.warn("journal {}: truncated torn tail at seq {} ({})", name, scan.nextSeq(), tail.path);
+            }
+            openActive(tail, scan.pos(), scan.nextSeq());
+        }
+        log.info("journal {} opened: segments={}, lastSeq={} ({})", name, segments.size(), lastSeq, dir);
+    }
+
+    /**
+     * roll 은 다음 파일을 만든 뒤에 -1 을 쓰므로 그 사이에 죽으면 직전 segment 가 마감 없이 남는다
+     * (reader 는 거기서 len == 0 을 보고 멈춤).
+     * - 직전 segment 의 마지막 정상 기록 다음 seq 가 다음 파일의 firstSeq 와 맞으면: 그 자리에 -1 을 쓰고 force
+     * - 안 맞는데 다음 파일이 비어 있으면 (마지막 기록들이 디스크에 못 감): 빈 파일을 지우고 직전 segment 를 이어 씀
+     * - 그 밖의 경우는 seq 빈틈이라 복구하지 않음 (IllegalStateException)
+     */
+    private void sealPrevious() throws IOException {
+        JournalSegment tail = segments.lastEntry().getValue();
+        JournalSegment prev = segments.lowerEntry(tail.firstSeq).getValue();
+        Scan scan = scan(prev);
+        if (scan.sealed()) return;
+        if (scan.torn()) {
+            // 마감 전 빈 자리가 아니라 중간이 깨진 것: 건드리지 않음 (reader 가 그 위치에서 실패)
+            log.warn("journal {}: corrupt record in {} at seq {}, not sealing", name, prev.path.getFileName(), scan.nextSeq());
+            return;
+        }
+
+        if (scan.nextSeq() == tail.firstSeq) {
+            JournalSegment w = writable(prev);
+            w.zeroTailIfDirty(scan.pos());
+            w.publish(scan.pos(), JournalSegment.END_OF_SEGMENT);
+            w.force();
+            log.warn("journal {}: sealed unsealed segment {} at seq {}", name, prev.path.getFileName(), scan.nextSeq());
+        } else if (tail.lengthAt(JournalSegment.FILE_HEADER) == 0) {
+            segments.remove(tail.firstSeq);
+            Files.delete(tail.path);
+            log.warn("journal {}: dropped empty segment {} (previous segment ends at seq {})",
+                    name, tail.path.getFileName(), scan.nextSeq() - 1);
+        } else {
+            throw new IllegalStateException("journal " + name + ": seq gap between " + prev.path.getFileName()
+                    + " (next " + scan.nextSeq() + ") and " + tail.path.getFileName());
+        }
+    }
+
+    /**
+     * 마지막 정상 기록까지 seq·crc 검증. pos = 다음 기록 자리 (sealed 면 -1 표시 자리),
+     * torn = 빈 자리(0)가 아니라 깨진 기록에서 멈춤
+     */
+    private record Scan(int pos, long nextSeq, boolean sealed, boolean torn) {}
+
+    private static Scan scan(JournalSegment seg) {
+        ByteBuffer view = seg.view();
+        CRC32C crc = new CRC32C();
+        int pos = JournalSegment.FILE_HEADER;
+        long seq = seg.firstSeq;
+        while (pos + JournalSegment.RECORD_HEADER <= seg.capacity) {
+            int len = seg.lengthAt(pos);
+            if (len == 0) break;
+            if (len == JournalSegment.END_OF_SEGMENT) return new Scan(pos, seq, true, false);
+            if (len < JournalSegment.RECORD_HEADER || pos + len > seg.capacity
+                    || seg.seqAt(pos) != seq || !seg.valid(view, pos, len, crc)) {
+                return new Scan(pos, seq, false, true); // 쓰다 죽은 기록: 여기부터 버림
+            }
+            seq++;
+            pos += JournalSegment.align(len);
+        }
+        return new Scan(pos, seq, false, false);
+    }
+
+    /** 읽기 전용으로 연 segment 를 쓰기 가능하게 다시 열어 교체 */
+    private JournalSegment writable(JournalSegment seg) throws IOException {
+        if (!seg.buf.isReadOnly()) return seg;
+        JournalSegment w = JournalSegment.open(seg.path, true);
+        segments.put(w.firstSeq, w);
+        return w;
+    }
+
+    private void openActive(JournalSegment seg, int pos, long next) {
+        segments.put(seg.firstSeq, seg);
+        active = seg;
+        activeView = seg.view();
+        writePos = pos;
+        flushedPos = pos;
+        nextSeq = next;
+        lastSeq = next - 1;
+        durableSeq.set(next - 1);
+    }
+
+    // =========================
+    // 2) 기록
+    // =========================
+    public long append(int type, byte[] payload) {
+        return append(type, ByteBuffer.wrap(payload));
+    }
+
+    /** payload 의 position..limit 을 기록 (position 은 건드리지 않음). 반환: seq */
+    public long append(int type, ByteBuffer payload) {
+        int len = JournalSegment.RECORD_HEADER + payload.remaining();
+        int aligned = JournalSegment.align(len);
+        if (aligned > segmentSize - JournalSegment.FILE_HEADER - 8) {
+            throw new IllegalArgumentException("journal record too large: " + payload.remaining() + " bytes");
+        }
+
+        writeLock.lock();
+        try {
+            if (closed) throw new IllegalStateException("journal closed: " + name);
+            // 끝에 -1 표시 자리(8B)는 항상 남겨 둠
+            if (writePos + aligned > active.capacity - 8) roll();
+
+            long seq = nextSeq;
+            int pos = writePos;
+            activeView.putLong(pos + 8, seq);
+            activeView.putLong(pos + 16, System.currentTimeMillis());
+            activeView.putInt(pos + 24, type);
+            activeView.putInt(pos + 28, 0);
+            activeView.put(pos + JournalSegment.RECORD_HEADER, payload, payload.position(), payload.remaining());
+            activeView.putInt(pos + 4, JournalSegment.crcOf(activeView, pos, len, writeCrc));
+            active.publish(pos, len);
+
+            writePos = pos + aligned;
+            nextSeq = seq + 1;
+            lastSeq = seq;
+
+            if (fsync == FsyncMode.EVERY) {
+                active.buf.force(pos, aligned);
+                flushedPos = writePos;
+                durableSeq.accumulateAndGet(seq, Math::max);
+            } else if (fsync == FsyncMode.BATCH && ++unflushed >= flushBatch) {
+                forceActive();
+            }
+            return seq;
+        } catch (IOException e) {
+            throw new IllegalStateException("journal " + name + " roll failed", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** 현재 segment 마감: 다음 파일을 먼저 등록 → 끝 표시 → 전체 force */
+    private void roll() throws IOException {
+        JournalSegment next = JournalSegment.create(dir, nextSeq, segmentSize);
+        segments.put(next.firstSeq, next);
+
+        JournalSegment old = active;
+        old.publish(writePos, JournalSegment.END_OF_SEGMENT);
+        old.force();
+        durableSeq.accumulateAndGet(lastSeq, Math::max);
+
+        active = next;
+        activeView = next.view();
+        writePos = JournalSegment.FILE_HEADER;
+        flushedPos = writePos;
+        unflushed = 0;
+        log.debug("journal {} rolled to {}", name, next.path.getFileName());
+    }
+
+    private void forceActive() {
+        if (flushedPos < writePos) active.buf.force(flushedPos, writePos - flushedPos);
+        flushedPos = writePos;
+        unflushed = 0;
+        durableSeq.accumulateAndGet(lastSeq, Math::max);
+    }
+
+    /**
+     * BATCH 모드 주기 flush. 범위만 잡고 force 는 writeLock 밖에서 (기록을 막지 않음).
+     * roll 된 segment 는 roll 에서 이미 전체 force 됨.
+     */
+    public void flush() {
+        JournalSegment seg;
+        int from;
+        int to;
+        long seq;
+        writeLock.lock();
+        try {
+            if (closed || durableSeq.get() >= lastSeq) return;
+            seg = active;
+            from = flushedPos;
+            to = writePos;
+            seq = lastSeq;
+            flushedPos = writePos;
+            unflushed = 0;
+        } finally {
+            writeLock.unlock();
+        }
+        synchronized (flushLock) {
+            if (from < to) seg.buf.force(from, to - from);
+            durableSeq.accumulateAndGet(seq, Math::max);
+        }
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (closed) return;
+            forceActive();
+            closed = true;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("journal {} closed at seq {}", name, lastSeq);
+    }
+
+    // =========================
+    // 3) 읽기
+    // =========================
+    public JournalReader reader(long fromSeq) {
+        return new JournalReader(this, fromSeq);
+    }
+
+    public List<JournalRecord> read(long fromSeq, int limit) {
+        List<JournalRecord> out = new ArrayList<>(Math.min(limit, 1024));
+        reader(fromSeq).poll(out::add, limit);
+        return out;
+    }
+
+    /** seq 가 들어 있는 segment (compact 로 지워졌으면 가장 오래된 segment) */
+    JournalSegment segmentFor(long seq) {
+        Map.Entry<Long, JournalSegment> e = segments.floorEntry(seq);
+        return e != null ? e.getValue() : segments.firstEntry().getValue();
+    }
+
+    JournalSegment nextSegment(JournalSegment seg) {
+        Map.Entry<Long, JournalSegment> e = segments.higherEntry(seg.firstSeq);
+        return e == null ? null : e.getValue();
+    }
+
+    // =========================
+    // 4) snapshot + 재생
+    //    snapshot: magic(8) seq(8) crc32c(4) length(4) state
+    // =========================
+    public void writeSnapshot(long seq, byte[] state) throws IOException {
+        if (seq > lastSeq) throw new IllegalArgumentException("snapshot seq " + seq + " > lastSeq " + lastSeq);
+        CRC32C crc = new CRC32C();
+        crc.update(state);
+        ByteBuffer b = ByteBuffer.allocate(SNAPSHOT_HEADER + state.length).order(ByteOrder.LITTLE_ENDIAN);
+        b.putLong(SNAPSHOT_MAGIC).putLong(seq).putInt((int) crc.getValue()).putInt(state.length).put(state);
+
+        Path target = snapshotDir.resolve(String.format("%020d.snap", seq));
+        Path tmp = Files.createTempFile(snapshotDir, "snap_", ".tmp");
+        try {
+            Files.write(tmp, b.array());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        List<Path> snaps = snapshotFiles();
+        for (int i = 0; i < snaps.size() - KEEP_SNAPSHOTS; i++) Files.deleteIfExists(snaps.get(i));
+    }
+
+    /** 가장 최근의 온전한 snapshot (깨진 파일은 건너뜀) */
+    public Optional<Snapshot> latestSnapshot() throws IOException {
+        List<Path> snaps = snapshotFiles();
+        for (int i = snaps.size() - 1; i >= 0; i--) {
+            ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(snaps.get(i))).order(ByteOrder.LITTLE_ENDIAN);
+            if (b.remaining() < SNAPSHOT_HEADER || b.getLong() != SNAPSHOT_MAGIC) continue;
+            long seq = b.getLong();
+            int expected = b.getInt();
+            int length = b.getInt();
+            if (length != b.remaining()) continue;
+            byte[] state = new byte[length];
+            b.get(state);
+            CRC32C crc = new CRC32C();
+            crc.update(state);
+            if ((int) crc.getValue() != expected) {
+                log.warn("journal {}: corrupt snapshot skipped: {}", name, snaps.get(i));
+                continue;
+            }
+            return Optional.of(new Snapshot(seq, state));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 최신 snapshot 을 onSnapshot 에 넘기고 그 뒤 기록을 순서대로 onRecord 에 재생.
+     * 반환: 마지막으로 반영된 seq (아무것도 없으면 0)
+     */
+    public long recover(Consumer<Snapshot> onSnapshot, Consumer<JournalRecord> onRecord) throws IOException {
+        Optional<Snapshot> snap = latestSnapshot();
+        long applied = 0L;
+        if (snap.isPresent()) {
+            onSnapshot.accept(snap.get());
+            applied = snap.get().seq();
+        }
+        JournalReader r = reader(applied + 1);
+        while (r.poll(onRecord, 4096) > 0) {
+            // drain
+        }
+        return Math.max(applied, r.nextSeq() - 1);
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> s = Files.list(snapshotDir)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(".snap")).sorted().toList();
+        }
+    }
+
+    // =========================
+    // 5) 정리
+    // =========================
+
+    /** beforeSeq 미만 기록만 담은 (마감된) segment 삭제. 반환: 삭제한 파일 수 */
+    public int compact(long beforeSeq) throws IOException {
+        int removed = 0;
+        for (Map.Entry<Long, JournalSegment> e : segments.entrySet()) {
+            Map.Entry<Long, JournalSegment> next = segments.higherEntry(e.getKey());
+            if (next == null || next.getKey() > beforeSeq) break;
+            // mmap 은 GC 때 풀림, 이미 열린 reader 는 그대로 끝까지 읽을 수 있음
+            segments.remove(e.getKey());
+            Files.deleteIfExists(e.getValue().path);
+            removed++;
+        }
+        if (removed > 0) log.info("journal {}: compacted {} segments before seq {}", name, removed, beforeSeq);
+        return removed;
+    }
+
+    public Stats stats() throws IOException {
+        Optional<Snapshot> snap = latestSnapshot();
+        return new Stats(
+                name,
+                segments.firstKey(),
+                lastSeq,
+                durableSeq.get(),
+                segments.size(),
+                segmentSize,
+                fsync.name(),
+                snap.map(Snapshot::seq).orElse(null)
+        );
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    public long durableSeq() {
+        return durableSeq.get();
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record Snapshot(long seq, byte[] state) {}
+
+    public record Stats(
+            String name,
+            long firstSeq,
+            long lastSeq,
+            long durableSeq,
+            int segments,
+            int segmentBytes,
+            String fsync,
+            Long snapshotSeq
+    ) {}
+}
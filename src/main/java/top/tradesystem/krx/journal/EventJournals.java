@@ -0,0 +1,153 @@
+package top.tradesystem.krx.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxJournalProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 이름별 {@link EventJournal} 보관소 ({dir}/{name}).
+ * - journal 은 처음 쓰일 때 열림 (재시작이면 꼬리 검증 후 이어 씀)
+ * - BATCH 모드면 flusher 스레드 하나가 flushIntervalMs 마다 전체 flush
+ * - 종료 시 전부 force 후 close
+ */
+@Component
+public class EventJournals implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventJournals.class);
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private final KrxJournalProperties props;
+    private final Path root;
+    private final FsyncMode fsync;
+    private final Map<String, EventJournal> journals = new ConcurrentHashMap<>();
+    private final Map<String, Function<JournalRecord, Object>> decoders = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    public EventJournals(KrxJournalProperties props) {
+        this.props = props;
+        this.root = Path.of(props.dir()).toAbsolutePath().normalize();
+        this.fsync = FsyncMode.valueOf(props.fsync().trim().toUpperCase(Locale.ROOT));
+    }
+
+    public EventJournal journal(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("invalid journal name: " + name);
+        }
+        return journals.computeIfAbsent(name, n -> {
+            try {
+                return EventJournal.open(n, root.resolve(n), props.segmentMb() * 1024 * 1024, fsync, props.flushBatch());
+            } catch (IOException e) {
+                throw new IllegalStateException("journal open failed: " + n, e);
+            }
+        });
+    }
+
+    /** 조회용: 없는 journal 을 새로 만들지 않음 */
+    public EventJournal existing(String name) {
+        if (name == null || !NAME.matcher(name).matches()
+                || (!journals.containsKey(name) && !Files.isDirectory(root.resolve(name)))) {
+            throw new IllegalArgumentException("unknown journal: " + name);
+        }
+        return journal(name);
+    }
+
+    /** 디스크에 있는 journal 이름 (아직 안 열린 것 포함) */
+    public List<String> names() {
+        TreeSet<String> out = new TreeSet<>(journals.keySet());
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> s = Files.list(root)) {
+                s.filter(Files::isDirectory)
+                        .map(p -> p.getFileName().toString())
+                        .filter(n -> NAME.matcher(n).matches())
+                        .forEach(out::add);
+            } catch (IOException e) {
+                log.warn("journal dir list failed: {}", root, e);
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    // =========================
+    // payload 해석 (조회 API 용)
+    // =========================
+    public void registerDecoder(String name, Function<JournalRecord, Object> decoder) {
+        decoders.put(name, decoder);
+    }
+
+    public Object decode(String name, JournalRecord r) {
+        Function<JournalRecord, Object> d = decoders.get(name);
+        return d == null ? null : d.apply(r);
+    }
+
+    public void flushAll() {
+        for (EventJournal j : journals.values()) {
+            try {
+                j.flush();
+            } catch (RuntimeException e) {
+                log.warn("journal {} flush failed", j.name(), e);
+            }
+        }
+    }
+
+    // =========================
+    // lifecycle
+    // =========================
+    @Override
+    public void start() {
+        if (running) return;
+        running = true;
+        if (fsync != FsyncMode.BATCH) return;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll,
+                props.flushIntervalMs(), props.flushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journals.values().forEach(EventJournal::close);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** 기록하는 쪽(sync/주문 처리)보다 늦게 멈추도록 */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+}
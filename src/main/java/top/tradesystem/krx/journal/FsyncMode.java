@@ -0,0 +1,7 @@
+package top.tradesystem.krx.journal;
+
+public enum FsyncMode {
+    EVERY,
+    BATCH,
+    NONE
+}
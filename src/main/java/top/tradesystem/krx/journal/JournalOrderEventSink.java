@@ -0,0 +1,203 @@
+package top.tradesystem.krx.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxJournalProperties;
+import top.tradesystem.krx.risk.OrderEventSink;
+import top.tradesystem.krx.risk.OrderSide;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 리스크 엔진 주문 이벤트 → "orders" journal.
+ *
+ * <pre>
+ * payload (little-endian):
+ *   0  byte side (0 BUY, 1 SELL)
+ *   1  byte accountLen
+ *   2  byte codeLen
+ *   3  byte reserved
+ *   4  long qty
+ *   12 long price
+ *   20 long fillPrice (FILLED 외 0)
+ *   28 account (ASCII) + code (ASCII)
+ * </pre>
+ * append 는 journal lock / msync / segment roll(mmap) 로 blocking 이라 RiskEngine 호출 스레드에서 하지 않음:
+ *
+ * <pre>
+ * check/release/onFill 스레드 ─publish→ OrderEventRing ─drain→ 기록 스레드 하나 ─append→ "orders" journal
+ * </pre>
+ * 호출 쪽은 slot 에 값만 채우고 돌아감 (lock/할당 없음). ring 이 가득 차면 잠깐 spin 후 버리고 경고 로그.
+ * 기록 스레드 전용 scratch buffer 에 payload 를 만들어 append (payload 할당 없음).
+ * 종료 시 ring 에 남은 이벤트를 다 쓰고 멈춤 (EventJournals 보다 먼저).
+ */
+@Component
+public class JournalOrderEventSink implements OrderEventSink, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalOrderEventSink.class);
+
+    public static final String JOURNAL = "orders";
+    static final int ACCEPTED = 1;
+    static final int RELEASED = 2;
+    static final int FILLED = 3;
+
+    private static final int FIXED = 28;
+    private static final int MAX_ID = 64;
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000L; // 0.1ms
+
+    private final EventJournals journals;
+    private final boolean enabled;
+    private final OrderEventRing ring;
+
+    // 기록 스레드 전용
+    private final ByteBuffer scratch = ByteBuffer.allocate(FIXED + MAX_ID * 2).order(ByteOrder.LITTLE_ENDIAN);
+    private long reportedDrops;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public JournalOrderEventSink(EventJournals journals, KrxJournalProperties props) {
+        this.journals = journals;
+        this.enabled = props.orderEvents();
+        this.ring = new OrderEventRing(props.orderRingSize());
+        journals.registerDecoder(JOURNAL, JournalOrderEventSink::decode);
+    }
+
+    @Override
+    public void accepted(String accountId, String code, OrderSide side, long qty, long price) {
+        write(ACCEPTED, accountId, code, side, qty, price, 0L);
+    }
+
+    @Override
+    public void released(String accountId, String code, OrderSide side, long qty, long price) {
+        write(RELEASED, accountId, code, side, qty, price, 0L);
+    }
+
+    @Override
+    public void filled(String accountId, String code, OrderSide side, long qty, long orderPrice, long fillPrice) {
+        write(FILLED, accountId, code, side, qty, orderPrice, fillPrice);
+    }
+
+    private void write(int type, String accountId, String code, OrderSide side, long qty, long price, long fillPrice) {
+        if (!enabled) return;
+        ring.publish(type, accountId, code, side, qty, price, fillPrice);
+    }
+
+    /** ring 이 가득 차서 버린 이벤트 수 */
+    public long dropped() {
+        return ring.dropped();
+    }
+
+    /** 아직 journal 에 안 쓴 이벤트 수 */
+    public long lag() {
+        return ring.lag();
+    }
+
+    // =========================
+    // lifecycle
+    // =========================
+    @Override
+    public void start() {
+        if (!enabled || running) return;
+        running = true;
+        writer = Thread.ofPlatform().name("journal-orders-writer").daemon().start(this::drainLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // =========================
+    // 기록 스레드
+    // =========================
+    private void drainLoop() {
+        OrderEventRing.SlotHandler handler = this::append;
+        while (running) {
+            try {
+                if (ring.drain(handler, DRAIN_BATCH) == 0) {
+                    reportDrops();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (Exception e) {
+                log.warn("order journal writer error", e);
+            }
+        }
+        ring.drain(handler, Integer.MAX_VALUE);
+        reportDrops();
+    }
+
+    private void append(OrderEventRing.Slot s) {
+        try {
+            ByteBuffer b = scratch.clear();
+            int al = Math.min(s.accountId.length(), MAX_ID);
+            int cl = Math.min(s.code.length(), MAX_ID);
+            b.put((byte) s.side.ordinal()).put((byte) al).put((byte) cl).put((byte) 0)
+                    .putLong(s.qty).putLong(s.price).putLong(s.fillPrice);
+            for (int i = 0; i < al; i++) b.put((byte) s.accountId.charAt(i));
+            for (int i = 0; i < cl; i++) b.put((byte) s.code.charAt(i));
+            journals.journal(JOURNAL).append(s.type, b.flip());
+        } catch (RuntimeException e) {
+            log.warn("order journal write failed: {} {} {}", s.accountId, s.code, s.side, e);
+        }
+    }
+
+    private void reportDrops() {
+        long d = ring.dropped();
+        if (d > reportedDrops) {
+            log.warn("order journal ring full: {} events dropped (total {})", d - reportedDrops, d);
+            reportedDrops = d;
+        }
+    }
+
+    static OrderEvent decode(JournalRecord r) {
+        ByteBuffer b = ByteBuffer.wrap(r.payload()).order(ByteOrder.LITTLE_ENDIAN);
+        OrderSide side = OrderSide.values()[b.get()];
+        int al = b.get();
+        int cl = b.get();
+        b.get();
+        long qty = b.getLong();
+        long price = b.getLong();
+        long fillPrice = b.getLong();
+        byte[] account = new byte[al];
+        byte[] code = new byte[cl];
+        b.get(account).get(code);
+        String event = switch (r.type()) {
+            case ACCEPTED -> "ACCEPTED";
+            case RELEASED -> "RELEASED";
+            case FILLED -> "FILLED";
+            default -> "UNKNOWN";
+        };
+        return new OrderEvent(event, new String(account, StandardCharsets.US_ASCII),
+                new String(code, StandardCharsets.US_ASCII), side, qty, price, fillPrice);
+    }
+
+    public record OrderEvent(
+            String event,
+            String accountId,
+            String code,
+            OrderSide side,
+            long qty,
+            long price,
+            long fillPrice
+    ) {}
+}
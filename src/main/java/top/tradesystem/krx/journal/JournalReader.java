@@ -0,0 +1,64 @@
+package top.tradesystem.krx.journal;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * journal 을 seq 순서로 따라 읽는 reader (reader 1개 = 스레드 1개, lock 없음).
+ * 끝에 닿으면 poll 이 0 을 반환하고, 기록이 더 쌓이면 다음 poll 에서 이어서 읽는다 (tailing).
+ */
+public final class JournalReader {
+
+    private final EventJournal journal;
+    private final long fromSeq;
+    private final CRC32C crc = new CRC32C();
+
+    private JournalSegment seg;
+    private ByteBuffer view;
+    private int pos;
+    private long nextSeq;
+
+    JournalReader(EventJournal journal, long fromSeq) {
+        this.journal = journal;
+        this.fromSeq = Math.max(1L, fromSeq);
+        this.seg = journal.segmentFor(this.fromSeq);
+        this.view = seg.view();
+        this.pos = JournalSegment.FILE_HEADER;
+        this.nextSeq = seg.firstSeq;
+    }
+
+    /** 최대 max 건을 handler 에 넘김. 반환: 넘긴 건수 (0 = 아직 새 기록 없음) */
+    public int poll(Consumer<JournalRecord> handler, int max) {
+        int n = 0;
+        while (n < max) {
+            int len = seg.lengthAt(pos);
+            if (len == 0) break;
+            if (len == JournalSegment.END_OF_SEGMENT) {
+                JournalSegment next = journal.nextSegment(seg);
+                if (next == null) break; // roll 은 다음 파일을 먼저 등록하므로 사실상 없음
+                seg = next;
+                view = next.view();
+                pos = JournalSegment.FILE_HEADER;
+                continue;
+            }
+            if (len < JournalSegment.RECORD_HEADER || pos + len > seg.capacity || !seg.valid(view, pos, len, crc)) {
+                throw new IllegalStateException("corrupt journal record: " + seg.path + " @" + pos);
+            }
+
+            long seq = seg.seqAt(pos);
+            if (seq >= fromSeq) {
+                handler.accept(seg.read(pos, len));
+                n++;
+            }
+            nextSeq = seq + 1;
+            pos += JournalSegment.align(len);
+        }
+        return n;
+    }
+
+    /** 다음에 읽을 seq */
+    public long nextSeq() {
+        return Math.max(nextSeq, fromSeq);
+    }
+}
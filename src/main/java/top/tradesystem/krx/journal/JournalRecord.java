@@ -0,0 +1,11 @@
+package top.tradesystem.krx.journal;
+
+/**
+ * journal 에서 읽은 기록 1건 (payload 는 복사본).
+ */
+public record JournalRecord(
+        long seq,
+        long timestampMs,
+        int type,
+        byte[] payload
+) {}
@@ -0,0 +1,151 @@
+package top.tradesystem.krx.journal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 고정 크기 mmap segment 파일 하나.
+ *
+ * <pre>
+ * file header (64B): magic(8) version(4) pad(4) firstSeq(8) createdMs(8) ...
+ * record (8B 정렬):
+ *   0  int  length    (header 포함 기록 길이, 0 = 아직 안 씀, -1 = segment 끝 → 다음 파일)
+ *   4  int  crc32c    (8 .. length 구간)
+ *   8  long seq
+ *   16 long timestampMs
+ *   24 int  type
+ *   28 int  reserved
+ *   32 ...  payload
+ * </pre>
+ * 기록은 본문을 다 쓴 뒤 length 를 release 로 써서 공개, reader 는 length 를 acquire 로 읽는다.
+ * 그래서 length 가 보이면 본문도 다 보이고, 쓰다 죽은 기록은 length 가 0 으로 남는다.
+ */
+final class JournalSegment {
+
+    static final long MAGIC = 0x4C4E524A58524B31L; // "1KRXJRNL" little-endian
+    static final int VERSION = 1;
+    static final int FILE_HEADER = 64;
+    static final int RECORD_HEADER = 32;
+    static final int END_OF_SEGMENT = -1;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    final Path path;
+    final long firstSeq;
+    final MappedByteBuffer buf;
+    final int capacity;
+
+    private JournalSegment(Path path, long firstSeq, MappedByteBuffer buf) {
+        this.path = path;
+        this.firstSeq = firstSeq;
+        this.buf = buf;
+        this.capacity = buf.capacity();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static JournalSegment create(Path dir, long firstSeq, int size) throws IOException {
+        Path p = dir.resolve(fileName(firstSeq));
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            JournalSegment s = new JournalSegment(p, firstSeq, ch.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            s.buf.putLong(0, MAGIC);
+            s.buf.putInt(8, VERSION);
+            s.buf.putLong(16, firstSeq);
+            s.buf.putLong(24, System.currentTimeMillis());
+            s.buf.force(0, FILE_HEADER);
+            return s;
+        }
+    }
+
+    static JournalSegment open(Path p, boolean writable) throws IOException {
+        StandardOpenOption[] opts = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel ch = FileChannel.open(p, opts)) {
+            MappedByteBuffer b = ch.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, ch.size());
+            b.order(ByteOrder.LITTLE_ENDIAN);
+            if (b.capacity() < FILE_HEADER || b.getLong(0) != MAGIC) {
+                throw new IOException("not a journal segment: " + p);
+            }
+            return new JournalSegment(p, b.getLong(16), b);
+        }
+    }
+
+    static String fileName(long firstSeq) {
+        return String.format("%020d.seg", firstSeq);
+    }
+
+    static boolean isSegment(Path p) {
+        return p.getFileName().toString().endsWith(".seg");
+    }
+
+    static int align(int n) {
+        return (n + 7) & ~7;
+    }
+
+    // =========================
+    // 기록 필드
+    // =========================
+    int lengthAt(int pos) {
+        return (int) INT.getAcquire(buf, pos);
+    }
+
+    void publish(int pos, int length) {
+        INT.setRelease(buf, pos, length);
+    }
+
+    long seqAt(int pos) {
+        return buf.getLong(pos + 8);
+    }
+
+    /** 호출자 전용 view (position/limit 을 바꾸므로 스레드마다 따로) */
+    ByteBuffer view() {
+        return buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static int crcOf(ByteBuffer view, int pos, int length, CRC32C crc) {
+        crc.reset();
+        view.limit(pos + length).position(pos + 8);
+        crc.update(view);
+        view.clear();
+        return (int) crc.getValue();
+    }
+
+    boolean valid(ByteBuffer view, int pos, int length, CRC32C crc) {
+        return buf.getInt(pos + 4) == crcOf(view, pos, length, crc);
+    }
+
+    JournalRecord read(int pos, int length) {
+        byte[] payload = new byte[length - RECORD_HEADER];
+        buf.get(pos + RECORD_HEADER, payload);
+        return new JournalRecord(buf.getLong(pos + 8), buf.getLong(pos + 16), buf.getInt(pos + 24), payload);
+    }
+
+    /** 마지막 정상 기록 뒤에 쓰레기(쓰다 죽은 기록)가 있으면 0 으로 지움 */
+    boolean zeroTailIfDirty(int from) {
+        boolean dirty = false;
+        for (int p = from; p + 8 <= capacity; p += 8) {
+            if (buf.getLong(p) != 0) {
+                dirty = true;
+                break;
+            }
+        }
+        if (!dirty) return false;
+        for (int p = from; p + 8 <= capacity; p += 8) buf.putLong(p, 0L);
+        buf.force();
+        return true;
+    }
+
+    void force() {
+        buf.force();
+    }
+}
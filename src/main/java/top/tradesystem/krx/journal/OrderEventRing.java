@@ -0,0 +1,159 @@
+package top.tradesystem.krx.journal;
+
+import top.tradesystem.krx.risk.OrderSide;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * multi-writer / single-reader ring buffer (Disruptor multi-producer 방식) - 주문 이벤트를 journal 기록 스레드로 넘김.
+ * - slot 은 미리 만들어 두고 값만 덮어씀 → 이벤트당 할당 없음
+ * - writer 는 claim 을 CAS 로 하나 올려 slot 을 잡고, 다 채운 뒤 published[slot] 에 seq 를 release 로 씀
+ * - reader 는 consumed+1 부터 published 가 seq 와 같은 slot 까지만 소비 (앞 slot 을 아직 채우는 중이면 거기서 멈춤)
+ * - 가득 차면 잠깐 spin 후 버림 (주문 경로를 막지 않음, 버린 수는 {@link #dropped()})
+ */
+final class OrderEventRing {
+
+    private static final int FULL_SPINS = 1_000;
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static final class Slot {
+        int type;
+        String accountId;
+        String code;
+        OrderSide side;
+        long qty;
+        long price;
+        long fillPrice;
+    }
+
+    private final Slot[] slots;
+    private final long[] published; // slot 별 마지막으로 채워진 seq
+    private final int mask;
+
+    private final Sequence claim = new Sequence();     // writer 들이 마지막으로 잡은 seq
+    private final Sequence consumed = new Sequence();  // reader 가 마지막으로 처리한 seq
+    private final LongAdder dropped = new LongAdder();
+
+    OrderEventRing(int size) {
+        if (Integer.bitCount(size) != 1) throw new IllegalArgumentException("ring size must be a power of two: " + size);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) slots[i] = new Slot();
+        this.published = new long[size];
+        Arrays.fill(published, -1L);
+        this.mask = size - 1;
+    }
+
+    // =========================
+    // writer (아무 스레드나)
+    // =========================
+    boolean publish(int type, String accountId, String code, OrderSide side, long qty, long price, long fillPrice) {
+        long seq;
+        int spins = 0;
+        while (true) {
+            long last = claim.getAcquire();
+            seq = last + 1;
+            if (seq - slots.length > consumed.getAcquire()) {
+                if (++spins > FULL_SPINS) {
+                    dropped.increment();
+                    return false;
+                }
+                Thread.onSpinWait();
+            } else if (claim.compareAndSet(last, seq)) {
+                break;
+            }
+        }
+
+        int i = (int) (seq & mask);
+        Slot s = slots[i];
+        s.type = type;
+        s.accountId = accountId;
+        s.code = code;
+        s.side = side;
+        s.qty = qty;
+        s.price = price;
+        s.fillPrice = fillPrice;
+        PUBLISHED.setRelease(published, i, seq);
+        return true;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    // =========================
+    // reader (기록 스레드 하나)
+    // =========================
+
+    /** 최대 max 개를 순서대로 handler 로 넘기고 처리 개수를 반환 */
+    int drain(SlotHandler handler, int max) {
+        long from = consumed.getPlain() + 1;
+        long end = from + max;
+        long seq = from;
+        while (seq < end) {
+            int i = (int) (seq & mask);
+            if ((long) PUBLISHED.getAcquire(published, i) != seq) break;
+            handler.onSlot(slots[i]);
+            seq++;
+        }
+        if (seq == from) return 0;
+        consumed.setRelease(seq - 1);
+        return (int) (seq - from);
+    }
+
+    long lag() {
+        return claim.getAcquire() - consumed.getAcquire();
+    }
+
+    @FunctionalInterface
+    interface SlotHandler {
+        void onSlot(Slot slot);
+    }
+
+    // =========================
+    // false sharing 방지용 padding (claim 과 consumed 가 같은 cache line 에 놓이지 않게)
+    // =========================
+    @SuppressWarnings("unused")
+    private static class LhsPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    private static class Value extends LhsPadding {
+        volatile long value = -1;
+    }
+
+    @SuppressWarnings("unused")
+    private static class RhsPadding extends Value {
+        long p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    static final class Sequence extends RhsPadding {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long getPlain() {
+            return (long) VALUE.get(this);
+        }
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void setRelease(long v) {
+            VALUE.setRelease(this, v);
+        }
+
+        boolean compareAndSet(long expected, long v) {
+            return VALUE.compareAndSet(this, expected, v);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package top.tradesystem.krx.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxJournalProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * sync 결과(SyncResult) 감사 기록 → "sync" journal (JSON payload: {"dataset", "result"}).
+ * DB 를 건드리지 않고, 실패해도 sync 흐름에는 영향 없음 (경고 로그만).
+ */
+@Component
+public class SyncAuditJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncAuditJournal.class);
+
+    public static final String JOURNAL = "sync";
+    static final int TYPE_SYNC_RESULT = 1;
+
+    private final EventJournals journals;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public SyncAuditJournal(EventJournals journals, ObjectMapper objectMapper, KrxJournalProperties props) {
+        this.journals = journals;
+        this.objectMapper = objectMapper;
+        this.enabled = props.syncAudit();
+        journals.registerDecoder(JOURNAL, this::decode);
+    }
+
+    public void record(String dataset, Object result) {
+        if (!enabled || result == null) return;
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("dataset", dataset);
+            body.put("result", result);
+            journals.journal(JOURNAL).append(TYPE_SYNC_RESULT, objectMapper.writeValueAsBytes(body));
+        } catch (Exception e) {
+            log.warn("sync audit journal write failed: {} {}", dataset, result, e);
+        }
+    }
+
+    private Object decode(JournalRecord r) {
+        try {
+            return objectMapper.readTree(r.payload());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
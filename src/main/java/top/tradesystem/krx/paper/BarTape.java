@@ -0,0 +1,126 @@
+package top.tradesystem.krx.paper;
+
+import org.apache.ibatis.session.ResultHandler;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 시뮬레이션 입력: 일 × 종목 OHLCV (원 단위 long, day-major: [d * n + s]).
+ * 한 번 읽어서 같은 구간의 모든 시뮬레이션이 공유 (읽기 전용). close == 0 이면 그날 bar 없음.
+ */
+final class BarTape {
+
+    final String[] days;
+    final String[] symbols;
+    final Map<String, Integer> index;
+    final long[] open;
+    final long[] high;
+    final long[] low;
+    final long[] close;
+    final long[] volume;
+
+    private BarTape(String[] days, String[] symbols, long[] open, long[] high, long[] low, long[] close, long[] volume) {
+        this.days = days;
+        this.symbols = symbols;
+        this.index = new HashMap<>(symbols.length * 2);
+        for (int s = 0; s < symbols.length; s++) index.put(symbols[s], s);
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    int dayCount() {
+        return days.length;
+    }
+
+    int symbolCount() {
+        return symbols.length;
+    }
+
+    int at(int d, int s) {
+        return d * symbols.length + s;
+    }
+
+    boolean hasBar(int d, int s) {
+        return close[at(d, s)] > 0;
+    }
+
+    /**
+     * 구간의 일자/종목을 먼저 읽어 배열 크기를 정한 뒤, archive → hot 을 흘려보내며 primitive 배열에 바로 채움.
+     * row 객체는 handler 밖으로 남기지 않는다 → 메모리는 5 × days × symbols × 8B 가 전부.
+     * @param symbols    비어 있으면 구간에 나온 전 종목
+     * @param maxSymbols 종목 수 상한, 넘으면 IllegalArgumentException
+     * @param maxCells   days × symbols 상한, 넘으면 IllegalArgumentException
+     */
+    static BarTape load(KrxDailyPriceMapper mapper, String from, String to, Collection<String> symbols,
+                        int maxSymbols, long maxCells) {
+        String[] days = mapper.findDaysInRange(from, to).toArray(String[]::new);
+        String[] syms;
+        if (symbols == null || symbols.isEmpty()) {
+            syms = mapper.findCodesInRange(from, to).toArray(String[]::new);
+        } else {
+            syms = new TreeSet<>(symbols).toArray(String[]::new);
+        }
+        int n = syms.length;
+        if (n > maxSymbols) {
+            throw new IllegalArgumentException("too many symbols: " + n + " > " + maxSymbols + " (narrow symbols or range)");
+        }
+        long cells = (long) days.length * n;
+        if (cells > maxCells) {
+            throw new IllegalArgumentException("range too large: " + days.length + " days x " + n + " symbols > "
+                    + maxCells + " cells (narrow symbols or range)");
+        }
+
+        Map<String, Integer> dayIndex = new HashMap<>(days.length * 2);
+        for (int d = 0; d < days.length; d++) dayIndex.put(days[d], d);
+        Map<String, Integer> symIndex = new HashMap<>(n * 2);
+        for (int s = 0; s < n; s++) symIndex.put(syms[s], s);
+
+        long[] o = new long[(int) cells];
+        long[] hi = new long[o.length];
+        long[] lo = new long[o.length];
+        long[] c = new long[o.length];
+        long[] v = new long[o.length];
+
+        ResultHandler<KrxDailyPriceRow> h = ctx -> {
+            KrxDailyPriceRow r = ctx.getResultObject();
+            Integer s = symIndex.get(r.isuCd());
+            Integer d = dayIndex.get(r.basDd());
+            if (s == null || d == null) return; // 필터 밖 / 사전 조회 이후 들어온 일자
+            long close = won(r.tddClsprc());
+            if (close <= 0) return;
+            int i = d * n + s;
+            c[i] = close;
+            // 거래 없는 날은 시/고/저가가 0 으로 옴 → 종가로 채움
+            o[i] = positiveOr(won(r.tddOpnprc()), close);
+            hi[i] = Math.max(positiveOr(won(r.tddHgprc()), close), Math.max(o[i], close));
+            lo[i] = Math.min(positiveOr(won(r.tddLwprc()), close), Math.min(o[i], close));
+            v[i] = r.accTrdvol() == null ? 0 : r.accTrdvol();
+        };
+        mapper.streamArchiveRange(from, to, null, h);
+        mapper.streamRange(from, to, null, h);
+        return new BarTape(days, syms, o, hi, lo, c, v);
+    }
+
+    private static long won(BigDecimal v) {
+        return v == null ? 0 : v.longValue();
+    }
+
+    private static long positiveOr(long v, long fallback) {
+        return v > 0 ? v : fallback;
+    }
+
+    @Override
+    public String toString() {
+        return "BarTape[days=" + days.length + ", symbols=" + symbols.length
+                + (days.length == 0 ? "" : ", " + days[0] + ".." + days[days.length - 1]) + "]";
+    }
+}
@@ -0,0 +1,36 @@
+package top.tradesystem.krx.paper;
+
+/**
+ * 기준선: 첫 거래일 종가를 보고 전 종목 동일 금액 시장가 매수 → 끝까지 보유.
+ */
+final class BuyAndHoldStrategy implements PaperStrategy {
+
+    private static final double CASH_BUFFER = 0.98; // 수수료/시가 갭 여유
+
+    private boolean placed;
+
+    @Override
+    public String name() {
+        return "buy-and-hold";
+    }
+
+    @Override
+    public void onClose(PaperContext ctx) {
+        if (placed) return;
+        placed = true;
+
+        int d = ctx.day();
+        int listed = 0;
+        for (int s = 0; s < ctx.symbolCount(); s++) if (ctx.close(s, d) > 0) listed++;
+        if (listed == 0) return;
+
+        long budget = (long) (ctx.cash() * CASH_BUFFER / listed);
+        for (int s = 0; s < ctx.symbolCount(); s++) {
+            long c = ctx.close(s, d);
+            if (c <= 0) continue;
+            // 시장가는 상한가(+30%)로 현금을 잡으므로 그 기준으로 수량 계산
+            long qty = budget / (c + c * 30 / 100);
+            if (qty > 0) ctx.buy(s, qty, 0);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package top.tradesystem.krx.paper;
+
+import java.util.Arrays;
+
+/**
+ * 단일 스레드 매칭 코어 (시뮬레이션 1개 전용, lock 없음).
+ *
+ * <p>종목별 호가창은 {@link OrderPool} slot 을 잇는 이중 연결 리스트:
+ * 매수는 가격 내림차순, 매도는 오름차순, 같은 가격은 먼저 낸 순서. 시장가는 맨 앞.
+ * 가격 경로의 tick 하나가 들어오면 그 가격에 닿는 주문부터 tick 거래량 × 참여율 만큼 체결한다.
+ * <ul>
+ *   <li>지정가는 지정가에 체결 (경로가 거칠어 가격 개선을 주지 않음), 단 시가 tick 은 갭이라 시가에 체결</li>
+ *   <li>시장가는 tick 가격에 체결</li>
+ *   <li>매수는 주문 때 현금(수수료 포함)을 예약, 매도는 보유 - 미체결매도 안에서만 허용 (공매도 없음)</li>
+ * </ul>
+ * 전략은 {@link PaperContext} 로만 접근한다. 당일 bar 는 장 마감({@link #closeDay}) 뒤에만 보이고
+ * (onStart / 장중 onFill 에서는 전날까지), 이후 bar 는 보이지 않는다.
+ */
+final class MatchingCore implements PaperContext {
+
+    private static final int BAND_PCT = 30;
+
+    private final BarTape tape;
+    private final int n;
+    private final OrderPool pool;
+    private final PaperJournal journal;
+    private final double participation;
+    private final double commissionBps;
+    private final double taxBps;
+    private PaperStrategy strategy;
+
+    private final int[] bidHead;
+    private final int[] askHead;
+    private final long[] position;
+    private final long[] pendingSell;
+    private final long[] costBasis;
+    private final long[] lastPrice;
+
+    private long cash;
+    private long reservedCash;
+    private long realized;
+    private long fees;
+    private int day;
+    private boolean dayClosed; // closeDay 이후 → 당일 종가/거래량 공개
+    private boolean openTick;
+
+    long orders;
+    long fills;
+    long rejects;
+
+    MatchingCore(BarTape tape, int poolSize, long initialCash, double participation,
+                 double commissionBps, double taxBps, PaperJournal journal) {
+        this.tape = tape;
+        this.n = tape.symbolCount();
+        this.pool = new OrderPool(poolSize);
+        this.journal = journal;
+        this.participation = participation;
+        this.commissionBps = commissionBps;
+        this.taxBps = taxBps;
+        this.cash = initialCash;
+        this.bidHead = new int[n];
+        this.askHead = new int[n];
+        Arrays.fill(bidHead, -1);
+        Arrays.fill(askHead, -1);
+        this.position = new long[n];
+        this.pendingSell = new long[n];
+        this.costBasis = new long[n];
+        this.lastPrice = new long[n];
+    }
+
+    void attach(PaperStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    // =========================
+    // 1) 주문
+    // =========================
+    private long submit(int s, byte side, long qty, long limit) {
+        if (s < 0 || s >= n || qty <= 0 || limit < 0) return reject(s, side, qty, limit, "INVALID");
+        long ref = lastPrice[s];
+        if (ref <= 0) return reject(s, side, qty, limit, "NO_PRICE");
+
+        long reservePx = 0;
+        long reserve = 0;
+        if (side == OrderPool.BUY) {
+            reservePx = limit > 0 ? limit : ref + ref * BAND_PCT / 100; // 시장가는 상한가로 예약
+            reserve = reserveAmount(qty, reservePx);
+            if (reserve > cash - reservedCash) return reject(s, side, qty, limit, "CASH");
+        } else if (qty > position[s] - pendingSell[s]) {
+            return reject(s, side, qty, limit, "POSITION");
+        }
+
+        int o = pool.alloc(s, side, limit, qty, reservePx, reserve);
+        if (o < 0) return reject(s, side, qty, limit, "POOL_FULL");
+        if (side == OrderPool.BUY) {
+            reservedCash += reserve;
+            link(bidHead, s, o, true);
+        } else {
+            pendingSell[s] += qty;
+            link(askHead, s, o, false);
+        }
+        orders++;
+        long id = pool.id(o);
+        journal.order(tape.days[day], id, tape.symbols[s], side, qty, limit);
+        return id;
+    }
+
+    private long reject(int s, byte side, long qty, long limit, String reason) {
+        rejects++;
+        journal.reject(tape.days[day], s >= 0 && s < n ? tape.symbols[s] : "?", side, qty, limit, reason);
+        return -1;
+    }
+
+    private long key(int o) {
+        long p = pool.price[o];
+        return pool.side[o] == OrderPool.BUY && p == OrderPool.MARKET ? Long.MAX_VALUE : p;
+    }
+
+    private void link(int[] heads, int s, int o, boolean desc) {
+        long k = key(o);
+        int before = -1;
+        int cur = heads[s];
+        while (cur != -1 && (desc ? key(cur) >= k : key(cur) <= k)) {
+            before = cur;
+            cur = pool.next[cur];
+        }
+        pool.prev[o] = before;
+        pool.next[o] = cur;
+        if (before == -1) heads[s] = o;
+        else pool.next[before] = o;
+        if (cur != -1) pool.prev[cur] = o;
+    }
+
+    private void unlink(int o) {
+        int s = pool.symbol[o];
+        int[] heads = pool.side[o] == OrderPool.BUY ? bidHead : askHead;
+        int p = pool.prev[o];
+        int nx = pool.next[o];
+        if (p == -1) heads[s] = nx;
+        else pool.next[p] = nx;
+        if (nx != -1) pool.prev[nx] = p;
+    }
+
+    private void terminate(int o, String reason) {
+        long remaining = pool.remaining(o);
+        unlink(o);
+        if (pool.side[o] == OrderPool.BUY) {
+            reservedCash -= pool.reserved[o];
+        } else {
+            pendingSell[pool.symbol[o]] -= remaining;
+        }
+        if (reason != null) journal.cancel(tape.days[day], pool.id(o), tape.symbols[pool.symbol[o]], remaining, reason);
+        pool.release(o);
+    }
+
+    // =========================
+    // 2) 매칭
+    // =========================
+    void onTick(int s, long p, long tickVolume, boolean open) {
+        lastPrice[s] = p;
+        openTick = open;
+        long avail = (long) (tickVolume * participation);
+
+        // 체결 callback 에서 주문이 바뀔 수 있으니 체결 때마다 맨 앞부터 다시 봄
+        // (앞 주문은 전량 체결돼 빠졌거나, 부분 체결이면 avail 이 0)
+        int o = bidHead[s];
+        while (o != -1 && avail > 0) {
+            long lim = pool.price[o];
+            if (lim != OrderPool.MARKET && lim < p) break;
+            long q = Math.min(pool.remaining(o), avail);
+            avail -= q;
+            fill(o, q, lim == OrderPool.MARKET || openTick ? p : lim);
+            o = bidHead[s];
+        }
+        o = askHead[s];
+        while (o != -1 && avail > 0) {
+            long lim = pool.price[o];
+            if (lim != OrderPool.MARKET && lim > p) break;
+            long q = Math.min(pool.remaining(o), avail);
+            avail -= q;
+            fill(o, q, lim == OrderPool.MARKET || openTick ? p : lim);
+            o = askHead[s];
+        }
+    }
+
+    private void fill(int o, long q, long px) {
+        int s = pool.symbol[o];
+        boolean buy = pool.side[o] == OrderPool.BUY;
+        long notional = q * px;
+        long fee = fee(notional, commissionBps);
+
+        if (buy) {
+            long r = Math.min(pool.reserved[o], reserveAmount(q, pool.reservePx[o]));
+            pool.reserved[o] -= r;
+            reservedCash -= r;
+            cash -= notional + fee;
+            position[s] += q;
+            costBasis[s] += notional;
+            realized -= fee;
+        } else {
+            long pos = position[s];
+            long soldCost = pos > 0 ? costBasis[s] * Math.min(q, pos) / pos : 0;
+            fee += fee(notional, taxBps);
+            cash += notional - fee;
+            realized += notional - soldCost - fee;
+            costBasis[s] -= soldCost;
+            position[s] -= q;
+            pendingSell[s] -= q;
+        }
+        fees += fee;
+        fills++;
+        pool.filled[o] += q;
+        journal.fill(tape.days[day], pool.id(o), tape.symbols[s], pool.side[o], q, px, fee, position[s], cash);
+
+        if (pool.remaining(o) == 0) terminate(o, null);
+        if (strategy != null) strategy.onFill(this, s, buy, q, px);
+    }
+
+    /** 장 마감: 당일 미체결 전부 만료 */
+    void expireAll() {
+        for (int s = 0; s < n; s++) {
+            while (bidHead[s] != -1) terminate(bidHead[s], "EXPIRE");
+            while (askHead[s] != -1) terminate(askHead[s], "EXPIRE");
+        }
+    }
+
+    void beginDay(int d) {
+        this.day = d;
+        this.dayClosed = false;
+    }
+
+    /** 장 마감 평가: 종가 반영 후 journal EOD, 평가액 반환 */
+    long closeDay() {
+        dayClosed = true;
+        for (int s = 0; s < n; s++) {
+            long c = tape.close[tape.at(day, s)];
+            if (c > 0) lastPrice[s] = c;
+        }
+        long eq = equity();
+        journal.eod(tape.days[day], cash, eq, realized, fees);
+        return eq;
+    }
+
+    private long reserveAmount(long q, long px) {
+        long notional = q * px;
+        return notional + fee(notional, commissionBps);
+    }
+
+    private static long fee(long notional, double bps) {
+        return (long) Math.ceil(notional * bps / 10_000.0);
+    }
+
+    long realized() {
+        return realized;
+    }
+
+    long fees() {
+        return fees;
+    }
+
+    int openOrders() {
+        return pool.used();
+    }
+
+    // =========================
+    // 3) PaperContext
+    // =========================
+    @Override
+    public int symbolCount() {
+        return n;
+    }
+
+    @Override
+    public String symbol(int s) {
+        return tape.symbols[s];
+    }
+
+    @Override
+    public int day() {
+        return day;
+    }
+
+    @Override
+    public int dayCount() {
+        return tape.dayCount();
+    }
+
+    @Override
+    public String basDd() {
+        return tape.days[day];
+    }
+
+    @Override
+    public long close(int s, int d) {
+        return visible(d) ? tape.close[tape.at(d, s)] : 0;
+    }
+
+    @Override
+    public long volume(int s, int d) {
+        return visible(d) ? tape.volume[tape.at(d, s)] : 0;
+    }
+
+    private boolean visible(int d) {
+        return d >= 0 && (d < day || (d == day && dayClosed));
+    }
+
+    @Override
+    public long position(int s) {
+        return position[s];
+    }
+
+    @Override
+    public long cash() {
+        return cash - reservedCash;
+    }
+
+    @Override
+    public long equity() {
+        long eq = cash;
+        for (int s = 0; s < n; s++) eq += position[s] * lastPrice[s];
+        return eq;
+    }
+
+    @Override
+    public long buy(int s, long qty, long limit) {
+        return submit(s, OrderPool.BUY, qty, limit);
+    }
+
+    @Override
+    public long sell(int s, long qty, long limit) {
+        return submit(s, OrderPool.SELL, qty, limit);
+    }
+
+    @Override
+    public boolean cancel(long orderId) {
+        int o = pool.slotOf(orderId);
+        if (o < 0) return false;
+        terminate(o, "USER");
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package top.tradesystem.krx.paper;
+
+/**
+ * 이동평균 교차: 종가 단기 평균이 장기 평균 위로 올라서면 평가액의 weight 만큼 매수, 아래로 내려가면 전량 매도.
+ * 평균은 종목별 원형 버퍼로 누적합만 갱신 (하루 O(종목 수)).
+ */
+final class MovingAverageCrossStrategy implements PaperStrategy {
+
+    private final int fast;
+    private final int slow;
+    private final double weight;
+
+    private long[][] window;   // [symbol][slow] 최근 종가
+    private long[] sumFast;
+    private long[] sumSlow;
+    private int[] count;       // 쌓인 종가 수 (거래 있는 날만)
+    private int[] head;
+
+    MovingAverageCrossStrategy(int fast, int slow, double weight) {
+        if (fast <= 0 || slow <= fast) throw new IllegalArgumentException("ma-cross requires 0 < fast < slow");
+        if (weight <= 0 || weight > 1) throw new IllegalArgumentException("ma-cross weight must be (0, 1]");
+        this.fast = fast;
+        this.slow = slow;
+        this.weight = weight;
+    }
+
+    @Override
+    public String name() {
+        return "ma-cross";
+    }
+
+    @Override
+    public void onStart(PaperContext ctx) {
+        int n = ctx.symbolCount();
+        window = new long[n][slow];
+        sumFast = new long[n];
+        sumSlow = new long[n];
+        count = new int[n];
+        head = new int[n];
+    }
+
+    @Override
+    public void onClose(PaperContext ctx) {
+        int d = ctx.day();
+        long equity = ctx.equity();
+        for (int s = 0; s < ctx.symbolCount(); s++) {
+            long c = ctx.close(s, d);
+            if (c <= 0) continue;
+            push(s, c);
+            if (count[s] < slow) continue;
+
+            // 평균 비교는 곱셈으로 (slow·sumFast vs fast·sumSlow)
+            boolean above = sumFast[s] * slow > sumSlow[s] * fast;
+            long pos = ctx.position(s);
+            if (above && pos == 0) {
+                long qty = (long) (equity * weight) / (c + c * 30 / 100);
+                if (qty > 0) ctx.buy(s, qty, 0);
+            } else if (!above && pos > 0) {
+                ctx.sell(s, pos, 0);
+            }
+        }
+    }
+
+    private void push(int s, long c) {
+        long[] w = window[s];
+        int h = head[s];
+        if (count[s] >= slow) sumSlow[s] -= w[h];
+        // fast 구간에서 빠지는 값: fast 일 전 종가
+        if (count[s] >= fast) sumFast[s] -= w[(h - fast + slow) % slow];
+        w[h] = c;
+        sumSlow[s] += c;
+        sumFast[s] += c;
+        head[s] = (h + 1) % slow;
+        if (count[s] < slow) count[s]++;
+    }
+}
@@ -0,0 +1,91 @@
+package top.tradesystem.krx.paper;
+
+/**
+ * 시뮬레이션 1개 전용 주문 slot 풀 (단일 스레드).
+ * - 모든 필드는 slot 인덱스로 접근하는 primitive 배열, 시작할 때 한 번 할당
+ * - 빈 slot 은 next 로 엮은 free list, slot 이 재사용될 때마다 generation 증가
+ * - 주문 id = (generation &lt;&lt; 32) | slot → 취소 때 map 없이 바로 찾고, 이미 끝난 주문 id 는 generation 으로 걸러냄
+ */
+final class OrderPool {
+
+    static final byte BUY = 0;
+    static final byte SELL = 1;
+    static final long MARKET = 0L; // price == 0 이면 시장가
+
+    final int[] symbol;
+    final byte[] side;
+    final long[] price;        // 지정가, MARKET 이면 0
+    final long[] qty;
+    final long[] filled;
+    final long[] reservePx;    // 매수 현금 예약 단가 (시장가는 상한가 기준)
+    final long[] reserved;     // 아직 풀지 않은 매수 현금 예약 (수수료 포함)
+    final int[] prev;
+    final int[] next;
+    private final int[] generation;
+    private final boolean[] live;
+
+    private int free;
+    private int used;
+
+    OrderPool(int capacity) {
+        symbol = new int[capacity];
+        side = new byte[capacity];
+        price = new long[capacity];
+        qty = new long[capacity];
+        filled = new long[capacity];
+        reservePx = new long[capacity];
+        reserved = new long[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        generation = new int[capacity];
+        live = new boolean[capacity];
+        for (int i = 0; i < capacity; i++) next[i] = i + 1 < capacity ? i + 1 : -1;
+        free = capacity > 0 ? 0 : -1;
+    }
+
+    /** @return slot, 가득 차면 -1 */
+    int alloc(int s, byte sd, long px, long q, long reservePrice, long reserveAmount) {
+        int o = free;
+        if (o < 0) return -1;
+        free = next[o];
+        symbol[o] = s;
+        side[o] = sd;
+        price[o] = px;
+        qty[o] = q;
+        filled[o] = 0;
+        reservePx[o] = reservePrice;
+        reserved[o] = reserveAmount;
+        prev[o] = -1;
+        next[o] = -1;
+        live[o] = true;
+        used++;
+        return o;
+    }
+
+    void release(int o) {
+        live[o] = false;
+        generation[o]++;
+        next[o] = free;
+        free = o;
+        used--;
+    }
+
+    long id(int o) {
+        return ((long) generation[o] << 32) | o;
+    }
+
+    /** 살아 있는 주문의 slot, 아니면 -1 */
+    int slotOf(long id) {
+        int o = (int) id;
+        if (o < 0 || o >= live.length || !live[o] || generation[o] != (int) (id >>> 32)) return -1;
+        return o;
+    }
+
+    long remaining(int o) {
+        return qty[o] - filled[o];
+    }
+
+    int used() {
+        return used;
+    }
+}
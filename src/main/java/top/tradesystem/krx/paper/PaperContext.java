@@ -0,0 +1,38 @@
+package top.tradesystem.krx.paper;
+
+/**
+ * 전략이 보는 시뮬레이션 상태 + 주문 창구. 종목은 0..symbolCount()-1 인덱스로 다룬다.
+ */
+public interface PaperContext {
+
+    int symbolCount();
+
+    String symbol(int s);
+
+    /** 현재 거래일 인덱스 (0..dayCount()-1) */
+    int day();
+
+    int dayCount();
+
+    String basDd();
+
+    /** d 일 종가 (bar 없으면 0). 당일(d == day()) 값은 장 마감 뒤 onClose 에서만, 그 전엔 0 */
+    long close(int s, int d);
+
+    /** d 일 거래량, 보이는 범위는 {@link #close} 와 같음 */
+    long volume(int s, int d);
+
+    long position(int s);
+
+    long cash();
+
+    /** 현금 + 보유 종목 마지막 가격 평가액 */
+    long equity();
+
+    /** @param limit 0 이면 시장가. @return 주문 id, 거부되면 -1 */
+    long buy(int s, long qty, long limit);
+
+    long sell(int s, long qty, long limit);
+
+    boolean cancel(long orderId);
+}
@@ -0,0 +1,106 @@
+package top.tradesystem.krx.paper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 시뮬레이션 1개의 append-only journal (TSV, 단일 스레드).
+ *
+ * <pre>
+ * seq  basDd  ORDER   id  code  side  qty  price
+ * seq  basDd  FILL    id  code  side  qty  price  fee  position  cash
+ * seq  basDd  CANCEL  id  code  remaining  reason        (reason: USER | EXPIRE)
+ * seq  basDd  REJECT  -   code  side  qty  price  reason
+ * seq  basDd  EOD     cash  equity  realized  fees
+ * </pre>
+ * 줄 버퍼(StringBuilder)는 재사용, 파일은 닫을 때 한 번 flush.
+ */
+final class PaperJournal implements AutoCloseable {
+
+    private final Path file;
+    private final BufferedWriter out;
+    private final StringBuilder line = new StringBuilder(128);
+    private long seq;
+
+    PaperJournal(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.getParent());
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("paper journal open failed: " + file, e);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long entries() {
+        return seq;
+    }
+
+    void order(String day, long id, String code, byte side, long qty, long price) {
+        begin(day, "ORDER").append(id).append('\t').append(code).append('\t').append(side(side))
+                .append('\t').append(qty).append('\t').append(price);
+        end();
+    }
+
+    void fill(String day, long id, String code, byte side, long qty, long price, long fee, long position, long cash) {
+        begin(day, "FILL").append(id).append('\t').append(code).append('\t').append(side(side))
+                .append('\t').append(qty).append('\t').append(price).append('\t').append(fee)
+                .append('\t').append(position).append('\t').append(cash);
+        end();
+    }
+
+    void cancel(String day, long id, String code, long remaining, String reason) {
+        begin(day, "CANCEL").append(id).append('\t').append(code).append('\t').append(remaining)
+                .append('\t').append(reason);
+        end();
+    }
+
+    void reject(String day, String code, byte side, long qty, long price, String reason) {
+        begin(day, "REJECT").append('-').append('\t').append(code).append('\t').append(side(side))
+                .append('\t').append(qty).append('\t').append(price).append('\t').append(reason);
+        end();
+    }
+
+    void eod(String day, long cash, long equity, long realized, long fees) {
+        begin(day, "EOD").append(cash).append('\t').append(equity).append('\t').append(realized)
+                .append('\t').append(fees);
+        end();
+    }
+
+    private StringBuilder begin(String day, String type) {
+        line.setLength(0);
+        return line.append(++seq).append('\t').append(day).append('\t').append(type).append('\t');
+    }
+
+    private void end() {
+        line.append('\n');
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("paper journal write failed: " + file, e);
+        }
+    }
+
+    private static String side(byte side) {
+        return side == OrderPool.BUY ? "BUY" : "SELL";
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("paper journal close failed: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package top.tradesystem.krx.paper;
+
+import java.nio.file.Path;
+
+/**
+ * 시뮬레이션 1개 실행 (호출한 스레드 하나에서 끝까지).
+ *
+ * <p>하루는 종목별 OHLC 로 만든 장중 경로를 시간 순서대로 흘린다:
+ * 양봉은 시→저→고→종, 음봉은 시→고→저→종, 구간마다 pathSteps 개 tick 으로 선형 보간.
+ * tick t 를 전 종목에 돌린 뒤 t+1 로 넘어가므로 종목 간 현금 경쟁도 시간 순서를 따른다.
+ */
+final class PaperSimulation {
+
+    private PaperSimulation() {
+    }
+
+    record Outcome(
+            long finalEquity,
+            double returnPct,
+            double maxDrawdownPct,
+            long orders,
+            long fills,
+            long rejects,
+            long fees,
+            long realized,
+            long journalEntries
+    ) {}
+
+    static Outcome run(BarTape tape, PaperStrategy strategy, long initialCash, int poolSize, int steps,
+                       double participation, double commissionBps, double taxBps, Path journalFile) {
+        int n = tape.symbolCount();
+        int ticks = 3 * steps + 1;
+
+        try (PaperJournal journal = new PaperJournal(journalFile)) {
+            MatchingCore core = new MatchingCore(tape, poolSize, initialCash, participation, commissionBps, taxBps, journal);
+            core.attach(strategy);
+
+            long peak = initialCash;
+            double maxDd = 0;
+            long equity = initialCash;
+
+            core.beginDay(0);
+            strategy.onStart(core);
+            for (int d = 0; d < tape.dayCount(); d++) {
+                core.beginDay(d);
+                for (int t = 0; t < ticks; t++) {
+                    for (int s = 0; s < n; s++) {
+                        int i = tape.at(d, s);
+                        if (tape.close[i] <= 0) continue;
+                        core.onTick(s, pathPrice(tape, i, t, steps), tape.volume[i] / ticks, t == 0);
+                    }
+                }
+                core.expireAll();
+                equity = core.closeDay();
+                peak = Math.max(peak, equity);
+                if (peak > 0) maxDd = Math.max(maxDd, (peak - equity) / (double) peak);
+                strategy.onClose(core);
+            }
+            core.expireAll();
+
+            return new Outcome(
+                    equity,
+                    initialCash > 0 ? (equity - initialCash) * 100.0 / initialCash : 0,
+                    maxDd * 100.0,
+                    core.orders, core.fills, core.rejects,
+                    core.fees(), core.realized(), journal.entries()
+            );
+        }
+    }
+
+    static long pathPrice(BarTape tape, int i, int tick, int steps) {
+        long o = tape.open[i];
+        long c = tape.close[i];
+        boolean up = c >= o;
+        long a = up ? tape.low[i] : tape.high[i];
+        long b = up ? tape.high[i] : tape.low[i];
+
+        int seg = Math.min(tick / steps, 2);
+        int k = tick - seg * steps;
+        long from = seg == 0 ? o : seg == 1 ? a : b;
+        long to = seg == 0 ? a : seg == 1 ? b : c;
+        return from + Math.round((to - from) * (double) k / steps);
+    }
+}
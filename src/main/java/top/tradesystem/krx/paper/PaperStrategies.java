@@ -0,0 +1,38 @@
+package top.tradesystem.krx.paper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이름 + 파라미터 → 전략 인스턴스 (시뮬레이션마다 새로 만듦, 전략은 상태를 가짐).
+ */
+final class PaperStrategies {
+
+    static final List<String> NAMES = List.of("buy-and-hold", "ma-cross");
+
+    private PaperStrategies() {
+    }
+
+    static PaperStrategy create(String name, Map<String, String> params) {
+        Map<String, String> p = params == null ? Map.of() : params;
+        return switch (name == null ? "" : name) {
+            case "buy-and-hold" -> new BuyAndHoldStrategy();
+            case "ma-cross" -> new MovingAverageCrossStrategy(
+                    intParam(p, "fast", 5),
+                    intParam(p, "slow", 20),
+                    doubleParam(p, "weight", 0.1)
+            );
+            default -> throw new IllegalArgumentException("strategy must be one of " + NAMES + ": " + name);
+        };
+    }
+
+    private static int intParam(Map<String, String> p, String key, int dflt) {
+        String v = p.get(key);
+        return v == null || v.isBlank() ? dflt : Integer.parseInt(v.trim());
+    }
+
+    private static double doubleParam(Map<String, String> p, String key, double dflt) {
+        String v = p.get(key);
+        return v == null || v.isBlank() ? dflt : Double.parseDouble(v.trim());
+    }
+}
@@ -0,0 +1,20 @@
+package top.tradesystem.krx.paper;
+
+/**
+ * 모의매매 전략. 모든 callback 은 시뮬레이션 스레드 하나에서 순서대로 불린다.
+ * 주문은 {@link PaperContext} 로 내고, 당일 미체결 주문은 장 마감 때 만료된다.
+ */
+public interface PaperStrategy {
+
+    String name();
+
+    /** 첫 거래일 장 시작 전 */
+    default void onStart(PaperContext ctx) {
+    }
+
+    /** 하루 장 마감 뒤 (종가 확정) → 다음 거래일 주문을 냄 */
+    void onClose(PaperContext ctx);
+
+    default void onFill(PaperContext ctx, int symbol, boolean buy, long qty, long price) {
+    }
+}
@@ -0,0 +1,194 @@
+package top.tradesystem.krx.paper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxPaperProperties;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모의매매 실행기.
+ * - 구간 bar 는 요청당 한 번만 읽어 ({@link BarTape}) 모든 시뮬레이션이 공유
+ * - 시뮬레이션마다 독립된 매칭 코어/주문 풀/journal, 전용 parallel scheduler 에서 코어 수만큼 동시 실행
+ * - 결과는 최근 keepRuns 건을 메모리에, 체결 내역은 {journalDir}/{runId}/ 아래 journal 에
+ */
+@Service
+public class PaperTradingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaperTradingService.class);
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxPaperProperties props;
+    private final Scheduler simScheduler;
+    private final AtomicInteger runSeq = new AtomicInteger();
+    private final Map<String, RunResult> runs;
+
+    public PaperTradingService(KrxDailyPriceMapper priceMapper, KrxPaperProperties props) {
+        this.priceMapper = priceMapper;
+        this.props = props;
+        this.simScheduler = Schedulers.newParallel("paper-sim", props.threads(), true);
+        int keep = props.keepRuns();
+        this.runs = Collections.synchronizedMap(new LinkedHashMap<>(keep * 2, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RunResult> eldest) {
+                return size() > keep;
+            }
+        });
+    }
+
+    // =========================
+    // 1) 실행
+    // =========================
+    public Mono<RunResult> run(RunRequest req) {
+        if (req == null || req.from() == null || req.to() == null) {
+            return Mono.error(new IllegalArgumentException("from/to are required"));
+        }
+        if (req.to().compareTo(req.from()) < 0) return Mono.error(new IllegalArgumentException("to must be >= from"));
+        long span;
+        try {
+            span = ChronoUnit.DAYS.between(LocalDate.parse(req.from(), YYYYMMDD), LocalDate.parse(req.to(), YYYYMMDD)) + 1;
+        } catch (DateTimeParseException e) {
+            return Mono.error(new IllegalArgumentException("from/to must be yyyyMMdd", e));
+        }
+        if (span > props.maxDays()) {
+            return Mono.error(new IllegalArgumentException("range is " + span + " days, max " + props.maxDays()));
+        }
+        if (req.symbols() != null && req.symbols().size() > props.maxSymbols()) {
+            return Mono.error(new IllegalArgumentException("symbols must have at most " + props.maxSymbols() + " entries"));
+        }
+        List<StrategySpec> specs = req.strategies() == null ? List.of() : req.strategies();
+        if (specs.isEmpty() || specs.size() > props.maxSimulations()) {
+            return Mono.error(new IllegalArgumentException("strategies must have 1.." + props.maxSimulations() + " entries"));
+        }
+        try {
+            specs.forEach(s -> PaperStrategies.create(s.name(), s.params())); // 이름/파라미터 오류는 먼저
+        } catch (RuntimeException e) {
+            return Mono.error(new IllegalArgumentException(e.getMessage(), e));
+        }
+
+        long cash = req.initialCash() == null || req.initialCash() <= 0 ? props.initialCash() : req.initialCash();
+        String runId = LocalDateTime.now().format(RUN_ID) + "-" + runSeq.incrementAndGet();
+        Path dir = Path.of(props.journalDir()).toAbsolutePath().normalize().resolve(runId);
+        long t0 = System.nanoTime();
+
+        return Mono.fromCallable(() -> BarTape.load(
+                        priceMapper, req.from(), req.to(), req.symbols(), props.maxSymbols(), props.maxCells()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(tape -> {
+                    log.info("paper run {}: {} simulations over {}", runId, specs.size(), tape);
+                    return Flux.range(0, specs.size())
+                            .parallel(props.threads())
+                            .runOn(simScheduler)
+                            .map(i -> simulate(i, specs.get(i), tape, cash, dir))
+                            .sequential()
+                            .collectList()
+                            .map(list -> {
+                                List<SimResult> sorted = new ArrayList<>(list);
+                                sorted.sort(Comparator.comparingInt(SimResult::simId));
+                                return new RunResult(runId, req.from(), req.to(), tape.dayCount(), tape.symbolCount(),
+                                        cash, sorted, (System.nanoTime() - t0) / 1_000_000L);
+                            });
+                })
+                .doOnNext(r -> {
+                    runs.put(r.runId(), r);
+                    log.info("paper run {} finished: {} simulations, {}ms", r.runId(), r.simulations().size(), r.elapsedMs());
+                });
+    }
+
+    private SimResult simulate(int simId, StrategySpec spec, BarTape tape, long cash, Path dir) {
+        long t0 = System.nanoTime();
+        PaperStrategy strategy = PaperStrategies.create(spec.name(), spec.params());
+        Path journal = dir.resolve(String.format("%04d-%s.journal", simId, strategy.name()));
+        PaperSimulation.Outcome o = PaperSimulation.run(
+                tape, strategy, cash, props.orderPoolSize(), props.pathSteps(),
+                props.participation(), props.commissionBps(), props.taxBps(), journal);
+        return new SimResult(
+                simId, strategy.name(), spec.params() == null ? Map.of() : spec.params(),
+                o.finalEquity(), o.returnPct(), o.maxDrawdownPct(),
+                o.orders(), o.fills(), o.rejects(), o.fees(), o.realized(),
+                journal.toString(), o.journalEntries(), (System.nanoTime() - t0) / 1_000_000L
+        );
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    public RunResult find(String runId) {
+        return runs.get(runId);
+    }
+
+    public List<RunSummary> recent() {
+        synchronized (runs) {
+            return runs.values().stream()
+                    .map(r -> new RunSummary(r.runId(), r.from(), r.to(), r.simulations().size(), r.elapsedMs()))
+                    .toList();
+        }
+    }
+
+    public List<String> strategies() {
+        return PaperStrategies.NAMES;
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record StrategySpec(String name, Map<String, String> params) {}
+
+    public record RunRequest(
+            String from,
+            String to,
+            List<String> symbols,
+            Long initialCash,
+            List<StrategySpec> strategies
+    ) {}
+
+    public record SimResult(
+            int simId,
+            String strategy,
+            Map<String, String> params,
+            long finalEquity,
+            double returnPct,
+            double maxDrawdownPct,
+            long orders,
+            long fills,
+            long rejects,
+            long fees,
+            long realizedPnl,
+            String journal,
+            long journalEntries,
+            long elapsedMs
+    ) {}
+
+    public record RunResult(
+            String runId,
+            String from,
+            String to,
+            int days,
+            int symbols,
+            long initialCash,
+            List<SimResult> simulations,
+            long elapsedMs
+    ) {}
+
+    public record RunSummary(String runId, String from, String to, int simulations, long elapsedMs) {}
+}
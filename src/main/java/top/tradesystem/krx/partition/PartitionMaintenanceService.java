@@ -0,0 +1,265 @@
+package top.tradesystem.krx.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterMembership;
+import top.tradesystem.krx.config.KrxPartitionProperties;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxPartitionArchiveLogRow;
+import top.tradesystem.krx.dto.KrxPartitionRow;
+import top.tradesystem.krx.repository.KrxPartitionMapper;
+import top.tradesystem.krx.repository.KrxPartitionMapper.NewPartition;
+import top.tradesystem.krx.scheduler.JobLeaseService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * krx_daily_price / krx_daily_trade 파티션 유지보수.
+ * <ol>
+ *   <li>미래 파티션: pmax 를 쪼개서 오늘 + monthsAhead 달까지 월 파티션을 미리 만든다
+ *       (pmax 가 비어 있을 때 쪼개면 메타데이터 변경만으로 끝남)</li>
+ *   <li>archive: 상한이 cutoff(올해 1/1 - hotYears) 이하인 파티션을 월 단위로 archive 테이블에 복사 → 삭제 → DROP</li>
+ *   <li>straggler: 이미 archive 된 범위에 나중에 다시 적재된 row 도 같은 방식으로 옮김</li>
+ * </ol>
+ * DDL 은 lease 로 한 인스턴스만 실행 (스케줄 실행은 클러스터 leader 만 시도).
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[0-9a-z_]{1,30}");
+    private static final String LEASE = "partition-maintenance";
+    private static final String MIN_DD = "00000000";
+
+    private final KrxPartitionMapper mapper;
+    private final JobLeaseService leaseService;
+    private final KrxPartitionProperties props;
+    private final ClusterMembership cluster;
+    private final ZoneId zone;
+    private final TransactionTemplate tx;
+
+    public PartitionMaintenanceService(
+            KrxPartitionMapper mapper,
+            JobLeaseService leaseService,
+            KrxPartitionProperties props,
+            KrxSchedulerProperties schedulerProps,
+            PlatformTransactionManager txManager,
+            ClusterMembership cluster
+    ) {
+        this.mapper = mapper;
+        this.leaseService = leaseService;
+        this.props = props;
+        this.cluster = cluster;
+        this.zone = ZoneId.of(schedulerProps.zone());
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Scheduled(cron = "${krx.partition.cron:0 10 5 * * *}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void scheduled() {
+        if (!props.enabled() || !cluster.isLeader()) return;
+        maintain(props.archiveEnabled())
+                .subscribe(
+                        r -> log.info("partition maintenance done: created={}, archived={}", r.created(), r.archived()),
+                        e -> log.error("partition maintenance failed", e)
+                );
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public Mono<List<KrxPartitionRow>> partitions(PartitionedTable table) {
+        return blocking(() -> mapper.findPartitions(table.hot()));
+    }
+
+    public Mono<List<KrxPartitionArchiveLogRow>> archiveLog(PartitionedTable table, int limit) {
+        return blocking(() -> mapper.findArchiveLog(table == null ? null : table.hot(),
+                Math.max(1, Math.min(limit, 500))));
+    }
+
+    // =========================
+    // 2) 전체 유지보수 (lease)
+    // =========================
+    public Mono<MaintainResult> maintain(boolean archive) {
+        Duration ttl = Duration.ofSeconds(props.leaseSeconds());
+        return blocking(() -> {
+            JobLeaseService.Lease lease = leaseService.acquire(LEASE, ttl);
+            if (lease == null) {
+                log.info("partition maintenance skipped: lease held by another runner");
+                return new MaintainResult(false, List.of(), List.of());
+            }
+            try {
+                List<String> created = new ArrayList<>();
+                List<ArchiveResult> archived = new ArrayList<>();
+                for (PartitionedTable t : PartitionedTable.values()) {
+                    created.addAll(ensureFutureBlocking(t));
+                    if (archive) archived.add(archiveBlocking(t, false));
+                }
+                return new MaintainResult(true, created, archived);
+            } finally {
+                leaseService.release(lease);
+            }
+        });
+    }
+
+    // =========================
+    // 3) 미래 파티션
+    // =========================
+    public Mono<List<String>> ensureFuture(PartitionedTable table) {
+        return blocking(() -> ensureFutureBlocking(table));
+    }
+
+    private List<String> ensureFutureBlocking(PartitionedTable t) {
+        List<KrxPartitionRow> parts = mapper.findPartitions(t.hot());
+        if (parts.isEmpty() || parts.stream().noneMatch(KrxPartitionRow::maxValue)) {
+            log.warn("{} is not RANGE partitioned with pmax (db/krx_daily.sql), skip", t.hot());
+            return List.of();
+        }
+        String lastBound = parts.stream()
+                .filter(p -> !p.maxValue())
+                .map(KrxPartitionRow::lessThan)
+                .max(String::compareTo)
+                .orElse(null);
+        if (lastBound == null) return List.of();
+
+        // lastBound 는 다음 파티션의 시작일 → 그 달부터 until 달까지 월 파티션
+        YearMonth next = YearMonth.parse(lastBound.substring(0, 6), YYYYMM);
+        YearMonth until = YearMonth.now(zone).plusMonths(props.monthsAhead());
+        List<NewPartition> adds = new ArrayList<>();
+        for (YearMonth m = next; !m.isAfter(until); m = m.plusMonths(1)) {
+            adds.add(new NewPartition("p" + m.format(YYYYMM), m.plusMonths(1).atDay(1).format(YYYYMMDD)));
+        }
+        if (adds.isEmpty()) return List.of();
+
+        mapper.splitMaxPartition(t.hot(), adds);
+        List<String> names = adds.stream().map(p -> t.hot() + "." + p.name()).toList();
+        log.info("partitions created: {}", names);
+        return names;
+    }
+
+    // =========================
+    // 4) archive 이관
+    //    - dryRun 이면 대상 파티션만 계산
+    // =========================
+    public Mono<ArchiveResult> archive(PartitionedTable table, boolean dryRun) {
+        Duration ttl = Duration.ofSeconds(props.leaseSeconds());
+        return blocking(() -> {
+            if (dryRun) return archiveBlocking(table, true);
+            JobLeaseService.Lease lease = leaseService.acquire(LEASE, ttl);
+            if (lease == null) {
+                throw new IllegalStateException("partition maintenance is running on " + LEASE + " lease holder");
+            }
+            try {
+                return archiveBlocking(table, false);
+            } finally {
+                leaseService.release(lease);
+            }
+        });
+    }
+
+    private ArchiveResult archiveBlocking(PartitionedTable t, boolean dryRun) {
+        String cutoff = LocalDate.now(zone).withDayOfYear(1).minusYears(props.hotYears()).format(YYYYMMDD);
+        List<String> done = new ArrayList<>();
+        long moved = 0;
+
+        for (KrxPartitionRow p : mapper.findPartitions(t.hot())) {
+            // 파티션은 상한 순서. MAXVALUE 나 cutoff 이후 파티션이 나오면 끝
+            if (p.maxValue() || p.lessThan().compareTo(cutoff) > 0) break;
+            if (!PARTITION_NAME.matcher(p.partitionName()).matches()) {
+                throw new IllegalStateException("unexpected partition name: " + p.partitionName());
+            }
+            done.add(p.partitionName());
+            if (dryRun) continue;
+
+            // 앞쪽 파티션이 DROP 되면 그 범위는 이 파티션으로 들어오므로 하한은 항상 처음부터
+            long n = moveRange(t, MIN_DD, p.lessThan());
+            // 옮기는 사이 같은 범위에 새로 적재됐으면 DROP 하지 않음 (DROP 은 row 를 지움) → 다음 실행에서 다시
+            if (mapper.countRange(t.hot(), MIN_DD, p.lessThan()) > 0) {
+                log.warn("{} partition {} got new rows while archiving, drop deferred", t.hot(), p.partitionName());
+                moved += n;
+                break;
+            }
+            mapper.dropPartition(t.hot(), p.partitionName());
+            mapper.insertArchiveLog(new KrxPartitionArchiveLogRow(
+                    t.hot(), p.partitionName(), MIN_DD, p.lessThan(), n, LocalDateTime.now(zone)));
+            moved += n;
+            log.info("{} partition {} archived: {} rows", t.hot(), p.partitionName(), n);
+        }
+
+        if (!dryRun) {
+            String archivedBefore = mapper.findArchivedBefore(t.hot());
+            if (archivedBefore != null) {
+                long n = moveRange(t, MIN_DD, archivedBefore);
+                if (n > 0) log.info("{} stragglers < {} archived: {} rows", t.hot(), archivedBefore, n);
+                moved += n;
+            }
+        }
+        return new ArchiveResult(t.hot(), cutoff, dryRun, done, moved);
+    }
+
+    /** [from, to) 를 한 달씩 (복사 → 건수 확인 → 삭제) 트랜잭션으로 */
+    private long moveRange(PartitionedTable t, String from, String to) {
+        String min = mapper.findMinBasDd(t.hot(), to);
+        if (min == null) return 0;
+        String start = min.compareTo(from) > 0 ? min : from;
+
+        long moved = 0;
+        YearMonth m = YearMonth.parse(start.substring(0, 6), YYYYMM);
+        while (true) {
+            String lo = m.atDay(1).format(YYYYMMDD);
+            if (lo.compareTo(to) >= 0) break;
+            String hiMonth = m.plusMonths(1).atDay(1).format(YYYYMMDD);
+            String hi = hiMonth.compareTo(to) < 0 ? hiMonth : to;
+
+            Long n = tx.execute(status -> {
+                long hot = mapper.countRange(t.hot(), lo, hi);
+                if (hot == 0) return 0L;
+                mapper.copyRange(t.hot(), t.archive(), lo, hi);
+                long copied = mapper.countRange(t.archive(), lo, hi);
+                if (copied < hot) {
+                    throw new IllegalStateException(t.archive() + " copy mismatch [" + lo + ", " + hi + "): "
+                            + copied + " < " + hot);
+                }
+                mapper.deleteRange(t.hot(), lo, hi);
+                return hot;
+            });
+            moved += n == null ? 0 : n;
+            m = m.plusMonths(1);
+        }
+        return moved;
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> c) {
+        return Mono.fromCallable(c).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record MaintainResult(boolean leaseAcquired, List<String> created, List<ArchiveResult> archived) {}
+
+    public record ArchiveResult(
+            String table,
+            String cutoff,
+            boolean dryRun,
+            List<String> partitions,
+            long movedRows
+    ) {}
+}
@@ -0,0 +1,37 @@
+package top.tradesystem.krx.partition;
+
+import java.util.Locale;
+
+/**
+ * bas_dd RANGE 분할 테이블과 그 archive 테이블 (db/krx_daily.sql).
+ * DDL 에 이름이 그대로 들어가므로 여기 있는 것만 허용.
+ */
+public enum PartitionedTable {
+    DAILY_PRICE("krx_daily_price", "krx_daily_price_archive"),
+    DAILY_TRADE("krx_daily_trade", "krx_daily_trade_archive");
+
+    private final String hot;
+    private final String archive;
+
+    PartitionedTable(String hot, String archive) {
+        this.hot = hot;
+        this.archive = archive;
+    }
+
+    public String hot() {
+        return hot;
+    }
+
+    public String archive() {
+        return archive;
+    }
+
+    /** PRICE | TRADE | krx_daily_price 등 */
+    public static PartitionedTable parse(String s) {
+        String v = s == null ? "" : s.trim().toUpperCase(Locale.ROOT);
+        for (PartitionedTable t : values()) {
+            if (t.name().equals(v) || t.name().equals("DAILY_" + v) || t.hot.equalsIgnoreCase(v)) return t;
+        }
+        throw new IllegalArgumentException("table must be PRICE|TRADE");
+    }
+}
@@ -0,0 +1,68 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * krx_ticker_master 대비 종목코드 연속성.
+ * - 그 날 이미 상장돼 있던 종목이 빠짐 → WARN, 누락 비율이 기준을 넘으면 일자 단위 ERROR
+ * - 마스터에 없는 종목 → WARN (마스터는 현재 상장 기준이라 과거 일자의 폐지 종목은 여기 걸린다)
+ * 마스터가 비어 있으면 건너뜀.
+ */
+@Component
+class CodeContinuityCheck implements QualityCheck {
+
+    static final String ID = "CODE_CONTINUITY";
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean needsFullUniverse() {
+        return true;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        if (ctx.master().isEmpty()) return List.of();
+        LocalDate day = LocalDate.parse(ctx.basDd(), YYYYMMDD);
+
+        Set<String> present = new HashSet<>(ctx.rows().size() * 2);
+        for (KrxDailyPriceRow r : ctx.rows()) present.add(r.isuCd());
+
+        List<QualityIssue> out = new ArrayList<>();
+        int listed = 0;
+        int missing = 0;
+        for (KrxTickerMasterRow m : ctx.master().values()) {
+            if (m.getListDate() != null && m.getListDate().isAfter(day)) continue;
+            listed++;
+            if (!present.contains(m.getCode())) {
+                missing++;
+                out.add(QualityIssue.row(ID, Severity.WARN, m.getCode(), "상장 종목 누락: " + m.getNameKrAbbr()));
+            }
+        }
+        for (KrxDailyPriceRow r : ctx.rows()) {
+            if (!ctx.master().containsKey(r.isuCd())) {
+                out.add(QualityIssue.row(ID, Severity.WARN, r.isuCd(), "마스터에 없는 종목: " + r.isuNm()));
+            }
+        }
+
+        if (listed > 0 && (double) missing / listed > ctx.props().missingCodeErrorRatio()) {
+            out.add(QualityIssue.day(ID, Severity.ERROR,
+                    String.format("상장 종목 %d 중 %d 누락", listed, missing)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,260 @@
+package top.tradesystem.krx.quality;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxQualityProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxQualityIssueRow;
+import top.tradesystem.krx.dto.KrxQualityRunRow;
+import top.tradesystem.krx.dto.KrxQuarantineRow;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+import top.tradesystem.krx.repository.KrxQualityMapper;
+import top.tradesystem.krx.repository.KrxTickerMasterMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * upsert 직전 품질 검증.
+ * - check 들은 batch(일자/시장) 단위로 Schedulers.parallel 에서 동시에 실행
+ * - 결과는 krx_quality_run / krx_quality_issue 에 저장하고 Micrometer 지표로 남김
+ * - 일자 단위 ERROR 가 있거나 종목 ERROR 가 기준을 넘으면 격리 → 호출부는 upsert 하지 않는다.
+ *   격리할 때 응답 원본도 같이 보관 (release 가 그대로 저장)
+ * - PARTIAL (실시간 잠정치처럼 일부 종목만): 전 종목을 가정하는 check 는 제외
+ */
+@Service
+public class DataQualityValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataQualityValidator.class);
+
+    public static final String PRICE = "PRICE";
+    public static final String TRADE = "TRADE";
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int PREV_DAY_LOOKBACK_DAYS = 31;
+
+    private final List<QualityCheck> checks;
+    private final KrxQualityMapper mapper;
+    private final KrxTickerMasterMapper tickerMasterMapper;
+    private final KrxQualityProperties props;
+    private final MeterRegistry meters;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+
+    public DataQualityValidator(
+            List<QualityCheck> checks,
+            KrxQualityMapper mapper,
+            KrxTickerMasterMapper tickerMasterMapper,
+            KrxQualityProperties props,
+            MeterRegistry meters,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager txManager
+    ) {
+        this.checks = List.copyOf(checks);
+        this.mapper = mapper;
+        this.tickerMasterMapper = tickerMasterMapper;
+        this.props = props;
+        this.meters = meters;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    // =========================
+    // 1) 검증
+    //    - 비활성 / NONE 이거나 row 가 없으면(휴장일) 통과
+    // =========================
+    public Mono<QualityReport> validate(
+            String dataset,
+            String basDd,
+            String market,
+            List<? extends Map<String, ?>> raw,
+            List<KrxDailyPriceRow> rows
+    ) {
+        return validate(dataset, basDd, market, raw, rows, ValidationMode.FULL);
+    }
+
+    public Mono<QualityReport> validate(
+            String dataset,
+            String basDd,
+            String market,
+            List<? extends Map<String, ?>> raw,
+            List<KrxDailyPriceRow> rows,
+            ValidationMode mode
+    ) {
+        if (!props.enabled() || mode == ValidationMode.NONE || rows.isEmpty()) {
+            return Mono.just(QualityReport.passed(dataset, basDd, market, rows.size()));
+        }
+        List<QualityCheck> selected = mode == ValidationMode.PARTIAL
+                ? checks.stream().filter(c -> !c.needsFullUniverse()).toList()
+                : checks;
+        long t0 = System.nanoTime();
+
+        return Mono.fromCallable(() -> context(dataset, basDd, market, raw, rows))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(ctx -> Flux.fromIterable(selected)
+                        .parallel(selected.size())
+                        .runOn(Schedulers.parallel())
+                        .map(c -> runCheck(c, ctx))
+                        .sequential()
+                        .collectList())
+                .map(perCheck -> report(dataset, basDd, market, rows.size(), perCheck))
+                .flatMap(report -> Mono.fromCallable(() -> persist(report, raw, elapsedMs(t0)))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .doOnNext(report -> record(report, t0));
+    }
+
+    private QualityContext context(
+            String dataset,
+            String basDd,
+            String market,
+            List<? extends Map<String, ?>> raw,
+            List<KrxDailyPriceRow> rows
+    ) {
+        Map<String, KrxTickerMasterRow> master = new HashMap<>();
+        for (KrxTickerMasterRow m : tickerMasterMapper.findByMarket(market)) master.put(m.getCode(), m);
+
+        // 연휴가 길어도 한 달 안에는 직전 거래일이 있음 (범위를 줘야 파티션 pruning)
+        String lookbackFrom = LocalDate.parse(basDd, YYYYMMDD).minusDays(PREV_DAY_LOOKBACK_DAYS).format(YYYYMMDD);
+        Integer prev = mapper.countPrevTradingDay(dataset, basDd, market, lookbackFrom);
+        return new QualityContext(dataset, basDd, market, raw, rows, prev, master, props);
+    }
+
+    // check 하나가 터져도 나머지 결과는 살리고, 그 check 는 일자 단위 WARN 으로 남김
+    private static List<QualityIssue> runCheck(QualityCheck c, QualityContext ctx) {
+        try {
+            return c.check(ctx);
+        } catch (RuntimeException e) {
+            log.warn("quality check {} failed: {} {}", c.id(), ctx.basDd(), ctx.market(), e);
+            return List.of(QualityIssue.day(c.id(), Severity.WARN, "check 실행 실패: " + e.getMessage()));
+        }
+    }
+
+    private QualityReport report(String dataset, String basDd, String market, int rowCount,
+                                 List<List<QualityIssue>> perCheck) {
+        List<QualityIssue> issues = perCheck.stream().flatMap(List::stream).toList();
+
+        int errors = 0;
+        int warns = 0;
+        Set<String> errorCodes = new HashSet<>();
+        List<String> dayErrors = new ArrayList<>();
+        for (QualityIssue i : issues) {
+            if (i.severity() == Severity.WARN) {
+                warns++;
+                continue;
+            }
+            errors++;
+            if (i.dayLevel()) dayErrors.add(i.checkId() + ": " + i.message());
+            else errorCodes.add(i.isuCd());
+        }
+
+        int allowed = Math.max(props.minErrorsToQuarantine(), (int) Math.floor(rowCount * props.maxErrorRatio()));
+        String reason = null;
+        if (!dayErrors.isEmpty()) {
+            reason = String.join("; ", dayErrors);
+        } else if (errorCodes.size() > allowed) {
+            reason = "종목 ERROR " + errorCodes.size() + "건 (허용 " + allowed + ")";
+        }
+        return new QualityReport(dataset, basDd, market, rowCount, errors, warns, reason != null, reason, issues);
+    }
+
+    // =========================
+    // 2) 저장 / 지표
+    // =========================
+    private QualityReport persist(QualityReport r, List<? extends Map<String, ?>> raw, long elapsedMs) {
+        LocalDateTime now = LocalDateTime.now();
+        byte[] payload = r.quarantined() ? QuarantinePayload.encode(objectMapper, raw) : null;
+
+        // 이슈 상세는 check 별 상한까지만 (전 종목 누락 같은 날 수천 건이 쌓이지 않게)
+        Map<String, Integer> taken = new HashMap<>();
+        List<KrxQualityIssueRow> rows = new ArrayList<>();
+        for (QualityIssue i : r.issues()) {
+            if (taken.merge(i.checkId(), 1, Integer::sum) > props.maxIssuesPerCheck()) continue;
+            rows.add(new KrxQualityIssueRow(r.basDd(), r.market(), r.dataset(), i.checkId(), i.severity().name(),
+                    i.isuCd(), truncate(i.message())));
+        }
+
+        tx.executeWithoutResult(status -> {
+            mapper.upsertRun(new KrxQualityRunRow(r.basDd(), r.market(), r.dataset(), r.rowCount(),
+                    r.errorCount(), r.warnCount(), r.quarantined(), elapsedMs, now));
+            mapper.deleteIssues(r.basDd(), r.market(), r.dataset());
+            if (!rows.isEmpty()) mapper.insertIssues(rows);
+            if (r.quarantined()) {
+                mapper.upsertQuarantine(new KrxQuarantineRow(r.basDd(), r.market(), r.dataset(),
+                        truncate(r.reason()), QuarantineService.PENDING, now, null), payload);
+            }
+        });
+        return r;
+    }
+
+    private void record(QualityReport r, long t0) {
+        Timer.builder("krx.quality.validate")
+                .tag("dataset", r.dataset())
+                .register(meters)
+                .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+
+        Map<String, Long> counts = r.issues().stream()
+                .collect(Collectors.groupingBy(i -> i.checkId() + "|" + i.severity(), Collectors.counting()));
+        counts.forEach((k, n) -> {
+            String[] p = k.split("\\|");
+            meters.counter("krx.quality.issues", "check", p[0], "severity", p[1], "dataset", r.dataset())
+                    .increment(n);
+        });
+
+        if (r.quarantined()) {
+            meters.counter("krx.quality.quarantined", "dataset", r.dataset(), "market", r.market()).increment();
+            log.warn("KRX {} {} {} quarantined: {}", r.dataset(), r.basDd(), r.market(), r.reason());
+        } else if (r.errorCount() > 0 || r.warnCount() > 0) {
+            log.info("KRX {} {} {} quality: errors={}, warns={}",
+                    r.dataset(), r.basDd(), r.market(), r.errorCount(), r.warnCount());
+        }
+    }
+
+    private static long elapsedMs(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000L;
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= 500 ? s : s.substring(0, 500);
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record QualityReport(
+            String dataset,
+            String basDd,
+            String market,
+            int rowCount,
+            int errorCount,
+            int warnCount,
+            boolean quarantined,
+            String reason,
+            List<QualityIssue> issues
+    ) {
+        static QualityReport passed(String dataset, String basDd, String market, int rowCount) {
+            return new QualityReport(dataset, basDd, market, rowCount, 0, 0, false, null, List.of());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시가/고가/저가/종가 정합성: 저가 ≤ 시가,종가 ≤ 고가.
+ * 거래가 없는 종목(거래정지 등)은 KRX 가 OHLC 를 0 으로 주므로 거래량 > 0 인 row 만 본다.
+ */
+@Component
+class OhlcConsistencyCheck implements QualityCheck {
+
+    static final String ID = "OHLC";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        List<QualityIssue> out = new ArrayList<>();
+        for (KrxDailyPriceRow r : ctx.rows()) {
+            if (r.accTrdvol() == null || r.accTrdvol() <= 0) continue;
+
+            BigDecimal o = r.tddOpnprc(), h = r.tddHgprc(), l = r.tddLwprc(), c = r.tddClsprc();
+            if (o == null || h == null || l == null || c == null) {
+                out.add(QualityIssue.row(ID, Severity.ERROR, r.isuCd(), "거래량이 있는데 OHLC 누락"));
+                continue;
+            }
+            if (l.signum() <= 0 || h.compareTo(l) < 0
+                    || o.compareTo(l) < 0 || o.compareTo(h) > 0
+                    || c.compareTo(l) < 0 || c.compareTo(h) > 0) {
+                out.add(QualityIssue.row(ID, Severity.ERROR, r.isuCd(),
+                        "OHLC 불일치 o=" + o + " h=" + h + " l=" + l + " c=" + c));
+            }
+        }
+        return out;
+    }
+}
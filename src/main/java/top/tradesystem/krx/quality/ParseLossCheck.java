@@ -0,0 +1,60 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 원본에는 값이 있는데 숫자로 못 읽은 필드 (포맷 변경, 깨진 응답).
+ * 파싱 단계는 조용히 null 로 넘기므로 여기서 잡지 않으면 빈 값으로 upsert 된다.
+ */
+@Component
+class ParseLossCheck implements QualityCheck {
+
+    static final String ID = "PARSE_LOSS";
+
+    private static final List<String> NUMERIC_KEYS = List.of(
+            "TDD_CLSPRC", "CMPPREVDD_PRC", "FLUC_RT", "TDD_OPNPRC", "TDD_HGPRC", "TDD_LWPRC",
+            "ACC_TRDVOL", "ACC_TRDVAL", "MKTCAP", "LIST_SHRS"
+    );
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        List<QualityIssue> out = new ArrayList<>();
+        for (Map<String, ?> m : ctx.raw()) {
+            Object code = m.get("ISU_CD");
+            String isuCd = code == null ? null : String.valueOf(code).trim();
+            if (isuCd == null || isuCd.isEmpty()) {
+                out.add(QualityIssue.row(ID, Severity.ERROR, "?", "ISU_CD 없음: " + m.get("ISU_NM")));
+                continue;
+            }
+            for (String k : NUMERIC_KEYS) {
+                Object v = m.get(k);
+                if (v != null && !parses(String.valueOf(v))) {
+                    out.add(QualityIssue.row(ID, Severity.ERROR, isuCd, k + " 파싱 실패: '" + v + "'"));
+                }
+            }
+        }
+        return out;
+    }
+
+    // KrxDailyPriceRow.dec 와 같은 규칙: 공백/'-' 는 "값 없음" 이라 손실 아님
+    private static boolean parses(String s) {
+        String t = s.trim();
+        if (t.isEmpty() || "-".equals(t)) return true;
+        try {
+            new BigDecimal(t.replace(",", ""));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 가격제한폭: |등락률| ≤ 30% (2015-06-15 이전은 15%).
+ * 신규 상장일은 기준가가 공모가라 제한폭을 벗어날 수 있으므로 제외.
+ */
+@Component
+class PriceLimitCheck implements QualityCheck {
+
+    static final String ID = "PRICE_LIMIT";
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String LIMIT_WIDENED_ON = "20150615";
+    private static final double LEGACY_LIMIT_PCT = 15.0;
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        double limit = ctx.basDd().compareTo(LIMIT_WIDENED_ON) < 0 ? LEGACY_LIMIT_PCT : ctx.props().priceLimitPct();
+        double bound = limit + ctx.props().priceLimitTolerancePct();
+        LocalDate day = LocalDate.parse(ctx.basDd(), YYYYMMDD);
+
+        List<QualityIssue> out = new ArrayList<>();
+        for (KrxDailyPriceRow r : ctx.rows()) {
+            if (r.flucRt() == null) continue;
+            double rt = Math.abs(r.flucRt().doubleValue());
+            if (rt <= bound) continue;
+
+            KrxTickerMasterRow m = ctx.master().get(r.isuCd());
+            if (m != null && day.equals(m.getListDate())) continue;
+
+            out.add(QualityIssue.row(ID, Severity.ERROR, r.isuCd(),
+                    "등락률 " + r.flucRt() + "% 가 제한폭 ±" + limit + "% 초과"));
+        }
+        return out;
+    }
+}
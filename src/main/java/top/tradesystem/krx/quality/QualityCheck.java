@@ -0,0 +1,19 @@
+package top.tradesystem.krx.quality;
+
+import java.util.List;
+
+/**
+ * 일자/시장 batch 하나에 대한 검증 규칙.
+ * 구현체는 @Component 로 등록하면 {@link DataQualityValidator} 가 모아서 병렬 실행한다 (상태 없이, thread-safe 하게).
+ */
+public interface QualityCheck {
+
+    String id();
+
+    List<QualityIssue> check(QualityContext ctx);
+
+    /** 그 날 전 종목이 다 들어왔다고 가정하는 check (row 수, 종목 연속성). {@link ValidationMode#PARTIAL} 에서는 건너뜀 */
+    default boolean needsFullUniverse() {
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package top.tradesystem.krx.quality;
+
+import top.tradesystem.krx.config.KrxQualityProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검증 입력 (check 들이 공유, 읽기 전용).
+ *
+ * @param dataset      PRICE | TRADE
+ * @param raw          KRX 응답 row 원본 (파싱 손실 확인용)
+ * @param rows         raw 를 숫자로 파싱한 결과 (TRADE 도 같은 모양으로 변환해서 넘김)
+ * @param prevDayCount 직전 거래일 row 수 (이력이 없으면 null)
+ * @param master       krx_ticker_master 의 해당 시장 종목 (code → row)
+ */
+public record QualityContext(
+        String dataset,
+        String basDd,
+        String market,
+        List<? extends Map<String, ?>> raw,
+        List<KrxDailyPriceRow> rows,
+        Integer prevDayCount,
+        Map<String, KrxTickerMasterRow> master,
+        KrxQualityProperties props
+) {}
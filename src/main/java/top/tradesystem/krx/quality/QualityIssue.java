@@ -0,0 +1,21 @@
+package top.tradesystem.krx.quality;
+
+/**
+ * 검증 이슈 1건.
+ *
+ * @param isuCd null 이면 일자 단위 이슈 (row 수 급변, 대량 누락 등)
+ */
+public record QualityIssue(String checkId, Severity severity, String isuCd, String message) {
+
+    static QualityIssue row(String checkId, Severity severity, String isuCd, String message) {
+        return new QualityIssue(checkId, severity, isuCd, message);
+    }
+
+    static QualityIssue day(String checkId, Severity severity, String message) {
+        return new QualityIssue(checkId, severity, null, message);
+    }
+
+    public boolean dayLevel() {
+        return isuCd == null;
+    }
+}
@@ -0,0 +1,43 @@
+package top.tradesystem.krx.quality;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 격리된 응답 원본 (krx_quality_quarantine.payload): row 목록 JSON 을 gzip.
+ * release 는 재수집하지 않고 이 원본을 그대로 저장한다.
+ */
+final class QuarantinePayload {
+
+    private QuarantinePayload() {}
+
+    static byte[] encode(ObjectMapper objectMapper, List<? extends Map<String, ?>> raw) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("quarantine payload encode failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static <V> List<Map<String, V>> decode(ObjectMapper objectMapper, byte[] payload,
+                                           TypeReference<List<Map<String, V>>> type) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("quarantine payload decode failed", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package top.tradesystem.krx.quality;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.dto.KrxQualityIssueRow;
+import top.tradesystem.krx.dto.KrxQualityRunRow;
+import top.tradesystem.krx.dto.KrxQuarantineRow;
+import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.repository.KrxQualityMapper;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.service.KrxDailyTradeService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 격리된 일자 처리.
+ * - release: 격리 때 보관한 응답 원본을 검증 없이 저장 (사람이 확인하고 통과시킨 경우, 재수집하지 않음)
+ * - discard: 저장하지 않고 종료
+ */
+@Service
+public class QuarantineService {
+
+    static final String PENDING = "PENDING";
+    static final String RELEASED = "RELEASED";
+    static final String DISCARDED = "DISCARDED";
+
+    private static final TypeReference<List<Map<String, String>>> PRICE_ROWS = new TypeReference<>() {};
+    private static final TypeReference<List<Map<String, Object>>> TRADE_ROWS = new TypeReference<>() {};
+
+    private final KrxQualityMapper mapper;
+    private final KrxDailyPriceService dailyPriceService;
+    private final KrxDailyTradeService dailyTradeService;
+    private final ObjectMapper objectMapper;
+
+    public QuarantineService(
+            KrxQualityMapper mapper,
+            KrxDailyPriceService dailyPriceService,
+            KrxDailyTradeService dailyTradeService,
+            ObjectMapper objectMapper
+    ) {
+        this.mapper = mapper;
+        this.dailyPriceService = dailyPriceService;
+        this.dailyTradeService = dailyTradeService;
+        this.objectMapper = objectMapper;
+    }
+
+    // =========================
+    // 1) 조회
+    // =========================
+    public Mono<List<KrxQuarantineRow>> list(String status) {
+        String s = (status == null || status.isBlank()) ? null : status.toUpperCase(Locale.ROOT);
+        return Mono.fromCallable(() -> mapper.findQuarantines(s))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxQualityRunRow>> recentRuns(int limit) {
+        return Mono.fromCallable(() -> mapper.findRecentRuns(Math.max(1, Math.min(limit, 1000))))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxQualityIssueRow>> issues(String basDd, String market, String dataset) {
+        return Mono.fromCallable(() -> mapper.findIssues(basDd, market.toUpperCase(Locale.ROOT),
+                        dataset.toUpperCase(Locale.ROOT)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // 2) 해제 / 폐기
+    // =========================
+    public Mono<ResolveResult> release(String basDd, String market, String dataset) {
+        Market m = Market.valueOf(market.toUpperCase(Locale.ROOT));
+        String ds = dataset.toUpperCase(Locale.ROOT);
+
+        if (!DataQualityValidator.PRICE.equals(ds) && !DataQualityValidator.TRADE.equals(ds)) {
+            return Mono.error(new IllegalArgumentException("dataset must be PRICE|TRADE"));
+        }
+
+        Mono<byte[]> payload = Mono.fromCallable(() -> mapper.findPendingPayload(basDd, m.name(), ds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                        "격리 원본이 없습니다 (PENDING 아님 또는 원본 보관 전 격리): " + basDd + " " + m + " " + ds)));
+
+        Mono<Integer> saved = payload.flatMap(p -> DataQualityValidator.PRICE.equals(ds)
+                ? dailyPriceService.saveApiRows(basDd, m, QuarantinePayload.decode(objectMapper, p, PRICE_ROWS),
+                                ValidationMode.NONE)
+                        .map(KrxDailyPriceService.SyncResult::saved)
+                : dailyTradeService.saveApiRows(basDd, m, QuarantinePayload.decode(objectMapper, p, TRADE_ROWS),
+                                ValidationMode.NONE)
+                        .map(KrxDailyTradeService.SyncResult::saved));
+
+        return saved.flatMap(n -> resolve(basDd, m.name(), ds, RELEASED)
+                .map(updated -> new ResolveResult(basDd, m.name(), ds, RELEASED, updated > 0, n)));
+    }
+
+    public Mono<ResolveResult> discard(String basDd, String market, String dataset) {
+        String m = market.toUpperCase(Locale.ROOT);
+        String ds = dataset.toUpperCase(Locale.ROOT);
+        return resolve(basDd, m, ds, DISCARDED)
+                .map(updated -> new ResolveResult(basDd, m, ds, DISCARDED, updated > 0, 0));
+    }
+
+    private Mono<Integer> resolve(String basDd, String market, String dataset, String status) {
+        return Mono.fromCallable(() -> mapper.resolveQuarantine(basDd, market, dataset, status, LocalDateTime.now()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record ResolveResult(
+            String basDd,
+            String market,
+            String dataset,
+            String status,
+            boolean wasPending,
+            int saved
+    ) {}
+}
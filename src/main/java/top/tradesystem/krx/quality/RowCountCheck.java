@@ -0,0 +1,38 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 직전 거래일 대비 row 수 변화. 상장/폐지로 하루에 수 % 이상 바뀌는 일은 드물다.
+ */
+@Component
+class RowCountCheck implements QualityCheck {
+
+    static final String ID = "ROW_COUNT";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean needsFullUniverse() {
+        return true;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        Integer prev = ctx.prevDayCount();
+        if (prev == null || prev == 0) return List.of();
+
+        int n = ctx.rows().size();
+        double pct = Math.abs(n - prev) * 100.0 / prev;
+        String msg = String.format("row 수 %d (직전 거래일 %d, %.1f%% 변화)", n, prev, pct);
+
+        if (pct > ctx.props().rowCountErrorPct()) return List.of(QualityIssue.day(ID, Severity.ERROR, msg));
+        if (pct > ctx.props().rowCountWarnPct()) return List.of(QualityIssue.day(ID, Severity.WARN, msg));
+        return List.of();
+    }
+}
@@ -0,0 +1,6 @@
+package top.tradesystem.krx.quality;
+
+public enum Severity {
+    WARN,
+    ERROR
+}
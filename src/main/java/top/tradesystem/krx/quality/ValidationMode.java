@@ -0,0 +1,16 @@
+package top.tradesystem.krx.quality;
+
+/**
+ * 저장 전 검증 범위.
+ */
+public enum ValidationMode {
+
+    /** 하루치 전 종목 응답 (API / archive replay): 모든 check */
+    FULL,
+
+    /** 일부 종목만 있는 잠정치 (실시간 EOD 병합): 전 종목을 가정하는 check({@link QualityCheck#needsFullUniverse}) 제외 */
+    PARTIAL,
+
+    /** 검증 없음 (격리 해제처럼 사람이 확인한 데이터) */
+    NONE
+}
@@ -0,0 +1,51 @@
+package top.tradesystem.krx.quality;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래량/거래대금 비율.
+ * - 한쪽만 0 이면 ERROR
+ * - 평균 체결가(대금/거래량)가 저가~고가 밖이면 WARN (시간외 대량매매가 섞이면 조금 벗어날 수 있음)
+ */
+@Component
+class VolumeValueCheck implements QualityCheck {
+
+    static final String ID = "VOLUME_VALUE";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public List<QualityIssue> check(QualityContext ctx) {
+        double tol = ctx.props().avgPriceTolerancePct() / 100.0;
+
+        List<QualityIssue> out = new ArrayList<>();
+        for (KrxDailyPriceRow r : ctx.rows()) {
+            if (r.accTrdvol() == null || r.accTrdval() == null) continue;
+            long vol = r.accTrdvol();
+            double val = r.accTrdval().doubleValue();
+
+            if ((vol > 0) != (val > 0)) {
+                out.add(QualityIssue.row(ID, Severity.ERROR, r.isuCd(),
+                        "거래량/거래대금 불일치 vol=" + vol + " val=" + r.accTrdval()));
+                continue;
+            }
+            if (vol == 0 || r.tddHgprc() == null || r.tddLwprc() == null || r.tddLwprc().signum() <= 0) continue;
+
+            double avg = val / vol;
+            double lo = r.tddLwprc().doubleValue() * (1 - tol);
+            double hi = r.tddHgprc().doubleValue() * (1 + tol);
+            if (avg < lo || avg > hi) {
+                out.add(QualityIssue.row(ID, Severity.WARN, r.isuCd(),
+                        String.format("평균 체결가 %.1f 가 저가~고가(%s~%s) 밖", avg, r.tddLwprc(), r.tddHgprc())));
+            }
+        }
+        return out;
+    }
+}
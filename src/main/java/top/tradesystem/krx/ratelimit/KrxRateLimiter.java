@@ -0,0 +1,529 @@
+package top.tradesystem.krx.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxProperties;
+import top.tradesystem.krx.config.KrxRateLimitProperties;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxApiQuotaRow;
+import top.tradesystem.krx.repository.KrxApiQuotaMapper;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KRX OpenAPI 적응형 호출 제한 (AUTH_KEY 별 AIMD).
+ * <ul>
+ *   <li>동시 호출 수: 정상 응답마다 +1/limit (한 바퀴에 +1), 429/5xx/timeout/지연 급증이면 × backoff-ratio.
+ *       한 번의 과부하에 여러 응답이 실패해도 cooldown 안에서는 한 번만 줄임</li>
+ *   <li>429 를 받은 키는 cooldown 동안 쉼 → 다른 키로 넘어감</li>
+ *   <li>키 선택: smooth weighted round-robin (여유 있는 키 중에서)</li>
+ *   <li>대기열: 우선순위별 FIFO, 앞 순위가 막혀 있으면 뒤 순위도 기다림</li>
+ *   <li>일일 사용량: 호출 시작 시 1 증가, 주기적으로 krx_api_quota 에 증분 반영 후 합계를 다시 읽음
+ *       (재시작/여러 노드에서도 한도를 같이 씀). 한도를 넘으면 기다리지 않고 바로 에러</li>
+ * </ul>
+ */
+@Component
+public class KrxRateLimiter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(KrxRateLimiter.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int QUOTA_RETENTION_DAYS = 30;
+
+    public enum Outcome {
+        SUCCESS,
+        THROTTLED,  // 429
+        OVERLOAD,   // 5xx / timeout / 연결 실패
+        IGNORED     // 취소, 그 밖의 4xx, 파싱 실패 (한도와 무관)
+    }
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final KrxRateLimitProperties props;
+    private final KrxApiQuotaMapper mapper;
+    private final ZoneId zone;
+    private final List<KeyState> keys;
+    private final Object lock = new Object();
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+
+    // lock 으로 보호
+    private String day;
+    private final List<Usage> carry = new ArrayList<>(); // 지난 일자 미반영분
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public KrxRateLimiter(
+            KrxRateLimitProperties props,
+            KrxProperties krxProps,
+            KrxSchedulerProperties schedulerProps,
+            KrxApiQuotaMapper mapper,
+            MeterRegistry meters
+    ) {
+        this.props = props;
+        this.mapper = mapper;
+        this.zone = ZoneId.of(schedulerProps.zone());
+        this.day = today();
+
+        List<KrxRateLimitProperties.Key> specs = props.keys().isEmpty()
+                ? List.of(new KrxRateLimitProperties.Key("default", krxProps.authKey(), 1, 0))
+                : props.keys();
+        Set<String> names = new HashSet<>();
+        List<KeyState> ks = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            KrxRateLimitProperties.Key k = specs.get(i);
+            String name = (k.name() == null || k.name().isBlank()) ? "key" + i : k.name();
+            if (!names.add(name)) throw new IllegalStateException("duplicate krx.rate-limit key name: " + name);
+            if (k.authKey() == null || k.authKey().isBlank()) {
+                throw new IllegalStateException("krx.rate-limit key has no auth-key: " + name);
+            }
+            ks.add(new KeyState(name, k.authKey(), k.weight(), k.dailyQuota(), props.initialLimit()));
+        }
+        this.keys = List.copyOf(ks);
+        for (int i = 0; i < KrxRequestPriority.values().length; i++) queues.add(new ArrayDeque<>());
+
+        for (KeyState k : keys) {
+            Gauge.builder("krx.ratelimit.limit", k, s -> s.limit).tag("key", k.name).register(meters);
+            Gauge.builder("krx.ratelimit.inflight", k, s -> s.inFlight).tag("key", k.name).register(meters);
+            Gauge.builder("krx.ratelimit.quota.used", k, s -> s.used()).tag("key", k.name).register(meters);
+        }
+        Gauge.builder("krx.ratelimit.queued", this, KrxRateLimiter::queued).register(meters);
+    }
+
+    // =========================
+    // 1) 획득 / 반납
+    // =========================
+    public Mono<Permit> acquire(KrxRequestPriority priority) {
+        return Mono.<Permit>create(sink -> {
+                    Waiter w = new Waiter(priority, sink);
+                    sink.onCancel(() -> cancel(w));
+
+                    Permit granted = null;
+                    boolean exhausted = false;
+                    synchronized (lock) {
+                        rollDay();
+                        if (!anyQuota(priority)) {
+                            exhausted = true;
+                        } else {
+                            KeyState k = queuedAtOrAbove(priority) ? null : pick(priority);
+                            if (k == null) {
+                                queues.get(priority.ordinal()).addLast(w);
+                            } else if (w.state.compareAndSet(WAITING, GRANTED)) {
+                                k.take();
+                                granted = new Permit(k);
+                            }
+                        }
+                    }
+                    if (exhausted) {
+                        rejected.increment();
+                        sink.error(new IllegalStateException("KRX daily quota exhausted (" + priority + ")"));
+                    } else if (granted != null) {
+                        sink.success(granted);
+                    }
+                })
+                // 받은 직후 취소돼 전달되지 못한 permit
+                .doOnDiscard(Permit.class, p -> p.release(Outcome.IGNORED));
+    }
+
+    private void cancel(Waiter w) {
+        if (!w.state.compareAndSet(WAITING, CANCELLED)) return;
+        synchronized (lock) {
+            queues.get(w.priority.ordinal()).remove(w);
+        }
+    }
+
+    private void release(KeyState k, Outcome outcome, long elapsedNanos) {
+        boolean cooled = false;
+        synchronized (lock) {
+            k.inFlight--;
+            long now = System.currentTimeMillis();
+            switch (outcome) {
+                case SUCCESS -> {
+                    k.successes++;
+                    if (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) > props.latencySpikeMs()) k.decrease(now);
+                    else k.increase();
+                }
+                case THROTTLED -> {
+                    k.throttled++;
+                    k.decrease(now);
+                    k.cooldownUntil = now + props.cooldownMs();
+                    cooled = true;
+                }
+                case OVERLOAD -> {
+                    k.overloads++;
+                    k.decrease(now);
+                }
+                case IGNORED -> { }
+            }
+        }
+        if (cooled) {
+            log.warn("KRX rate limited (429): key={}, limit -> {}", k.name, String.format("%.1f", k.limit));
+            Schedulers.parallel().schedule(this::drain, props.cooldownMs(), TimeUnit.MILLISECONDS);
+        }
+        drain();
+    }
+
+    /** 대기열 앞에서부터 자리가 나는 만큼 내보냄 (emit 은 lock 밖에서) */
+    private void drain() {
+        List<Permit> grants = new ArrayList<>();
+        List<Waiter> grantedTo = new ArrayList<>();
+        List<Waiter> failed = new ArrayList<>();
+        synchronized (lock) {
+            rollDay();
+            for (KrxRequestPriority p : KrxRequestPriority.values()) {
+                ArrayDeque<Waiter> q = queues.get(p.ordinal());
+                while (!q.isEmpty()) {
+                    Waiter w = q.peekFirst();
+                    if (w.state.get() != WAITING) {
+                        q.pollFirst();
+                        continue;
+                    }
+                    if (!anyQuota(p)) {
+                        q.pollFirst();
+                        if (w.state.compareAndSet(WAITING, CANCELLED)) failed.add(w);
+                        continue;
+                    }
+                    KeyState k = pick(p);
+                    if (k == null) break;
+                    q.pollFirst();
+                    if (w.state.compareAndSet(WAITING, GRANTED)) {
+                        k.take();
+                        grants.add(new Permit(k));
+                        grantedTo.add(w);
+                    }
+                }
+                if (!q.isEmpty()) break; // 앞 순위가 막혀 있으면 뒤 순위도 대기
+            }
+        }
+        for (int i = 0; i < grants.size(); i++) grantedTo.get(i).sink.success(grants.get(i));
+        for (Waiter w : failed) {
+            rejected.increment();
+            w.sink.error(new IllegalStateException("KRX daily quota exhausted (" + w.priority + ")"));
+        }
+    }
+
+    // =========================
+    // 2) 키 선택 (lock 안에서)
+    // =========================
+    private KeyState pick(KrxRequestPriority priority) {
+        long now = System.currentTimeMillis();
+        KeyState best = null;
+        int total = 0;
+        for (KeyState k : keys) {
+            if (props.enabled() && !k.available(priority, now)) continue;
+            k.current += k.weight;
+            total += k.weight;
+            if (best == null || k.current > best.current) best = k;
+        }
+        if (best != null) best.current -= total;
+        return best;
+    }
+
+    private boolean anyQuota(KrxRequestPriority priority) {
+        if (!props.enabled()) return true;
+        for (KeyState k : keys) {
+            if (k.used() < k.quota(priority)) return true;
+        }
+        return false;
+    }
+
+    private boolean queuedAtOrAbove(KrxRequestPriority priority) {
+        for (int i = 0; i <= priority.ordinal(); i++) {
+            if (!queues.get(i).isEmpty()) return true;
+        }
+        return false;
+    }
+
+    private void rollDay() {
+        String d = today();
+        if (d.equals(day)) return;
+        for (KeyState k : keys) {
+            if (k.pending > 0) carry.add(new Usage(k.name, day, k.pending));
+            k.pending = 0;
+            k.dbUsed = 0;
+        }
+        log.info("KRX daily quota reset: {} -> {}", day, d);
+        day = d;
+    }
+
+    private String today() {
+        return LocalDate.now(zone).format(YYYYMMDD);
+    }
+
+    // =========================
+    // 3) 일일 사용량 저장/동기화
+    // =========================
+    @Override
+    public void start() {
+        if (running) return;
+        running = true;
+        refresh();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "krx-quota-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                props.quotaFlushMs(), props.quotaFlushMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("KRX quota flush failed", e);
+        }
+    }
+
+    void flush() {
+        List<Usage> deltas = new ArrayList<>();
+        boolean rolled;
+        synchronized (lock) {
+            String before = day;
+            rollDay();
+            rolled = !before.equals(day);
+            deltas.addAll(carry);
+            carry.clear();
+            for (KeyState k : keys) {
+                if (k.pending == 0) continue;
+                deltas.add(new Usage(k.name, day, k.pending));
+                k.dbUsed += k.pending; // 다시 읽기 전까지 합계에 포함
+                k.pending = 0;
+            }
+        }
+        for (Usage u : deltas) {
+            try {
+                mapper.addUsage(u.keyName(), u.quotaDd(), u.delta());
+            } catch (Exception e) {
+                synchronized (lock) {
+                    carry.add(u); // 다음 주기에 재시도
+                }
+                log.warn("KRX quota usage write failed: {} {} +{}", u.keyName(), u.quotaDd(), u.delta(), e);
+            }
+        }
+        if (rolled) {
+            String cutoff = LocalDate.now(zone).minusDays(QUOTA_RETENTION_DAYS).format(YYYYMMDD);
+            mapper.deleteBefore(cutoff);
+        }
+        refresh();
+        drain(); // 일자가 바뀌어 한도가 풀렸을 수 있음
+    }
+
+    /** DB 합계(다른 노드/재시작 전 사용분 포함)로 맞춤 */
+    private void refresh() {
+        String d;
+        synchronized (lock) {
+            d = day;
+        }
+        List<KrxApiQuotaRow> rows;
+        try {
+            rows = mapper.findByQuotaDd(d);
+        } catch (Exception e) {
+            log.warn("KRX quota usage read failed: {}", d, e);
+            return;
+        }
+        synchronized (lock) {
+            if (!d.equals(day)) return;
+            for (KrxApiQuotaRow r : rows) {
+                for (KeyState k : keys) {
+                    if (k.name.equals(r.keyName())) k.dbUsed = r.used();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // =========================
+    // 4) 응답 → 결과 분류
+    // =========================
+    public static Outcome classify(Throwable e) {
+        if (e instanceof WebClientResponseException r) {
+            int status = r.getStatusCode().value();
+            if (status == 429) return Outcome.THROTTLED;
+            return status >= 500 ? Outcome.OVERLOAD : Outcome.IGNORED;
+        }
+        if (e instanceof TimeoutException || e instanceof WebClientRequestException) return Outcome.OVERLOAD;
+        return Outcome.IGNORED;
+    }
+
+    // =========================
+    // 조회
+    // =========================
+    private int queued() {
+        synchronized (lock) {
+            int n = 0;
+            for (ArrayDeque<Waiter> q : queues) n += q.size();
+            return n;
+        }
+    }
+
+    public Stats stats() {
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            Map<String, Integer> waiting = new LinkedHashMap<>();
+            for (KrxRequestPriority p : KrxRequestPriority.values()) waiting.put(p.name(), queues.get(p.ordinal()).size());
+            List<KeyStats> ks = keys.stream()
+                    .map(k -> new KeyStats(
+                            k.name, k.weight, Math.round(k.limit * 10) / 10.0, k.inFlight, k.used(), k.dailyQuota,
+                            Math.max(0, k.cooldownUntil - now), k.successes, k.throttled, k.overloads))
+                    .toList();
+            return new Stats(props.enabled(), day, waiting, rejected.sum(), ks);
+        }
+    }
+
+    public record KeyStats(
+            String name,
+            int weight,
+            double limit,
+            int inFlight,
+            int used,
+            int dailyQuota,
+            long cooldownRemainingMs,
+            long successes,
+            long throttled,
+            long overloads
+    ) {}
+
+    public record Stats(boolean enabled, String day, Map<String, Integer> queued, long rejected, List<KeyStats> keys) {}
+
+    // =========================
+    // 내부 상태
+    // =========================
+
+    /** 호출 1건의 자리. 끝나면 반드시 release (여러 번 불러도 한 번만 반영) */
+    public final class Permit {
+        private final KeyState key;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(KeyState key) {
+            this.key = key;
+        }
+
+        public String authKey() {
+            return key.authKey;
+        }
+
+        public String keyName() {
+            return key.name;
+        }
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                KrxRateLimiter.this.release(key, outcome, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private final class KeyState {
+        final String name;
+        final String authKey;
+        final int weight;
+        final int dailyQuota;
+
+        // lock 으로 보호 (gauge 는 lock 없이 읽음)
+        volatile double limit;
+        volatile int inFlight;
+        int current;          // smooth WRR
+        long cooldownUntil;
+        long lastDecrease;
+        int dbUsed;
+        int pending;
+        long successes;
+        long throttled;
+        long overloads;
+
+        KeyState(String name, String authKey, int weight, int dailyQuota, int initialLimit) {
+            this.name = name;
+            this.authKey = authKey;
+            this.weight = weight;
+            this.dailyQuota = dailyQuota;
+            this.limit = initialLimit;
+        }
+
+        int used() {
+            return dbUsed + pending;
+        }
+
+        int quota(KrxRequestPriority p) {
+            return p == KrxRequestPriority.BULK ? (int) (dailyQuota * (1 - props.bulkQuotaReserve())) : dailyQuota;
+        }
+
+        /** BULK 는 한 자리를 남겨 둠 (급한 호출이 바로 들어갈 수 있게) */
+        int cap(KrxRequestPriority p) {
+            int c = Math.max(props.minLimit(), (int) limit);
+            return p == KrxRequestPriority.BULK && c > 1 ? c - 1 : c;
+        }
+
+        boolean available(KrxRequestPriority p, long now) {
+            return now >= cooldownUntil && inFlight < cap(p) && used() < quota(p);
+        }
+
+        void take() {
+            inFlight++;
+            pending++;
+        }
+
+        void increase() {
+            limit = Math.min(props.maxLimit(), limit + 1.0 / limit);
+        }
+
+        void decrease(long now) {
+            if (now - lastDecrease < props.cooldownMs()) return;
+            lastDecrease = now;
+            limit = Math.max(props.minLimit(), limit * props.backoffRatio());
+        }
+    }
+
+    private record Waiter(KrxRequestPriority priority, MonoSink<Permit> sink, AtomicInteger state) {
+        Waiter(KrxRequestPriority priority, MonoSink<Permit> sink) {
+            this(priority, sink, new AtomicInteger(WAITING));
+        }
+    }
+
+    private record Usage(String keyName, String quotaDd, int delta) {}
+}
@@ -0,0 +1,41 @@
+package top.tradesystem.krx.ratelimit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Locale;
+
+/**
+ * KRX 호출 우선순위 (Reactor Context 로 전달, 없으면 NORMAL).
+ * <ul>
+ *   <li>URGENT: EOD sync — 대기열 맨 앞, 일일 한도 전부 사용</li>
+ *   <li>NORMAL: API 로 직접 요청한 sync/조회</li>
+ *   <li>BULK  : backfill — 대기열 맨 뒤, 동시 호출 1자리와 일일 한도 일부는 남겨 둠</li>
+ * </ul>
+ * 예: {@code service.sync(basDd, market).contextWrite(KrxRequestPriority.BULK::apply)}
+ */
+public enum KrxRequestPriority {
+    URGENT,
+    NORMAL,
+    BULK;
+
+    private static final String CONTEXT_KEY = "krx.request.priority";
+
+    public Context apply(Context ctx) {
+        return ctx.put(CONTEXT_KEY, this);
+    }
+
+    public static KrxRequestPriority from(ContextView ctx) {
+        return ctx.getOrDefault(CONTEXT_KEY, NORMAL);
+    }
+
+    /** 노드 간 전달 header 용 (모르는 값이면 NORMAL) */
+    public static KrxRequestPriority parse(String s) {
+        if (s == null || s.isBlank()) return NORMAL;
+        try {
+            return valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return NORMAL;
+        }
+    }
+}
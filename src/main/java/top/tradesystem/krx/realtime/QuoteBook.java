@@ -0,0 +1,110 @@
+package top.tradesystem.krx.realtime;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 최신 {@link QuoteSnapshot} 저장소.
+ * - 쓰기: ring buffer consumer 스레드 하나만 (누적값은 그 스레드 전용 필드)
+ * - 읽기: 아무 스레드나 lock 없이 (ConcurrentHashMap.get + volatile snapshot 참조)
+ * - 세션: 스케줄러 zone 기준 새 날짜의 첫 tick 이 오면 누적값(시/고/저/거래량 ...)을 비우고 새로 시작
+ *   (EOD 반영 여부와 무관, 전날 tick 이 늦게 와도 세션을 되돌리지 않음)
+ */
+@Component
+public class QuoteBook {
+
+    private final ConcurrentHashMap<String, SymbolState> states = new ConcurrentHashMap<>();
+    private final ZoneId zone;
+
+    // 현재 세션이 끝나는 시각 (다음 날 0시, epoch ms) - consumer 스레드 전용
+    private long sessionEndMs = Long.MIN_VALUE;
+
+    public QuoteBook(KrxSchedulerProperties schedulerProps) {
+        this.zone = ZoneId.of(schedulerProps.zone());
+    }
+
+    public QuoteSnapshot get(String symbol) {
+        SymbolState s = states.get(symbol);
+        return s == null ? null : s.snapshot;
+    }
+
+    public List<QuoteSnapshot> all() {
+        return snapshots(states.values());
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private static List<QuoteSnapshot> snapshots(Collection<SymbolState> in) {
+        return in.stream().map(s -> s.snapshot).filter(Objects::nonNull).toList();
+    }
+
+    // =========================
+    // consumer 스레드 전용
+    // =========================
+    QuoteSnapshot apply(QuoteRingBuffer.Slot t, long seq) {
+        if (t.epochMs >= sessionEndMs) startSession(t.epochMs);
+
+        SymbolState s = states.computeIfAbsent(t.symbol, k -> new SymbolState());
+        if (!Double.isNaN(t.last)) {
+            if (Double.isNaN(s.open)) s.open = t.last;
+            s.high = Double.isNaN(s.high) ? t.last : Math.max(s.high, t.last);
+            s.low = Double.isNaN(s.low) ? t.last : Math.min(s.low, t.last);
+            s.last = t.last;
+            s.lastQty = t.lastQty;
+            s.volume += t.lastQty;
+            s.value += t.last * t.lastQty;
+        }
+        if (!Double.isNaN(t.bid)) {
+            s.bid = t.bid;
+            s.bidQty = t.bidQty;
+        }
+        if (!Double.isNaN(t.ask)) {
+            s.ask = t.ask;
+            s.askQty = t.askQty;
+        }
+        if (!Double.isNaN(t.prevClose)) s.prevClose = t.prevClose;
+        s.ticks++;
+
+        QuoteSnapshot snap = new QuoteSnapshot(
+                t.market, t.symbol, seq, t.epochMs,
+                s.last, s.lastQty, s.bid, s.bidQty, s.ask, s.askQty,
+                s.prevClose, s.open, s.high, s.low, s.volume, s.value, s.ticks
+        );
+        s.snapshot = snap;
+        return snap;
+    }
+
+    private void startSession(long epochMs) {
+        LocalDate day = Instant.ofEpochMilli(epochMs).atZone(zone).toLocalDate();
+        if (sessionEndMs != Long.MIN_VALUE) states.clear();
+        sessionEndMs = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private static final class SymbolState {
+        double last = Double.NaN;
+        long lastQty;
+        double bid = Double.NaN;
+        long bidQty;
+        double ask = Double.NaN;
+        long askQty;
+        double prevClose = Double.NaN;
+        double open = Double.NaN;
+        double high = Double.NaN;
+        double low = Double.NaN;
+        long volume;
+        double value;
+        long ticks;
+
+        volatile QuoteSnapshot snapshot;
+    }
+}
@@ -0,0 +1,14 @@
+package top.tradesystem.krx.realtime;
+
+/**
+ * 실시간 시세 입력 어댑터 (WebSocket / TCP / 시뮬레이터).
+ * start 이후 수신한 tick 을 sink 로 넘긴다. sink 호출은 단일 스레드여야 한다 (ring buffer 는 single-writer).
+ */
+public interface QuoteFeedAdapter {
+
+    String id();
+
+    void start(QuoteSink sink);
+
+    void stop();
+}
@@ -0,0 +1,153 @@
+package top.tradesystem.krx.realtime;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * single-writer / single-reader ring buffer (Disruptor 방식).
+ * - slot 은 미리 만들어 두고 값만 덮어씀 → tick 당 할당 없음
+ * - writer 는 slot 을 채운 뒤 cursor 를 release 로 올리고, reader 는 acquire 로 읽은 만큼만 소비
+ * - 가득 차면 잠깐 spin 후 버림 (시세는 최신값이 중요하고 feed 스레드를 막으면 안 됨)
+ */
+final class QuoteRingBuffer {
+
+    private static final int FULL_SPINS = 1_000;
+
+    static final class Slot {
+        String market;
+        String symbol;
+        long epochMs;
+        double last;
+        long lastQty;
+        double bid;
+        long bidQty;
+        double ask;
+        long askQty;
+        double prevClose;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+
+    private final Sequence cursor = new Sequence();    // writer 가 마지막으로 publish 한 seq
+    private final Sequence consumed = new Sequence();  // reader 가 마지막으로 처리한 seq
+
+    // writer 전용
+    private long nextSeq;
+    private long cachedConsumed = -1;
+    private long dropped;
+
+    QuoteRingBuffer(int size) {
+        if (Integer.bitCount(size) != 1) throw new IllegalArgumentException("ring size must be a power of two: " + size);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) slots[i] = new Slot();
+        this.mask = size - 1;
+    }
+
+    // =========================
+    // writer
+    // =========================
+    boolean publish(String market, String symbol, long epochMs, double last, long lastQty,
+                    double bid, long bidQty, double ask, long askQty, double prevClose) {
+        long seq = nextSeq;
+        long wrap = seq - slots.length;
+        if (wrap > cachedConsumed) {
+            int spins = 0;
+            while (wrap > (cachedConsumed = consumed.getAcquire())) {
+                if (++spins > FULL_SPINS) {
+                    dropped++;
+                    return false;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        Slot s = slots[(int) (seq & mask)];
+        s.market = market;
+        s.symbol = symbol;
+        s.epochMs = epochMs;
+        s.last = last;
+        s.lastQty = lastQty;
+        s.bid = bid;
+        s.bidQty = bidQty;
+        s.ask = ask;
+        s.askQty = askQty;
+        s.prevClose = prevClose;
+
+        nextSeq = seq + 1;
+        cursor.setRelease(seq);
+        return true;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    // =========================
+    // reader
+    // =========================
+
+    /** 최대 max 개를 handler 로 넘기고 처리 개수를 반환 */
+    int drain(SlotHandler handler, int max) {
+        long from = consumed.getPlain() + 1;
+        long available = cursor.getAcquire();
+        if (available < from) return 0;
+
+        long to = Math.min(available, from + max - 1);
+        for (long seq = from; seq <= to; seq++) {
+            handler.onSlot(slots[(int) (seq & mask)], seq);
+        }
+        consumed.setRelease(to);
+        return (int) (to - from + 1);
+    }
+
+    long lag() {
+        return cursor.getAcquire() - consumed.getAcquire();
+    }
+
+    @FunctionalInterface
+    interface SlotHandler {
+        void onSlot(Slot slot, long seq);
+    }
+
+    // =========================
+    // false sharing 방지용 padding (writer cursor 와 reader cursor 가 같은 cache line 에 놓이지 않게)
+    // =========================
+    @SuppressWarnings("unused")
+    private static class LhsPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    private static class Value extends LhsPadding {
+        volatile long value = -1;
+    }
+
+    @SuppressWarnings("unused")
+    private static class RhsPadding extends Value {
+        long p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    static final class Sequence extends RhsPadding {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long getPlain() {
+            return (long) VALUE.get(this);
+        }
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void setRelease(long v) {
+            VALUE.setRelease(this, v);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package top.tradesystem.krx.realtime;
+
+/**
+ * adapter → ring buffer 입력.
+ * 원시 값으로 받아 tick 마다 객체를 만들지 않는다. 한 adapter 는 한 스레드에서만 호출해야 한다.
+ *
+ * 값이 없는 가격은 NaN, 수량은 0.
+ *
+ * @return false 면 ring 이 가득 차 버려진 tick
+ */
+@FunctionalInterface
+public interface QuoteSink {
+
+    boolean publish(
+            String market,
+            String symbol,
+            long epochMs,
+            double last,
+            long lastQty,
+            double bid,
+            long bidQty,
+            double ask,
+            long askQty,
+            double prevClose
+    );
+}
@@ -0,0 +1,33 @@
+package top.tradesystem.krx.realtime;
+
+/**
+ * 종목별 최신 시세 + 최우선 호가 + 당일 누적 (불변).
+ * 가격이 아직 없으면 NaN.
+ */
+public record QuoteSnapshot(
+        String market,
+        String symbol,
+        long seq,
+        long epochMs,
+        double last,
+        long lastQty,
+        double bid,
+        long bidQty,
+        double ask,
+        long askQty,
+        double prevClose,
+        double open,
+        double high,
+        double low,
+        long volume,
+        double value,
+        long ticks
+) {
+    public double mid() {
+        return Double.isNaN(bid) || Double.isNaN(ask) ? last : (bid + ask) / 2.0;
+    }
+
+    public double spread() {
+        return ask - bid;
+    }
+}
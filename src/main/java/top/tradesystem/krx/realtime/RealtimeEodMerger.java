@@ -0,0 +1,160 @@
+package top.tradesystem.krx.realtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterMembership;
+import top.tradesystem.krx.config.KrxRealtimeProperties;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.quality.ValidationMode;
+import top.tradesystem.krx.repository.KrxEodJobMapper;
+import top.tradesystem.krx.repository.KrxTickerMasterMapper;
+import top.tradesystem.krx.scheduler.EodOrchestrator;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 장 마감 후 실시간 누적 bar 를 krx_daily_price 에 반영.
+ * - KRX OutBlock 키로 바꿔 {@link KrxDailyPriceService#saveApiRows} 로 저장 → 집계/수정주가 갱신도 같이 탄다
+ * - book 에 있는 종목만이라 품질 검증은 PARTIAL (row 수 / 종목 연속성 check 제외, 종목 단위 check 만)
+ * - 이후 EOD 배치가 KRX 확정치로 덮어씀 (실시간 값은 그때까지의 잠정치)
+ * - book 은 당일 세션뿐이라 basDd 는 스케줄러 zone 기준 오늘만, 그날 tick 만 반영
+ * - EOD 배치가 이미 그 시장 일봉을 저장했으면 (DAILY_PRICE_{시장} 성공) 확정치를 덮지 않도록 건너뜀
+ * - 클러스터에서는 leader 노드의 book 만 반영
+ */
+@Component
+public class RealtimeEodMerger {
+
+    private static final Logger log = LoggerFactory.getLogger(RealtimeEodMerger.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String DAILY_PRICE_JOB = "DAILY_PRICE_";
+
+    private final KrxRealtimeProperties props;
+    private final QuoteBook book;
+    private final KrxDailyPriceService dailyPriceService;
+    private final KrxTickerMasterMapper tickerMasterMapper;
+    private final KrxEodJobMapper eodJobMapper;
+    private final ClusterMembership cluster;
+    private final ZoneId zone;
+
+    public RealtimeEodMerger(
+            KrxRealtimeProperties props,
+            KrxSchedulerProperties schedulerProps,
+            QuoteBook book,
+            KrxDailyPriceService dailyPriceService,
+            KrxTickerMasterMapper tickerMasterMapper,
+            KrxEodJobMapper eodJobMapper,
+            ClusterMembership cluster
+    ) {
+        this.props = props;
+        this.book = book;
+        this.dailyPriceService = dailyPriceService;
+        this.tickerMasterMapper = tickerMasterMapper;
+        this.eodJobMapper = eodJobMapper;
+        this.cluster = cluster;
+        this.zone = ZoneId.of(schedulerProps.zone());
+    }
+
+    @Scheduled(cron = "${krx.realtime.eod-merge-cron:0 40 15 * * MON-FRI}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void mergeAtClose() {
+        if (!props.enabled() || !props.eodMergeEnabled() || !cluster.isLeader()) return;
+        String basDd = LocalDate.now(zone).format(YYYYMMDD);
+        merge(basDd)
+                .subscribe(
+                        n -> log.info("realtime EOD merge {}: {} rows", basDd, n),
+                        e -> log.warn("realtime EOD merge {} failed", basDd, e)
+                );
+    }
+
+    public Mono<Integer> merge(String basDd) {
+        return Mono.defer(() -> {
+            LocalDate today = LocalDate.now(zone);
+            if (!today.format(YYYYMMDD).equals(basDd)) {
+                return Mono.error(new IllegalArgumentException(
+                        "realtime merge is only for today (" + today.format(YYYYMMDD) + "): " + basDd));
+            }
+            long fromMs = today.atStartOfDay(zone).toInstant().toEpochMilli();
+            long toMs = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+            // 오늘 tick 이 아직 없으면 book 에 전날 세션이 남아 있을 수 있음 → 오늘 것만
+            Map<String, List<QuoteSnapshot>> byMarket = book.all().stream()
+                    .filter(q -> q.market() != null && !Double.isNaN(q.last()))
+                    .filter(q -> q.epochMs() >= fromMs && q.epochMs() < toMs)
+                    .collect(Collectors.groupingBy(QuoteSnapshot::market));
+
+            return Mono.fromCallable(() -> eodStoredMarkets(basDd))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(stored -> Flux.fromIterable(byMarket.entrySet())
+                            .filter(e -> {
+                                if (!stored.contains(e.getKey())) return true;
+                                log.info("realtime EOD merge {} {} skipped: EOD batch already stored", basDd, e.getKey());
+                                return false;
+                            }))
+                    .flatMap(e -> {
+                        Market market = Market.valueOf(e.getKey());
+                        return Mono.fromCallable(() -> toApiRows(e.getKey(), e.getValue()))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMap(rows -> dailyPriceService.saveApiRows(basDd, market, rows, ValidationMode.PARTIAL));
+                    })
+                    .reduce(0, (acc, r) -> acc + r.saved());
+        });
+    }
+
+    /** EOD 배치에서 일봉 job 이 성공한 시장 */
+    private Set<String> eodStoredMarkets(String basDd) {
+        return eodJobMapper.findJobsByBasDd(basDd).stream()
+                .filter(j -> EodOrchestrator.SUCCEEDED.equals(j.status()) && j.jobId().startsWith(DAILY_PRICE_JOB))
+                .map(j -> j.jobId().substring(DAILY_PRICE_JOB.length()))
+                .collect(Collectors.toSet());
+    }
+
+    private List<Map<String, String>> toApiRows(String market, List<QuoteSnapshot> quotes) {
+        // 종목명/상장주식수는 종목 마스터에서 (없으면 비워둠 → EOD 배치에서 채워짐)
+        Map<String, KrxTickerMasterRow> master = tickerMasterMapper.findByMarket(market).stream()
+                .collect(Collectors.toMap(KrxTickerMasterRow::getCode, Function.identity(), (a, b) -> a));
+
+        return quotes.stream().map(q -> {
+            Map<String, String> m = new LinkedHashMap<>();
+            m.put("ISU_CD", q.symbol());
+            m.put("MKT_NM", market);
+            KrxTickerMasterRow t = master.get(q.symbol());
+            if (t != null) {
+                m.put("ISU_NM", t.getNameKrAbbr());
+                m.put("LIST_SHRS", t.getListShares());
+            }
+            m.put("TDD_CLSPRC", num(q.last()));
+            m.put("TDD_OPNPRC", num(q.open()));
+            m.put("TDD_HGPRC", num(q.high()));
+            m.put("TDD_LWPRC", num(q.low()));
+            m.put("ACC_TRDVOL", Long.toString(q.volume()));
+            m.put("ACC_TRDVAL", num(Math.rint(q.value())));
+            if (!Double.isNaN(q.prevClose()) && q.prevClose() > 0) {
+                double chg = q.last() - q.prevClose();
+                m.put("CMPPREVDD_PRC", num(chg));
+                m.put("FLUC_RT", String.format(Locale.ROOT, "%.2f", chg / q.prevClose() * 100.0));
+            }
+            return m;
+        }).toList();
+    }
+
+    private static String num(double v) {
+        if (Double.isNaN(v)) return null;
+        return v == Math.rint(v) ? Long.toString((long) v) : Double.toString(v);
+    }
+}
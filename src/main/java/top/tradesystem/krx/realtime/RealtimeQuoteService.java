@@ -0,0 +1,129 @@
+package top.tradesystem.krx.realtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import top.tradesystem.krx.config.KrxRealtimeProperties;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실시간 시세 파이프라인.
+ *
+ * <pre>
+ * adapter(feed 스레드) ─publish→ QuoteRingBuffer ─drain→ consumer 스레드 ─apply→ QuoteBook (lock-free 조회)
+ *                                                                     └─emit→ SSE sink
+ * </pre>
+ */
+@Service
+public class RealtimeQuoteService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RealtimeQuoteService.class);
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000L; // 0.1ms
+
+    private final KrxRealtimeProperties props;
+    private final QuoteBook book;
+    private final ObjectProvider<QuoteFeedAdapter> adapters;
+    private final QuoteRingBuffer ring;
+
+    // consumer 스레드만 emit (Sinks 는 직렬 emit 필요). 느린 구독자는 best-effort 로 건너뜀
+    private final Sinks.Many<QuoteSnapshot> updates = Sinks.many().multicast().directBestEffort();
+
+    private volatile boolean running;
+    private Thread consumer;
+    private QuoteFeedAdapter adapter;
+
+    public RealtimeQuoteService(
+            KrxRealtimeProperties props,
+            QuoteBook book,
+            ObjectProvider<QuoteFeedAdapter> adapters
+    ) {
+        this.props = props;
+        this.book = book;
+        this.adapters = adapters;
+        this.ring = new QuoteRingBuffer(props.ringSize());
+    }
+
+    // =========================
+    // lifecycle
+    // =========================
+    @Override
+    public void start() {
+        if (!props.enabled()) return;
+
+        adapter = adapters.stream()
+                .filter(a -> a.id().equalsIgnoreCase(props.adapter()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("realtime adapter not found: " + props.adapter()));
+
+        running = true;
+        consumer = Thread.ofPlatform().name("krx-quote-consumer").daemon().start(this::consume);
+        adapter.start(ring::publish);
+        log.info("realtime quotes started: adapter={}, ring={}", adapter.id(), props.ringSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        if (adapter != null) adapter.stop();
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        updates.tryEmitComplete();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        QuoteRingBuffer.SlotHandler handler = (slot, seq) -> updates.tryEmitNext(book.apply(slot, seq));
+        while (running) {
+            try {
+                if (ring.drain(handler, DRAIN_BATCH) == 0) LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } catch (Exception e) {
+                log.warn("realtime consumer error", e);
+            }
+        }
+        ring.drain(handler, Integer.MAX_VALUE);
+    }
+
+    // =========================
+    // 조회 / 구독
+    // =========================
+    public QuoteSnapshot latest(String symbol) {
+        return book.get(symbol);
+    }
+
+    /**
+     * 종목별로 sseSampleMs 마다 최신값 1건씩 (symbols 가 비어 있으면 전 종목)
+     */
+    public Flux<QuoteSnapshot> stream(Set<String> symbols) {
+        Duration sample = Duration.ofMillis(props.sseSampleMs());
+        Flux<QuoteSnapshot> src = updates.asFlux();
+        if (symbols != null && !symbols.isEmpty()) src = src.filter(q -> symbols.contains(q.symbol()));
+        return src.groupBy(QuoteSnapshot::symbol)
+                .flatMap(g -> g.sample(sample), Integer.MAX_VALUE);
+    }
+
+    public Stats stats() {
+        return new Stats(running, adapter == null ? null : adapter.id(), book.size(), ring.lag(), ring.dropped(),
+                updates.currentSubscriberCount());
+    }
+
+    public record Stats(boolean running, String adapter, int symbols, long lag, long dropped, int subscribers) {}
+}
@@ -0,0 +1,94 @@
+package top.tradesystem.krx.realtime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxRealtimeProperties;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 로컬 시뮬레이터: 설정된 종목을 random walk 로 움직여 tick 을 낸다 (장외 시간 개발/테스트용).
+ * 호가단위는 단순화해서 가격의 0.05% 를 1틱으로 본다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "krx.realtime", name = "adapter", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedQuoteFeed implements QuoteFeedAdapter {
+
+    private final KrxRealtimeProperties props;
+    private volatile boolean running;
+    private Thread thread;
+
+    public SimulatedQuoteFeed(KrxRealtimeProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public String id() {
+        return "simulator";
+    }
+
+    @Override
+    public void start(QuoteSink sink) {
+        List<Instrument> instruments = props.symbols().stream().map(Instrument::parse).toList();
+        if (instruments.isEmpty()) throw new IllegalStateException("krx.realtime.symbols is empty");
+
+        running = true;
+        thread = Thread.ofPlatform().name("krx-quote-simulator").daemon().start(() -> run(sink, instruments));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run(QuoteSink sink, List<Instrument> instruments) {
+        SplittableRandom rnd = new SplittableRandom();
+        long intervalNanos = 1_000_000_000L / props.ticksPerSecond();
+        long next = System.nanoTime();
+
+        while (running) {
+            Instrument in = instruments.get(rnd.nextInt(instruments.size()));
+            double tick = Math.max(1.0, Math.round(in.price * 0.0005));
+            in.price = Math.max(tick, in.price + tick * (rnd.nextInt(3) - 1));
+            double bid = in.price - tick;
+            double ask = in.price + tick;
+            long qty = 1 + rnd.nextInt(500);
+
+            sink.publish(in.market, in.symbol, System.currentTimeMillis(),
+                    in.price, qty, bid, 100 + rnd.nextInt(5000), ask, 100 + rnd.nextInt(5000), in.prevClose);
+
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Instrument {
+        final String market;
+        final String symbol;
+        final double prevClose;
+        double price;
+
+        Instrument(String market, String symbol, double prevClose) {
+            this.market = market;
+            this.symbol = symbol;
+            this.prevClose = prevClose;
+            this.price = prevClose;
+        }
+
+        // MARKET:CODE:기준가
+        static Instrument parse(String spec) {
+            String[] f = spec.split(":");
+            if (f.length != 3) throw new IllegalArgumentException("symbol spec must be MARKET:CODE:PRICE: " + spec);
+            return new Instrument(f[0].trim(), f[1].trim(), Double.parseDouble(f[2].trim()));
+        }
+    }
+}
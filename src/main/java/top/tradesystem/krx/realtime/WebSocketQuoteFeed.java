@@ -0,0 +1,90 @@
+package top.tradesystem.krx.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+import top.tradesystem.krx.config.KrxRealtimeProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * WebSocket 시세 adapter. 한 메시지 = 한 tick JSON:
+ * <pre>
+ * {"m":"KOSPI","s":"005930","t":1737260000000,"p":71000,"q":10,"b":70900,"bq":1200,"a":71000,"aq":800,"pc":70500}
+ * </pre>
+ * 빠진 필드는 NaN/0. 연결이 끊기면 지수 backoff 로 재접속.
+ * 한 연결의 메시지는 netty event loop 하나에서 순서대로 오므로 sink single-writer 조건을 만족한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "krx.realtime", name = "adapter", havingValue = "websocket")
+public class WebSocketQuoteFeed implements QuoteFeedAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketQuoteFeed.class);
+
+    private final KrxRealtimeProperties props;
+    private final ObjectMapper objectMapper;
+    private final ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient();
+    private Disposable connection;
+
+    public WebSocketQuoteFeed(KrxRealtimeProperties props, ObjectMapper objectMapper) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String id() {
+        return "websocket";
+    }
+
+    @Override
+    public void start(QuoteSink sink) {
+        if (props.websocketUrl() == null || props.websocketUrl().isBlank()) {
+            throw new IllegalStateException("krx.realtime.websocket-url is required for the websocket adapter");
+        }
+        URI uri = URI.create(props.websocketUrl());
+        connection = client.execute(uri, session -> session.receive()
+                        .map(WebSocketMessage::getPayloadAsText)
+                        .doOnNext(text -> onMessage(sink, text))
+                        .then())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(s -> log.warn("quote websocket reconnecting: {}", s.failure().toString())))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (connection != null) connection.dispose();
+    }
+
+    private void onMessage(QuoteSink sink, String text) {
+        try {
+            JsonNode n = objectMapper.readTree(text);
+            String symbol = n.path("s").asText(null);
+            if (symbol == null) return;
+            sink.publish(
+                    n.path("m").asText(null),
+                    symbol,
+                    n.path("t").asLong(System.currentTimeMillis()),
+                    num(n, "p"), n.path("q").asLong(0),
+                    num(n, "b"), n.path("bq").asLong(0),
+                    num(n, "a"), n.path("aq").asLong(0),
+                    num(n, "pc")
+            );
+        } catch (Exception e) {
+            log.debug("bad quote message: {}", text, e);
+        }
+    }
+
+    private static double num(JsonNode n, String field) {
+        JsonNode v = n.get(field);
+        return v == null || !v.isNumber() ? Double.NaN : v.asDouble();
+    }
+}
@@ -0,0 +1,28 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxAdjFactorRow;
+import top.tradesystem.krx.dto.KrxPriceGapRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxAdjustmentMapper {
+
+    // 당일 (basDd, market) 전 종목 vs 종목별 직전 거래일 ([lookbackFrom, basDd) 안에서)
+    List<KrxPriceGapRow> findDayGaps(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("lookbackFrom") String lookbackFrom
+    );
+
+    // 종목 전체 이력 (LAG, hot + archive)
+    List<KrxPriceGapRow> findHistoryGaps(@Param("code") String code);
+
+    int upsertFactors(@Param("rows") List<KrxAdjFactorRow> rows);
+
+    int deleteFactorsByCode(@Param("code") String code);
+
+    List<KrxAdjFactorRow> findFactorsByCode(@Param("code") String code);
+}
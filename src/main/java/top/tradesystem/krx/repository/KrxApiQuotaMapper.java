@@ -0,0 +1,22 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxApiQuotaRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxApiQuotaMapper {
+
+    List<KrxApiQuotaRow> findByQuotaDd(@Param("quotaDd") String quotaDd);
+
+    // 증분 누적 (여러 노드가 동시에 더해도 안전)
+    int addUsage(
+            @Param("keyName") String keyName,
+            @Param("quotaDd") String quotaDd,
+            @Param("delta") int delta
+    );
+
+    int deleteBefore(@Param("quotaDd") String quotaDd);
+}
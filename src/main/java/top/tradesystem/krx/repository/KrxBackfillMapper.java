@@ -0,0 +1,69 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxBackfillItemRow;
+import top.tradesystem.krx.dto.KrxBackfillJobRow;
+import top.tradesystem.krx.dto.KrxBackfillStatusCount;
+
+import java.util.List;
+
+@Mapper
+public interface KrxBackfillMapper {
+
+    // =========================
+    // job
+    // =========================
+    int insertJob(
+            @Param("kind") String kind,
+            @Param("market") String market,
+            @Param("fromDd") String fromDd,
+            @Param("toDd") String toDd,
+            @Param("totalItems") int totalItems
+    );
+
+    long lastInsertId();
+
+    KrxBackfillJobRow findJob(@Param("id") long id);
+
+    List<KrxBackfillJobRow> findRecentJobs(@Param("limit") int limit);
+
+    int markJobRunning(@Param("id") long id);
+
+    int cancelJob(@Param("id") long id);
+
+    // 남은 item 이 없으면 DONE / DONE_WITH_ERRORS 로 마감
+    int finishJobIfDrained(@Param("id") long id);
+
+    List<KrxBackfillStatusCount> countItemsByStatus(@Param("jobId") long jobId);
+
+    int countFinishedSince(@Param("jobId") long jobId, @Param("windowSeconds") int windowSeconds);
+
+    // =========================
+    // item
+    // =========================
+    int insertItems(@Param("jobId") long jobId, @Param("rows") List<KrxBackfillItemRow> rows);
+
+    // 반드시 트랜잭션 안에서 호출 (FOR UPDATE SKIP LOCKED)
+    List<KrxBackfillItemRow> lockClaimable(@Param("limit") int limit);
+
+    int markClaimed(@Param("ids") List<Long> ids, @Param("owner") String owner);
+
+    // 0 이면 그 사이 다른 claim 으로 넘어간 item
+    int markItemDone(
+            @Param("id") long id,
+            @Param("worker") String worker,
+            @Param("attempt") int attempt,
+            @Param("saved") int saved
+    );
+
+    int markItemFailed(
+            @Param("id") long id,
+            @Param("worker") String worker,
+            @Param("attempt") int attempt,
+            @Param("error") String error,
+            @Param("maxAttempts") int maxAttempts
+    );
+
+    int resetStaleClaims(@Param("staleSeconds") int staleSeconds);
+}
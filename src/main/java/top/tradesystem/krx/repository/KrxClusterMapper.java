@@ -0,0 +1,41 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxCacheInvalidationRow;
+import top.tradesystem.krx.dto.KrxClusterNodeRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxClusterMapper {
+
+    // =========================
+    // 노드
+    // =========================
+    int heartbeat(@Param("nodeId") String nodeId, @Param("baseUrl") String baseUrl);
+
+    // heartbeat 가 ttlMs 안인 UP 노드 (node_id 순)
+    List<KrxClusterNodeRow> findLiveNodes(@Param("ttlMs") long ttlMs);
+
+    List<KrxClusterNodeRow> findAllNodes();
+
+    int markLeft(@Param("nodeId") String nodeId);
+
+    int deleteStaleNodes(@Param("olderThanHours") int olderThanHours);
+
+    // =========================
+    // 캐시 무효화
+    // =========================
+    int insertInvalidation(
+            @Param("origin") String origin,
+            @Param("topic") String topic,
+            @Param("cacheKey") String cacheKey
+    );
+
+    List<KrxCacheInvalidationRow> findInvalidationsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    Long findMaxInvalidationId();
+
+    int purgeInvalidations(@Param("olderThanHours") int olderThanHours);
+}
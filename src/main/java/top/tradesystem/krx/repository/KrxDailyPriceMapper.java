@@ -2,7 +2,10 @@ package top.tradesystem.krx.repository;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxFactorInputRow;
+import top.tradesystem.krx.dto.KrxReturnRow;
 
 import java.util.List;
 
@@ -20,4 +23,52 @@ public interface KrxDailyPriceMapper {
             @Param("basDd") String basDd,
             @Param("code") String code
     );
+
+    // 종목 시계열 (from/to 는 null 이면 제한 없음)
+    List<KrxDailyPriceRow> findByCodeBetween(
+            @Param("code") String code,
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    // 기간 전체를 List 로 모으지 않고 row 단위로 흘려보냄 (bulk export 용, market 이 null 이면 전체)
+    void streamRange(
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market,
+            ResultHandler<KrxDailyPriceRow> handler
+    );
+
+    // streamRange 와 같은 모양, hot 보관 기간이 지나 archive 로 옮겨진 일자
+    void streamArchiveRange(
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market,
+            ResultHandler<KrxDailyPriceRow> handler
+    );
+
+    // [from, to] 에 시세가 있는 일자 / 종목 (hot + archive, 정렬, 중복 제거). 배열 크기를 먼저 정할 때 사용
+    List<String> findDaysInRange(
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    List<String> findCodesInRange(
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    // 공분산 계산용: [from, to] 전 종목 (bas_dd, isu_cd, 종가, 대비, 거래량), hot + archive
+    void streamReturns(
+            @Param("from") String from,
+            @Param("to") String to,
+            ResultHandler<KrxReturnRow> handler
+    );
+
+    // 팩터 계산용: streamReturns + 거래대금/시가총액, hot + archive
+    void streamFactorInputs(
+            @Param("from") String from,
+            @Param("to") String to,
+            ResultHandler<KrxFactorInputRow> handler
+    );
 }
@@ -2,6 +2,7 @@ package top.tradesystem.krx.repository;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import top.tradesystem.krx.dto.KrxDailyTradeRow;
 
 import java.util.List;
@@ -21,4 +22,20 @@ public interface KrxDailyTradeMapper {
             @Param("basDd") String basDd,
             @Param("code") String code
     );
+
+    // 기간 전체를 List 로 모으지 않고 row 단위로 흘려보냄 (bulk export 용, market 이 null 이면 전체)
+    void streamRange(
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market,
+            ResultHandler<KrxDailyTradeRow> handler
+    );
+
+    // streamRange 와 같은 모양, hot 보관 기간이 지나 archive 로 옮겨진 일자
+    void streamArchiveRange(
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market,
+            ResultHandler<KrxDailyTradeRow> handler
+    );
 }
@@ -0,0 +1,54 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxEodJobRunRow;
+import top.tradesystem.krx.dto.KrxEodRunRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface KrxEodJobMapper {
+
+    // =========================
+    // job 단위 상태
+    // =========================
+    int markJobRunning(
+            @Param("basDd") String basDd,
+            @Param("jobId") String jobId,
+            @Param("startedAt") LocalDateTime startedAt
+    );
+
+    int markJobFinished(
+            @Param("basDd") String basDd,
+            @Param("jobId") String jobId,
+            @Param("status") String status,
+            @Param("saved") int saved,
+            @Param("finishedAt") LocalDateTime finishedAt,
+            @Param("durationMs") long durationMs,
+            @Param("errorMessage") String errorMessage
+    );
+
+    List<KrxEodJobRunRow> findJobsByBasDd(@Param("basDd") String basDd);
+
+    // =========================
+    // 일자 단위 요약
+    // =========================
+    int markRunStarted(
+            @Param("basDd") String basDd,
+            @Param("owner") String owner,
+            @Param("startedAt") LocalDateTime startedAt
+    );
+
+    int markRunFinished(
+            @Param("basDd") String basDd,
+            @Param("status") String status,
+            @Param("finishedAt") LocalDateTime finishedAt,
+            @Param("availableLagMs") Long availableLagMs
+    );
+
+    KrxEodRunRow findRun(@Param("basDd") String basDd);
+
+    List<KrxEodRunRow> findRecentRuns(@Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxIndexDailyPriceRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxIndexDailyPriceMapper {
+
+    int upsertBatch(@Param("rows") List<KrxIndexDailyPriceRow> rows);
+
+    List<KrxIndexDailyPriceRow> findByBasDdAndClss(
+            @Param("basDd") String basDd,
+            @Param("idxClss") String idxClss
+    );
+
+    // 지수 시계열 (from/to 는 null 이면 제한 없음)
+    List<KrxIndexDailyPriceRow> findSeries(
+            @Param("idxClss") String idxClss,
+            @Param("idxNm") String idxNm,
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    List<String> findNames(@Param("idxClss") String idxClss);
+}
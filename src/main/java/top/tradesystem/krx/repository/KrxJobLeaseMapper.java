@@ -0,0 +1,25 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface KrxJobLeaseMapper {
+
+    // 만료됐거나 내가 가진 lease 면 owner/lease_until 갱신 (아니면 그대로 둠)
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("leaseSeconds") int leaseSeconds
+    );
+
+    String findActiveOwner(@Param("name") String name);
+
+    int renew(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("leaseSeconds") int leaseSeconds
+    );
+
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
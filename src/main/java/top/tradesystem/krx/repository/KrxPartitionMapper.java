@@ -0,0 +1,54 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxPartitionArchiveLogRow;
+import top.tradesystem.krx.dto.KrxPartitionRow;
+
+import java.util.List;
+
+/**
+ * 파티션 DDL / archive 이관.
+ * table, archive, partition 이름은 SQL 에 그대로 들어가므로 PartitionMaintenanceService 에서 검증된 값만 넘길 것.
+ */
+@Mapper
+public interface KrxPartitionMapper {
+
+    // =========================
+    // 파티션 조회 / 생성 / 삭제
+    // =========================
+    List<KrxPartitionRow> findPartitions(@Param("table") String table);
+
+    // pmax 를 쪼개서 새 파티션을 pmax 앞에 추가
+    int splitMaxPartition(@Param("table") String table, @Param("parts") List<NewPartition> parts);
+
+    int dropPartition(@Param("table") String table, @Param("partition") String partition);
+
+    record NewPartition(String name, String lessThan) {}
+
+    // =========================
+    // archive 이관 ([from, to) 범위)
+    // =========================
+    String findMinBasDd(@Param("table") String table, @Param("to") String to);
+
+    long countRange(@Param("table") String table, @Param("from") String from, @Param("to") String to);
+
+    int copyRange(
+            @Param("table") String table,
+            @Param("archive") String archive,
+            @Param("from") String from,
+            @Param("to") String to
+    );
+
+    int deleteRange(@Param("table") String table, @Param("from") String from, @Param("to") String to);
+
+    // =========================
+    // 이력
+    // =========================
+    int insertArchiveLog(@Param("r") KrxPartitionArchiveLogRow row);
+
+    // archive 로 옮긴 범위의 상한 (미포함), 없으면 null
+    String findArchivedBefore(@Param("table") String table);
+
+    List<KrxPartitionArchiveLogRow> findArchiveLog(@Param("table") String table, @Param("limit") int limit);
+}
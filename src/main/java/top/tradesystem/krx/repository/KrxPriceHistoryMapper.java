@@ -0,0 +1,25 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxPriceHistoryBlobRow;
+import top.tradesystem.krx.dto.KrxPriceHistoryStatsRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxPriceHistoryMapper {
+
+    int upsertBlobs(@Param("rows") List<KrxPriceHistoryBlobRow> rows);
+
+    // 종목 blob (yyyymm 순, fromMonth/toMonth 는 null 이면 제한 없음)
+    List<KrxPriceHistoryBlobRow> findBlobs(
+            @Param("code") String code,
+            @Param("fromMonth") String fromMonth,
+            @Param("toMonth") String toMonth
+    );
+
+    int deleteMonth(@Param("yyyymm") String yyyymm);
+
+    KrxPriceHistoryStatsRow stats();
+}
@@ -0,0 +1,70 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxQualityIssueRow;
+import top.tradesystem.krx.dto.KrxQualityRunRow;
+import top.tradesystem.krx.dto.KrxQuarantineRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface KrxQualityMapper {
+
+    // =========================
+    // 검증 기준값
+    // =========================
+
+    // 직전 거래일([lookbackFrom, basDd) 중 해당 시장에 row 가 있는 최대 일자)의 row 수, 없으면 null
+    Integer countPrevTradingDay(
+            @Param("dataset") String dataset,
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("lookbackFrom") String lookbackFrom
+    );
+
+    // =========================
+    // 결과
+    // =========================
+    int upsertRun(@Param("r") KrxQualityRunRow run);
+
+    int deleteIssues(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("dataset") String dataset
+    );
+
+    int insertIssues(@Param("rows") List<KrxQualityIssueRow> rows);
+
+    List<KrxQualityRunRow> findRecentRuns(@Param("limit") int limit);
+
+    List<KrxQualityIssueRow> findIssues(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("dataset") String dataset
+    );
+
+    // =========================
+    // 격리
+    // =========================
+    // payload: 격리된 응답 row 원본 (gzip JSON)
+    int upsertQuarantine(@Param("r") KrxQuarantineRow row, @Param("payload") byte[] payload);
+
+    // PENDING 인 격리의 원본, 없으면 null
+    byte[] findPendingPayload(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("dataset") String dataset
+    );
+
+    int resolveQuarantine(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("dataset") String dataset,
+            @Param("status") String status,
+            @Param("resolvedAt") LocalDateTime resolvedAt
+    );
+
+    List<KrxQuarantineRow> findQuarantines(@Param("status") String status);
+}
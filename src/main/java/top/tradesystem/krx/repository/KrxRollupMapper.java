@@ -0,0 +1,62 @@
+package top.tradesystem.krx.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.tradesystem.krx.dto.KrxMarketBreadthRow;
+import top.tradesystem.krx.dto.KrxPriceBarRow;
+import top.tradesystem.krx.dto.KrxRollupPendingRow;
+
+import java.util.List;
+
+@Mapper
+public interface KrxRollupMapper {
+
+    // =========================
+    // 갱신: krx_daily_price 의 해당 기간을 다시 집계해서 upsert
+    // =========================
+    int refreshWeekly(
+            @Param("period") String period,
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market
+    );
+
+    int refreshMonthly(
+            @Param("period") String period,
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market
+    );
+
+    int deleteBreadth(@Param("basDd") String basDd, @Param("market") String market);
+
+    int refreshBreadth(@Param("basDd") String basDd, @Param("market") String market);
+
+    // =========================
+    // 갱신 대기 표시 (krx_rollup_pending)
+    // =========================
+    int markPending(@Param("basDd") String basDd, @Param("market") String market);
+
+    int clearPending(
+            @Param("basDd") String basDd,
+            @Param("market") String market,
+            @Param("graceSeconds") int graceSeconds
+    );
+
+    List<KrxRollupPendingRow> findPending(@Param("graceSeconds") int graceSeconds, @Param("limit") int limit);
+
+    List<String> findTradingDays(
+            @Param("from") String from,
+            @Param("to") String to,
+            @Param("market") String market
+    );
+
+    // =========================
+    // 조회
+    // =========================
+    List<KrxPriceBarRow> findWeekly(@Param("code") String code, @Param("from") String from, @Param("to") String to);
+
+    List<KrxPriceBarRow> findMonthly(@Param("code") String code, @Param("from") String from, @Param("to") String to);
+
+    List<KrxMarketBreadthRow> findBreadth(@Param("basDd") String basDd, @Param("market") String market);
+}
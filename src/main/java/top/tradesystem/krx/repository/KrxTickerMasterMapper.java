@@ -13,4 +13,7 @@ public interface KrxTickerMasterMapper {
 
     // ✅ 종목코드 단건 조회
     KrxTickerMasterRow findByCode(@Param("code") String code);
+
+    // 전 시장 종목코드
+    List<String> findAllCodes();
 }
@@ -0,0 +1,183 @@
+package top.tradesystem.krx.risk;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 계좌 하나의 리스크 상태. 모든 갱신은 VarHandle CAS / getAndAdd (lock 없음).
+ *
+ * <pre>
+ * openNotional       : 미체결 매수 금액 합 (계좌 한도)
+ * symbolOpen[s]      : 종목별 미체결 매수 금액 (종목 한도)
+ * position[s]        : 보유 수량
+ * pendingSell[s]     : 미체결 매도 수량 (보유 - 미체결매도 = 매도 가능)
+ * costBasis[s]       : 보유분 매입 금액 (평균단가 = costBasis / position)
+ * realizedPnl        : 당일 실현손익
+ * </pre>
+ *
+ * 한도 체크는 "읽고 → 한도 안이면 CAS" 반복이라 동시에 들어온 주문이 한도를 같이 넘기지 못한다.
+ * 해제/체결도 같은 방식으로 예약된 만큼만 뺀다 (모자라면 아무것도 바꾸지 않고 false) → 음수 예약 / 공매도 보유가 생기지 않음.
+ * 체결(onFill)은 계좌별로 한 스레드에서 순서대로 들어온다고 가정 (평균단가 계산).
+ */
+final class AccountRiskState {
+
+    private static final VarHandle OPEN_NOTIONAL;
+    private static final VarHandle REALIZED_PNL;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            OPEN_NOTIONAL = l.findVarHandle(AccountRiskState.class, "openNotional", long.class);
+            REALIZED_PNL = l.findVarHandle(AccountRiskState.class, "realizedPnl", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final String accountId;
+    final DuplicateOrderFilter duplicates;
+
+    private volatile long openNotional;
+    private volatile long realizedPnl;
+    private final long[] symbolOpen;
+    private final long[] position;
+    private final long[] pendingSell;
+    private final long[] costBasis;
+
+    AccountRiskState(String accountId, int maxSymbols, int duplicateSlots) {
+        this.accountId = accountId;
+        this.duplicates = new DuplicateOrderFilter(duplicateSlots);
+        this.symbolOpen = new long[maxSymbols];
+        this.position = new long[maxSymbols];
+        this.pendingSell = new long[maxSymbols];
+        this.costBasis = new long[maxSymbols];
+    }
+
+    // =========================
+    // 예약 (check 경로)
+    // =========================
+    boolean tryReserveAccount(long notional, long limit) {
+        for (;;) {
+            long cur = openNotional;
+            if (cur + notional > limit) return false;
+            if (OPEN_NOTIONAL.compareAndSet(this, cur, cur + notional)) return true;
+        }
+    }
+
+    boolean tryReserveSymbol(int s, long notional, long limit) {
+        for (;;) {
+            long cur = (long) LONGS.getVolatile(symbolOpen, s);
+            if (cur + notional > limit) return false;
+            if (LONGS.compareAndSet(symbolOpen, s, cur, cur + notional)) return true;
+        }
+    }
+
+    boolean tryReserveSell(int s, long qty) {
+        for (;;) {
+            long cur = (long) LONGS.getVolatile(pendingSell, s);
+            if (cur + qty > (long) LONGS.getVolatile(position, s)) return false;
+            if (LONGS.compareAndSet(pendingSell, s, cur, cur + qty)) return true;
+        }
+    }
+
+    // check 안에서 방금 잡은 예약 되돌리기 (항상 있음)
+    void releaseSymbol(int s, long notional) {
+        LONGS.getAndAdd(symbolOpen, s, -notional);
+    }
+
+    void releaseBuy(int s, long notional) {
+        OPEN_NOTIONAL.getAndAdd(this, -notional);
+        LONGS.getAndAdd(symbolOpen, s, -notional);
+    }
+
+    void releaseSell(int s, long qty) {
+        LONGS.getAndAdd(pendingSell, s, -qty);
+    }
+
+    // =========================
+    // 해제 (외부 요청: 예약보다 많이 풀지 않음)
+    // =========================
+
+    /** 종목 미체결 매수가 notional 이상일 때만 풀기 (계좌 합은 종목 합 이상이라 같이 풀 수 있음) */
+    boolean tryReleaseBuy(int s, long notional) {
+        if (notional <= 0) return false;
+        for (;;) {
+            long cur = (long) LONGS.getVolatile(symbolOpen, s);
+            if (cur < notional) return false;
+            if (LONGS.compareAndSet(symbolOpen, s, cur, cur - notional)) break;
+        }
+        OPEN_NOTIONAL.getAndAdd(this, -notional);
+        return true;
+    }
+
+    boolean tryReleaseSell(int s, long qty) {
+        if (qty <= 0) return false;
+        for (;;) {
+            long cur = (long) LONGS.getVolatile(pendingSell, s);
+            if (cur < qty) return false;
+            if (LONGS.compareAndSet(pendingSell, s, cur, cur - qty)) return true;
+        }
+    }
+
+    // =========================
+    // 체결 (예약이 없으면 false, 상태 그대로)
+    // =========================
+    boolean fillBuy(int s, long qty, long orderPrice, long fillPrice) {
+        if (!tryReleaseBuy(s, qty * orderPrice)) return false;
+        LONGS.getAndAdd(costBasis, s, qty * fillPrice);
+        LONGS.getAndAdd(position, s, qty);
+        return true;
+    }
+
+    /** 미체결 매도 예약과 보유 수량이 둘 다 qty 이상이어야 반영 (보유가 음수가 되지 않음) */
+    boolean fillSell(int s, long qty, long fillPrice) {
+        long pos = (long) LONGS.getVolatile(position, s);
+        if (qty > pos || !tryReleaseSell(s, qty)) return false;
+        long cost = (long) LONGS.getVolatile(costBasis, s);
+        long soldCost = cost * qty / pos;
+        long pnl = qty * fillPrice - soldCost;
+
+        LONGS.getAndAdd(costBasis, s, -soldCost);
+        LONGS.getAndAdd(position, s, -qty);
+        REALIZED_PNL.getAndAdd(this, pnl);
+        return true;
+    }
+
+    /** 잔고 동기화 (브로커 잔고 조회 결과로 덮어씀) */
+    void setPosition(int s, long qty, long avgPrice) {
+        LONGS.setVolatile(position, s, qty);
+        LONGS.setVolatile(costBasis, s, qty * avgPrice);
+    }
+
+    void resetDay() {
+        REALIZED_PNL.setVolatile(this, 0L);
+    }
+
+    // =========================
+    // 조회
+    // =========================
+    long openNotional() {
+        return openNotional;
+    }
+
+    long realizedPnl() {
+        return realizedPnl;
+    }
+
+    long symbolOpen(int s) {
+        return (long) LONGS.getVolatile(symbolOpen, s);
+    }
+
+    long position(int s) {
+        return (long) LONGS.getVolatile(position, s);
+    }
+
+    long pendingSell(int s) {
+        return (long) LONGS.getVolatile(pendingSell, s);
+    }
+
+    long costBasis(int s) {
+        return (long) LONGS.getVolatile(costBasis, s);
+    }
+}
@@ -0,0 +1,57 @@
+package top.tradesystem.krx.risk;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 계좌별 최근 주문 fingerprint table (open addressing, slot 당 1개, 충돌 시 덮어씀).
+ *
+ * <p>time 을 먼저 release 로 쓰고 key 를 CAS 하므로, key 를 본 스레드는 그 key 의 time 도 본다.
+ * 같은 주문이 동시에 두 번 들어와도 CAS 에 진 쪽이 다시 읽고 중복으로 판정된다.
+ */
+final class DuplicateOrderFilter {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] keys;
+    private final long[] times;
+    private final int mask;
+
+    DuplicateOrderFilter(int slots) {
+        this.keys = new long[slots];
+        this.times = new long[slots];
+        this.mask = slots - 1;
+    }
+
+    /** window 안에 같은 fingerprint 가 있었으면 true, 아니면 지금 시각으로 기록하고 false */
+    boolean seen(long fp, long nowNanos, long windowNanos) {
+        int slot = (int) (fp ^ (fp >>> 32)) & mask;
+        for (;;) {
+            long k = (long) LONGS.getAcquire(keys, slot);
+            long t = (long) LONGS.getAcquire(times, slot);
+            if (k == fp) {
+                if (nowNanos - t < windowNanos) return true;
+                if (LONGS.compareAndSet(times, slot, t, nowNanos)) return false; // 만료된 같은 주문 → 새로 기록
+                continue;
+            }
+            LONGS.setRelease(times, slot, nowNanos);
+            if (LONGS.compareAndSet(keys, slot, k, fp)) return false;
+        }
+    }
+
+    /** 거부/취소된 주문은 바로 다시 낼 수 있게 지움 */
+    void forget(long fp) {
+        int slot = (int) (fp ^ (fp >>> 32)) & mask;
+        LONGS.compareAndSet(keys, slot, fp, 0L);
+    }
+
+    /** (종목, 방향, 수량, 가격) → 0 이 아닌 64bit hash */
+    static long fingerprint(int symbolId, OrderSide side, long qty, long price) {
+        long h = symbolId * 0x9E3779B97F4A7C15L;
+        h = (h ^ (side.ordinal() + 1)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ qty) * 0x94D049BB133111EBL;
+        h = (h ^ price) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 31;
+        return h == 0 ? 1 : h;
+    }
+}
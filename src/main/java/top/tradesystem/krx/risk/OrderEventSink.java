@@ -0,0 +1,29 @@
+package top.tradesystem.krx.risk;
+
+/**
+ * {@link RiskEngine} 주문 수명주기 이벤트 수신자 (check/release/onFill 호출 스레드에서 동기 호출).
+ * 구현은 짧고 예외를 던지지 않아야 하며 blocking 하지 않아야 한다 (check 의 µs 예산 안).
+ * journal 처럼 느린 기록은 큐로 넘겨 다른 스레드에서 (JournalOrderEventSink).
+ */
+public interface OrderEventSink {
+
+    OrderEventSink NOOP = new OrderEventSink() {
+        @Override
+        public void accepted(String accountId, String code, OrderSide side, long qty, long price) {
+        }
+
+        @Override
+        public void released(String accountId, String code, OrderSide side, long qty, long price) {
+        }
+
+        @Override
+        public void filled(String accountId, String code, OrderSide side, long qty, long orderPrice, long fillPrice) {
+        }
+    };
+
+    void accepted(String accountId, String code, OrderSide side, long qty, long price);
+
+    void released(String accountId, String code, OrderSide side, long qty, long price);
+
+    void filled(String accountId, String code, OrderSide side, long qty, long orderPrice, long fillPrice);
+}
@@ -0,0 +1,6 @@
+package top.tradesystem.krx.risk;
+
+public enum OrderSide {
+    BUY,
+    SELL
+}
@@ -0,0 +1,35 @@
+package top.tradesystem.krx.risk;
+
+/**
+ * KRX 호가단위 / 가격제한폭 (원 단위 정수).
+ * 호가단위는 2023-01-25 이후 KOSPI·KOSDAQ 공통 표.
+ */
+final class PriceBand {
+
+    private PriceBand() {
+    }
+
+    static long tickSize(long price) {
+        if (price < 2_000) return 1;
+        if (price < 5_000) return 5;
+        if (price < 20_000) return 10;
+        if (price < 50_000) return 50;
+        if (price < 200_000) return 100;
+        if (price < 500_000) return 500;
+        return 1_000;
+    }
+
+    /** 상한가: base × (1 + pct) 를 그 가격대 호가단위로 내림 */
+    static long upper(long base, int pct) {
+        long p = base + base * pct / 100;
+        return p - p % tickSize(p);
+    }
+
+    /** 하한가: base × (1 - pct) 를 그 가격대 호가단위로 올림 (최소 1원) */
+    static long lower(long base, int pct) {
+        long p = base - base * pct / 100;
+        long tick = tickSize(p);
+        long r = p % tick;
+        return Math.max(1, r == 0 ? p : p + tick - r);
+    }
+}
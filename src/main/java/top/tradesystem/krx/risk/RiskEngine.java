@@ -0,0 +1,277 @@
+package top.tradesystem.krx.risk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxRiskProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 전 리스크 체크 (주문 경로에서 직접 호출, 동기).
+ *
+ * <p>한도 판정은 lock/할당 없음:
+ * <ul>
+ *   <li>계좌·종목 조회: ConcurrentHashMap.get (String key 그대로)</li>
+ *   <li>기준 데이터: volatile {@link RiskReferenceTable} 참조 하나 → long[] 인덱싱</li>
+ *   <li>한도: {@link AccountRiskState} 의 VarHandle CAS 예약, 실패하면 앞서 잡은 예약 되돌림</li>
+ *   <li>통계: 결과별 / 종목별 LongAdder (정확한 한도 판정에는 쓰지 않음)</li>
+ * </ul>
+ * 결과는 {@link RiskVerdict} 상수. ACCEPTED 면 금액/수량이 예약된 상태이므로
+ * 주문이 거부·취소되면 {@link #release}, 체결되면 {@link #onFill} 로 풀어야 한다.
+ * 해제/체결은 예약·보유보다 많이 빼지 않음: 안 맞으면 상태를 바꾸지 않고 false.
+ * 통과/해제/체결은 {@link OrderEventSink} 로도 넘김 (기본 구현은 ring buffer 에 넣고 기록 스레드가 "orders" journal 에 씀).
+ */
+@Component
+public class RiskEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskEngine.class);
+
+    private final KrxRiskProperties props;
+    private final OrderEventSink events;
+    private final long duplicateWindowNanos;
+
+    private final ConcurrentHashMap<String, AccountRiskState> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final String[] symbolCodes;
+    private int nextSymbolId; // installReference 안에서만 (synchronized)
+
+    private volatile RiskReferenceTable reference;
+
+    private final LongAdder[] verdictCounts = new LongAdder[RiskVerdict.values().length];
+    private final LongAdder checkNanos = new LongAdder();
+    private final LongAdder[] symbolBuyNotional; // 전 계좌 합 (모니터링용)
+
+    public RiskEngine(KrxRiskProperties props, OrderEventSink events) {
+        this.props = props;
+        this.events = events;
+        this.duplicateWindowNanos = TimeUnit.MILLISECONDS.toNanos(props.duplicateWindowMs());
+        this.symbolCodes = new String[props.maxSymbols()];
+        this.reference = RiskReferenceTable.empty(props.maxSymbols());
+        for (int i = 0; i < verdictCounts.length; i++) verdictCounts[i] = new LongAdder();
+        this.symbolBuyNotional = new LongAdder[props.maxSymbols()];
+        for (int i = 0; i < symbolBuyNotional.length; i++) symbolBuyNotional[i] = new LongAdder();
+        for (String a : props.accounts()) register(a);
+    }
+
+    // =========================
+    // 1) 체크 (hot path)
+    // =========================
+    public RiskVerdict check(String accountId, String code, OrderSide side, long qty, long price) {
+        long t0 = System.nanoTime();
+        RiskVerdict v = evaluate(accountId, code, side, qty, price, t0);
+        verdictCounts[v.ordinal()].increment();
+        checkNanos.add(System.nanoTime() - t0);
+        if (v == RiskVerdict.ACCEPTED) events.accepted(accountId, code, side, qty, price);
+        return v;
+    }
+
+    private RiskVerdict evaluate(String accountId, String code, OrderSide side, long qty, long price, long now) {
+        AccountRiskState a = accounts.get(accountId);
+        if (a == null) return RiskVerdict.UNKNOWN_ACCOUNT;
+        Integer id = symbolIds.get(code);
+        if (id == null) return RiskVerdict.UNKNOWN_SYMBOL;
+        int s = id;
+
+        RiskReferenceTable ref = reference;
+        long base = ref.prevClose[s];
+        if (base <= 0) return RiskVerdict.NO_REFERENCE;
+        if (qty <= 0 || price <= 0 || qty > props.maxOrderQty()) return RiskVerdict.INVALID_ORDER;
+        if (price > ref.upper[s] || price < ref.lower[s]) return RiskVerdict.PRICE_OUT_OF_BAND;
+        if (price % PriceBand.tickSize(price) != 0) return RiskVerdict.INVALID_TICK;
+
+        // qty ≤ maxOrderQty, price ≤ 상한가 → long 범위 안
+        long notional = qty * price;
+        if (notional > props.maxOrderNotional()) return RiskVerdict.ORDER_TOO_LARGE;
+        if (a.realizedPnl() <= -props.dailyLossLimit()) return RiskVerdict.LOSS_LIMIT;
+
+        if (side == OrderSide.BUY) {
+            long held = Math.abs(a.position(s)) * base;
+            if (!a.tryReserveSymbol(s, notional, props.maxSymbolExposure() - held)) return RiskVerdict.SYMBOL_LIMIT;
+            if (!a.tryReserveAccount(notional, props.maxAccountExposure())) {
+                a.releaseSymbol(s, notional);
+                return RiskVerdict.ACCOUNT_LIMIT;
+            }
+        } else if (!a.tryReserveSell(s, qty)) {
+            return RiskVerdict.INSUFFICIENT_POSITION;
+        }
+
+        // 중복 판정은 마지막: 한도에서 거부된 주문은 기록하지 않음
+        if (duplicateWindowNanos > 0
+                && a.duplicates.seen(DuplicateOrderFilter.fingerprint(s, side, qty, price), now, duplicateWindowNanos)) {
+            undo(a, s, side, qty, notional);
+            return RiskVerdict.DUPLICATE;
+        }
+        if (side == OrderSide.BUY) symbolBuyNotional[s].add(notional);
+        return RiskVerdict.ACCEPTED;
+    }
+
+    private static void undo(AccountRiskState a, int s, OrderSide side, long qty, long notional) {
+        if (side == OrderSide.BUY) {
+            a.releaseBuy(s, notional);
+        } else {
+            a.releaseSell(s, qty);
+        }
+    }
+
+    // =========================
+    // 2) 주문 수명주기
+    // =========================
+
+    /**
+     * ACCEPTED 였던 주문(의 잔량)이 거부/취소됨 → 예약 해제, 같은 주문 재전송 허용.
+     * 모르는 계좌/종목이거나 예약(매수 금액 / 매도 수량)보다 많이 풀려 하면 false (아무것도 바꾸지 않음)
+     */
+    public boolean release(String accountId, String code, OrderSide side, long qty, long price) {
+        AccountRiskState a = accounts.get(accountId);
+        Integer id = symbolIds.get(code);
+        if (a == null || id == null || qty <= 0 || price <= 0) return false;
+        boolean released = side == OrderSide.BUY ? a.tryReleaseBuy(id, qty * price) : a.tryReleaseSell(id, qty);
+        if (!released) {
+            log.warn("risk release rejected (exceeds reservation): {} {} {} qty={} price={}", accountId, code, side, qty, price);
+            return false;
+        }
+        if (side == OrderSide.BUY) symbolBuyNotional[id].add(-qty * price);
+        a.duplicates.forget(DuplicateOrderFilter.fingerprint(id, side, qty, price));
+        events.released(accountId, code, side, qty, price);
+        return true;
+    }
+
+    /**
+     * 체결: 예약을 보유로 옮김. 매도는 평균단가 기준 실현손익 반영.
+     * 매수는 qty·orderPrice 만큼 예약이, 매도는 qty 만큼 매도 예약과 보유가 있어야 함 → 아니면 false (공매도 보유 안 만듦)
+     */
+    public boolean onFill(String accountId, String code, OrderSide side, long qty, long orderPrice, long fillPrice) {
+        AccountRiskState a = accounts.get(accountId);
+        Integer id = symbolIds.get(code);
+        if (a == null || id == null || qty <= 0 || orderPrice <= 0 || fillPrice <= 0) return false;
+        boolean filled = side == OrderSide.BUY
+                ? a.fillBuy(id, qty, orderPrice, fillPrice)
+                : a.fillSell(id, qty, fillPrice);
+        if (!filled) {
+            log.warn("risk fill rejected (no matching reservation/position): {} {} {} qty={} orderPrice={}",
+                    accountId, code, side, qty, orderPrice);
+            return false;
+        }
+        if (side == OrderSide.BUY) symbolBuyNotional[id].add(-qty * orderPrice);
+        events.filled(accountId, code, side, qty, orderPrice, fillPrice);
+        return true;
+    }
+
+    /** 브로커 잔고로 보유 수량/평균단가 덮어쓰기 */
+    public boolean syncPosition(String accountId, String code, long qty, long avgPrice) {
+        AccountRiskState a = accounts.get(accountId);
+        Integer id = symbolIds.get(code);
+        if (a == null || id == null) return false;
+        a.setPosition(id, qty, avgPrice);
+        return true;
+    }
+
+    public void register(String accountId) {
+        accounts.computeIfAbsent(accountId,
+                k -> new AccountRiskState(k, props.maxSymbols(), props.duplicateSlots()));
+    }
+
+    /** 장 시작 전: 당일 실현손익 초기화 */
+    public void resetDay() {
+        accounts.values().forEach(AccountRiskState::resetDay);
+        log.info("risk day reset: {} accounts", accounts.size());
+    }
+
+    // =========================
+    // 3) 기준 데이터
+    // =========================
+
+    /**
+     * 종목 마스터 코드에 id 를 부여하고 (한 번 받은 id 는 유지) 전일 종가 table 을 통째로 교체.
+     * 교체 중에도 check 는 이전 snapshot 으로 계속 돈다.
+     */
+    public synchronized ReferenceInfo installReference(String basDd, Collection<String> codes, Map<String, Long> prevClose) {
+        for (String c : codes) {
+            if (symbolIds.containsKey(c)) continue;
+            if (nextSymbolId >= symbolCodes.length) {
+                log.warn("risk symbol capacity {} exhausted, {} ignored (krx.risk.max-symbols)", symbolCodes.length, c);
+                continue;
+            }
+            symbolCodes[nextSymbolId] = c;
+            symbolIds.put(c, nextSymbolId++);
+        }
+
+        long[] close = new long[symbolCodes.length];
+        for (Map.Entry<String, Long> e : prevClose.entrySet()) {
+            Integer id = symbolIds.get(e.getKey());
+            if (id != null && e.getValue() != null) close[id] = e.getValue();
+        }
+        RiskReferenceTable t = new RiskReferenceTable(basDd, close, props.priceBandPct(), nextSymbolId);
+        this.reference = t;
+        log.info("risk reference installed: basDd={}, symbols={}, priced={}", basDd, t.symbols, t.priced);
+        return referenceInfo();
+    }
+
+    public ReferenceInfo referenceInfo() {
+        RiskReferenceTable t = reference;
+        return new ReferenceInfo(t.basDd, t.symbols, t.priced, t.loadedAt);
+    }
+
+    public Band band(String code) {
+        Integer id = symbolIds.get(code);
+        if (id == null) return null;
+        RiskReferenceTable t = reference;
+        return new Band(code, t.prevClose[id], t.lower[id], t.upper[id]);
+    }
+
+    // =========================
+    // 4) 조회
+    // =========================
+    public AccountView account(String accountId) {
+        AccountRiskState a = accounts.get(accountId);
+        if (a == null) return null;
+        List<PositionView> positions = new ArrayList<>();
+        for (int s = 0; s < nextSymbolId; s++) {
+            long pos = a.position(s);
+            long open = a.symbolOpen(s);
+            long sell = a.pendingSell(s);
+            if (pos == 0 && open == 0 && sell == 0) continue;
+            positions.add(new PositionView(symbolCodes[s], pos, a.costBasis(s), open, sell));
+        }
+        return new AccountView(a.accountId, a.openNotional(), a.realizedPnl(), positions);
+    }
+
+    public Stats stats() {
+        Map<RiskVerdict, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (RiskVerdict v : RiskVerdict.values()) {
+            long c = verdictCounts[v.ordinal()].sum();
+            counts.put(v, c);
+            total += c;
+        }
+        double avgNanos = total == 0 ? 0 : (double) checkNanos.sum() / total;
+        return new Stats(total, avgNanos, counts, accounts.size());
+    }
+
+    public long symbolBuyNotional(String code) {
+        Integer id = symbolIds.get(code);
+        return id == null ? 0 : symbolBuyNotional[id].sum();
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record ReferenceInfo(String basDd, int symbols, int priced, LocalDateTime loadedAt) {}
+
+    public record Band(String isuCd, long prevClose, long lower, long upper) {}
+
+    public record PositionView(String isuCd, long position, long costBasis, long openBuyNotional, long pendingSell) {}
+
+    public record AccountView(String accountId, long openNotional, long realizedPnl, List<PositionView> positions) {}
+
+    public record Stats(long checks, double avgCheckNanos, Map<RiskVerdict, Long> verdicts, int accounts) {}
+}
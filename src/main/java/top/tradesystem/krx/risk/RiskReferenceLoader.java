@@ -0,0 +1,125 @@
+package top.tradesystem.krx.risk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterCacheBus;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxTickerMasterRow;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+import top.tradesystem.krx.repository.KrxTickerMasterMapper;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 리스크 기준 데이터 적재: krx_ticker_master (종목 universe) + 마지막 거래일 krx_daily_price 종가.
+ * - 기동 직후, 장 시작 전 cron, 그리고 더 최신 일자가 sync 될 때마다 다시 읽어 통째로 교체
+ */
+@Component
+public class RiskReferenceLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskReferenceLoader.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final List<String> MARKETS = List.of("KOSPI", "KOSDAQ");
+
+    private final RiskEngine engine;
+    private final KrxTickerMasterMapper tickerMasterMapper;
+    private final KrxDailyPriceMapper priceMapper;
+    private final KrxRollupMapper rollupMapper;
+    private final ZoneId zone;
+
+    public RiskReferenceLoader(
+            RiskEngine engine,
+            KrxTickerMasterMapper tickerMasterMapper,
+            KrxDailyPriceMapper priceMapper,
+            KrxRollupMapper rollupMapper,
+            KrxSchedulerProperties schedulerProps
+    ) {
+        this.engine = engine;
+        this.tickerMasterMapper = tickerMasterMapper;
+        this.priceMapper = priceMapper;
+        this.rollupMapper = rollupMapper;
+        this.zone = ZoneId.of(schedulerProps.zone());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reloadAsync("startup");
+    }
+
+    @Scheduled(cron = "${krx.risk.reload-cron:0 0 8 * * MON-FRI}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void scheduledReload() {
+        reloadAsync("cron");
+    }
+
+    /** 더 최신 일자의 종가가 들어오면 그 값이 다음 거래일 기준가 */
+    @EventListener
+    public void onDailyPriceSynced(KrxDailyPriceSyncedEvent e) {
+        String current = engine.referenceInfo().basDd();
+        if (e.saved() > 0 && (current == null || e.basDd().compareTo(current) >= 0)) reloadAsync("sync " + e.basDd());
+    }
+
+    /** 다른 노드에서 저장된 종가 / 종목 마스터 변경도 반영 */
+    @EventListener
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        KrxDailyPriceSyncedEvent synced = ClusterCacheBus.remoteDailyPrice(e);
+        if (synced != null) onDailyPriceSynced(synced);
+        else if (ClusterCacheBus.TICKER_MASTER.equals(e.topic())) reloadAsync("ticker master");
+    }
+
+    private void reloadAsync(String reason) {
+        Mono.fromCallable(this::reload)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        info -> log.debug("risk reference reloaded ({}): {}", reason, info),
+                        err -> log.warn("risk reference reload failed ({})", reason, err)
+                );
+    }
+
+    public synchronized RiskEngine.ReferenceInfo reload() {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String m : MARKETS) {
+            for (KrxTickerMasterRow r : tickerMasterMapper.findByMarket(m)) codes.add(r.getCode());
+        }
+
+        LocalDate today = LocalDate.now(zone);
+        List<String> days = rollupMapper.findTradingDays(
+                today.minusDays(14).format(YYYYMMDD), today.format(YYYYMMDD), MARKETS.get(0));
+        if (days.isEmpty()) {
+            log.warn("risk reference: no trading day in last 14 days, prices not loaded");
+            return engine.installReference(null, codes, Map.of());
+        }
+        String basDd = days.get(days.size() - 1);
+
+        Map<String, Long> close = new HashMap<>(codes.size() * 2);
+        for (String m : MARKETS) {
+            for (KrxDailyPriceRow r : priceMapper.findByBasDdAndMarket(basDd, m)) {
+                if (r.tddClsprc() == null || r.tddClsprc().signum() <= 0) continue;
+                codes.add(r.isuCd());
+                close.put(r.isuCd(), r.tddClsprc().longValue());
+            }
+        }
+        return engine.installReference(basDd, codes, close);
+    }
+
+    @Scheduled(cron = "${krx.risk.reset-cron:0 50 7 * * MON-FRI}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void resetDay() {
+        engine.resetDay();
+    }
+}
@@ -0,0 +1,38 @@
+package top.tradesystem.krx.risk;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종목 id 로 인덱싱한 기준 데이터 snapshot (불변, 재적재 때 통째로 교체).
+ */
+final class RiskReferenceTable {
+
+    final String basDd;
+    final LocalDateTime loadedAt;
+    final long[] prevClose;   // 0 이면 기준가 없음
+    final long[] upper;
+    final long[] lower;
+    final int symbols;
+    final int priced;
+
+    RiskReferenceTable(String basDd, long[] prevClose, int priceBandPct, int symbols) {
+        this.basDd = basDd;
+        this.loadedAt = LocalDateTime.now();
+        this.prevClose = prevClose;
+        this.upper = new long[prevClose.length];
+        this.lower = new long[prevClose.length];
+        int n = 0;
+        for (int i = 0; i < prevClose.length; i++) {
+            if (prevClose[i] <= 0) continue;
+            upper[i] = PriceBand.upper(prevClose[i], priceBandPct);
+            lower[i] = PriceBand.lower(prevClose[i], priceBandPct);
+            n++;
+        }
+        this.symbols = symbols;
+        this.priced = n;
+    }
+
+    static RiskReferenceTable empty(int capacity) {
+        return new RiskReferenceTable(null, new long[capacity], 30, 0);
+    }
+}
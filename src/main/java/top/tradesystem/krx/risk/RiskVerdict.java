@@ -0,0 +1,34 @@
+package top.tradesystem.krx.risk;
+
+/**
+ * 리스크 체크 결과. 체크 경로에서 객체를 만들지 않도록 enum 상수만 반환한다.
+ */
+public enum RiskVerdict {
+    ACCEPTED("통과"),
+    UNKNOWN_ACCOUNT("등록되지 않은 계좌"),
+    UNKNOWN_SYMBOL("종목 마스터에 없는 종목"),
+    NO_REFERENCE("전일 종가 없음 (신규상장/거래정지)"),
+    INVALID_ORDER("수량/가격 오류"),
+    INVALID_TICK("호가단위 불일치"),
+    PRICE_OUT_OF_BAND("가격제한폭 밖"),
+    ORDER_TOO_LARGE("주문 1건 금액 한도 초과"),
+    LOSS_LIMIT("당일 손실 한도 도달"),
+    SYMBOL_LIMIT("종목별 노출 한도 초과"),
+    ACCOUNT_LIMIT("계좌 미체결 한도 초과"),
+    INSUFFICIENT_POSITION("매도 가능 수량 부족"),
+    DUPLICATE("중복 주문");
+
+    private final String description;
+
+    RiskVerdict(String description) {
+        this.description = description;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public boolean accepted() {
+        return this == ACCEPTED;
+    }
+}
@@ -0,0 +1,92 @@
+package top.tradesystem.krx.scheduler;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.service.KrxDailyTradeService;
+import top.tradesystem.krx.service.KrxIndexDailyPriceService;
+import top.tradesystem.krx.service.KrxTickerMasterSyncService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 장 마감 후 적재 순서 정의.
+ *
+ * <pre>
+ * TICKER_MASTER_KOSPI  ─┬─ DAILY_TRADE_KOSPI
+ *                       └─ DAILY_PRICE_KOSPI
+ * TICKER_MASTER_KOSDAQ ─┬─ DAILY_TRADE_KOSDAQ
+ *                       └─ DAILY_PRICE_KOSDAQ
+ * INDEX_DAILY (KRX/KOSPI/KOSDAQ 지수 계열)
+ * </pre>
+ *
+ * KOSPI / KOSDAQ 체인은 서로 독립이라 병렬로 돈다.
+ */
+@Component
+public class EodJobGraph {
+
+    private final List<EodJobNode> nodes;
+
+    public EodJobGraph(
+            KrxTickerMasterSyncService tickerMasterSyncService,
+            KrxDailyTradeService dailyTradeService,
+            KrxDailyPriceService dailyPriceService,
+            KrxIndexDailyPriceService indexDailyPriceService
+    ) {
+        List<EodJobNode> list = new ArrayList<>();
+        for (String m : List.of("KOSPI", "KOSDAQ")) {
+            String master = "TICKER_MASTER_" + m;
+            list.add(new EodJobNode(master, List.of(),
+                    dd -> tickerMasterSyncService.sync(dd, m).map(KrxTickerMasterSyncService.SyncResult::fetched)));
+            list.add(new EodJobNode("DAILY_TRADE_" + m, List.of(master),
+                    dd -> dailyTradeService.sync(dd, m).map(KrxDailyTradeService.SyncResult::saved)));
+            list.add(new EodJobNode("DAILY_PRICE_" + m, List.of(master),
+                    dd -> dailyPriceService.sync(dd, m).map(KrxDailyPriceService.SyncResult::saved)));
+        }
+        list.add(new EodJobNode("INDEX_DAILY", List.of(),
+                dd -> indexDailyPriceService.sync(dd, "ALL").map(KrxIndexDailyPriceService.SyncResult::saved)));
+        this.nodes = topologicalOrder(list);
+    }
+
+    /** 의존성 순서(부모가 먼저)로 정렬된 노드 목록 */
+    public List<EodJobNode> nodes() {
+        return nodes;
+    }
+
+    private static List<EodJobNode> topologicalOrder(List<EodJobNode> in) {
+        Map<String, EodJobNode> byId = new LinkedHashMap<>();
+        for (EodJobNode n : in) {
+            if (byId.put(n.id(), n) != null) {
+                throw new IllegalStateException("duplicate EOD job id: " + n.id());
+            }
+        }
+
+        List<EodJobNode> out = new ArrayList<>(in.size());
+        Map<String, Boolean> visiting = new HashMap<>();
+        Set<String> done = new HashSet<>();
+        for (EodJobNode n : in) visit(n, byId, visiting, done, out);
+        return List.copyOf(out);
+    }
+
+    private static void visit(EodJobNode n, Map<String, EodJobNode> byId, Map<String, Boolean> visiting,
+                              Set<String> done, List<EodJobNode> out) {
+        if (done.contains(n.id())) return;
+        if (Boolean.TRUE.equals(visiting.get(n.id()))) {
+            throw new IllegalStateException("EOD job graph has a cycle at " + n.id());
+        }
+        visiting.put(n.id(), true);
+        for (String dep : n.dependsOn()) {
+            EodJobNode d = byId.get(dep);
+            if (d == null) throw new IllegalStateException("unknown dependency " + dep + " of " + n.id());
+            visit(d, byId, visiting, done, out);
+        }
+        visiting.put(n.id(), false);
+        done.add(n.id());
+        out.add(n);
+    }
+}
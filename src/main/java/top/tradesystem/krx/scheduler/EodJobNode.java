@@ -0,0 +1,21 @@
+package top.tradesystem.krx.scheduler;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * EOD DAG 의 노드 하나.
+ * - action: basDd -> 저장 건수
+ * - dependsOn: 먼저 성공해야 하는 노드 id
+ */
+public record EodJobNode(
+        String id,
+        List<String> dependsOn,
+        Function<String, Mono<Integer>> action
+) {
+    public EodJobNode {
+        dependsOn = dependsOn == null ? List.of() : List.copyOf(dependsOn);
+    }
+}
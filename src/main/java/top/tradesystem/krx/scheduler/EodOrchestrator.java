@@ -0,0 +1,211 @@
+package top.tradesystem.krx.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxEodJobRunRow;
+import top.tradesystem.krx.dto.KrxEodRunRow;
+import top.tradesystem.krx.ratelimit.KrxRequestPriority;
+import top.tradesystem.krx.repository.KrxEodJobMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * EOD DAG 실행기.
+ * - 일자별 lease 로 중복 실행 방지
+ * - job 상태를 krx_eod_job_run 에 저장 → 재시작 시 SUCCEEDED job 은 건너뛰고 이어서 실행
+ * - 의존성이 없는 job 은 병렬 실행
+ */
+@Service
+public class EodOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(EodOrchestrator.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static final String SUCCEEDED = "SUCCEEDED";
+    static final String FAILED = "FAILED";
+    static final String BLOCKED = "BLOCKED";
+
+    private final EodJobGraph graph;
+    private final KrxEodJobMapper mapper;
+    private final JobLeaseService leaseService;
+    private final KrxSchedulerProperties props;
+    private final ZoneId zone;
+
+    public EodOrchestrator(
+            EodJobGraph graph,
+            KrxEodJobMapper mapper,
+            JobLeaseService leaseService,
+            KrxSchedulerProperties props
+    ) {
+        this.graph = graph;
+        this.mapper = mapper;
+        this.leaseService = leaseService;
+        this.props = props;
+        this.zone = ZoneId.of(props.zone());
+    }
+
+    // =========================
+    // 1) 실행
+    //    - force=true 면 이미 성공한 job 도 다시 돌림
+    // =========================
+    public Mono<EodRunResult> run(String basDd, boolean force) {
+        String leaseName = "eod:" + basDd;
+        Duration ttl = Duration.ofSeconds(props.leaseSeconds());
+
+        // lease 는 호출마다 token 이라 같은 JVM 의 스케줄 실행 + 수동 POST 도 하나만 돈다.
+        // 긴 backfill 성 실행에서도 만료되지 않도록 주기적으로 연장, 연장이 끊기면 실행 중단.
+        return leaseService.exclusive(leaseName, ttl,
+                        lease -> blocking(() -> mapper.markRunStarted(basDd, lease.token(), now()))
+                                .then(blocking(() -> mapper.findJobsByBasDd(basDd)))
+                                .flatMap(prev -> execute(basDd, prev, force))
+                                .flatMap(jobs -> finish(basDd, jobs)),
+                        () -> {
+                            log.info("EOD {} skipped: lease held by another runner", basDd);
+                            return Mono.just(new EodRunResult(basDd, "SKIPPED", false, List.of(), null));
+                        })
+                // KRX 호출은 backfill 보다 먼저 (rate limiter 대기열 / 일일 한도 예약분)
+                .contextWrite(KrxRequestPriority.URGENT::apply);
+    }
+
+    private Mono<List<JobResult>> execute(String basDd, List<KrxEodJobRunRow> prev, boolean force) {
+        Map<String, KrxEodJobRunRow> prevById = prev.stream()
+                .collect(Collectors.toMap(KrxEodJobRunRow::jobId, Function.identity()));
+
+        // nodes() 는 위상 정렬돼 있으므로 부모 Mono 가 항상 먼저 만들어진다.
+        // cache() 로 부모를 여러 자식이 구독해도 한 번만 실행되게 함.
+        Map<String, Mono<JobResult>> memo = new LinkedHashMap<>();
+        for (EodJobNode node : graph.nodes()) {
+            List<Mono<JobResult>> deps = node.dependsOn().stream().map(memo::get).toList();
+
+            Mono<JobResult> m = Flux.fromIterable(deps)
+                    .flatMap(Function.identity())
+                    .collectList()
+                    .flatMap(depResults -> {
+                        KrxEodJobRunRow before = prevById.get(node.id());
+                        if (!force && before != null && SUCCEEDED.equals(before.status())) {
+                            return Mono.just(JobResult.resumed(before));
+                        }
+                        boolean blocked = depResults.stream().anyMatch(r -> !SUCCEEDED.equals(r.status()));
+                        if (blocked) {
+                            return Mono.just(new JobResult(node.id(), BLOCKED, 0, 0L, false, "upstream job failed"));
+                        }
+                        return runNode(basDd, node);
+                    })
+                    .cache();
+            memo.put(node.id(), m);
+        }
+
+        return Flux.fromIterable(memo.values())
+                .flatMap(Function.identity())
+                .collectList();
+    }
+
+    private Mono<JobResult> runNode(String basDd, EodJobNode node) {
+        return blocking(() -> mapper.markJobRunning(basDd, node.id(), now()))
+                .then(Mono.defer(() -> {
+                    long t0 = System.nanoTime();
+                    return node.action().apply(basDd)
+                            .defaultIfEmpty(0)
+                            .map(saved -> new JobResult(node.id(), SUCCEEDED, saved, elapsedMs(t0), false, null))
+                            .onErrorResume(e -> {
+                                log.warn("EOD job {} {} failed", basDd, node.id(), e);
+                                return Mono.just(new JobResult(node.id(), FAILED, 0, elapsedMs(t0), false,
+                                        truncate(String.valueOf(e.getMessage()))));
+                            });
+                }))
+                .flatMap(r -> blocking(() -> mapper.markJobFinished(
+                        basDd, r.jobId(), r.status(), r.saved(), now(), r.durationMs(), r.error()
+                )).thenReturn(r));
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    public Mono<KrxEodRunRow> findRun(String basDd) {
+        return blocking(() -> mapper.findRun(basDd));
+    }
+
+    public Mono<List<KrxEodJobRunRow>> findJobs(String basDd) {
+        return blocking(() -> mapper.findJobsByBasDd(basDd));
+    }
+
+    public Mono<List<KrxEodRunRow>> recentRuns(int limit) {
+        return blocking(() -> mapper.findRecentRuns(Math.max(1, Math.min(limit, 365))));
+    }
+
+    private Mono<EodRunResult> finish(String basDd, List<JobResult> jobs) {
+        boolean ok = jobs.stream().allMatch(j -> SUCCEEDED.equals(j.status()));
+        String status = ok ? SUCCEEDED : FAILED;
+
+        // 장 마감 시각 대비 "데이터가 언제 쓸 수 있게 됐는지"
+        LocalDateTime finishedAt = now();
+        LocalDateTime close = LocalDate.parse(basDd, YYYYMMDD).atTime(props.marketClose());
+        Long lagMs = ok ? Duration.between(close, finishedAt).toMillis() : null;
+
+        return blocking(() -> mapper.markRunFinished(basDd, status, finishedAt, lagMs))
+                .doOnNext(x -> log.info("EOD {} finished: status={}, availableLagMs={}", basDd, status, lagMs))
+                .thenReturn(new EodRunResult(basDd, status, true, jobs, lagMs));
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    private static long elapsedMs(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000L;
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 1000 ? s : s.substring(0, 1000);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> c) {
+        return Mono.fromCallable(c).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record EodRunResult(
+            String basDd,
+            String status,
+            boolean leaseAcquired,
+            List<JobResult> jobs,
+            Long availableLagMs
+    ) {}
+
+    public record JobResult(
+            String jobId,
+            String status,
+            int saved,
+            long durationMs,
+            boolean resumed,
+            String error
+    ) {
+        static JobResult resumed(KrxEodJobRunRow row) {
+            return new JobResult(
+                    row.jobId(),
+                    row.status(),
+                    row.saved() == null ? 0 : row.saved(),
+                    row.durationMs() == null ? 0L : row.durationMs(),
+                    true,
+                    null
+            );
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package top.tradesystem.krx.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.cluster.ClusterMembership;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 장 마감 후 EOD DAG 자동 실행 트리거.
+ * - krx.scheduler.enabled=false 면 아무것도 하지 않음 (수동 POST 만 사용)
+ * - 클러스터에서는 leader 노드만 트리거 (일자×시장 작업은 노드들에 샤딩됨)
+ */
+@Component
+public class EodScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EodScheduler.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final EodOrchestrator orchestrator;
+    private final KrxSchedulerProperties props;
+    private final ClusterMembership cluster;
+
+    public EodScheduler(EodOrchestrator orchestrator, KrxSchedulerProperties props, ClusterMembership cluster) {
+        this.orchestrator = orchestrator;
+        this.props = props;
+        this.cluster = cluster;
+    }
+
+    @Scheduled(cron = "${krx.scheduler.eod-cron:0 30 18 * * MON-FRI}", zone = "${krx.scheduler.zone:Asia/Seoul}")
+    public void runEod() {
+        if (!props.enabled() || !cluster.isLeader()) return;
+
+        String basDd = LocalDate.now(ZoneId.of(props.zone())).format(YYYYMMDD);
+        log.info("EOD scheduled run start: basDd={}", basDd);
+
+        orchestrator.run(basDd, false)
+                .subscribe(
+                        r -> log.info("EOD scheduled run done: basDd={}, status={}", r.basDd(), r.status()),
+                        e -> log.error("EOD scheduled run error: basDd={}", basDd, e)
+                );
+    }
+}
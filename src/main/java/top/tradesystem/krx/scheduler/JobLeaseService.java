@@ -0,0 +1,118 @@
+package top.tradesystem.krx.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import top.tradesystem.krx.repository.KrxJobLeaseMapper;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * MySQL 기반 lease (krx_job_lease).
+ * - 여러 인스턴스/중복 트리거가 같은 작업을 동시에 돌리지 않도록 막는다.
+ * - 작업 lease: {@link #acquire} 마다 새 token(pid@host#n)을 owner 로 씀 → 같은 JVM 안의 두 번째 호출도 막힘
+ * - 노드 lease: {@link #tryAcquire} 는 owner = pid@host 라 같은 노드가 다시 잡으면 연장 (leader lease 용)
+ * - blocking 메서드는 boundedElastic 에서 호출할 것 ({@link #exclusive} 는 알아서 옮김).
+ */
+@Component
+public class JobLeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeaseService.class);
+
+    private static final int RENEW_RETRIES = 3;
+
+    /** 작업 lease 한 번 (token 이 owner) */
+    public record Lease(String name, String token, Duration ttl) {}
+
+    private final KrxJobLeaseMapper mapper;
+    private final String ownerId;
+    private final AtomicLong seq = new AtomicLong();
+
+    public JobLeaseService(KrxJobLeaseMapper mapper) {
+        this.mapper = mapper;
+        this.ownerId = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+    }
+
+    public String ownerId() {
+        return ownerId;
+    }
+
+    // =========================
+    // 1) 노드 lease (재진입)
+    // =========================
+    public boolean tryAcquire(String name, Duration ttl) {
+        mapper.tryAcquire(name, ownerId, seconds(ttl));
+        return ownerId.equals(mapper.findActiveOwner(name));
+    }
+
+    public void release(String name) {
+        mapper.release(name, ownerId);
+    }
+
+    // =========================
+    // 2) 작업 lease (호출마다 token)
+    // =========================
+    /** 못 잡으면 null */
+    public Lease acquire(String name, Duration ttl) {
+        String token = ownerId + "#" + seq.incrementAndGet();
+        mapper.tryAcquire(name, token, seconds(ttl));
+        return token.equals(mapper.findActiveOwner(name)) ? new Lease(name, token, ttl) : null;
+    }
+
+    public boolean renew(Lease lease) {
+        return mapper.renew(lease.name(), lease.token(), seconds(lease.ttl())) > 0;
+    }
+
+    public void release(Lease lease) {
+        mapper.release(lease.name(), lease.token());
+    }
+
+    /**
+     * lease 아래에서 run 실행, 못 잡으면 busy.
+     * - ttl/3 마다 연장. DB 오류는 backoff 로 몇 번 재시도
+     * - 연장이 안 되면(다른 owner 가 가져감 / 재시도 소진) run 을 취소하고 IllegalStateException
+     * - 끝나면(성공/실패/취소) release
+     */
+    public <T> Mono<T> exclusive(String name, Duration ttl, Function<Lease, Mono<T>> run, Supplier<Mono<T>> busy) {
+        return Mono.fromCallable(() -> Optional.ofNullable(acquire(name, ttl)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(lease -> lease.isEmpty() ? Mono.defer(busy) : guarded(lease.get(), run));
+    }
+
+    private <T> Mono<T> guarded(Lease lease, Function<Lease, Mono<T>> run) {
+        Duration period = lease.ttl().dividedBy(3);
+        Mono<T> lost = Flux.interval(period)
+                .concatMap(t -> Mono.fromCallable(() -> renew(lease))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .retryWhen(Retry.backoff(RENEW_RETRIES, Duration.ofMillis(200)).maxBackoff(period.dividedBy(2))))
+                .filter(renewed -> !renewed)
+                .next()
+                .onErrorResume(e -> {
+                    log.warn("lease renewal failed: {}", lease.name(), e);
+                    return Mono.just(false);
+                })
+                .then(Mono.error(() -> new IllegalStateException("lease lost during run: " + lease.name())));
+
+        return Mono.firstWithSignal(Mono.defer(() -> run.apply(lease)), lost)
+                .doFinally(s -> Schedulers.boundedElastic().schedule(() -> {
+                    try {
+                        release(lease);
+                    } catch (Exception e) {
+                        log.warn("lease release failed: {} (expires in {})", lease.name(), lease.ttl(), e);
+                    }
+                }));
+    }
+
+    private static int seconds(Duration ttl) {
+        return (int) Math.max(1, ttl.toSeconds());
+    }
+}
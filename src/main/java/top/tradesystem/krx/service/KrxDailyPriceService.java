@@ -1,48 +1,96 @@
 package top.tradesystem.krx.service;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import top.tradesystem.krx.client.KrxOpenApiClient;
+import top.tradesystem.krx.cluster.ClusterSyncCoordinator;
 import top.tradesystem.krx.dto.KrxDailyPriceRow;
 import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.config.KrxIngestProperties;
+import top.tradesystem.krx.event.KrxDailyPriceSyncedEvent;
+import top.tradesystem.krx.ingest.KrxRowDecoder;
+import top.tradesystem.krx.ingest.WriteBehindBuffer;
+import top.tradesystem.krx.journal.SyncAuditJournal;
+import top.tradesystem.krx.quality.DataQualityValidator;
+import top.tradesystem.krx.quality.ValidationMode;
 import top.tradesystem.krx.repository.KrxDailyPriceMapper;
+import top.tradesystem.krx.source.MarketDataRouter;
+import top.tradesystem.krx.wire.KrxColumnarEncoder;
+import top.tradesystem.krx.wire.KrxWireFormat;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 
 @Service
 public class KrxDailyPriceService {
 
     private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CLUSTER_DATASET = "PRICE";
 
-    private final KrxOpenApiClient client;
+    private final MarketDataRouter source;
     private final KrxDailyPriceMapper mapper;
-
-    public KrxDailyPriceService(KrxOpenApiClient client, KrxDailyPriceMapper mapper) {
-        this.client = client;
+    private final KrxRollupService rollupService;
+    private final WriteBehindBuffer<KrxDailyPriceRow> writeBuffer;
+    private final DataQualityValidator validator;
+    private final ApplicationEventPublisher events;
+    private final SyncAuditJournal audit;
+    private final SingleFlight singleFlight;
+    private final ClusterSyncCoordinator cluster;
+    private final KrxRowDecoder decoder;
+    private final int rangeConcurrency;
+
+    public KrxDailyPriceService(
+            MarketDataRouter source,
+            KrxDailyPriceMapper mapper,
+            KrxRollupService rollupService,
+            WriteBehindBuffer<KrxDailyPriceRow> dailyPriceWriteBuffer,
+            DataQualityValidator validator,
+            ApplicationEventPublisher events,
+            SyncAuditJournal audit,
+            SingleFlight singleFlight,
+            ClusterSyncCoordinator cluster,
+            KrxRowDecoder decoder,
+            KrxIngestProperties ingestProps
+    ) {
+        this.source = source;
         this.mapper = mapper;
+        this.rollupService = rollupService;
+        this.writeBuffer = dailyPriceWriteBuffer;
+        this.validator = validator;
+        this.events = events;
+        this.audit = audit;
+        this.singleFlight = singleFlight;
+        this.cluster = cluster;
+        this.decoder = decoder;
+        this.rangeConcurrency = ingestProps.rangeConcurrency();
+        cluster.register(CLUSTER_DATASET, (dd, m) -> syncLocal(dd, Market.valueOf(m)));
     }
 
     // =========================
     // 1) OpenAPI 호출
     // =========================
     public Mono<List<Map<String, String>>> fetchDailyPriceFromApi(String basDd, Market market) {
-        return client.fetchDailyPrice(basDd, market)
+        return source.fetchDailyPrice(basDd, market)
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
     // =========================
     // 2) DB 조회
+    //    - 장 시작 직후 대시보드가 같은 일자를 동시에 부르므로 동일 요청은 쿼리 1번으로 합침
     // =========================
     public Mono<List<KrxDailyPriceRow>> findByBasDdAndMarket(String basDd, String market) {
-        return Mono.fromCallable(() -> mapper.findByBasDdAndMarket(basDd, market))
-                .subscribeOn(Schedulers.boundedElastic());
+        return singleFlight.execute("daily-price", basDd + ":" + market,
+                () -> Mono.fromCallable(() -> mapper.findByBasDdAndMarket(basDd, market))
+                        .subscribeOn(Schedulers.boundedElastic()));
     }
 
     public Mono<List<KrxDailyPriceRow>> kospi(String basDd) {
@@ -58,6 +106,24 @@ public class KrxDailyPriceService {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    // =========================
+    // 2-1) bulk 조회: 컬럼 배치 (CBOR/Smile)
+    //    - market 이 ALL 이면 전체
+    // =========================
+    public Flux<DataBuffer> exportColumnar(String from, String to, String market, KrxWireFormat format,
+                                           DataBufferFactory buffers) {
+        String m = (market == null || market.isBlank() || "ALL".equalsIgnoreCase(market))
+                ? null : market.toUpperCase(Locale.ROOT);
+        // 배치(65,536 row)마다 바로 써서 내려보냄, 클라이언트가 느리면 write 가 막혀 DB 읽기도 같이 멈춤
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            KrxColumnarEncoder enc = new KrxColumnarEncoder(out, format, KrxColumnarEncoder.DEFAULT_BATCH_ROWS);
+            // archive(과거) → hot 순서로 이어 붙이면 bas_dd 순서가 유지됨
+            mapper.streamArchiveRange(from, to, m, ctx -> enc.add(ctx.getResultObject()));
+            mapper.streamRange(from, to, m, ctx -> enc.add(ctx.getResultObject()));
+            enc.finish();
+        }, buffers, task -> Schedulers.boundedElastic().schedule(task)));
+    }
+
     // =========================
     // 3) 저장: 단일 일자 sync
     // =========================
@@ -68,19 +134,66 @@ public class KrxDailyPriceService {
             case "KOSPI" -> syncOne(basDd, Market.KOSPI);
             case "KOSDAQ" -> syncOne(basDd, Market.KOSDAQ);
             case "ALL" -> Mono.zip(syncOne(basDd, Market.KOSPI), syncOne(basDd, Market.KOSDAQ))
-                    .map(t -> new SyncResult(basDd, "ALL", t.getT1().saved() + t.getT2().saved()));
+                    .map(t -> new SyncResult(basDd, "ALL", t.getT1().saved() + t.getT2().saved(),
+                            t.getT1().quarantined() || t.getT2().quarantined()));
             default -> Mono.error(new IllegalArgumentException("market must be KOSPI|KOSDAQ|ALL"));
         };
     }
 
+    // 클러스터: (basDd, market) 담당 노드에서 실행
     private Mono<SyncResult> syncOne(String basDd, Market market) {
+        return cluster.route(CLUSTER_DATASET, basDd, market.name(), SyncResult.class,
+                () -> syncLocal(basDd, market));
+    }
+
+    private Mono<SyncResult> syncLocal(String basDd, Market market) {
         return fetchDailyPriceFromApi(basDd, market)
-                .map(rows -> toRows(basDd, market.name(), rows))
-                .flatMap(toSave ->
-                        Mono.fromCallable(() -> toSave.isEmpty() ? 0 : mapper.upsertBatch(toSave))
-                                .subscribeOn(Schedulers.boundedElastic())
-                )
-                .map(saved -> new SyncResult(basDd, market.name(), saved));
+                .flatMap(rows -> saveApiRows(basDd, market, rows));
+    }
+
+    // =========================
+    // 원천 row 저장 (API 응답 / archive replay 공용)
+    //    - 품질 검증에서 격리되면 upsert 하지 않음 (krx_quality_quarantine 에 남김)
+    //    - row 는 write-behind 버퍼로 (다른 일자/시장과 묶여 batch upsert)
+    //    - 이 일자분이 전부 저장된 뒤 주봉/월봉/등락 집계 갱신 (별도 트랜잭션) → 이벤트 발행
+    //    - 결과는 "sync" journal 에 감사 기록 (DB 기록 없음)
+    // =========================
+    public Mono<SyncResult> saveApiRows(String basDd, Market market, List<Map<String, String>> rows) {
+        return saveApiRows(basDd, market, rows, ValidationMode.FULL);
+    }
+
+    /** PARTIAL: 실시간 잠정치처럼 일부 종목만, NONE: 격리 해제(release)처럼 이미 사람이 확인한 데이터 */
+    public Mono<SyncResult> saveApiRows(String basDd, Market market, List<Map<String, String>> rows, ValidationMode mode) {
+        return Mono.fromCallable(() -> decoder.dailyPrices(basDd, market.name(), rows))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(parsed -> {
+                    Mono<Boolean> quarantined = validator
+                            .validate(DataQualityValidator.PRICE, basDd, market.name(), rows, parsed, mode)
+                            .map(DataQualityValidator.QualityReport::quarantined);
+                    return quarantined.flatMap(q -> q
+                            ? Mono.just(new SyncResult(basDd, market.name(), 0, true))
+                            : upsert(basDd, market, parsed));
+                })
+                .doOnNext(r -> {
+                    audit.record("PRICE", r);
+                    if (!r.quarantined()) {
+                        events.publishEvent(new KrxDailyPriceSyncedEvent(r.basDd(), r.market(), r.saved()));
+                    }
+                });
+    }
+
+    // row 저장과 집계 갱신은 한 트랜잭션이 아님 (버퍼 batch 는 여러 일자를 섞어 커밋)
+    // → 저장 전에 갱신 대기 표시, 갱신 트랜잭션에서 지움. 중간에 끊기면 KrxRollupService.repairPending 이 마저 집계
+    private Mono<SyncResult> upsert(String basDd, Market market, List<KrxDailyPriceRow> parsed) {
+        if (parsed.isEmpty()) return Mono.just(new SyncResult(basDd, market.name(), 0, false));
+        return Mono.fromRunnable(() -> rollupService.markPending(basDd, market.name()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(writeBuffer.submit(parsed))
+                .flatMap(saved -> Mono.fromCallable(() -> {
+                    rollupService.refreshForDay(basDd, market.name());
+                    return saved;
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .map(saved -> new SyncResult(basDd, market.name(), saved, false));
     }
 
     // =========================
@@ -103,7 +216,8 @@ public class KrxDailyPriceService {
             sink.complete();
         });
 
-        return days.concatMap(dd -> sync(dd, m))
+        // 일자별 fetch 는 병렬, 저장은 버퍼가 묶어서 처리 (버퍼가 차면 fetch 가 기다림)
+        return days.flatMapSequential(dd -> sync(dd, m), rangeConcurrency)
                 .collectList()
                 .map(list -> new RangeSyncResult(
                         from,
@@ -114,20 +228,10 @@ public class KrxDailyPriceService {
                 ));
     }
 
-    private List<KrxDailyPriceRow> toRows(String basDd, String market, List<Map<String, String>> rows) {
-        if (rows == null || rows.isEmpty()) return List.of();
-
-        return rows.stream()
-                .map(KrxDailyPriceRow::toObjectMap)
-                .map(m -> KrxDailyPriceRow.fromApiMap(basDd, market, m))
-                .filter(Objects::nonNull)
-                .toList();
-    }
-
     // =========================
     // DTO
     // =========================
-    public record SyncResult(String basDd, String market, int saved) {}
+    public record SyncResult(String basDd, String market, int saved, boolean quarantined) {}
 
     public record RangeSyncResult(
             String from,
@@ -1,13 +1,26 @@
 package top.tradesystem.krx.service;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import top.tradesystem.krx.client.KrxOpenApiClient;
+import top.tradesystem.krx.cluster.ClusterSyncCoordinator;
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.config.KrxIngestProperties;
 import top.tradesystem.krx.dto.KrxDailyTradeRow;
 import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.ingest.KrxRowDecoder;
+import top.tradesystem.krx.ingest.WriteBehindBuffer;
+import top.tradesystem.krx.journal.SyncAuditJournal;
+import top.tradesystem.krx.quality.DataQualityValidator;
+import top.tradesystem.krx.quality.ValidationMode;
 import top.tradesystem.krx.repository.KrxDailyTradeMapper;
+import top.tradesystem.krx.source.MarketDataRouter;
+import top.tradesystem.krx.wire.KrxColumnarEncoder;
+import top.tradesystem.krx.wire.KrxWireFormat;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -15,35 +28,63 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Service
 public class KrxDailyTradeService {
 
     private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CLUSTER_DATASET = "TRADE";
 
-    private final KrxOpenApiClient client;
+    private final MarketDataRouter source;
     private final KrxDailyTradeMapper mapper;
+    private final WriteBehindBuffer<KrxDailyTradeRow> writeBuffer;
+    private final DataQualityValidator validator;
+    private final SyncAuditJournal audit;
+    private final SingleFlight singleFlight;
+    private final ClusterSyncCoordinator cluster;
+    private final KrxRowDecoder decoder;
+    private final int rangeConcurrency;
 
-    public KrxDailyTradeService(KrxOpenApiClient client, KrxDailyTradeMapper mapper) {
-        this.client = client;
+    public KrxDailyTradeService(
+            MarketDataRouter source,
+            KrxDailyTradeMapper mapper,
+            WriteBehindBuffer<KrxDailyTradeRow> dailyTradeWriteBuffer,
+            DataQualityValidator validator,
+            SyncAuditJournal audit,
+            SingleFlight singleFlight,
+            ClusterSyncCoordinator cluster,
+            KrxRowDecoder decoder,
+            KrxIngestProperties ingestProps
+    ) {
+        this.source = source;
         this.mapper = mapper;
+        this.writeBuffer = dailyTradeWriteBuffer;
+        this.validator = validator;
+        this.audit = audit;
+        this.singleFlight = singleFlight;
+        this.cluster = cluster;
+        this.decoder = decoder;
+        this.rangeConcurrency = ingestProps.rangeConcurrency();
+        cluster.register(CLUSTER_DATASET, (dd, m) -> syncLocal(dd, Market.valueOf(m)));
     }
 
     // =========================
     // 1) KRX OpenAPI 호출 (원천)
     // =========================
+    @SuppressWarnings("unchecked")
     public Mono<List<Map<String, Object>>> fetchDailyTradeFromApi(String basDd, Market market) {
-        // client.fetchDailyTrade: Mono<List<Map<String,String>>> 라는 전제
-        return client.fetchDailyTrade(basDd, market)
-                .map(list -> list.stream()
-                        .map(m -> {
-                            Map<String, Object> out = new LinkedHashMap<>();
-                            out.putAll(m); // String -> Object 업캐스팅
-                            return out;
-                        })
-                        .toList()
+        // source.fetchDailyTrade: Mono<List<Map<String,String>>> 라는 전제
+        // lowAlloc: 복사 없이 그대로 (row 는 이후 읽기만 함)
+        return source.fetchDailyTrade(basDd, market)
+                .map(list -> decoder.lowAlloc()
+                        ? (List<Map<String, Object>>) (List<?>) list
+                        : list.stream()
+                                .map(m -> {
+                                    Map<String, Object> out = new LinkedHashMap<>();
+                                    out.putAll(m); // String -> Object 업캐스팅
+                                    return out;
+                                })
+                                .toList()
                 )
                 .subscribeOn(Schedulers.boundedElastic());
     }
@@ -53,8 +94,10 @@ public class KrxDailyTradeService {
     // =========================
     public Mono<List<KrxDailyTradeRow>> findByBasDdAndMarket(String basDd, String market) {
         // DB 컬럼은 market이 아니라 mkt_nm 이고, mapper XML에서 mkt_nm = #{market} 로 처리
-        return Mono.fromCallable(() -> mapper.findByBasDdAndMarket(basDd, market))
-                .subscribeOn(Schedulers.boundedElastic());
+        // 동일 요청(같은 일자/시장) 동시 호출은 쿼리 1번으로 합침
+        return singleFlight.execute("daily-trade", basDd + ":" + market,
+                () -> Mono.fromCallable(() -> mapper.findByBasDdAndMarket(basDd, market))
+                        .subscribeOn(Schedulers.boundedElastic()));
     }
 
     public Mono<List<KrxDailyTradeRow>> kospi(String basDd) {
@@ -70,6 +113,24 @@ public class KrxDailyTradeService {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    // =========================
+    // 2-1) bulk 조회: 컬럼 배치 (CBOR/Smile)
+    //    - market 이 ALL 이면 전체
+    // =========================
+    public Flux<DataBuffer> exportColumnar(String from, String to, String market, KrxWireFormat format,
+                                           DataBufferFactory buffers) {
+        String m = (market == null || market.isBlank() || "ALL".equalsIgnoreCase(market))
+                ? null : market.toUpperCase(Locale.ROOT);
+        // 배치(65,536 row)마다 바로 써서 내려보냄, 클라이언트가 느리면 write 가 막혀 DB 읽기도 같이 멈춤
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            KrxColumnarEncoder enc = new KrxColumnarEncoder(out, format, KrxColumnarEncoder.DEFAULT_BATCH_ROWS);
+            // archive(과거) → hot 순서로 이어 붙이면 bas_dd 순서가 유지됨
+            mapper.streamArchiveRange(from, to, m, ctx -> enc.add(ctx.getResultObject()));
+            mapper.streamRange(from, to, m, ctx -> enc.add(ctx.getResultObject()));
+            enc.finish();
+        }, buffers, task -> Schedulers.boundedElastic().schedule(task)));
+    }
+
     // =========================
     // 3) 저장: 단일 일자 sync
     //    - 이미 있으면 스킵
@@ -87,13 +148,20 @@ public class KrxDailyTradeService {
                     basDd,
                     "ALL",
                     t.getT1().saved() + t.getT2().saved(),
-                    t.getT1().skipped() && t.getT2().skipped()
+                    t.getT1().skipped() && t.getT2().skipped(),
+                    t.getT1().quarantined() || t.getT2().quarantined()
             ));
             default -> Mono.error(new IllegalArgumentException("market must be KOSPI|KOSDAQ|ALL"));
         };
     }
 
+    // 클러스터: (basDd, market) 담당 노드에서 실행
     private Mono<SyncResult> syncOne(String basDd, Market market) {
+        return cluster.route(CLUSTER_DATASET, basDd, market.name(), SyncResult.class,
+                () -> syncLocal(basDd, market));
+    }
+
+    private Mono<SyncResult> syncLocal(String basDd, Market market) {
         final String mk = market.name();
 
         // ✅ 0) 이미 DB에 있으면 스킵(= API 호출/저장 안 함)
@@ -102,23 +170,44 @@ public class KrxDailyTradeService {
 
         return alreadyExists.flatMap(exists -> {
             if (exists) {
-                return Mono.just(new SyncResult(basDd, mk, 0, true));
+                SyncResult skipped = new SyncResult(basDd, mk, 0, true, false);
+                audit.record("TRADE", skipped);
+                return Mono.just(skipped);
             }
 
             // ✅ 1) 없으면 API 호출 → 변환 → upsert
             return fetchDailyTradeFromApi(basDd, market)
-                    .map(rows -> toTradeRows(basDd, rows))   // ✅ market.name() 넘기지 않음
-                    .flatMap((List<KrxDailyTradeRow> toSave) ->
-                            Mono.fromCallable(() -> {
-                                        if (toSave == null || toSave.isEmpty()) return 0;
-                                        return mapper.upsertBatch(toSave);
-                                    })
-                                    .subscribeOn(Schedulers.boundedElastic())
-                    )
-                    .map(saved -> new SyncResult(basDd, mk, saved, false));
+                    .flatMap(rows -> saveApiRows(basDd, market, rows));
         });
     }
 
+    // =========================
+    // 원천 row 저장 (API 응답 / archive replay 공용)
+    //    - replay 는 "이미 있으면 스킵" 을 타지 않고 항상 덮어씀
+    //    - 품질 검증은 시세와 같은 규칙 (같은 응답을 숫자로 파싱해서 검사), 격리되면 upsert 안 함
+    //    - 결과는 "sync" journal 에 감사 기록
+    // =========================
+    public Mono<SyncResult> saveApiRows(String basDd, Market market, List<Map<String, Object>> rows) {
+        return saveApiRows(basDd, market, rows, ValidationMode.FULL);
+    }
+
+    /** NONE: 격리 해제(release)처럼 이미 사람이 확인한 데이터 */
+    public Mono<SyncResult> saveApiRows(String basDd, Market market, List<Map<String, Object>> rows, ValidationMode mode) {
+        Mono<Boolean> quarantined = mode == ValidationMode.NONE ? Mono.just(false)
+                : Mono.fromCallable(() -> decoder.dailyPrices(basDd, market.name(), rows))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(view -> validator.validate(DataQualityValidator.TRADE, basDd, market.name(), rows, view, mode))
+                        .map(DataQualityValidator.QualityReport::quarantined);
+
+        return quarantined.flatMap(q -> q
+                ? Mono.just(new SyncResult(basDd, market.name(), 0, false, true))
+                : Mono.fromCallable(() -> decoder.dailyTrades(basDd, rows))   // ✅ market.name() 넘기지 않음
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(writeBuffer::submit)                 // write-behind: 다른 일자와 묶여 batch upsert
+                        .map(saved -> new SyncResult(basDd, market.name(), saved, false, false)))
+                .doOnNext(r -> audit.record("TRADE", r));
+    }
+
     // =========================
     // 4) 저장: from~to 누적 sync
     //    - 주말/공휴일 포함
@@ -143,8 +232,8 @@ public class KrxDailyTradeService {
             sink.complete();
         });
 
-        // ✅ 날짜별 sync 순차 실행(concatMap)
-        return days.concatMap(dd -> sync(dd, m))
+        // ✅ 날짜별 fetch 는 병렬(결과 순서 유지), 저장은 write-behind 버퍼가 묶어서 처리
+        return days.flatMapSequential(dd -> sync(dd, m), rangeConcurrency)
                 .collectList()
                 .map(list -> {
                     int totalSaved = list.stream().mapToInt(SyncResult::saved).sum();
@@ -153,22 +242,10 @@ public class KrxDailyTradeService {
                 });
     }
 
-    // =========================
-    // 5) 변환: Map -> Row
-    // =========================
-    private List<KrxDailyTradeRow> toTradeRows(String basDd, List<Map<String, Object>> rows) {
-        if (rows == null || rows.isEmpty()) return List.of();
-
-        return rows.stream()
-                .map(m -> KrxDailyTradeRow.fromApiMap(basDd, m)) // ✅ DB 스키마 기준 DTO로 변환
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
     // =========================
     // DTO
     // =========================
-    public record SyncResult(String basDd, String market, int saved, boolean skipped) {}
+    public record SyncResult(String basDd, String market, int saved, boolean skipped, boolean quarantined) {}
 
     public record RangeSyncResult(
             String from,
@@ -0,0 +1,261 @@
+package top.tradesystem.krx.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterCacheBus;
+import top.tradesystem.krx.cluster.ClusterSyncCoordinator;
+import top.tradesystem.krx.coalesce.SingleFlight;
+import top.tradesystem.krx.config.KrxIngestProperties;
+import top.tradesystem.krx.dto.KrxIndexDailyPriceRow;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.event.KrxCacheInvalidatedEvent;
+import top.tradesystem.krx.ingest.WriteBehindBuffer;
+import top.tradesystem.krx.journal.SyncAuditJournal;
+import top.tradesystem.krx.repository.KrxIndexDailyPriceMapper;
+import top.tradesystem.krx.source.MarketDataRouter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지수 일별 시세 적재/조회.
+ * - idx/{krx,kospi,kosdaq}_dd_trd 를 계열별로 호출해 krx_index_daily_price 에 upsert
+ * - (계열, 지수명)별 전체 시계열은 메모리 캐시에 두고 from/to 로 잘라서 반환 (sync 되면 적재된 지수 캐시 폐기)
+ *   미스 때 DB 조회는 lock 밖에서, 같은 지수 동시 미스는 SingleFlight 로 한 번만
+ * - 다른 노드에서 sync 되면 캐시 전체 폐기 (ClusterCacheBus)
+ */
+@Service
+public class KrxIndexDailyPriceService {
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_CACHED_SERIES = 512;
+    private static final String CLUSTER_DATASET = "INDEX";
+
+    private final MarketDataRouter source;
+    private final KrxIndexDailyPriceMapper mapper;
+    private final WriteBehindBuffer<KrxIndexDailyPriceRow> writeBuffer;
+    private final SyncAuditJournal audit;
+    private final ClusterSyncCoordinator cluster;
+    private final ClusterCacheBus cacheBus;
+    private final SingleFlight singleFlight;
+    private final int rangeConcurrency;
+
+    private record SeriesKey(String idxClss, String idxNm) {}
+
+    private final ConcurrentHashMap<SeriesKey, List<KrxIndexDailyPriceRow>> seriesCache = new ConcurrentHashMap<>();
+    // 폐기 세대: 로딩 중에 폐기되면 읽어 온 (이미 낡았을 수 있는) 결과는 캐시에 넣지 않음
+    private final AtomicLong seriesGeneration = new AtomicLong();
+
+    public KrxIndexDailyPriceService(
+            MarketDataRouter source,
+            KrxIndexDailyPriceMapper mapper,
+            WriteBehindBuffer<KrxIndexDailyPriceRow> indexDailyWriteBuffer,
+            SyncAuditJournal audit,
+            ClusterSyncCoordinator cluster,
+            ClusterCacheBus cacheBus,
+            SingleFlight singleFlight,
+            KrxIngestProperties ingestProps
+    ) {
+        this.source = source;
+        this.mapper = mapper;
+        this.writeBuffer = indexDailyWriteBuffer;
+        this.audit = audit;
+        this.cluster = cluster;
+        this.cacheBus = cacheBus;
+        this.singleFlight = singleFlight;
+        this.rangeConcurrency = ingestProps.rangeConcurrency();
+        cluster.register(CLUSTER_DATASET, (dd, f) -> syncLocal(dd, KrxIndexFamily.valueOf(f)));
+    }
+
+    // =========================
+    // 1) OpenAPI 호출
+    // =========================
+    public Mono<List<Map<String, String>>> fetchFromApi(String basDd, KrxIndexFamily family) {
+        return source.fetchIndexDaily(basDd, family)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // 2) DB 조회
+    // =========================
+    // family 가 잘못되면 호출 시점이 아니라 구독 시 Mono.error(IllegalArgumentException)
+    public Mono<List<KrxIndexDailyPriceRow>> findByBasDd(String basDd, String family) {
+        return Mono.fromCallable(() -> mapper.findByBasDdAndClss(basDd, parseFamily(family).name()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<String>> names(String family) {
+        return Mono.fromCallable(() -> mapper.findNames(parseFamily(family).name()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxIndexDailyPriceRow>> series(String family, String idxNm, String from, String to) {
+        return Mono.defer(() -> {
+                    SeriesKey key = new SeriesKey(parseFamily(family).name(), idxNm);
+                    List<KrxIndexDailyPriceRow> cached = seriesCache.get(key);
+                    return cached != null ? Mono.just(cached) : loadSeries(key);
+                })
+                .map(all -> slice(all, from, to));
+    }
+
+    private Mono<List<KrxIndexDailyPriceRow>> loadSeries(SeriesKey key) {
+        return singleFlight.execute("index-series", key.idxClss() + ":" + key.idxNm(), () -> {
+            long gen = seriesGeneration.get();
+            return Mono.fromCallable(() -> List.copyOf(mapper.findSeries(key.idxClss(), key.idxNm(), null, null)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(all -> {
+                        if (seriesGeneration.get() != gen) return;
+                        // 넘치면 아무거나 하나 버림 (지수 수가 적어 거의 안 일어남)
+                        if (seriesCache.size() >= MAX_CACHED_SERIES) {
+                            seriesCache.keySet().stream().findAny().ifPresent(seriesCache::remove);
+                        }
+                        seriesCache.put(key, all);
+                    });
+        });
+    }
+
+    private void evictSeries(SeriesKey key) {
+        seriesGeneration.incrementAndGet();
+        seriesCache.remove(key);
+    }
+
+    private static List<KrxIndexDailyPriceRow> slice(List<KrxIndexDailyPriceRow> all, String from, String to) {
+        int lo = 0;
+        int hi = all.size();
+        if (from != null) while (lo < hi && all.get(lo).basDd().compareTo(from) < 0) lo++;
+        if (to != null) while (hi > lo && all.get(hi - 1).basDd().compareTo(to) > 0) hi--;
+        return all.subList(lo, hi);
+    }
+
+    // =========================
+    // 3) 저장: 단일 일자 sync
+    // =========================
+    public Mono<SyncResult> sync(String basDd, String family) {
+        String f = (family == null || family.isBlank()) ? "ALL" : family.toUpperCase(Locale.ROOT);
+        if ("ALL".equals(f)) {
+            return Flux.fromArray(KrxIndexFamily.values())
+                    .flatMap(x -> syncOne(basDd, x))
+                    .reduce(0, (acc, r) -> acc + r.saved())
+                    .map(saved -> new SyncResult(basDd, "ALL", saved));
+        }
+        return Mono.defer(() -> syncOne(basDd, parseFamily(f)));
+    }
+
+    // 클러스터: (basDd, family) 담당 노드에서 실행
+    private Mono<SyncResult> syncOne(String basDd, KrxIndexFamily family) {
+        return cluster.route(CLUSTER_DATASET, basDd, family.name(), SyncResult.class,
+                () -> syncLocal(basDd, family));
+    }
+
+    private Mono<SyncResult> syncLocal(String basDd, KrxIndexFamily family) {
+        return fetchFromApi(basDd, family)
+                .flatMap(rows -> saveApiRows(basDd, family, rows));
+    }
+
+    // 원천 row 저장 (API 응답 / archive replay 공용)
+    public Mono<SyncResult> saveApiRows(String basDd, KrxIndexFamily family, List<Map<String, String>> rows) {
+        return Mono.fromCallable(() -> toRows(basDd, family, rows))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(toSave -> writeBuffer.submit(toSave)
+                        // 적재된 지수만 캐시 폐기 → 다음 조회 때 DB 에서 재생성
+                        .doOnNext(saved -> toSave.forEach(r -> evictSeries(new SeriesKey(r.idxClss(), r.idxNm())))))
+                .map(saved -> new SyncResult(basDd, family.name(), saved))
+                .doOnNext(r -> {
+                    audit.record("INDEX", r);
+                    if (r.saved() > 0) cacheBus.publish(ClusterCacheBus.INDEX_DAILY, basDd + ":" + family.name());
+                });
+    }
+
+    @EventListener
+    public void onCacheInvalidated(KrxCacheInvalidatedEvent e) {
+        if (!e.remote() || !ClusterCacheBus.INDEX_DAILY.equals(e.topic())) return;
+        seriesGeneration.incrementAndGet();
+        seriesCache.clear();
+    }
+
+    // =========================
+    // 4) 저장: from~to range sync (주말 제외, 일자 병렬)
+    // =========================
+    public Mono<RangeSyncResult> syncRange(String from, String to, String family) {
+        return Mono.defer(() -> syncDays(from, to, family));
+    }
+
+    private Mono<RangeSyncResult> syncDays(String from, String to, String family) {
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(from, YYYYMMDD);
+            end = LocalDate.parse(to, YYYYMMDD);
+        } catch (DateTimeParseException e) {
+            return Mono.error(new IllegalArgumentException("from/to must be yyyyMMdd", e));
+        }
+        if (end.isBefore(start)) return Mono.error(new IllegalArgumentException("to must be >= from"));
+
+        String f = (family == null || family.isBlank()) ? "ALL" : family.toUpperCase(Locale.ROOT);
+        if (!"ALL".equals(f)) parseFamily(f);
+
+        Flux<String> days = Flux.create(sink -> {
+            LocalDate d = start;
+            while (!d.isAfter(end)) {
+                if (d.getDayOfWeek() != DayOfWeek.SATURDAY && d.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                    sink.next(d.format(YYYYMMDD));
+                }
+                d = d.plusDays(1);
+            }
+            sink.complete();
+        });
+
+        return days.flatMapSequential(dd -> sync(dd, f), rangeConcurrency)
+                .collectList()
+                .map(list -> new RangeSyncResult(
+                        from,
+                        to,
+                        f,
+                        list.stream().mapToInt(SyncResult::saved).sum(),
+                        list
+                ));
+    }
+
+    private List<KrxIndexDailyPriceRow> toRows(String basDd, KrxIndexFamily family, List<Map<String, String>> rows) {
+        if (rows == null || rows.isEmpty()) return List.of();
+
+        return rows.stream()
+                .map(m -> KrxIndexDailyPriceRow.fromApiMap(basDd, family.name(), m))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public static KrxIndexFamily parseFamily(String family) {
+        String f = (family == null || family.isBlank()) ? "KOSPI" : family.toUpperCase(Locale.ROOT);
+        try {
+            return KrxIndexFamily.valueOf(f);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("family must be one of " + Arrays.toString(KrxIndexFamily.values()));
+        }
+    }
+
+    // =========================
+    // DTO
+    // =========================
+    public record SyncResult(String basDd, String family, int saved) {}
+
+    public record RangeSyncResult(
+            String from,
+            String to,
+            String family,
+            int totalSaved,
+            List<SyncResult> results
+    ) {}
+}
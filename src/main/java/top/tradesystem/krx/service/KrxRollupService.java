@@ -0,0 +1,191 @@
+package top.tradesystem.krx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.dto.KrxMarketBreadthRow;
+import top.tradesystem.krx.dto.KrxPriceBarRow;
+import top.tradesystem.krx.dto.KrxRollupPendingRow;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 주봉/월봉/시장 등락 집계.
+ * - refreshForDay: 일자 row 가 write-behind 버퍼로 전부 커밋된 뒤 별도 트랜잭션에서 호출 (KrxDailyPriceService).
+ *   upsert 와 원자적이지 않으므로 저장 전에 markPending 으로 표시해 두고, 집계와 같은 트랜잭션에서 표시를 지움.
+ *   그 사이 실패/종료로 남은 표시는 repairPending 이 주기적으로 다시 집계 (집계는 원천에서 다시 계산하므로 중복 실행 무해)
+ * - rebuild: (시장, 월) 단위로 쪼개 병렬 재생성
+ */
+@Service
+public class KrxRollupService {
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int REBUILD_CONCURRENCY = 4;
+    private static final int REPAIR_GRACE_SECONDS = 600; // 진행 중인 sync 의 표시는 건드리지 않음
+    private static final int REPAIR_BATCH = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(KrxRollupService.class);
+
+    private final KrxRollupMapper mapper;
+    private final TransactionTemplate tx;
+
+    public KrxRollupService(KrxRollupMapper mapper, PlatformTransactionManager txManager) {
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    // =========================
+    // 1) 증분 갱신 (blocking)
+    // =========================
+
+    /** 일자 row 저장 전에 호출: 집계가 끝날 때까지 (basDd, market) 을 갱신 대기로 표시 */
+    public void markPending(String basDd, String market) {
+        mapper.markPending(basDd, market);
+    }
+
+    /** 자체 트랜잭션에서 집계 갱신 + 대기 표시 삭제 */
+    public void refreshForDay(String basDd, String market) {
+        refreshForDay(basDd, market, 0);
+    }
+
+    private void refreshForDay(String basDd, String market, int graceSeconds) {
+        tx.executeWithoutResult(status -> {
+            refresh(basDd, market);
+            mapper.clearPending(basDd, market, graceSeconds);
+        });
+    }
+
+    // 저장 후 집계 전에 실패했거나 노드가 죽어 남은 표시를 다시 집계
+    @Scheduled(fixedDelayString = "${krx.rollup.repair-ms:300000}")
+    public void repairPending() {
+        try {
+            List<KrxRollupPendingRow> pending = mapper.findPending(REPAIR_GRACE_SECONDS, REPAIR_BATCH);
+            for (KrxRollupPendingRow p : pending) {
+                refreshForDay(p.basDd(), p.market(), REPAIR_GRACE_SECONDS);
+            }
+            if (!pending.isEmpty()) log.warn("rollup: repaired {} pending (day, market)", pending.size());
+        } catch (Exception e) {
+            log.warn("rollup: pending repair failed", e);
+        }
+    }
+
+    private void refresh(String basDd, String market) {
+        LocalDate d = LocalDate.parse(basDd, YYYYMMDD);
+
+        LocalDate weekStart = d.with(DayOfWeek.MONDAY);
+        mapper.refreshWeekly(weekStart.format(YYYYMMDD), weekStart.format(YYYYMMDD),
+                weekStart.plusDays(6).format(YYYYMMDD), market);
+
+        YearMonth ym = YearMonth.from(d);
+        mapper.refreshMonthly(ym.format(YYYYMM), ym.atDay(1).format(YYYYMMDD),
+                ym.atEndOfMonth().format(YYYYMMDD), market);
+
+        mapper.deleteBreadth(basDd, market);
+        mapper.refreshBreadth(basDd, market);
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    public Mono<List<KrxPriceBarRow>> weekly(String code, String from, String to) {
+        return Mono.fromCallable(() -> mapper.findWeekly(code, from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxPriceBarRow>> monthly(String code, String from, String to) {
+        return Mono.fromCallable(() -> mapper.findMonthly(code, from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<KrxMarketBreadthRow>> breadth(String basDd, String market) {
+        return Mono.fromCallable(() -> mapper.findBreadth(basDd, market.toUpperCase(Locale.ROOT)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // =========================
+    // 3) 이력 재생성
+    // =========================
+    public Mono<RebuildResult> rebuild(String from, String to, String market) {
+        return Mono.defer(() -> rebuildUnits(from, to, market));
+    }
+
+    private Mono<RebuildResult> rebuildUnits(String from, String to, String market) {
+        YearMonth start;
+        YearMonth end;
+        try {
+            start = YearMonth.from(LocalDate.parse(from, YYYYMMDD));
+            end = YearMonth.from(LocalDate.parse(to, YYYYMMDD));
+        } catch (RuntimeException e) {
+            return Mono.error(new IllegalArgumentException("from/to must be yyyyMMdd", e));
+        }
+        if (end.isBefore(start)) return Mono.error(new IllegalArgumentException("to must be >= from"));
+
+        String m = (market == null || market.isBlank()) ? "ALL" : market.toUpperCase(Locale.ROOT);
+        List<String> markets = switch (m) {
+            case "KOSPI", "KOSDAQ" -> List.of(m);
+            case "ALL" -> List.of("KOSPI", "KOSDAQ");
+            default -> null;
+        };
+        if (markets == null) return Mono.error(new IllegalArgumentException("market must be KOSPI|KOSDAQ|ALL"));
+
+        List<MonthUnit> units = new ArrayList<>();
+        for (YearMonth ym = start; !ym.isAfter(end); ym = ym.plusMonths(1)) {
+            for (String mk : markets) units.add(new MonthUnit(ym, mk, ym.equals(start)));
+        }
+
+        long t0 = System.nanoTime();
+        return Flux.fromIterable(units)
+                .flatMap(u -> Mono.fromCallable(() -> rebuildMonth(u))
+                        .subscribeOn(Schedulers.boundedElastic()), REBUILD_CONCURRENCY)
+                .reduce(0, Integer::sum)
+                .map(days -> new RebuildResult(from, to, m, units.size(), days,
+                        (System.nanoTime() - t0) / 1_000_000L));
+    }
+
+    private int rebuildMonth(MonthUnit u) {
+        String first = u.month().atDay(1).format(YYYYMMDD);
+        String last = u.month().atEndOfMonth().format(YYYYMMDD);
+
+        Integer days = tx.execute(status -> {
+            mapper.refreshMonthly(u.month().format(YYYYMM), first, last, u.market());
+
+            // 주봉은 월요일이 속한 월의 unit 이 주 전체(월 경계 밖 날짜 포함)를 집계 → 병렬 unit 끼리 같은 주를 겹쳐 쓰지 않음.
+            // 첫 unit 만 앞 달에서 시작한 주도 맡음 (앞 달은 범위 밖)
+            LocalDate w = u.month().atDay(1).with(DayOfWeek.MONDAY);
+            if (!u.first() && w.getMonthValue() != u.month().getMonthValue()) w = w.plusWeeks(1);
+            while (!w.isAfter(u.month().atEndOfMonth())) {
+                mapper.refreshWeekly(w.format(YYYYMMDD), w.format(YYYYMMDD), w.plusDays(6).format(YYYYMMDD), u.market());
+                w = w.plusWeeks(1);
+            }
+
+            List<String> tradingDays = mapper.findTradingDays(first, last, u.market());
+            for (String dd : tradingDays) {
+                mapper.deleteBreadth(dd, u.market());
+                mapper.refreshBreadth(dd, u.market());
+            }
+            return tradingDays.size();
+        });
+        return days == null ? 0 : days;
+    }
+
+    private record MonthUnit(YearMonth month, String market, boolean first) {}
+
+    // =========================
+    // DTO
+    // =========================
+    public record RebuildResult(String from, String to, String market, int units, int tradingDays, long elapsedMs) {}
+}
@@ -3,46 +3,76 @@ package top.tradesystem.krx.service;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.cluster.ClusterCacheBus;
+import top.tradesystem.krx.cluster.ClusterSyncCoordinator;
 import top.tradesystem.krx.dto.KrxTickerMasterRow;
+import top.tradesystem.krx.journal.SyncAuditJournal;
 import top.tradesystem.krx.repository.KrxTickerMasterMapper;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Service
 public class KrxTickerMasterSyncService {
 
     private static final DateTimeFormatter KRX_YYYYMMDD = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String CLUSTER_DATASET = "TICKER_MASTER";
 
     private final KrxTickerService krxTickerService;
     private final KrxTickerMasterMapper mapper;
+    private final SyncAuditJournal audit;
+    private final ClusterSyncCoordinator cluster;
+    private final ClusterCacheBus cacheBus;
 
-    public KrxTickerMasterSyncService(KrxTickerService krxTickerService, KrxTickerMasterMapper mapper) {
+    public KrxTickerMasterSyncService(
+            KrxTickerService krxTickerService,
+            KrxTickerMasterMapper mapper,
+            SyncAuditJournal audit,
+            ClusterSyncCoordinator cluster,
+            ClusterCacheBus cacheBus
+    ) {
         this.krxTickerService = krxTickerService;
         this.mapper = mapper;
+        this.audit = audit;
+        this.cluster = cluster;
+        this.cacheBus = cacheBus;
+        cluster.register(CLUSTER_DATASET, this::syncLocal);
     }
 
+    // 클러스터: (basDd, market) 담당 노드에서 실행
     public Mono<SyncResult> sync(String basDd, String market) {
-        Mono<List<Map<String, String>>> source = switch (market.toUpperCase()) {
+        String m = market.toUpperCase(Locale.ROOT);
+        return cluster.route(CLUSTER_DATASET, basDd, m, SyncResult.class, () -> syncLocal(basDd, m));
+    }
+
+    private Mono<SyncResult> syncLocal(String basDd, String market) {
+        Mono<List<Map<String, String>>> source = switch (market) {
             case "KOSPI" -> krxTickerService.getKospi(basDd);
             case "KOSDAQ" -> krxTickerService.getKosdaq(basDd);
             case "ALL" -> krxTickerService.getAll(basDd);
             default -> Mono.error(new IllegalArgumentException("market must be KOSPI|KOSDAQ|ALL"));
         };
 
-        return source
-                .map(this::toRows)
-                .flatMap(rows ->
-                        Mono.fromCallable(() -> {
-                                    if (rows.isEmpty()) return new SyncResult(0, 0);
-                                    int affected = mapper.upsertBatch(rows);
-                                    return new SyncResult(rows.size(), affected);
-                                })
-                                .subscribeOn(Schedulers.boundedElastic())
-                );
+        return source.flatMap(this::saveApiRows);
+    }
+
+    // 원천 row 저장 (API 응답 / archive replay 공용)
+    public Mono<SyncResult> saveApiRows(List<Map<String, String>> maps) {
+        return Mono.fromCallable(() -> {
+                    List<KrxTickerMasterRow> rows = toRows(maps);
+                    if (rows.isEmpty()) return new SyncResult(0, 0);
+                    int affected = mapper.upsertBatch(rows);
+                    return new SyncResult(rows.size(), affected);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(r -> {
+                    audit.record("TICKER_MASTER", r);
+                    if (r.affected() > 0) cacheBus.publish(ClusterCacheBus.TICKER_MASTER, "*");
+                });
     }
 
     public Mono<KrxTickerMasterRow> findByCode(String code) {
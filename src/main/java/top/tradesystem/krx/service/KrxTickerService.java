@@ -2,8 +2,9 @@ package top.tradesystem.krx.service;
 
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import top.tradesystem.krx.client.KrxOpenApiClient;
+import top.tradesystem.krx.coalesce.SingleFlight;
 import top.tradesystem.krx.dto.Market;
+import top.tradesystem.krx.source.MarketDataRouter;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -17,10 +18,12 @@ public class KrxTickerService {
 
     private static final DateTimeFormatter BAS_DD_FMT = DateTimeFormatter.ofPattern("yyyyMMdd");
 
-    private final KrxOpenApiClient client;
+    private final MarketDataRouter source;
+    private final SingleFlight singleFlight;
 
-    public KrxTickerService(KrxOpenApiClient client) {
-        this.client = client;
+    public KrxTickerService(MarketDataRouter source, SingleFlight singleFlight) {
+        this.source = source;
+        this.singleFlight = singleFlight;
     }
 
     // =========================
@@ -29,21 +32,24 @@ public class KrxTickerService {
 
     /** KOSPI 종목 마스터 원천 조회 */
     public Mono<List<Map<String, String>>> fetchKospi(String basDd) {
-        return client.fetchIsuBaseInfo(basDd, Market.KOSPI)
-                .map(r -> r == null ? List.of() : r);
+        return fetch(basDd, Market.KOSPI);
     }
 
     /** KOSDAQ 종목 마스터 원천 조회 */
     public Mono<List<Map<String, String>>> fetchKosdaq(String basDd) {
-        return client.fetchIsuBaseInfo(basDd, Market.KOSDAQ)
-                .map(r -> r == null ? List.of() : r);
+        return fetch(basDd, Market.KOSDAQ);
     }
 
     /** 공용(시장 선택) 종목 마스터 원천 조회 */
     public Mono<List<Map<String, String>>> fetch(String basDd, String market) {
-        Market m = Market.valueOf(market.toUpperCase());
-        return client.fetchIsuBaseInfo(basDd, m)
-                .map(r -> r == null ? List.of() : r);
+        return fetch(basDd, Market.valueOf(market.toUpperCase()));
+    }
+
+    /** 동시에 들어온 같은 (basDd, 시장) 조회는 KRX 호출 1번으로 합침 */
+    private Mono<List<Map<String, String>>> fetch(String basDd, Market market) {
+        return singleFlight.execute("ticker-master", basDd + ":" + market.name(),
+                () -> source.fetchIsuBaseInfo(basDd, market)
+                        .map(r -> r == null ? List.<Map<String, String>>of() : r));
     }
 
     // ==========================================
@@ -0,0 +1,72 @@
+package top.tradesystem.krx.source;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.archive.KrxArchiveEntry;
+import top.tradesystem.krx.archive.KrxRawArchive;
+import top.tradesystem.krx.client.KrxOpenApiClient;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.dto.Market;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 파일 기반 대체 원천: raw archive 에 보관된 KRX 응답을 그대로 돌려준다.
+ * - KRX 가 죽었을 때 이미 받아둔 일자는 여기서 응답 (fallbackOnly: KRX 가 실패했을 때만, 정정 데이터를 가리지 않게)
+ * - KRX 키 없이 오프라인으로 수집 파이프라인을 돌려볼 때도 사용 (archive 디렉터리만 복사)
+ */
+@Component
+@ConditionalOnProperty(prefix = "krx.sources", name = "archive-enabled", havingValue = "true")
+public class ArchiveMarketDataSource implements MarketDataSource {
+
+    public static final String SOURCE_ID = "krx-archive";
+
+    private final KrxRawArchive archive;
+    private final KrxOpenApiClient client;
+
+    public ArchiveMarketDataSource(KrxRawArchive archive, KrxOpenApiClient client) {
+        this.archive = archive;
+        this.client = client;
+    }
+
+    @Override
+    public String id() {
+        return SOURCE_ID;
+    }
+
+    @Override
+    public boolean fallbackOnly() {
+        return true;
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchIsuBaseInfo(String basDd, Market market) {
+        return load(KrxOpenApiClient.isuBaseInfoPath(market), basDd, market.name());
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchDailyTrade(String basDd, Market market) {
+        return load(KrxOpenApiClient.dailyTradePath(market), basDd, market.name());
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchIndexDaily(String basDd, KrxIndexFamily family) {
+        return load(family.path(), basDd, family.name());
+    }
+
+    private Mono<List<Map<String, String>>> load(String endpoint, String basDd, String key) {
+        return Mono.fromCallable(() -> {
+                    List<KrxArchiveEntry> found = archive.find(List.of(endpoint), basDd, basDd, key);
+                    if (found.isEmpty()) {
+                        throw new NoSuchElementException("not archived: " + endpoint + " " + basDd + " " + key);
+                    }
+                    KrxArchiveEntry e = found.getFirst();
+                    return client.parseArchived(e, archive.read(e));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,120 @@
+package top.tradesystem.krx.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.config.KrxSourceProperties;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.dto.Market;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 수집 서비스가 쓰는 진입점. registry 순위대로 원천을 고른다.
+ * - 1순위 호출 후 p95 latency 안에 답이 없으면 2순위 upstream 을 동시에 호출(hedge), 먼저 온 값 사용
+ *   (2순위가 fallbackOnly 원천이면 hedge 하지 않음 → 보관본은 upstream 이 실패했을 때만.
+ *    즉 hedge 는 upstream 원천이 둘 이상 등록됐을 때만 동작)
+ * - 1순위가 에러면 기다리지 않고 바로 다음 순위로
+ * - 모든 호출의 latency/성공 여부는 health 에 반영, 보관본 없음(NoSuchElementException)은 실패로 세지 않음
+ */
+@Component
+public class MarketDataRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketDataRouter.class);
+
+    private final MarketDataSourceRegistry registry;
+    private final KrxSourceProperties props;
+
+    public MarketDataRouter(MarketDataSourceRegistry registry, KrxSourceProperties props) {
+        this.registry = registry;
+        this.props = props;
+    }
+
+    public Mono<List<Map<String, String>>> fetchIsuBaseInfo(String basDd, Market market) {
+        return route("isu_base_info " + basDd + " " + market, s -> s.fetchIsuBaseInfo(basDd, market));
+    }
+
+    public Mono<List<Map<String, String>>> fetchDailyTrade(String basDd, Market market) {
+        return route("daily_trade " + basDd + " " + market, s -> s.fetchDailyTrade(basDd, market));
+    }
+
+    // 일별 시세 - 현재 *_bydd_trd 응답에 시세/거래정보가 함께 포함되므로 동일 호출 재사용
+    public Mono<List<Map<String, String>>> fetchDailyPrice(String basDd, Market market) {
+        return fetchDailyTrade(basDd, market);
+    }
+
+    public Mono<List<Map<String, String>>> fetchIndexDaily(String basDd, KrxIndexFamily family) {
+        return route("index_daily " + basDd + " " + family, s -> s.fetchIndexDaily(basDd, family));
+    }
+
+    private Mono<List<Map<String, String>>> route(
+            String op,
+            Function<MarketDataSource, Mono<List<Map<String, String>>>> call
+    ) {
+        return Mono.defer(() -> {
+            List<MarketDataSource> ranked = registry.ranked();
+            if (ranked.size() == 1 || !props.hedgeEnabled() || ranked.get(1).fallbackOnly()) {
+                return chain(op, ranked, 0, call);
+            }
+
+            MarketDataSource primary = ranked.get(0);
+            // 2순위 이하는 "hedge 또는 1순위 실패" 중 먼저 일어나는 쪽에서 한 번만 시작
+            Mono<List<Map<String, String>>> rest = chain(op, ranked, 1, call).cache();
+            Duration delay = hedgeDelay(primary);
+
+            Mono<List<Map<String, String>>> first = timed(primary, call)
+                    .onErrorResume(e -> rest);
+            // hedge 쪽 실패는 무시하고 1순위를 계속 기다림 (1순위도 실패하면 first 가 같은 rest 결과로 끝남)
+            Mono<List<Map<String, String>>> hedge = Mono.delay(delay)
+                    .doOnNext(t -> log.info("hedging {}: {} silent for {}ms", op, primary.id(), delay.toMillis()))
+                    .then(rest)
+                    .onErrorResume(e -> Mono.never());
+
+            // first 가 끝나면 (값이든 rest 까지 다 실패한 error 든) hedge 타이머를 기다리지 않고 바로
+            return Mono.firstWithSignal(first, hedge);
+        });
+    }
+
+    private Mono<List<Map<String, String>>> chain(
+            String op,
+            List<MarketDataSource> ranked,
+            int i,
+            Function<MarketDataSource, Mono<List<Map<String, String>>>> call
+    ) {
+        MarketDataSource s = ranked.get(i);
+        Mono<List<Map<String, String>>> m = timed(s, call);
+        if (i + 1 >= ranked.size()) return m;
+        return m.onErrorResume(e -> {
+            if (e instanceof NoSuchElementException) log.debug("{} not available on {}: {}", op, s.id(), e.getMessage());
+            else log.warn("{} failed on {}, falling back to {}", op, s.id(), ranked.get(i + 1).id(), e);
+            return chain(op, ranked, i + 1, call);
+        });
+    }
+
+    private Mono<List<Map<String, String>>> timed(
+            MarketDataSource s,
+            Function<MarketDataSource, Mono<List<Map<String, String>>>> call
+    ) {
+        SourceHealth h = registry.health(s.id());
+        return Mono.defer(() -> {
+            long t0 = System.nanoTime();
+            return call.apply(s)
+                    .doOnNext(rows -> h.recordSuccess((System.nanoTime() - t0) / 1_000_000L))
+                    .doOnError(e -> {
+                        if (e instanceof NoSuchElementException) h.recordMiss();
+                        else h.recordFailure(e);
+                    });
+        });
+    }
+
+    private Duration hedgeDelay(MarketDataSource primary) {
+        long p95 = registry.health(primary.id()).p95Ms();
+        long ms = p95 < 0 ? props.hedgeMaxMs() : Math.clamp(p95, props.hedgeMinMs(), props.hedgeMaxMs());
+        return Duration.ofMillis(ms);
+    }
+}
@@ -0,0 +1,38 @@
+package top.tradesystem.krx.source;
+
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.dto.Market;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시세 원천 SPI.
+ *
+ * 구현체는 응답을 KRX OpenAPI OutBlock_1 키(ISU_CD, TDD_CLSPRC, IDX_NM ...)로 정규화해서 돌려준다.
+ * 그래야 어느 원천에서 왔든 기존 DTO 의 fromApiMap 을 그대로 탄다.
+ *
+ * 데이터가 "없음"(휴장일)은 빈 List, 원천이 답을 못 하는 경우(미보관/장애)는 error 로 구분한다.
+ * 보관본이 없는 경우(cache miss)는 NoSuchElementException 으로 → health 실패로 세지 않음.
+ * 모든 원천이 세 데이터셋을 다 제공한다 (router 가 순위대로 돌 때 원천별 지원 여부를 따로 보지 않음).
+ */
+public interface MarketDataSource {
+
+    /** registry / health 에서 쓰는 식별자 (krx.sources.order 에 적는 값) */
+    String id();
+
+    /**
+     * true 면 실제 upstream 이 아닌 보관본/대체 원천 (예: raw archive).
+     * 순위는 항상 upstream 뒤, hedge 대상도 아님 → upstream 이 모두 실패했을 때만 쓰임
+     */
+    default boolean fallbackOnly() {
+        return false;
+    }
+
+    Mono<List<Map<String, String>>> fetchIsuBaseInfo(String basDd, Market market);
+
+    Mono<List<Map<String, String>>> fetchDailyTrade(String basDd, Market market);
+
+    Mono<List<Map<String, String>>> fetchIndexDaily(String basDd, KrxIndexFamily family);
+}
@@ -0,0 +1,68 @@
+package top.tradesystem.krx.source;
+
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxSourceProperties;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 등록된 {@link MarketDataSource} 빈 목록 + 원천별 health.
+ * krx.sources.order 에 없는 원천은 뒤에 붙는다.
+ *
+ * 순위: 기준 원천(order 의 첫 upstream) → 나머지 upstream peer (health 점수 순) → fallbackOnly 원천 (설정 순).
+ * 로컬 보관본처럼 latency 가 원래 짧은 원천이 점수로 기준 원천을 앞질러 정정 데이터를 가리지 않게.
+ */
+@Component
+public class MarketDataSourceRegistry {
+
+    private final Map<String, MarketDataSource> sources = new LinkedHashMap<>();
+    private final Map<String, SourceHealth> health = new LinkedHashMap<>();
+    private final List<String> order;
+
+    public MarketDataSourceRegistry(List<MarketDataSource> beans, KrxSourceProperties props) {
+        this.order = props.order();
+        List<MarketDataSource> sorted = new ArrayList<>(beans);
+        sorted.sort(Comparator.comparingInt(this::configuredRank));
+        for (MarketDataSource s : sorted) {
+            if (sources.put(s.id(), s) != null) {
+                throw new IllegalStateException("duplicate market data source id: " + s.id());
+            }
+            health.put(s.id(), new SourceHealth(s.id(), props.latencyWindow()));
+        }
+        if (sources.isEmpty()) throw new IllegalStateException("no MarketDataSource registered");
+    }
+
+    public List<MarketDataSource> ranked() {
+        List<MarketDataSource> upstream = new ArrayList<>();
+        List<MarketDataSource> fallback = new ArrayList<>();
+        for (MarketDataSource s : sources.values()) (s.fallbackOnly() ? fallback : upstream).add(s);
+
+        List<MarketDataSource> list = new ArrayList<>(sources.size());
+        if (!upstream.isEmpty()) {
+            list.add(upstream.getFirst()); // sources 는 설정 순서로 들어 있음
+            List<MarketDataSource> peers = new ArrayList<>(upstream.subList(1, upstream.size()));
+            peers.sort(Comparator.comparingDouble((MarketDataSource s) -> -health.get(s.id()).score())
+                    .thenComparingInt(this::configuredRank));
+            list.addAll(peers);
+        }
+        list.addAll(fallback);
+        return list;
+    }
+
+    public SourceHealth health(String sourceId) {
+        return health.get(sourceId);
+    }
+
+    public List<SourceHealth.Snapshot> snapshots() {
+        return health.values().stream().map(SourceHealth::snapshot).toList();
+    }
+
+    private int configuredRank(MarketDataSource s) {
+        int i = order.indexOf(s.id());
+        return i < 0 ? Integer.MAX_VALUE : i;
+    }
+}
@@ -0,0 +1,82 @@
+package top.tradesystem.krx.source;
+
+import java.util.Arrays;
+
+/**
+ * 원천별 상태: 최근 N건 latency (성공만) 와 성공률 EWMA.
+ * 호출 빈도가 낮아(일 수십 건) 단순 synchronized 로 충분.
+ */
+public final class SourceHealth {
+
+    private static final double ALPHA = 0.2;
+    private static final int MIN_SAMPLES = 10;
+
+    private final String sourceId;
+    private final long[] latencies;
+    private int next;
+    private int count;
+    private double successRate = 1.0;
+    private long calls;
+    private long failures;
+    private long misses;
+    private String lastError;
+
+    SourceHealth(String sourceId, int window) {
+        this.sourceId = sourceId;
+        this.latencies = new long[window];
+    }
+
+    synchronized void recordSuccess(long latencyMs) {
+        latencies[next] = latencyMs;
+        next = (next + 1) % latencies.length;
+        if (count < latencies.length) count++;
+        successRate = successRate * (1 - ALPHA) + ALPHA;
+        calls++;
+    }
+
+    synchronized void recordFailure(Throwable e) {
+        successRate = successRate * (1 - ALPHA);
+        calls++;
+        failures++;
+        lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    /** 보관본 없음 (cache miss): 장애가 아니므로 성공률에 반영하지 않음 */
+    synchronized void recordMiss() {
+        calls++;
+        misses++;
+    }
+
+    /** 표본이 부족하면 -1 */
+    synchronized long p95Ms() {
+        if (count < MIN_SAMPLES) return -1;
+        long[] s = Arrays.copyOf(latencies, count);
+        Arrays.sort(s);
+        return s[(int) Math.ceil(count * 0.95) - 1];
+    }
+
+    /**
+     * 높을수록 좋음. 성공률이 주, latency 는 보조 (1초 늘 때마다 절반).
+     * upstream peer 끼리 순서를 정할 때만 쓰임 (기준 원천 / fallbackOnly 원천은 자리가 고정, registry 참고)
+     */
+    synchronized double score() {
+        long p95 = p95Ms();
+        double latencyPenalty = p95 < 0 ? 1.0 : 1.0 / (1.0 + p95 / 1000.0);
+        return successRate * latencyPenalty;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(sourceId, calls, failures, misses, successRate, p95Ms(), score(), lastError);
+    }
+
+    public record Snapshot(
+            String sourceId,
+            long calls,
+            long failures,
+            long misses,
+            double successRate,
+            long p95Ms,
+            double score,
+            String lastError
+    ) {}
+}
@@ -0,0 +1,46 @@
+package top.tradesystem.krx.startup;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 빠른 기동 지원.
+ *
+ * <p>fast-start profile 은 spring.main.lazy-initialization=true 로 대부분의 bean 을 첫 사용 시점까지 미룬다.
+ * 다만 아래 bean 은 지연되면 동작 자체가 빠지므로 항상 즉시 생성:
+ * <ul>
+ *   <li>@Scheduled 메서드가 있는 bean (bean 이 만들어져야 스케줄이 등록됨)</li>
+ *   <li>SmartLifecycle (backfill 워커, 실시간 시세, journal flusher)</li>
+ *   <li>SqlSessionFactory: mapper XML 파싱을 기동 중에 끝내서 첫 요청이 파싱 비용을 내지 않게
+ *       (CDS training run 에서도 파서 클래스가 archive 에 들어감)</li>
+ * </ul>
+ * AOT / native-image 용 hint 는 {@link KrxRuntimeHints}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(KrxRuntimeHints.class)
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter krxEagerBeans() {
+        return (beanName, definition, beanType) -> beanType != null
+                && (SmartLifecycle.class.isAssignableFrom(beanType)
+                || SqlSessionFactory.class.isAssignableFrom(beanType)
+                || hasScheduledMethod(beanType));
+    }
+
+    private static boolean hasScheduledMethod(Class<?> type) {
+        if (!type.getName().startsWith("top.tradesystem.")) return false;
+        boolean[] found = new boolean[1];
+        ReflectionUtils.doWithMethods(type,
+                m -> found[0] = true,
+                m -> !found[0] && AnnotatedElementUtils.hasAnnotation(m, Scheduled.class));
+        return found[0];
+    }
+}
@@ -0,0 +1,72 @@
+package top.tradesystem.krx.startup;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AOT / native-image hint (빌드 시점에 classpath 를 스캔해서 등록).
+ * - mapper XML 리소스
+ * - mapper interface JDK proxy + reflection (MyBatis 가 Proxy.newProxyInstance 로 구현)
+ * - dto 패키지 row/record: MyBatis result mapping, Jackson 직렬화 (생성자·getter·필드)
+ * - MyBatis 가 이름으로 찾는 내부 클래스 (logging, language driver, cache)
+ */
+public class KrxRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String MAPPER_PACKAGE = "top.tradesystem.krx.repository";
+    private static final String DTO_PACKAGE = "top.tradesystem.krx.dto";
+
+    private static final List<String> MYBATIS_TYPES = List.of(
+            "org.apache.ibatis.logging.slf4j.Slf4jImpl",
+            "org.apache.ibatis.logging.nologging.NoLoggingImpl",
+            "org.apache.ibatis.scripting.xmltags.XMLLanguageDriver",
+            "org.apache.ibatis.scripting.defaults.RawLanguageDriver",
+            "org.apache.ibatis.cache.impl.PerpetualCache",
+            "org.apache.ibatis.cache.decorators.LruCache",
+            "org.apache.ibatis.session.Configuration"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("mapper/*.xml");
+
+        for (Class<?> mapper : scan(MAPPER_PACKAGE, true, classLoader)) {
+            hints.proxies().registerJdkProxy(mapper);
+            hints.reflection().registerType(mapper, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> dto : scan(DTO_PACKAGE, false, classLoader)) {
+            hints.reflection().registerType(dto,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (String name : MYBATIS_TYPES) {
+            hints.reflection().registerType(TypeReference.of(name),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    private static List<Class<?>> scan(String basePackage, boolean interfaces, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return interfaces ? definition.getMetadata().isInterface() : definition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter((reader, factory) -> true);
+
+        List<Class<?>> out = new ArrayList<>();
+        for (BeanDefinition bd : scanner.findCandidateComponents(basePackage)) {
+            out.add(ClassUtils.resolveClassName(bd.getBeanClassName(), classLoader));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,95 @@
+package top.tradesystem.krx.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.config.KrxStartupProperties;
+import top.tradesystem.krx.covariance.CovarianceService;
+import top.tradesystem.krx.repository.KrxRollupMapper;
+import top.tradesystem.krx.service.KrxDailyPriceService;
+import top.tradesystem.krx.service.KrxDailyTradeService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * readiness 이후 백그라운드 warm-up.
+ * - 최근 거래일 일별 시세/매매 조회를 한 번씩 돌려 MyBatis statement·커넥션 풀·JIT·DB buffer pool 을 데움
+ * - 설정 시 기본 window 공분산 행렬까지 미리 계산
+ * - 실패해도 서비스에는 영향 없음 (경고 로그만)
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final List<String> MARKETS = List.of("KOSPI", "KOSDAQ");
+
+    private final KrxStartupProperties props;
+    private final KrxRollupMapper rollupMapper;
+    private final KrxDailyPriceService dailyPriceService;
+    private final KrxDailyTradeService dailyTradeService;
+    private final CovarianceService covarianceService;
+    private final ZoneId zone;
+
+    public StartupWarmup(
+            KrxStartupProperties props,
+            KrxRollupMapper rollupMapper,
+            KrxDailyPriceService dailyPriceService,
+            KrxDailyTradeService dailyTradeService,
+            CovarianceService covarianceService,
+            KrxSchedulerProperties schedulerProps
+    ) {
+        this.props = props;
+        this.rollupMapper = rollupMapper;
+        this.dailyPriceService = dailyPriceService;
+        this.dailyTradeService = dailyTradeService;
+        this.covarianceService = covarianceService;
+        this.zone = ZoneId.of(schedulerProps.zone());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!props.warmupEnabled()) return;
+        long t0 = System.nanoTime();
+        Mono.delay(Duration.ofMillis(props.warmupDelayMs()))
+                .then(Mono.fromCallable(this::latestTradingDay).subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(this::warm)
+                .subscribe(
+                        rows -> log.info("startup warm-up done: {} rows, {}ms", rows, (System.nanoTime() - t0) / 1_000_000L),
+                        err -> log.warn("startup warm-up failed", err)
+                );
+    }
+
+    private String latestTradingDay() {
+        LocalDate today = LocalDate.now(zone);
+        List<String> days = rollupMapper.findTradingDays(
+                today.minusDays(14).format(YYYYMMDD), today.format(YYYYMMDD), MARKETS.get(0));
+        if (days.isEmpty()) throw new IllegalStateException("no trading day in last 14 days");
+        return days.get(days.size() - 1);
+    }
+
+    private Mono<Integer> warm(String basDd) {
+        Flux<Integer> reads = Flux.fromIterable(MARKETS).flatMap(m -> Flux.merge(
+                dailyPriceService.findByBasDdAndMarket(basDd, m).map(List::size),
+                dailyTradeService.findByBasDdAndMarket(basDd, m).map(List::size)
+        ));
+        Mono<Integer> covariance = props.warmupCovariance()
+                ? covarianceService.warmUp()
+                        .doOnNext(c -> log.info("startup warm-up: covariance window={}, asOf={}, symbols={}",
+                                c.window(), c.asOf(), c.symbols()))
+                        .thenReturn(0)
+                : Mono.just(0);
+        return reads.reduce(0, Integer::sum)
+                .flatMap(rows -> covariance.map(x -> rows));
+    }
+}
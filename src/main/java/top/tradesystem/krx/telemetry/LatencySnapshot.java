@@ -0,0 +1,44 @@
+package top.tradesystem.krx.telemetry;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer 한 개의 요약 (ms).
+ * count / total / mean 은 기동 이후 누적, max / p50 / p95 / p99 는 micrometer 의 최근 구간(기본 2분).
+ */
+public record LatencySnapshot(
+        long count,
+        double totalMs,
+        double meanMs,
+        double maxMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms
+) {
+    static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    static LatencySnapshot of(Timer timer) {
+        HistogramSnapshot s = timer.takeSnapshot();
+        double p50 = 0, p95 = 0, p99 = 0; // 구간 안에 기록이 없으면 0
+        for (ValueAtPercentile v : s.percentileValues()) {
+            double ms = v.value(TimeUnit.MILLISECONDS);
+            if (v.percentile() == 0.5) p50 = ms;
+            else if (v.percentile() == 0.95) p95 = ms;
+            else if (v.percentile() == 0.99) p99 = ms;
+        }
+        return new LatencySnapshot(
+                s.count(),
+                round(s.total(TimeUnit.MILLISECONDS)),
+                round(s.mean(TimeUnit.MILLISECONDS)),
+                round(s.max(TimeUnit.MILLISECONDS)),
+                round(p50), round(p95), round(p99));
+    }
+
+    static double round(double ms) {
+        return Double.isNaN(ms) ? 0 : Math.round(ms * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,228 @@
+package top.tradesystem.krx.telemetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxTelemetryProperties;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * mapper statement 계측 (MyBatis Executor plugin, Interceptor bean 은 mybatis starter 가 SqlSessionFactory 에 등록).
+ * <ul>
+ *   <li>krx.db.statement{statement,type}: 지연 Timer (percentile histogram + slowQueryMs SLO 경계)</li>
+ *   <li>krx.db.statement.rows{statement}: 결과/변경 row 수 (ResultHandler 로 흘려보낸 조회는 셀 수 없어 제외)</li>
+ *   <li>krx.db.statement.slow / .errors{statement}: slow query / 예외 횟수</li>
+ *   <li>파라미터 shape: 값 없이 이름:타입 (컬렉션은 크기를 2 의 거듭제곱으로 올림) 별 호출 수</li>
+ *   <li>slowQueryMs 이상이면 {@link SlowQueryLog} 에 SQL + EXPLAIN 기록</li>
+ * </ul>
+ * Cursor 조회(queryCursor)는 가로채지 않음. krx.telemetry.enabled=false 면 plugin 을 씌우지 않는다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MapperTimingInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MapperTimingInterceptor.class);
+
+    private static final String OTHER_SHAPE = "other";
+    private static final Pattern GENERIC_PARAM = Pattern.compile("param\\d+");
+
+    public record StatementView(
+            String statement,
+            String type,
+            LatencySnapshot latency,
+            double rowsMean,
+            long slow,
+            long errors,
+            Map<String, Long> shapes
+    ) {}
+
+    private final KrxTelemetryProperties props;
+    private final MeterRegistry meters;
+    private final SlowQueryLog slowLog;
+    private final long slowNanos;
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+
+    public MapperTimingInterceptor(KrxTelemetryProperties props, MeterRegistry meters, SlowQueryLog slowLog) {
+        this.props = props;
+        this.meters = meters;
+        this.slowLog = slowLog;
+        this.slowNanos = Duration.ofMillis(props.slowQueryMs()).toNanos();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return props.enabled() ? Interceptor.super.plugin(target) : target;
+    }
+
+    // =========================
+    // 1) 계측
+    // =========================
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long t0 = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - t0;
+            try {
+                record(invocation.getArgs(), result, failed, nanos);
+            } catch (Exception e) {
+                log.debug("statement telemetry failed", e);
+            }
+        }
+    }
+
+    private void record(Object[] args, Object result, boolean failed, long nanos) {
+        MappedStatement ms = (MappedStatement) args[0];
+        Object parameter = args[1];
+        StatementStats s = stats.computeIfAbsent(ms.getId(), id -> new StatementStats(ms));
+
+        s.timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            s.errors.increment();
+            return;
+        }
+        long rows = rows(args, result);
+        if (rows >= 0) s.rows.record(rows);
+
+        String shape = shape(parameter);
+        s.countShape(shape, props.maxShapesPerStatement());
+
+        if (nanos >= slowNanos) {
+            s.slow.increment();
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+            slowLog.capture(ms, parameter, boundSql, shape, nanos, rows);
+        }
+    }
+
+    /** 조회 결과 List 크기 / update count. ResultHandler 조회, batch executor update 는 -1 */
+    static long rows(Object[] args, Object result) {
+        if (result instanceof List<?> list) return args.length >= 4 && args[3] != null ? -1 : list.size();
+        if (result instanceof Integer n) return n >= 0 ? n : -1;
+        return -1;
+    }
+
+    // =========================
+    // 2) 파라미터 shape
+    // =========================
+    /** 값 없이 구조만: "{basDd:String, rows:List[≤2048]}" (@Param 이 만든 param1.. 중복 키는 생략) */
+    static String shape(Object parameter) {
+        if (!(parameter instanceof Map<?, ?> m)) return type(parameter);
+        StringJoiner j = new StringJoiner(", ", "{", "}");
+        boolean named = m.keySet().stream().anyMatch(k -> !GENERIC_PARAM.matcher(String.valueOf(k)).matches());
+        for (Map.Entry<?, ?> e : m.entrySet()) {
+            String k = String.valueOf(e.getKey());
+            if (named && GENERIC_PARAM.matcher(k).matches()) continue;
+            j.add(k + ":" + type(e.getValue()));
+        }
+        return j.toString();
+    }
+
+    private static String type(Object v) {
+        if (v == null) return "null";
+        if (v instanceof Collection<?> c) return v.getClass().getSimpleName() + "[" + sizeBucket(c.size()) + "]";
+        if (v.getClass().isArray()) return v.getClass().getComponentType().getSimpleName() + "[" + sizeBucket(Array.getLength(v)) + "]";
+        return v.getClass().getSimpleName();
+    }
+
+    private static String sizeBucket(int n) {
+        if (n <= 1) return String.valueOf(n);
+        int ceil = Integer.highestOneBit(n - 1) << 1;
+        return ceil == n ? String.valueOf(n) : "≤" + ceil;
+    }
+
+    // =========================
+    // 3) 조회
+    // =========================
+    /** 누적 총 시간 순 top-N */
+    public List<StatementView> statements(int top) {
+        return stats.values().stream()
+                .map(StatementStats::view)
+                .sorted(Comparator.comparingDouble((StatementView v) -> v.latency().totalMs()).reversed())
+                .limit(Math.max(1, top))
+                .toList();
+    }
+
+    private final class StatementStats {
+        private final String id;
+        private final String type;
+        private final Timer timer;
+        private final DistributionSummary rows;
+        private final Counter slow;
+        private final Counter errors;
+        private final Map<String, LongAdder> shapes = new ConcurrentHashMap<>();
+
+        StatementStats(MappedStatement ms) {
+            this.id = ms.getId();
+            this.type = ms.getSqlCommandType().name();
+            this.timer = Timer.builder("krx.db.statement")
+                    .tag("statement", id)
+                    .tag("type", type)
+                    .publishPercentiles(LatencySnapshot.PERCENTILES)
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(Duration.ofMillis(props.slowQueryMs()))
+                    .register(meters);
+            this.rows = DistributionSummary.builder("krx.db.statement.rows")
+                    .tag("statement", id)
+                    .register(meters);
+            this.slow = Counter.builder("krx.db.statement.slow").tag("statement", id).register(meters);
+            this.errors = Counter.builder("krx.db.statement.errors").tag("statement", id).register(meters);
+        }
+
+        void countShape(String shape, int max) {
+            LongAdder a = shapes.get(shape);
+            if (a == null) {
+                a = shapes.size() >= max
+                        ? shapes.computeIfAbsent(OTHER_SHAPE, k -> new LongAdder())
+                        : shapes.computeIfAbsent(shape, k -> new LongAdder());
+            }
+            a.increment();
+        }
+
+        StatementView view() {
+            Map<String, Long> byShape = new LinkedHashMap<>();
+            shapes.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .forEach(e -> byShape.put(e.getKey(), e.getValue().sum()));
+            return new StatementView(id, type, LatencySnapshot.of(timer), LatencySnapshot.round(rows.mean()),
+                    (long) slow.count(), (long) errors.count(), byShape);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package top.tradesystem.krx.telemetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import top.tradesystem.krx.config.KrxTelemetryProperties;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * controller route 별 지연 / SLO.
+ * <ul>
+ *   <li>route = 매칭된 @RequestMapping 패턴 ("/api/krx/factors/{name}"), 매칭 안 되면 UNMATCHED (경로 값으로 tag 가 늘지 않게)</li>
+ *   <li>krx.http.route{method,route}: 지연 Timer (percentile histogram + routeSloMs SLO 경계)</li>
+ *   <li>krx.http.route.slo.breach{method,route}: routeSloMs 보다 느린 요청 수</li>
+ *   <li>krx.http.route.outcome{method,route,outcome}: CLIENT_ERROR / SERVER_ERROR / CANCELLED</li>
+ * </ul>
+ * 시간은 filter 진입 ~ 응답 완료(Mono 종료)까지. 예외로 끝난 요청은 status 가 정해지기 전이라 SERVER_ERROR 로 센다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RouteLatencyFilter implements WebFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    public record RouteView(
+            String method,
+            String route,
+            LatencySnapshot latency,
+            long sloMs,
+            long sloBreaches,
+            double sloAttainment,   // 1 - breach / count
+            long clientErrors,
+            long serverErrors,
+            long cancelled
+    ) {}
+
+    private final KrxTelemetryProperties props;
+    private final MeterRegistry meters;
+    private final long sloNanos;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public RouteLatencyFilter(KrxTelemetryProperties props, MeterRegistry meters) {
+        this.props = props;
+        this.meters = meters;
+        this.sloNanos = Duration.ofMillis(props.routeSloMs()).toNanos();
+    }
+
+    // =========================
+    // 1) 계측
+    // =========================
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!props.enabled()) return chain.filter(exchange);
+        long t0 = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - t0));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long nanos) {
+        String method = exchange.getRequest().getMethod().name();
+        String route = route(exchange);
+        RouteStats s = routes.computeIfAbsent(method + " " + route, k -> new RouteStats(method, route));
+
+        s.timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos > sloNanos) s.breaches.increment();
+
+        if (signal == SignalType.CANCEL) {
+            s.cancelled.increment();
+        } else if (signal == SignalType.ON_ERROR) {
+            s.serverErrors.increment();
+        } else {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (status != null && status.is5xxServerError()) s.serverErrors.increment();
+            else if (status != null && status.is4xxClientError()) s.clientErrors.increment();
+        }
+    }
+
+    private static String route(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof PathPattern p) return p.getPatternString();
+        return pattern == null ? UNMATCHED : pattern.toString();
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    /** 최근 p95 가 느린 순 */
+    public List<RouteView> routes() {
+        return routes.values().stream()
+                .map(RouteStats::view)
+                .sorted(Comparator.comparingDouble((RouteView v) -> v.latency().p95Ms()).reversed())
+                .toList();
+    }
+
+    private final class RouteStats {
+        private final String method;
+        private final String route;
+        private final Timer timer;
+        private final Counter breaches;
+        private final Counter clientErrors;
+        private final Counter serverErrors;
+        private final Counter cancelled;
+
+        RouteStats(String method, String route) {
+            this.method = method;
+            this.route = route;
+            this.timer = Timer.builder("krx.http.route")
+                    .tag("method", method)
+                    .tag("route", route)
+                    .publishPercentiles(LatencySnapshot.PERCENTILES)
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(Duration.ofMillis(props.routeSloMs()))
+                    .register(meters);
+            this.breaches = Counter.builder("krx.http.route.slo.breach")
+                    .tag("method", method).tag("route", route).register(meters);
+            this.clientErrors = outcome("CLIENT_ERROR");
+            this.serverErrors = outcome("SERVER_ERROR");
+            this.cancelled = outcome("CANCELLED");
+        }
+
+        private Counter outcome(String outcome) {
+            return Counter.builder("krx.http.route.outcome")
+                    .tag("method", method).tag("route", route).tag("outcome", outcome).register(meters);
+        }
+
+        RouteView view() {
+            LatencySnapshot latency = LatencySnapshot.of(timer);
+            long breach = (long) breaches.count();
+            double attainment = latency.count() == 0 ? 1.0 : 1.0 - (double) breach / latency.count();
+            return new RouteView(method, route, latency, props.routeSloMs(), breach,
+                    Math.round(attainment * 10_000.0) / 10_000.0,
+                    (long) clientErrors.count(), (long) serverErrors.count(), (long) cancelled.count());
+        }
+    }
+}
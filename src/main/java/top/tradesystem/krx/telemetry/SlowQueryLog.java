@@ -0,0 +1,189 @@
+package top.tradesystem.krx.telemetry;
+
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import top.tradesystem.krx.config.KrxTelemetryProperties;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 slow query 보관 + EXPLAIN.
+ * <ul>
+ *   <li>capture: mapper 스레드에서 호출. SQL(공백 정리, 길이 제한)과 파라미터 shape 만 남기고 값은 남기지 않음</li>
+ *   <li>EXPLAIN: SELECT 만, statement 별 explainCooldownMs 에 한 번. 같은 파라미터를 바인딩해
+ *       "EXPLAIN " + SQL 을 별도 커넥션으로 실행 (스레드 1개, 밀리면 버림 → mapper 호출은 기다리지 않음)</li>
+ *   <li>plan 은 statement 별 최신 한 개 (조회 시 slow query 에 붙여서 보여줌)</li>
+ * </ul>
+ */
+@Component
+public class SlowQueryLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int EXPLAIN_QUEUE = 32;
+
+    public record SlowQuery(
+            String statement,
+            String type,
+            double elapsedMs,
+            long rows,            // 결과 row 수 / 변경 row 수 (ResultHandler 로 흘려보낸 조회는 -1)
+            String shape,
+            String sql,
+            String at,
+            Plan plan             // 같은 statement 의 최근 EXPLAIN (없으면 null)
+    ) {}
+
+    public record Plan(String at, List<Map<String, Object>> rows, String error) {}
+
+    private record Captured(String statement, String type, double elapsedMs, long rows, String shape, String sql, Instant at) {}
+
+    private final KrxTelemetryProperties props;
+    private final DataSource dataSource;
+
+    private final ArrayDeque<Captured> recent = new ArrayDeque<>();
+    private final Map<String, Long> explainedAt = new ConcurrentHashMap<>();
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+    private volatile ThreadPoolExecutor explainer;
+
+    public SlowQueryLog(KrxTelemetryProperties props, DataSource dataSource) {
+        this.props = props;
+        this.dataSource = dataSource;
+    }
+
+    // =========================
+    // 1) 기록
+    // =========================
+    void capture(MappedStatement ms, Object parameter, BoundSql boundSql, String shape, long nanos, long rows) {
+        String sql = normalize(boundSql.getSql(), props.maxSqlLength());
+        String type = ms.getSqlCommandType().name();
+        double elapsedMs = LatencySnapshot.round(nanos / 1_000_000.0);
+        synchronized (recent) {
+            if (recent.size() >= props.slowQueryCapacity()) recent.pollFirst();
+            recent.addLast(new Captured(ms.getId(), type, elapsedMs, rows, shape, sql, Instant.now()));
+        }
+        log.info("slow query {} {}ms rows={} params={}", ms.getId(), elapsedMs, rows, shape);
+
+        if (ms.getSqlCommandType() == SqlCommandType.SELECT) scheduleExplain(ms, parameter, boundSql);
+    }
+
+    private void scheduleExplain(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        ThreadPoolExecutor ex = explainer;
+        if (ex == null) return;
+        long now = System.currentTimeMillis();
+        long[] claimed = {0};
+        explainedAt.compute(ms.getId(), (k, prev) -> {
+            if (prev != null && now - prev < props.explainCooldownMs()) return prev;
+            claimed[0] = 1;
+            return now;
+        });
+        if (claimed[0] == 0) return;
+        ex.execute(() -> plans.put(ms.getId(), explain(ms, parameter, boundSql)));
+    }
+
+    private Plan explain(MappedStatement ms, Object parameter, BoundSql boundSql) {
+        String at = Instant.now().toString();
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            ps.setQueryTimeout(props.explainTimeoutSec());
+            ParameterHandler binder = new DefaultParameterHandler(ms, parameter, boundSql);
+            binder.setParameters(ps);
+            List<Map<String, Object>> out = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData md = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= md.getColumnCount(); i++) row.put(md.getColumnLabel(i), rs.getObject(i));
+                    out.add(row);
+                }
+            }
+            return new Plan(at, out, null);
+        } catch (Exception e) {
+            log.debug("explain failed: {}", ms.getId(), e);
+            return new Plan(at, List.of(), e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    static String normalize(String sql, int maxLength) {
+        String s = sql.replaceAll("\\s+", " ").trim();
+        return s.length() <= maxLength ? s : s.substring(0, maxLength) + " …(" + s.length() + " chars)";
+    }
+
+    // =========================
+    // 2) 조회
+    // =========================
+    /** 최근 보관분 중 느린 순 top-N */
+    public List<SlowQuery> slowest(int top) {
+        List<Captured> snapshot;
+        synchronized (recent) {
+            snapshot = new ArrayList<>(recent);
+        }
+        return snapshot.stream()
+                .sorted(Comparator.comparingDouble(Captured::elapsedMs).reversed())
+                .limit(Math.max(1, top))
+                .map(c -> new SlowQuery(c.statement(), c.type(), c.elapsedMs(), c.rows(), c.shape(), c.sql(),
+                        c.at().toString(), plans.get(c.statement())))
+                .toList();
+    }
+
+    public int clear() {
+        int n;
+        synchronized (recent) {
+            n = recent.size();
+            recent.clear();
+        }
+        plans.clear();
+        explainedAt.clear();
+        return n;
+    }
+
+    // =========================
+    // 3) lifecycle (EXPLAIN 스레드)
+    // =========================
+    @Override
+    public void start() {
+        if (!props.enabled() || !props.explain() || explainer != null) return;
+        explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE),
+                r -> {
+                    Thread t = new Thread(r, "slow-query-explain");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void stop() {
+        ThreadPoolExecutor ex = explainer;
+        explainer = null;
+        if (ex != null) ex.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return explainer != null;
+    }
+}
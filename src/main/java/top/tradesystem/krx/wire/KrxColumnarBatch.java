@@ -0,0 +1,158 @@
+package top.tradesystem.krx.wire;
+
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxDailyTradeRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일별 시세 컬럼 배치.
+ * - row 를 받는 즉시 primitive 배열에 풀어 넣고 row 객체는 버림 (List&lt;Row&gt; 를 만들지 않음)
+ * - 응답은 고정 크기 배치 단위로 흘려보내고 {@link #clear()} 로 배열을 재사용 ({@link KrxColumnarEncoder})
+ * - 문자열 컬럼(market, isuCd)은 사전 인코딩: int code + categories (pandas Categorical 과 동일한 모양)
+ * - 숫자 컬럼은 float64, 값이 없으면 NaN
+ */
+public final class KrxColumnarBatch {
+
+    public static final String SCHEMA = "krx.daily.v2";
+
+    // 숫자 컬럼 순서 = 인코딩 순서
+    static final String[] NUMERIC_COLUMNS = {
+            "tddClsprc", "cmpprevddPrc", "flucRt",
+            "tddOpnprc", "tddHgprc", "tddLwprc",
+            "accTrdvol", "accTrdval", "mktcap", "listShrs"
+    };
+
+    private int size;
+    private int[] basDd;
+    private final Dictionary market = new Dictionary();
+    private final Dictionary isuCd = new Dictionary();
+    private final double[][] numeric = new double[NUMERIC_COLUMNS.length][];
+
+    public KrxColumnarBatch(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        basDd = new int[cap];
+        market.codes = new int[cap];
+        isuCd.codes = new int[cap];
+        for (int c = 0; c < numeric.length; c++) numeric[c] = new double[cap];
+    }
+
+    public void add(KrxDailyPriceRow r) {
+        int i = next(r.basDd(), r.market(), r.isuCd());
+        put(0, i, r.tddClsprc());
+        put(1, i, r.cmpprevddPrc());
+        put(2, i, r.flucRt());
+        put(3, i, r.tddOpnprc());
+        put(4, i, r.tddHgprc());
+        put(5, i, r.tddLwprc());
+        numeric[6][i] = r.accTrdvol() == null ? Double.NaN : r.accTrdvol();
+        put(7, i, r.accTrdval());
+        put(8, i, r.mktcap());
+        numeric[9][i] = r.listShrs() == null ? Double.NaN : r.listShrs();
+    }
+
+    // krx_daily_trade 는 숫자를 문자열로 보관
+    public void add(KrxDailyTradeRow r) {
+        int i = next(r.basDd(), r.mktNm(), r.isuCd());
+        put(0, i, r.tddClsprc());
+        put(1, i, r.cmpprevddPrc());
+        put(2, i, r.flucRt());
+        put(3, i, r.tddOpnprc());
+        put(4, i, r.tddHgprc());
+        put(5, i, r.tddLwprc());
+        put(6, i, r.accTrdvol());
+        put(7, i, r.accTrdval());
+        put(8, i, r.mktcap());
+        put(9, i, r.listShrs());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 다음 배치용으로 비움 (배열은 그대로 재사용, 사전은 배치마다 새로) */
+    public void clear() {
+        size = 0;
+        market.clear();
+        isuCd.clear();
+    }
+
+    int[] basDd() {
+        return basDd;
+    }
+
+    Dictionary market() {
+        return market;
+    }
+
+    Dictionary isuCd() {
+        return isuCd;
+    }
+
+    double[] numeric(int column) {
+        return numeric[column];
+    }
+
+    private int next(String dd, String mkt, String code) {
+        if (size == basDd.length) grow();
+        int i = size++;
+        basDd[i] = dd == null ? 0 : Integer.parseInt(dd);
+        market.codes[i] = market.codeOf(mkt);
+        isuCd.codes[i] = isuCd.codeOf(code);
+        return i;
+    }
+
+    private void grow() {
+        int cap = basDd.length + (basDd.length >> 1);
+        basDd = Arrays.copyOf(basDd, cap);
+        market.codes = Arrays.copyOf(market.codes, cap);
+        isuCd.codes = Arrays.copyOf(isuCd.codes, cap);
+        for (int c = 0; c < numeric.length; c++) numeric[c] = Arrays.copyOf(numeric[c], cap);
+    }
+
+    private void put(int column, int i, BigDecimal v) {
+        numeric[column][i] = v == null ? Double.NaN : v.doubleValue();
+    }
+
+    private void put(int column, int i, String v) {
+        numeric[column][i] = parse(v);
+    }
+
+    static double parse(String v) {
+        if (v == null) return Double.NaN;
+        String s = v.trim();
+        if (s.isEmpty() || "-".equals(s)) return Double.NaN;
+        try {
+            return Double.parseDouble(s.indexOf(',') >= 0 ? s.replace(",", "") : s);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /** 문자열 사전 (null → code -1) */
+    static final class Dictionary {
+        int[] codes;
+        final List<String> categories = new ArrayList<>();
+        private final Map<String, Integer> index = new HashMap<>();
+
+        void clear() {
+            categories.clear();
+            index.clear();
+        }
+
+        int codeOf(String v) {
+            if (v == null) return -1;
+            Integer c = index.get(v);
+            if (c != null) return c;
+            int n = categories.size();
+            categories.add(v);
+            index.put(v, n);
+            return n;
+        }
+    }
+}
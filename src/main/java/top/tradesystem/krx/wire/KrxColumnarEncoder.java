@@ -0,0 +1,141 @@
+package top.tradesystem.krx.wire;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxDailyTradeRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 일별 시세 row → CBOR / Smile, 고정 크기 배치 단위로 OutputStream 에 바로 씀.
+ *
+ * <pre>
+ * { "schema": "krx.daily.v2",
+ *   "batches": [
+ *     { "rows": n, "columns": [
+ *         { "name": "basDd",  "dtype": "&lt;i4", "data": bytes },
+ *         { "name": "isuCd",  "dtype": "category", "codes": bytes(&lt;i4), "categories": [..] },
+ *         { "name": "tddClsprc", "dtype": "&lt;f8", "data": bytes }, ... ] },
+ *     ... ],
+ *   "rows": N }
+ * </pre>
+ *
+ * 컬럼 값은 little-endian raw bytes 라 numpy.frombuffer(data, dtype) 로 복사 없이 읽힌다.
+ * 배치마다 사전(categories)이 따로 있으므로 합칠 때는 pandas union_categoricals 등으로.
+ * 메모리는 배치 하나 + 컬럼 scratch 하나만 씀 (기간/종목 수와 무관).
+ */
+public final class KrxColumnarEncoder {
+
+    public static final int DEFAULT_BATCH_ROWS = 65_536;
+
+    private final JsonGenerator g;
+    private final KrxColumnarBatch batch;
+    private final int batchRows;
+    private final byte[] scratch;
+    private long rows;
+
+    public KrxColumnarEncoder(OutputStream out, KrxWireFormat format, int batchRows) {
+        this.batchRows = Math.max(1, batchRows);
+        this.batch = new KrxColumnarBatch(this.batchRows);
+        this.scratch = new byte[this.batchRows * 8];
+        try {
+            this.g = format.factory().createGenerator(out);
+            g.writeStartObject();
+            g.writeStringField("schema", KrxColumnarBatch.SCHEMA);
+            g.writeArrayFieldStart("batches");
+        } catch (IOException e) {
+            throw new UncheckedIOException("columnar encode failed", e);
+        }
+    }
+
+    public void add(KrxDailyPriceRow r) {
+        batch.add(r);
+        if (batch.size() == batchRows) flushBatch();
+    }
+
+    public void add(KrxDailyTradeRow r) {
+        batch.add(r);
+        if (batch.size() == batchRows) flushBatch();
+    }
+
+    /**
+     * 남은 배치 + 끝맺음 (스트림은 닫지 않음).
+     * 중간에 실패하면 부르지 말 것 → 끝의 "rows" 가 없는 응답으로 잘림을 알아챌 수 있음
+     */
+    public void finish() {
+        if (batch.size() > 0) flushBatch();
+        try {
+            g.writeEndArray();
+            g.writeNumberField("rows", rows);
+            g.writeEndObject();
+            g.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("columnar encode failed", e);
+        }
+    }
+
+    private void flushBatch() {
+        int n = batch.size();
+        try {
+            g.writeStartObject();
+            g.writeNumberField("rows", n);
+            g.writeArrayFieldStart("columns");
+
+            writeInts("basDd", batch.basDd(), n);
+            writeCategory("market", batch.market(), n);
+            writeCategory("isuCd", batch.isuCd(), n);
+            for (int c = 0; c < KrxColumnarBatch.NUMERIC_COLUMNS.length; c++) {
+                writeDoubles(KrxColumnarBatch.NUMERIC_COLUMNS[c], batch.numeric(c), n);
+            }
+
+            g.writeEndArray();
+            g.writeEndObject();
+            g.flush(); // 배치 단위로 내려보냄
+        } catch (IOException e) {
+            throw new UncheckedIOException("columnar encode failed", e);
+        }
+        rows += n;
+        batch.clear();
+    }
+
+    private void writeInts(String name, int[] v, int n) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("name", name);
+        g.writeStringField("dtype", "<i4");
+        g.writeFieldName("data");
+        g.writeBinary(scratch, 0, intBytes(v, n));
+        g.writeEndObject();
+    }
+
+    private void writeDoubles(String name, double[] v, int n) throws IOException {
+        ByteBuffer.wrap(scratch, 0, n * 8).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(v, 0, n);
+
+        g.writeStartObject();
+        g.writeStringField("name", name);
+        g.writeStringField("dtype", "<f8");
+        g.writeFieldName("data");
+        g.writeBinary(scratch, 0, n * 8);
+        g.writeEndObject();
+    }
+
+    private void writeCategory(String name, KrxColumnarBatch.Dictionary d, int n) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("name", name);
+        g.writeStringField("dtype", "category");
+        g.writeFieldName("codes");
+        g.writeBinary(scratch, 0, intBytes(d.codes, n));
+        g.writeArrayFieldStart("categories");
+        for (String c : d.categories) g.writeString(c);
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+
+    private int intBytes(int[] v, int n) {
+        ByteBuffer.wrap(scratch, 0, n * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(v, 0, n);
+        return n * 4;
+    }
+}
@@ -0,0 +1,58 @@
+package top.tradesystem.krx.wire;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 정사각 행렬 (상관/공분산) → CBOR / Smile.
+ *
+ * <pre>
+ * { "schema": "krx.corr.v1", "window": W, "asOf": "yyyyMMdd",
+ *   "symbols": [..], "dtype": "&lt;f4", "shape": [n, n], "data": bytes }
+ * </pre>
+ *
+ * data 는 row-major little-endian float32 라 numpy.frombuffer(data, "&lt;f4").reshape(n, n) 로 읽힌다.
+ */
+public final class KrxMatrixEncoder {
+
+    public static final String SCHEMA = "krx.corr.v1";
+
+    private KrxMatrixEncoder() {
+    }
+
+    public static byte[] encode(int window, String asOf, String[] symbols, float[] matrix, KrxWireFormat format) {
+        int n = symbols.length;
+        if (matrix.length != n * n) throw new IllegalArgumentException("matrix must be " + n + "x" + n);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + n * 12 + n * n * 4);
+        try (JsonGenerator g = format.factory().createGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("schema", SCHEMA);
+            g.writeNumberField("window", window);
+            g.writeStringField("asOf", asOf);
+            g.writeArrayFieldStart("symbols");
+            for (String s : symbols) g.writeString(s);
+            g.writeEndArray();
+            g.writeStringField("dtype", "<f4");
+            g.writeArrayFieldStart("shape");
+            g.writeNumber(n);
+            g.writeNumber(n);
+            g.writeEndArray();
+
+            ByteBuffer buf = ByteBuffer.allocate(n * n * 4).order(ByteOrder.LITTLE_ENDIAN);
+            buf.asFloatBuffer().put(matrix);
+            g.writeFieldName("data");
+            g.writeBinary(buf.array());
+
+            g.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("matrix encode failed", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,42 @@
+package top.tradesystem.krx.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.MediaType;
+
+/**
+ * bulk 시세 응답의 바이너리 포맷.
+ * - 두 포맷 모두 컬럼 데이터를 raw binary 로 실어 보냄 (Smile 은 7bit 인코딩 끔)
+ */
+public enum KrxWireFormat {
+
+    CBOR(MediaType.valueOf("application/cbor"), new CBORFactory()),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"),
+            SmileFactory.builder().disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT).build());
+
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    KrxWireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    JsonFactory factory() {
+        return factory;
+    }
+
+    /** Accept 헤더 기준 선택 (smile 을 명시하지 않으면 CBOR) */
+    public static KrxWireFormat negotiate(String accept) {
+        return accept != null && accept.contains(SMILE_VALUE) ? SMILE : CBOR;
+    }
+}
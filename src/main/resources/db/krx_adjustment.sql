@@ -0,0 +1,19 @@
+-- =========================
+-- 수정주가 (권리락/액면분할/병합 등)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_adj_factor (
+    isu_cd     VARCHAR(20)    NOT NULL,
+    ex_dd      CHAR(8)        NOT NULL,
+    factor     DECIMAL(24, 12) NOT NULL,
+    prev_close DECIMAL(20, 2) NULL,
+    base_price DECIMAL(20, 2) NULL,
+    prev_shrs  BIGINT         NULL,
+    shrs       BIGINT         NULL,
+    reason     VARCHAR(20)    NOT NULL,
+    updated_at TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (isu_cd, ex_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 종목별 직전 거래일 조회(findDayGaps) / 종목 이력 조회용 인덱스 ix_daily_price_isu_dd (isu_cd, bas_dd) 는
+-- krx_daily.sql 의 테이블 정의에 포함됨
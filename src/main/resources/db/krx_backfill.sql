@@ -0,0 +1,35 @@
+-- =========================
+-- 영속 backfill 큐
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_backfill_job (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    kind        VARCHAR(20) NOT NULL,
+    market      VARCHAR(10) NOT NULL,
+    from_dd     CHAR(8)     NOT NULL,
+    to_dd       CHAR(8)     NOT NULL,
+    status      VARCHAR(20) NOT NULL,
+    total_items INT         NOT NULL DEFAULT 0,
+    created_at  DATETIME(3) NOT NULL,
+    finished_at DATETIME(3) NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_backfill_item (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    job_id      BIGINT        NOT NULL,
+    kind        VARCHAR(20)   NOT NULL,
+    bas_dd      CHAR(8)       NOT NULL,
+    market      VARCHAR(10)   NOT NULL,
+    status      VARCHAR(20)   NOT NULL,
+    attempts    INT           NOT NULL DEFAULT 0,
+    saved       INT           NOT NULL DEFAULT 0,
+    claimed_by  VARCHAR(200)  NULL,
+    claimed_at  DATETIME(3)   NULL,
+    finished_at DATETIME(3)   NULL,
+    last_error  VARCHAR(1000) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_backfill_item (job_id, bas_dd, market),
+    KEY ix_backfill_item_claim (status, job_id, bas_dd),
+    KEY ix_backfill_item_finished (job_id, status, finished_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
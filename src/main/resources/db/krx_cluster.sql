@@ -0,0 +1,24 @@
+-- =========================
+-- 멀티 노드 조정 (노드 heartbeat / 캐시 무효화 브로드캐스트)
+--   leader 는 krx_job_lease 의 'cluster:leader' lease
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_cluster_node (
+    node_id      VARCHAR(200) NOT NULL,            -- pid@host (JobLeaseService.ownerId)
+    base_url     VARCHAR(300) NOT NULL,            -- 다른 노드가 sync 를 넘길 주소
+    started_at   DATETIME(3)  NOT NULL,
+    heartbeat_at DATETIME(3)  NOT NULL,
+    status       VARCHAR(10)  NOT NULL,            -- UP | LEFT
+    PRIMARY KEY (node_id),
+    KEY idx_cluster_node_heartbeat (heartbeat_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_cache_invalidation (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    origin      VARCHAR(200) NOT NULL,
+    topic       VARCHAR(50)  NOT NULL,
+    cache_key   VARCHAR(200) NOT NULL,
+    created_at  DATETIME(3)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_cache_invalidation_created (created_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
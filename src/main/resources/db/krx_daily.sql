@@ -0,0 +1,175 @@
+-- =========================
+-- 일별 시세/매매 (krx_daily_price / krx_daily_trade)
+--   - bas_dd RANGE COLUMNS 분할: 과거는 연 단위, 최근은 월 단위
+--   - 앞으로의 월 파티션은 PartitionMaintenanceService 가 pmax 를 쪼개서 미리 만든다
+--   - hot 보관 기간이 지난 파티션은 *_archive (ROW_FORMAT=COMPRESSED) 로 옮기고 DROP
+--   - 분할 키가 PK 에 포함돼야 하므로 PK 는 (bas_dd, isu_cd)
+-- 이 파일을 krx_adjustment.sql 보다 먼저 실행 (ix_daily_price_isu_dd 는 여기서 만든다)
+-- 기존 비분할 테이블 전환은 krx_daily_partition_migrate.sql
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_daily_price (
+    bas_dd        CHAR(8)        NOT NULL,
+    market        VARCHAR(10)    NOT NULL,
+    isu_cd        VARCHAR(20)    NOT NULL,
+    isu_nm        VARCHAR(200)   NULL,
+    sect_tp_nm    VARCHAR(100)   NULL,
+    tdd_clsprc    DECIMAL(20, 2) NULL,
+    cmpprevdd_prc DECIMAL(20, 2) NULL,
+    fluc_rt       DECIMAL(10, 2) NULL,
+    tdd_opnprc    DECIMAL(20, 2) NULL,
+    tdd_hgprc     DECIMAL(20, 2) NULL,
+    tdd_lwprc     DECIMAL(20, 2) NULL,
+    acc_trdvol    BIGINT         NULL,
+    acc_trdval    DECIMAL(24, 0) NULL,
+    mktcap        DECIMAL(24, 0) NULL,
+    list_shrs     BIGINT         NULL,
+    updated_at    TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (bas_dd, isu_cd),
+    KEY ix_daily_price_isu_dd (isu_cd, bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4
+PARTITION BY RANGE COLUMNS (bas_dd) (
+    PARTITION p0 VALUES LESS THAN ('20060101'),
+    PARTITION p2006 VALUES LESS THAN ('20070101'),
+    PARTITION p2007 VALUES LESS THAN ('20080101'),
+    PARTITION p2008 VALUES LESS THAN ('20090101'),
+    PARTITION p2009 VALUES LESS THAN ('20100101'),
+    PARTITION p2010 VALUES LESS THAN ('20110101'),
+    PARTITION p2011 VALUES LESS THAN ('20120101'),
+    PARTITION p2012 VALUES LESS THAN ('20130101'),
+    PARTITION p2013 VALUES LESS THAN ('20140101'),
+    PARTITION p2014 VALUES LESS THAN ('20150101'),
+    PARTITION p2015 VALUES LESS THAN ('20160101'),
+    PARTITION p2016 VALUES LESS THAN ('20170101'),
+    PARTITION p2017 VALUES LESS THAN ('20180101'),
+    PARTITION p2018 VALUES LESS THAN ('20190101'),
+    PARTITION p2019 VALUES LESS THAN ('20200101'),
+    PARTITION p2020 VALUES LESS THAN ('20210101'),
+    PARTITION p2021 VALUES LESS THAN ('20220101'),
+    PARTITION p2022 VALUES LESS THAN ('20230101'),
+    PARTITION p2023 VALUES LESS THAN ('20240101'),
+    PARTITION p2024 VALUES LESS THAN ('20250101'),
+    PARTITION p2025 VALUES LESS THAN ('20260101'),
+    PARTITION p202601 VALUES LESS THAN ('20260201'),
+    PARTITION p202602 VALUES LESS THAN ('20260301'),
+    PARTITION p202603 VALUES LESS THAN ('20260401'),
+    PARTITION p202604 VALUES LESS THAN ('20260501'),
+    PARTITION p202605 VALUES LESS THAN ('20260601'),
+    PARTITION p202606 VALUES LESS THAN ('20260701'),
+    PARTITION p202607 VALUES LESS THAN ('20260801'),
+    PARTITION p202608 VALUES LESS THAN ('20260901'),
+    PARTITION p202609 VALUES LESS THAN ('20261001'),
+    PARTITION p202610 VALUES LESS THAN ('20261101'),
+    PARTITION p202611 VALUES LESS THAN ('20261201'),
+    PARTITION p202612 VALUES LESS THAN ('20270101'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE TABLE IF NOT EXISTS krx_daily_trade (
+    bas_dd        CHAR(8)      NOT NULL,
+    isu_cd        VARCHAR(20)  NOT NULL,
+    isu_nm        VARCHAR(200) NULL,
+    mkt_nm        VARCHAR(20)  NULL,
+    sect_tp_nm    VARCHAR(100) NULL,
+    tdd_clsprc    VARCHAR(40)  NULL,
+    cmpprevdd_prc VARCHAR(40)  NULL,
+    fluc_rt       VARCHAR(40)  NULL,
+    tdd_opnprc    VARCHAR(40)  NULL,
+    tdd_hgprc     VARCHAR(40)  NULL,
+    tdd_lwprc     VARCHAR(40)  NULL,
+    acc_trdvol    VARCHAR(40)  NULL,
+    acc_trdval    VARCHAR(40)  NULL,
+    mktcap        VARCHAR(40)  NULL,
+    list_shrs     VARCHAR(40)  NULL,
+    PRIMARY KEY (bas_dd, isu_cd),
+    KEY ix_daily_trade_mkt_dd (mkt_nm, bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4
+PARTITION BY RANGE COLUMNS (bas_dd) (
+    PARTITION p0 VALUES LESS THAN ('20060101'),
+    PARTITION p2006 VALUES LESS THAN ('20070101'),
+    PARTITION p2007 VALUES LESS THAN ('20080101'),
+    PARTITION p2008 VALUES LESS THAN ('20090101'),
+    PARTITION p2009 VALUES LESS THAN ('20100101'),
+    PARTITION p2010 VALUES LESS THAN ('20110101'),
+    PARTITION p2011 VALUES LESS THAN ('20120101'),
+    PARTITION p2012 VALUES LESS THAN ('20130101'),
+    PARTITION p2013 VALUES LESS THAN ('20140101'),
+    PARTITION p2014 VALUES LESS THAN ('20150101'),
+    PARTITION p2015 VALUES LESS THAN ('20160101'),
+    PARTITION p2016 VALUES LESS THAN ('20170101'),
+    PARTITION p2017 VALUES LESS THAN ('20180101'),
+    PARTITION p2018 VALUES LESS THAN ('20190101'),
+    PARTITION p2019 VALUES LESS THAN ('20200101'),
+    PARTITION p2020 VALUES LESS THAN ('20210101'),
+    PARTITION p2021 VALUES LESS THAN ('20220101'),
+    PARTITION p2022 VALUES LESS THAN ('20230101'),
+    PARTITION p2023 VALUES LESS THAN ('20240101'),
+    PARTITION p2024 VALUES LESS THAN ('20250101'),
+    PARTITION p2025 VALUES LESS THAN ('20260101'),
+    PARTITION p202601 VALUES LESS THAN ('20260201'),
+    PARTITION p202602 VALUES LESS THAN ('20260301'),
+    PARTITION p202603 VALUES LESS THAN ('20260401'),
+    PARTITION p202604 VALUES LESS THAN ('20260501'),
+    PARTITION p202605 VALUES LESS THAN ('20260601'),
+    PARTITION p202606 VALUES LESS THAN ('20260701'),
+    PARTITION p202607 VALUES LESS THAN ('20260801'),
+    PARTITION p202608 VALUES LESS THAN ('20260901'),
+    PARTITION p202609 VALUES LESS THAN ('20261001'),
+    PARTITION p202610 VALUES LESS THAN ('20261101'),
+    PARTITION p202611 VALUES LESS THAN ('20261201'),
+    PARTITION p202612 VALUES LESS THAN ('20270101'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- cold 보관 (비분할, 압축). 컬럼 순서가 원본과 같아야 함 (REPLACE ... SELECT * 로 옮김)
+CREATE TABLE IF NOT EXISTS krx_daily_price_archive (
+    bas_dd        CHAR(8)        NOT NULL,
+    market        VARCHAR(10)    NOT NULL,
+    isu_cd        VARCHAR(20)    NOT NULL,
+    isu_nm        VARCHAR(200)   NULL,
+    sect_tp_nm    VARCHAR(100)   NULL,
+    tdd_clsprc    DECIMAL(20, 2) NULL,
+    cmpprevdd_prc DECIMAL(20, 2) NULL,
+    fluc_rt       DECIMAL(10, 2) NULL,
+    tdd_opnprc    DECIMAL(20, 2) NULL,
+    tdd_hgprc     DECIMAL(20, 2) NULL,
+    tdd_lwprc     DECIMAL(20, 2) NULL,
+    acc_trdvol    BIGINT         NULL,
+    acc_trdval    DECIMAL(24, 0) NULL,
+    mktcap        DECIMAL(24, 0) NULL,
+    list_shrs     BIGINT         NULL,
+    updated_at    TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (bas_dd, isu_cd),
+    KEY ix_daily_price_isu_dd (isu_cd, bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+CREATE TABLE IF NOT EXISTS krx_daily_trade_archive (
+    bas_dd        CHAR(8)      NOT NULL,
+    isu_cd        VARCHAR(20)  NOT NULL,
+    isu_nm        VARCHAR(200) NULL,
+    mkt_nm        VARCHAR(20)  NULL,
+    sect_tp_nm    VARCHAR(100) NULL,
+    tdd_clsprc    VARCHAR(40)  NULL,
+    cmpprevdd_prc VARCHAR(40)  NULL,
+    fluc_rt       VARCHAR(40)  NULL,
+    tdd_opnprc    VARCHAR(40)  NULL,
+    tdd_hgprc     VARCHAR(40)  NULL,
+    tdd_lwprc     VARCHAR(40)  NULL,
+    acc_trdvol    VARCHAR(40)  NULL,
+    acc_trdval    VARCHAR(40)  NULL,
+    mktcap        VARCHAR(40)  NULL,
+    list_shrs     VARCHAR(40)  NULL,
+    PRIMARY KEY (bas_dd, isu_cd),
+    KEY ix_daily_trade_mkt_dd (mkt_nm, bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
+
+-- 파티션 이관 이력
+CREATE TABLE IF NOT EXISTS krx_partition_archive_log (
+    table_name     VARCHAR(64) NOT NULL,
+    partition_name VARCHAR(64) NOT NULL,
+    from_dd        CHAR(8)     NOT NULL, -- 포함
+    to_dd          CHAR(8)     NOT NULL, -- 미포함
+    moved_rows     BIGINT      NOT NULL,
+    archived_at    DATETIME    NOT NULL,
+    PRIMARY KEY (table_name, partition_name, archived_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,81 @@
+-- =========================
+-- 기존 비분할 krx_daily_price / krx_daily_trade → RANGE COLUMNS(bas_dd) 분할 전환 (1회)
+--   - 테이블 전체를 다시 쓰므로 장 마감 후 적재가 없는 시간에 실행
+--   - PK 가 (bas_dd, isu_cd) 가 아니면 먼저 PK 를 바꿔야 함 (분할 키가 모든 unique key 에 포함돼야 함)
+-- =========================
+
+ALTER TABLE krx_daily_price
+PARTITION BY RANGE COLUMNS (bas_dd) (
+    PARTITION p0 VALUES LESS THAN ('20060101'),
+    PARTITION p2006 VALUES LESS THAN ('20070101'),
+    PARTITION p2007 VALUES LESS THAN ('20080101'),
+    PARTITION p2008 VALUES LESS THAN ('20090101'),
+    PARTITION p2009 VALUES LESS THAN ('20100101'),
+    PARTITION p2010 VALUES LESS THAN ('20110101'),
+    PARTITION p2011 VALUES LESS THAN ('20120101'),
+    PARTITION p2012 VALUES LESS THAN ('20130101'),
+    PARTITION p2013 VALUES LESS THAN ('20140101'),
+    PARTITION p2014 VALUES LESS THAN ('20150101'),
+    PARTITION p2015 VALUES LESS THAN ('20160101'),
+    PARTITION p2016 VALUES LESS THAN ('20170101'),
+    PARTITION p2017 VALUES LESS THAN ('20180101'),
+    PARTITION p2018 VALUES LESS THAN ('20190101'),
+    PARTITION p2019 VALUES LESS THAN ('20200101'),
+    PARTITION p2020 VALUES LESS THAN ('20210101'),
+    PARTITION p2021 VALUES LESS THAN ('20220101'),
+    PARTITION p2022 VALUES LESS THAN ('20230101'),
+    PARTITION p2023 VALUES LESS THAN ('20240101'),
+    PARTITION p2024 VALUES LESS THAN ('20250101'),
+    PARTITION p2025 VALUES LESS THAN ('20260101'),
+    PARTITION p202601 VALUES LESS THAN ('20260201'),
+    PARTITION p202602 VALUES LESS THAN ('20260301'),
+    PARTITION p202603 VALUES LESS THAN ('20260401'),
+    PARTITION p202604 VALUES LESS THAN ('20260501'),
+    PARTITION p202605 VALUES LESS THAN ('20260601'),
+    PARTITION p202606 VALUES LESS THAN ('20260701'),
+    PARTITION p202607 VALUES LESS THAN ('20260801'),
+    PARTITION p202608 VALUES LESS THAN ('20260901'),
+    PARTITION p202609 VALUES LESS THAN ('20261001'),
+    PARTITION p202610 VALUES LESS THAN ('20261101'),
+    PARTITION p202611 VALUES LESS THAN ('20261201'),
+    PARTITION p202612 VALUES LESS THAN ('20270101'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+ALTER TABLE krx_daily_trade
+PARTITION BY RANGE COLUMNS (bas_dd) (
+    PARTITION p0 VALUES LESS THAN ('20060101'),
+    PARTITION p2006 VALUES LESS THAN ('20070101'),
+    PARTITION p2007 VALUES LESS THAN ('20080101'),
+    PARTITION p2008 VALUES LESS THAN ('20090101'),
+    PARTITION p2009 VALUES LESS THAN ('20100101'),
+    PARTITION p2010 VALUES LESS THAN ('20110101'),
+    PARTITION p2011 VALUES LESS THAN ('20120101'),
+    PARTITION p2012 VALUES LESS THAN ('20130101'),
+    PARTITION p2013 VALUES LESS THAN ('20140101'),
+    PARTITION p2014 VALUES LESS THAN ('20150101'),
+    PARTITION p2015 VALUES LESS THAN ('20160101'),
+    PARTITION p2016 VALUES LESS THAN ('20170101'),
+    PARTITION p2017 VALUES LESS THAN ('20180101'),
+    PARTITION p2018 VALUES LESS THAN ('20190101'),
+    PARTITION p2019 VALUES LESS THAN ('20200101'),
+    PARTITION p2020 VALUES LESS THAN ('20210101'),
+    PARTITION p2021 VALUES LESS THAN ('20220101'),
+    PARTITION p2022 VALUES LESS THAN ('20230101'),
+    PARTITION p2023 VALUES LESS THAN ('20240101'),
+    PARTITION p2024 VALUES LESS THAN ('20250101'),
+    PARTITION p2025 VALUES LESS THAN ('20260101'),
+    PARTITION p202601 VALUES LESS THAN ('20260201'),
+    PARTITION p202602 VALUES LESS THAN ('20260301'),
+    PARTITION p202603 VALUES LESS THAN ('20260401'),
+    PARTITION p202604 VALUES LESS THAN ('20260501'),
+    PARTITION p202605 VALUES LESS THAN ('20260601'),
+    PARTITION p202606 VALUES LESS THAN ('20260701'),
+    PARTITION p202607 VALUES LESS THAN ('20260801'),
+    PARTITION p202608 VALUES LESS THAN ('20260901'),
+    PARTITION p202609 VALUES LESS THAN ('20261001'),
+    PARTITION p202610 VALUES LESS THAN ('20261101'),
+    PARTITION p202611 VALUES LESS THAN ('20261201'),
+    PARTITION p202612 VALUES LESS THAN ('20270101'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
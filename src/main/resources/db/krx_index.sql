@@ -0,0 +1,20 @@
+-- =========================
+-- 지수 일별 시세 (idx/*_dd_trd)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_index_daily_price (
+    bas_dd     CHAR(8)        NOT NULL,
+    idx_clss   VARCHAR(10)    NOT NULL, -- KRX | KOSPI | KOSDAQ
+    idx_nm     VARCHAR(100)   NOT NULL,
+    clpr       DECIMAL(20, 2) NULL,
+    vs         DECIMAL(20, 2) NULL,
+    fluc_rt    DECIMAL(10, 2) NULL,
+    opnprc     DECIMAL(20, 2) NULL,
+    hgprc      DECIMAL(20, 2) NULL,
+    lwprc      DECIMAL(20, 2) NULL,
+    acc_trdvol DECIMAL(24, 0) NULL,
+    acc_trdval DECIMAL(24, 0) NULL,
+    updated_at TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (bas_dd, idx_clss, idx_nm),
+    KEY ix_index_daily_nm_dd (idx_nm, bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
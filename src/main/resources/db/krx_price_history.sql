@@ -0,0 +1,15 @@
+-- =========================
+-- 일봉 압축 이력 (종목 × 월 1 row, PriceDeltaCodec)
+--   krx_daily_price(hot/archive) 가 원본, 이 테이블은 전 기간 조회용 사본
+--   해당 월이 다시 적재되면 그 달 blob 을 지우고 다음 compaction 때 다시 만듦
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_price_history_blob (
+    isu_cd     VARCHAR(20) NOT NULL,
+    yyyymm     CHAR(6)     NOT NULL,
+    row_count  INT         NOT NULL,
+    payload    BLOB        NOT NULL,
+    updated_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (isu_cd, yyyymm),
+    KEY ix_price_history_month (yyyymm)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
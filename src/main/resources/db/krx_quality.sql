@@ -0,0 +1,48 @@
+-- =========================
+-- 적재 데이터 품질 검증
+-- =========================
+
+-- 일자/시장/데이터셋별 검증 요약 (마지막 검증이 이김)
+CREATE TABLE IF NOT EXISTS krx_quality_run (
+    bas_dd      CHAR(8)     NOT NULL,
+    market      VARCHAR(10) NOT NULL,
+    dataset     VARCHAR(20) NOT NULL, -- PRICE | TRADE
+    row_count   INT         NOT NULL,
+    error_count INT         NOT NULL,
+    warn_count  INT         NOT NULL,
+    quarantined TINYINT(1)  NOT NULL,
+    elapsed_ms  BIGINT      NOT NULL,
+    checked_at  DATETIME    NOT NULL,
+    PRIMARY KEY (bas_dd, market, dataset)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 검증 이슈 상세 (check 별 상한까지만 저장)
+CREATE TABLE IF NOT EXISTS krx_quality_issue (
+    id         BIGINT        NOT NULL AUTO_INCREMENT,
+    bas_dd     CHAR(8)       NOT NULL,
+    market     VARCHAR(10)   NOT NULL,
+    dataset    VARCHAR(20)   NOT NULL,
+    check_id   VARCHAR(40)   NOT NULL,
+    severity   VARCHAR(10)   NOT NULL, -- WARN | ERROR
+    isu_cd     VARCHAR(20)   NULL,     -- null 이면 일자 단위 이슈
+    message    VARCHAR(500)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY ix_quality_issue_day (bas_dd, market, dataset)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 격리된 일자: upsert 하지 않고 보류 (release → 보관한 원본을 검증 없이 저장, discard → 폐기)
+CREATE TABLE IF NOT EXISTS krx_quality_quarantine (
+    bas_dd      CHAR(8)      NOT NULL,
+    market      VARCHAR(10)  NOT NULL,
+    dataset     VARCHAR(20)  NOT NULL,
+    reason      VARCHAR(500) NOT NULL,
+    status      VARCHAR(10)  NOT NULL, -- PENDING | RELEASED | DISCARDED
+    created_at  DATETIME     NOT NULL,
+    resolved_at DATETIME     NULL,
+    payload     LONGBLOB     NULL,     -- 격리된 응답 row 원본 (gzip JSON), 해제/폐기 시 비움
+    PRIMARY KEY (bas_dd, market, dataset),
+    KEY ix_quality_quarantine_status (status)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 기존 테이블: 격리 원본 컬럼 추가
+-- ALTER TABLE krx_quality_quarantine ADD COLUMN payload LONGBLOB NULL AFTER resolved_at;
@@ -0,0 +1,13 @@
+-- =========================
+-- KRX OpenAPI 일일 호출량 (AUTH_KEY 별)
+--   노드들이 증분을 더하고 합계를 다시 읽음 → 재시작/여러 노드에서도 같은 값
+--   key_name 은 설정의 이름 (AUTH_KEY 원문은 저장하지 않음)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_api_quota (
+    key_name   VARCHAR(64) NOT NULL,
+    quota_dd   CHAR(8)     NOT NULL,
+    used       INT         NOT NULL DEFAULT 0,
+    updated_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (key_name, quota_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
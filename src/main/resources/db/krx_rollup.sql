@@ -0,0 +1,59 @@
+-- =========================
+-- 주봉/월봉, 시장 등락 집계 (KrxDailyPriceService 가 일자 row 저장이 끝난 뒤 별도 트랜잭션으로 갱신)
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_price_bar_weekly (
+    isu_cd   VARCHAR(20)    NOT NULL,
+    period   CHAR(8)        NOT NULL, -- 주 시작(월요일) yyyyMMdd
+    market   VARCHAR(10)    NOT NULL,
+    first_dd CHAR(8)        NOT NULL,
+    last_dd  CHAR(8)        NOT NULL,
+    open     DECIMAL(20, 2) NULL,
+    high     DECIMAL(20, 2) NULL,
+    low      DECIMAL(20, 2) NULL,
+    close    DECIMAL(20, 2) NULL,
+    volume   BIGINT         NULL,
+    trdval   DECIMAL(24, 0) NULL,
+    days     INT            NOT NULL,
+    PRIMARY KEY (isu_cd, period)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_price_bar_monthly (
+    isu_cd   VARCHAR(20)    NOT NULL,
+    period   CHAR(6)        NOT NULL, -- yyyyMM
+    market   VARCHAR(10)    NOT NULL,
+    first_dd CHAR(8)        NOT NULL,
+    last_dd  CHAR(8)        NOT NULL,
+    open     DECIMAL(20, 2) NULL,
+    high     DECIMAL(20, 2) NULL,
+    low      DECIMAL(20, 2) NULL,
+    close    DECIMAL(20, 2) NULL,
+    volume   BIGINT         NULL,
+    trdval   DECIMAL(24, 0) NULL,
+    days     INT            NOT NULL,
+    PRIMARY KEY (isu_cd, period)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_market_breadth_daily (
+    bas_dd       CHAR(8)        NOT NULL,
+    market       VARCHAR(10)    NOT NULL,
+    sect_tp_nm   VARCHAR(100)   NOT NULL, -- '*' = 시장 전체
+    issues       INT            NOT NULL,
+    advancers    INT            NOT NULL,
+    decliners    INT            NOT NULL,
+    unchanged    INT            NOT NULL,
+    total_trdvol BIGINT         NULL,
+    total_trdval DECIMAL(24, 0) NULL,
+    total_mktcap DECIMAL(24, 0) NULL,
+    PRIMARY KEY (bas_dd, market, sect_tp_nm)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 저장은 됐는데 집계 갱신이 아직 안 된 (일자, 시장).
+-- 저장 전에 표시 → 집계 갱신과 같은 트랜잭션에서 지움. 남아 있으면 KrxRollupService.repairPending 이 다시 집계
+CREATE TABLE IF NOT EXISTS krx_rollup_pending (
+    bas_dd    CHAR(8)     NOT NULL,
+    market    VARCHAR(10) NOT NULL,
+    marked_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (bas_dd, market),
+    KEY idx_marked_at (marked_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,33 @@
+-- =========================
+-- EOD 스케줄러 / 분산 lease
+-- =========================
+
+CREATE TABLE IF NOT EXISTS krx_job_lease (
+    name        VARCHAR(100) NOT NULL,
+    owner       VARCHAR(200) NOT NULL,
+    lease_until DATETIME(3)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_eod_run (
+    bas_dd           CHAR(8)      NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    owner            VARCHAR(200) NULL,
+    started_at       DATETIME(3)  NULL,
+    finished_at      DATETIME(3)  NULL,
+    available_lag_ms BIGINT       NULL,
+    PRIMARY KEY (bas_dd)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS krx_eod_job_run (
+    bas_dd        CHAR(8)       NOT NULL,
+    job_id        VARCHAR(64)   NOT NULL,
+    status        VARCHAR(20)   NOT NULL,
+    attempt       INT           NOT NULL DEFAULT 0,
+    saved         INT           NOT NULL DEFAULT 0,
+    started_at    DATETIME(3)   NULL,
+    finished_at   DATETIME(3)   NULL,
+    duration_ms   BIGINT        NULL,
+    error_message VARCHAR(1000) NULL,
+    PRIMARY KEY (bas_dd, job_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
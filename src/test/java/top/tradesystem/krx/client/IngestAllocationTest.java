@@ -0,0 +1,203 @@
+package top.tradesystem.krx.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import top.tradesystem.krx.config.KrxIngestProperties;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+import top.tradesystem.krx.dto.KrxDailyTradeRow;
+import top.tradesystem.krx.ingest.KrxRowDecoder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 수집 경로(응답 조각 파싱 → Map → DTO) 할당량 회귀 테스트: 기본 경로 vs krx.ingest.low-alloc.
+ *
+ * <p>합성 응답 = 하루치 KOSPI 규모 (2,700 종목, 15 컬럼, 숫자는 "71,500" 처럼 콤마 포함), 16KB 조각으로 나눠 먹임.
+ * <ul>
+ *   <li>두 경로의 DTO 가 같아야 함 (UTF-8 / MS949 응답 둘 다)</li>
+ *   <li>스레드 할당 바이트(ThreadMXBean)로 저할당 경로가 기본의 MAX_RATIO 이하인지</li>
+ *   <li>JFR jdk.ObjectAllocationSample 로 클래스별 할당을 기록해 row 별 LinkedHashMap$Entry 가 빠졌는지
+ *       (표본 weight 합은 총량과 다를 수 있어 총량 비교는 ThreadMXBean 으로)</li>
+ * </ul>
+ * 할당량 측정 두 개는 JIT/GC 상태에 따라 흔들려서 기본 test task 에서는 제외 (@Tag benchmark, ./gradlew benchmark).
+ * 같은 DTO 가 나오는지는 기본 test 에서 계속 확인.
+ */
+class IngestAllocationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestAllocationTest.class);
+
+    private static final int SYMBOLS = 2700;
+    private static final int CHUNK = 16 * 1024;
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 30;
+    private static final double MAX_RATIO = 0.7;
+    private static final Charset MS949 = Charset.forName("MS949");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Test
+    void bothPathsDecodeSameRows() {
+        for (Charset cs : List.of(StandardCharsets.UTF_8, MS949)) {
+            byte[] body = response(cs, 7);
+            Result base = ingest(body, false);
+            Result low = ingest(body, true);
+            assertEquals(SYMBOLS, base.prices().size());
+            assertEquals(base.prices(), low.prices());
+            assertEquals(base.trades(), low.trades());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void lowAllocAllocatesLess() {
+        byte[] body = response(StandardCharsets.UTF_8, 11);
+        long base = allocatedPerRound(body, false);
+        long low = allocatedPerRound(body, true);
+        String summary = String.format(Locale.ROOT,
+                "ingest alloc/round (%s): default=%,d B (%,d B/row), low-alloc=%,d B (%,d B/row), ratio=%.2f",
+                Runtime.version(), base, base / SYMBOLS, low, low / SYMBOLS, (double) low / base);
+        log.info(summary);
+        assertTrue(low <= base * MAX_RATIO, summary);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void jfrAllocationProfile() throws IOException {
+        byte[] body = response(MS949, 13);
+        Map<String, Long> base = profile(body, false);
+        Map<String, Long> low = profile(body, true);
+        String summary = describe("default", base) + "\n" + describe("low-alloc", low);
+        log.info(summary);
+
+        long baseEntries = base.getOrDefault("java.util.LinkedHashMap$Entry", 0L);
+        long lowEntries = low.getOrDefault("java.util.LinkedHashMap$Entry", 0L);
+        assertTrue(baseEntries > 0, "default path should sample LinkedHashMap$Entry\n" + summary);
+        assertTrue(lowEntries * 10 < baseEntries, "low-alloc still allocates LinkedHashMap$Entry: " + lowEntries + "\n" + summary);
+    }
+
+    // =========================
+    // 수집 경로
+    // =========================
+    private record Result(List<KrxDailyPriceRow> prices, List<KrxDailyTradeRow> trades) {}
+
+    private static Result ingest(byte[] body, boolean lowAlloc) {
+        KrxOutBlockStreamParser parser = new KrxOutBlockStreamParser(JSON, MS949, "/stk_bydd_trd", "test", lowAlloc);
+        List<Map<String, String>> rows = new ArrayList<>(SYMBOLS);
+        for (int off = 0; off < body.length; off += CHUNK) {
+            rows.addAll(parser.feed(ByteBuffer.wrap(body, off, Math.min(CHUNK, body.length - off)).slice()));
+        }
+        rows.addAll(parser.finish());
+
+        KrxRowDecoder decoder = new KrxRowDecoder(new KrxIngestProperties(0, 0, 0, 0, 0, lowAlloc));
+        return new Result(decoder.dailyPrices("20250102", "KOSPI", rows), decoder.dailyTrades("20250102", rows));
+    }
+
+    private static long allocatedPerRound(byte[] body, boolean lowAlloc) {
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP; i++) ingest(body, lowAlloc);
+        long before = mx.getThreadAllocatedBytes(id);
+        for (int i = 0; i < ROUNDS; i++) ingest(body, lowAlloc);
+        return (mx.getThreadAllocatedBytes(id) - before) / ROUNDS;
+    }
+
+    private static Map<String, Long> profile(byte[] body, boolean lowAlloc) throws IOException {
+        for (int i = 0; i < WARMUP; i++) ingest(body, lowAlloc);
+        Path file = Files.createTempFile("krx-ingest-" + (lowAlloc ? "low" : "default"), ".jfr");
+        try (Recording r = new Recording()) {
+            r.enable("jdk.ObjectAllocationSample").with("throttle", "100000/s");
+            r.start();
+            for (int i = 0; i < ROUNDS; i++) ingest(body, lowAlloc);
+            r.stop();
+            r.dump(file);
+        }
+        long tid = Thread.currentThread().threadId();
+        Map<String, Long> byClass = new HashMap<>();
+        try {
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                if (e.getThread() == null || e.getThread().getJavaThreadId() != tid) continue;
+                byClass.merge(e.getClass("objectClass").getName(), e.getLong("weight"), Long::sum);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return byClass;
+    }
+
+    private static long total(Map<String, Long> byClass) {
+        return byClass.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static String describe(String label, Map<String, Long> byClass) {
+        StringBuilder sb = new StringBuilder("JFR ").append(label).append(" sampled=").append(total(byClass) / ROUNDS).append(" B/round");
+        byClass.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(8)
+                .forEach(e -> sb.append("\n  ").append(e.getKey()).append(' ').append(e.getValue() / ROUNDS));
+        return sb.toString();
+    }
+
+    // =========================
+    // 합성 응답
+    // =========================
+    private static final String[] SECTS = {"우량기업부", "중견기업부", "벤처기업부", "기술성장기업부", "SPAC(소속부없음)"};
+
+    private static byte[] response(Charset cs, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder(SYMBOLS * 400).append("{\"OutBlock_1\":[");
+        for (int i = 0; i < SYMBOLS; i++) {
+            long close = 1_000L + rnd.nextLong(500_000L);
+            long cmp = rnd.nextLong(-close / 10, close / 10 + 1);
+            long vol = rnd.nextLong(5_000_000L);
+            long shares = 1_000_000L + rnd.nextLong(5_000_000_000L);
+            if (i > 0) sb.append(',');
+            sb.append('{');
+            field(sb, "BAS_DD", "20250102").append(',');
+            field(sb, "ISU_CD", String.format(Locale.ROOT, "%06d", i * 7 + 5)).append(',');
+            field(sb, "ISU_NM", "종목" + i + (i % 3 == 0 ? "우" : "")).append(',');
+            field(sb, "MKT_NM", "KOSPI").append(',');
+            field(sb, "SECT_TP_NM", SECTS[i % SECTS.length]).append(',');
+            field(sb, "TDD_CLSPRC", comma(close)).append(',');
+            field(sb, "CMPPREVDD_PRC", comma(cmp)).append(',');
+            field(sb, "FLUC_RT", String.format(Locale.ROOT, "%.2f", cmp * 100.0 / Math.max(1, close - cmp))).append(',');
+            field(sb, "TDD_OPNPRC", i % 50 == 0 ? "-" : comma(close - cmp / 2)).append(',');
+            field(sb, "TDD_HGPRC", comma(close + rnd.nextLong(close / 20 + 1))).append(',');
+            field(sb, "TDD_LWPRC", comma(close - rnd.nextLong(close / 20 + 1))).append(',');
+            field(sb, "ACC_TRDVOL", comma(vol)).append(',');
+            field(sb, "ACC_TRDVAL", comma(vol * close)).append(',');
+            field(sb, "MKTCAP", comma(shares * close)).append(',');
+            field(sb, "LIST_SHRS", comma(shares));
+            sb.append('}');
+        }
+        return sb.append("]}").toString().getBytes(cs);
+    }
+
+    private static StringBuilder field(StringBuilder sb, String k, String v) {
+        return sb.append('"').append(k).append("\":\"").append(v).append('"');
+    }
+
+    private static String comma(long v) {
+        return String.format(Locale.ROOT, "%,d", v);
+    }
+}
@@ -0,0 +1,150 @@
+package top.tradesystem.krx.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * KrxOutBlockStreamParser: 조각 경계, UTF-8 / MS949 판별, row 배열 선택.
+ * 같은 응답을 어디서 잘라 먹여도 (multibyte 한가운데 포함) 한 번에 먹인 것과 같은 row 가 나와야 한다.
+ */
+class KrxOutBlockStreamParserTest {
+
+    private static final Charset MS949 = Charset.forName("MS949");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final String ROWS = "[{\"ISU_CD\":\"005930\",\"ISU_NM\":\"삼성전자\",\"MKT_NM\":\"KOSPI\"},"
+            + "{\"ISU_CD\":\"000660\",\"ISU_NM\":\"SK하이닉스\",\"MKT_NM\":\"KOSPI\"},"
+            + "{\"ISU_CD\":\"004650\",\"ISU_NM\":\"창해에탄올\",\"MKT_NM\":\"KOSDAQ\"}]";
+    private static final List<Map<String, String>> EXPECTED = List.of(
+            Map.of("ISU_CD", "005930", "ISU_NM", "삼성전자", "MKT_NM", "KOSPI"),
+            Map.of("ISU_CD", "000660", "ISU_NM", "SK하이닉스", "MKT_NM", "KOSPI"),
+            Map.of("ISU_CD", "004650", "ISU_NM", "창해에탄올", "MKT_NM", "KOSDAQ"));
+
+    // =========================
+    // 조각 경계 / charset
+    // =========================
+    @Test
+    void splitAtEveryOffsetUtf8() {
+        splitAtEveryOffset("{\"OutBlock_1\":" + ROWS + "}", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void splitAtEveryOffsetMs949() {
+        splitAtEveryOffset("{\"OutBlock_1\":" + ROWS + "}", MS949);
+    }
+
+    @Test
+    void byteAtATime() {
+        for (Charset cs : List.of(StandardCharsets.UTF_8, MS949)) {
+            byte[] body = ("{\"OutBlock_1\":" + ROWS + "}").getBytes(cs);
+            for (boolean lowAlloc : new boolean[]{false, true}) {
+                assertEquals(EXPECTED, parse(body, 1, lowAlloc), cs + " lowAlloc=" + lowAlloc);
+            }
+        }
+    }
+
+    @Test
+    void ms949WhoseFirstCharIsAlsoValidUtf8() {
+        // "창" 은 MS949 로 C3 A2 → UTF-8 'â' 로도 읽힘. 첫 글자만 보고 UTF-8 로 정하면 안 됨
+        String json = "[{\"ISU_NM\":\"창해에탄올\"},{\"ISU_NM\":\"삼성전자\"}]";
+        List<Map<String, String>> expected = List.of(Map.of("ISU_NM", "창해에탄올"), Map.of("ISU_NM", "삼성전자"));
+        byte[] body = json.getBytes(MS949);
+        assertEquals(expected, parse(body, body.length, false));
+        assertEquals(expected, parse(body, 3, true));
+    }
+
+    @Test
+    void shortUtf8EndsBeforeConfirm() {
+        // 비 ASCII 가 CONFIRM_CHARS 보다 적어도 입력 끝에서 UTF-8 로 판단
+        byte[] body = "[{\"ISU_NM\":\"창\"}]".getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of(Map.of("ISU_NM", "창")), parse(body, 4, false));
+    }
+
+    // =========================
+    // row 배열 선택
+    // =========================
+    @Test
+    void bareRootArray() {
+        byte[] body = ROWS.getBytes(StandardCharsets.UTF_8);
+        assertEquals(EXPECTED, parse(body, 7, false));
+    }
+
+    @Test
+    void prefersOutBlock1OverEarlierArray() {
+        String json = "{\"meta\":[{\"ISU_CD\":\"x\"}],\"result\":[{\"ISU_CD\":\"y\"}],\"OutBlock_1\":" + ROWS + ",\"data\":[{\"ISU_CD\":\"z\"}]}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        for (boolean lowAlloc : new boolean[]{false, true}) {
+            assertEquals(EXPECTED, parse(body, 5, lowAlloc));
+        }
+    }
+
+    @Test
+    void fallsBackToCandidateThenFirstArray() {
+        String candidate = "{\"meta\":[{\"A\":\"1\"}],\"output\":[{\"A\":\"2\"}],\"data\":[{\"A\":\"3\"}]}";
+        assertEquals(List.of(Map.of("A", "2")), parse(candidate.getBytes(StandardCharsets.UTF_8), 6, false));
+
+        String first = "{\"code\":\"0\",\"meta\":[{\"A\":\"1\"}],\"other\":[{\"A\":\"2\"}]}";
+        assertEquals(List.of(Map.of("A", "1")), parse(first.getBytes(StandardCharsets.UTF_8), 6, false));
+    }
+
+    @Test
+    void nestedValuesInsideRowAreIgnored() {
+        String json = "{\"OutBlock_1\":[{\"A\":\"1\",\"sub\":[{\"B\":\"2\"}],\"obj\":{\"C\":\"3\"},\"D\":null}]}";
+        List<Map<String, String>> rows = parse(json.getBytes(StandardCharsets.UTF_8), 4, false);
+        assertEquals(1, rows.size());
+        assertEquals("1", rows.get(0).get("A"));
+        assertEquals(null, rows.get(0).get("D"));
+        assertEquals(2, rows.get(0).size());
+    }
+
+    // =========================
+    // 에러
+    // =========================
+    @Test
+    void truncatedResponseFails() {
+        byte[] body = ("{\"OutBlock_1\":" + ROWS).getBytes(MS949);
+        assertThrows(RuntimeException.class, () -> parse(body, 16, false));
+    }
+
+    @Test
+    void noRowArrayFails() {
+        byte[] body = "{\"respCode\":\"E\",\"respMsg\":\"인증키 오류\"}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(RuntimeException.class, () -> parse(body, 16, false));
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private static void splitAtEveryOffset(String json, Charset cs) {
+        byte[] body = json.getBytes(cs);
+        for (boolean lowAlloc : new boolean[]{false, true}) {
+            for (int cut = 0; cut <= body.length; cut++) {
+                KrxOutBlockStreamParser parser = new KrxOutBlockStreamParser(JSON, MS949, "/test", "split", lowAlloc);
+                List<Map<String, String>> rows = new ArrayList<>(parser.feed(ByteBuffer.wrap(body, 0, cut).slice()));
+                rows.addAll(parser.feed(ByteBuffer.wrap(body, cut, body.length - cut).slice()));
+                rows.addAll(parser.finish());
+                assertEquals(EXPECTED, rows, cs + " cut=" + cut + " lowAlloc=" + lowAlloc);
+            }
+        }
+    }
+
+    private static List<Map<String, String>> parse(byte[] body, int chunk, boolean lowAlloc) {
+        KrxOutBlockStreamParser parser = new KrxOutBlockStreamParser(JSON, MS949, "/test", "chunk=" + chunk, lowAlloc);
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (int off = 0; off < body.length; off += chunk) {
+            rows.addAll(parser.feed(ByteBuffer.wrap(body, off, Math.min(chunk, body.length - off)).slice()));
+        }
+        rows.addAll(parser.finish());
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package top.tradesystem.krx.history;
+
+import org.junit.jupiter.api.Test;
+import top.tradesystem.krx.dto.KrxDailyPriceRow;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PriceDeltaCodec round-trip.
+ * 합성 일봉(호가 단위 가격, 평일 + 휴장일, 중간 종목명 변경, null 컬럼)을 인코딩 → 디코딩해 그대로 나오는지,
+ * 그리고 같은 row 를 CSV 로 쓴 것보다 충분히 작은지 본다.
+ */
+class PriceDeltaCodecTest {
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Test
+    void roundTripYear() {
+        List<KrxDailyPriceRow> rows = series("005930", LocalDate.of(2024, 1, 2), 250, 42L);
+        byte[] encoded = PriceDeltaCodec.encode(rows);
+        assertEquals(rows, PriceDeltaCodec.decode(encoded));
+    }
+
+    @Test
+    void roundTripMonthWithNulls() {
+        List<KrxDailyPriceRow> rows = new ArrayList<>(series("000660", LocalDate.of(2025, 3, 3), 21, 7L));
+        // 거래정지일: 시가/고가/저가/등락률 없음, 종목명 null
+        KrxDailyPriceRow r = rows.get(10);
+        rows.set(10, new KrxDailyPriceRow(r.basDd(), r.market(), r.isuCd(), null, r.sectTpNm(),
+                r.tddClsprc(), r.cmpprevddPrc(), null, null, null, null, 0L, BigDecimal.ZERO, r.mktcap(), null));
+        assertEquals(rows, PriceDeltaCodec.decode(PriceDeltaCodec.encode(rows)));
+    }
+
+    @Test
+    void emptyAndSingle() {
+        assertEquals(List.of(), PriceDeltaCodec.decode(PriceDeltaCodec.encode(List.of())));
+        List<KrxDailyPriceRow> one = series("035420", LocalDate.of(2025, 1, 2), 1, 1L);
+        assertEquals(one, PriceDeltaCodec.decode(PriceDeltaCodec.encode(one)));
+    }
+
+    @Test
+    void rejectsUnsortedRows() {
+        List<KrxDailyPriceRow> rows = new ArrayList<>(series("005380", LocalDate.of(2025, 1, 2), 3, 3L));
+        rows.add(rows.get(0));
+        assertThrows(IllegalArgumentException.class, () -> PriceDeltaCodec.encode(rows));
+    }
+
+    @Test
+    void muchSmallerThanCsv() {
+        List<KrxDailyPriceRow> rows = series("005930", LocalDate.of(2020, 1, 2), 1250, 99L);
+        long csv = 0;
+        for (KrxDailyPriceRow r : rows) csv += csvLine(r).getBytes(StandardCharsets.UTF_8).length;
+        int encoded = PriceDeltaCodec.encode(rows).length;
+        assertTrue(csv >= encoded * 5L, "csv=" + csv + " encoded=" + encoded);
+    }
+
+    // =========================
+    // 합성 데이터
+    // =========================
+    private static List<KrxDailyPriceRow> series(String code, LocalDate start, int days, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<KrxDailyPriceRow> out = new ArrayList<>(days);
+        long shares = 5_969_782_550L;
+        long prevClose = 70_000;
+        LocalDate d = start;
+        while (out.size() < days) {
+            if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY || rnd.nextInt(40) == 0) {
+                d = d.plusDays(1);
+                continue;
+            }
+            long close = tick(prevClose * (1000 + rnd.nextInt(-30, 31)) / 1000);
+            long open = tick(prevClose * (1000 + rnd.nextInt(-10, 11)) / 1000);
+            long high = Math.max(Math.max(open, close), tick(close * (1000 + rnd.nextInt(0, 15)) / 1000));
+            long low = Math.min(Math.min(open, close), tick(close * (1000 - rnd.nextInt(0, 15)) / 1000));
+            long vol = 5_000_000 + rnd.nextInt(20_000_000);
+            if (out.size() == days / 2) shares += 1_000_000; // 유상증자
+            String name = out.size() < days * 3 / 4 ? "삼성전자" : "삼성전자우";
+
+            out.add(new KrxDailyPriceRow(
+                    d.format(YYYYMMDD), "KOSPI", code, name, "-",
+                    BigDecimal.valueOf(close),
+                    BigDecimal.valueOf(close - prevClose),
+                    BigDecimal.valueOf((close - prevClose) * 10000 / prevClose, 2),
+                    BigDecimal.valueOf(open),
+                    BigDecimal.valueOf(high),
+                    BigDecimal.valueOf(low),
+                    vol,
+                    BigDecimal.valueOf(vol * close),
+                    BigDecimal.valueOf(close * shares),
+                    shares
+            ));
+            prevClose = close;
+            d = d.plusDays(1);
+        }
+        return out;
+    }
+
+    // 50,000~500,000 원 구간 호가 단위 100원
+    private static long tick(long price) {
+        return Math.max(100, price / 100 * 100);
+    }
+
+    private static String csvLine(KrxDailyPriceRow r) {
+        return String.join(",", r.basDd(), r.market(), r.isuCd(), r.isuNm(), r.sectTpNm(),
+                String.valueOf(r.tddClsprc()), String.valueOf(r.cmpprevddPrc()), String.valueOf(r.flucRt()),
+                String.valueOf(r.tddOpnprc()), String.valueOf(r.tddHgprc()), String.valueOf(r.tddLwprc()),
+                String.valueOf(r.accTrdvol()), String.valueOf(r.accTrdval()), String.valueOf(r.mktcap()),
+                String.valueOf(r.listShrs())) + "\n";
+    }
+}
@@ -0,0 +1,198 @@
+package top.tradesystem.krx.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WriteBehindBuffer 제출 단위(ticket) ack / batch 실패 / backpressure / close flush.
+ * DB 대신 {@link FakeWriter} 가 받은 batch 를 그대로 기록한다.
+ */
+class WriteBehindBufferTest {
+
+    private static final Duration SHORT = Duration.ofMillis(20);
+    private static final long WAIT_SECONDS = 5;
+
+    // =========================
+    // ticket 단위 ack
+    // =========================
+    @Test
+    void submitSplitAcrossBatchesCompletesAfterLastBatch() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        try (WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 4, SHORT, 64, 2)) {
+            assertEquals(10, buffer.submit(rows("a", 10)).block(Duration.ofSeconds(WAIT_SECONDS)));
+
+            List<List<String>> batches = writer.batches();
+            assertTrue(batches.size() >= 3, "batches=" + batches.size());
+            assertTrue(batches.stream().allMatch(b -> b.size() <= 4));
+            assertEquals(10, batches.stream().mapToInt(List::size).sum());
+        }
+    }
+
+    @Test
+    void batchMixingTicketsAcksEachTicketWithItsOwnCount() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        // batch 가 다 찰 때까지 (6 row) 충분히 기다림 → 두 제출이 한 batch 로 묶임
+        Duration maxDelay = Duration.ofSeconds(WAIT_SECONDS);
+        try (WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 6, maxDelay, 64, 1)) {
+            CompletableFuture<Integer> a = buffer.submit(rows("a", 2)).toFuture();
+            CompletableFuture<Integer> b = buffer.submit(rows("b", 4)).toFuture();
+
+            assertEquals(2, a.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(4, b.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(1, writer.batches().size());
+            assertEquals(6, writer.batches().getFirst().size());
+        }
+    }
+
+    // =========================
+    // batch 실패
+    // =========================
+    @Test
+    void failedBatchFailsItsTicketAndReleasesCapacity() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        writer.failOn = "a5";
+        try (WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 4, SHORT, 16, 1)) {
+            // a0..a9 → [a0..a3] [a4..a7 실패] [a8 a9]: 나머지 batch 가 성공해도 제출 전체는 실패
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> buffer.submit(rows("a", 10)).block(Duration.ofSeconds(WAIT_SECONDS)));
+            assertEquals("boom a5", e.getMessage());
+
+            // 다음 제출은 영향 없음
+            assertEquals(3, buffer.submit(rows("b", 3)).block(Duration.ofSeconds(WAIT_SECONDS)));
+            await(() -> buffer.stats().freeCapacity() == 16);
+
+            WriteBehindBuffer.Stats stats = buffer.stats();
+            assertEquals(1, stats.failedBatches());
+            assertEquals(16, stats.freeCapacity());
+        }
+    }
+
+    @Test
+    void lockConflictIsRetried() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        writer.lockConflicts.set(2);
+        // 5 row 가 한 batch 로 묶이도록 maxDelay 를 넉넉히
+        Duration maxDelay = Duration.ofMillis(200);
+        try (WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 8, maxDelay, 16, 1)) {
+            assertEquals(5, buffer.submit(rows("a", 5)).block(Duration.ofSeconds(WAIT_SECONDS)));
+            assertEquals(3, writer.calls.get()); // 2번 충돌 후 성공
+            assertEquals(0, buffer.stats().failedBatches());
+        }
+    }
+
+    // =========================
+    // backpressure
+    // =========================
+    @Test
+    void submitWaitsWhileCapacityIsFull() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        writer.gate = new CountDownLatch(1);
+        // capacity 4, writer 1: [a0 a1] 은 writer 에서 막힘, [b0 b1] 은 flusher 가 writer 자리를 기다림
+        // → c 는 capacity 자리가 없어 queue 에도 못 들어감
+        try (WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 2, SHORT, 4, 1)) {
+            CompletableFuture<Integer> a = buffer.submit(rows("a", 2)).toFuture();
+            await(() -> writer.calls.get() == 1);
+            CompletableFuture<Integer> b = buffer.submit(rows("b", 2)).toFuture();
+            await(() -> buffer.stats().freeCapacity() == 0 && buffer.stats().queued() == 0);
+
+            CompletableFuture<Integer> c = buffer.submit(rows("c", 2)).toFuture();
+            Thread.sleep(200);
+            assertFalse(c.isDone());
+            assertEquals(0, buffer.stats().queued(), "c must not be queued while capacity is full");
+
+            writer.gate.countDown();
+            assertEquals(2, a.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(2, b.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(2, c.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(6, writer.rows());
+        }
+    }
+
+    // =========================
+    // close
+    // =========================
+    @Test
+    void closeFlushesPendingRows() throws Exception {
+        FakeWriter writer = new FakeWriter();
+        // batch 가 안 차서 flusher 가 maxDelay 까지 기다리는 중에 close
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("t", writer, 100, Duration.ofSeconds(1), 256, 1);
+        CompletableFuture<Integer> pending = buffer.submit(rows("a", 5)).toFuture();
+        await(() -> buffer.stats().freeCapacity() == 251);
+        assertEquals(0, writer.rows());
+
+        buffer.close();
+
+        assertEquals(5, pending.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(5, writer.rows());
+        assertThrows(IllegalStateException.class, () -> buffer.submit(rows("b", 1)).block());
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private static List<String> rows(String prefix, int n) {
+        return IntStream.range(0, n).mapToObj(i -> prefix + i).toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("condition not met in " + WAIT_SECONDS + "s");
+            Thread.sleep(5);
+        }
+    }
+
+    /** 받은 batch 기록. failOn row 가 든 batch 는 실패, gate 가 있으면 열릴 때까지 막힘 */
+    private static final class FakeWriter implements BatchWriter<String> {
+        private final List<List<String>> batches = new ArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger lockConflicts = new AtomicInteger();
+        volatile String failOn;
+        volatile CountDownLatch gate;
+
+        @Override
+        public void write(List<String> rows) {
+            calls.incrementAndGet();
+            CountDownLatch g = gate;
+            if (g != null) {
+                try {
+                    g.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (lockConflicts.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new PessimisticLockingFailureException("deadlock");
+            }
+            if (failOn != null && rows.contains(failOn)) throw new IllegalStateException("boom " + failOn);
+            synchronized (batches) {
+                batches.add(List.copyOf(rows));
+            }
+        }
+
+        List<List<String>> batches() {
+            synchronized (batches) {
+                return List.copyOf(batches);
+            }
+        }
+
+        int rows() {
+            return batches().stream().mapToInt(List::size).sum();
+        }
+    }
+}
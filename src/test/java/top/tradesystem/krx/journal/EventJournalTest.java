@@ -0,0 +1,239 @@
+package top.tradesystem.krx.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EventJournal 재시작/복구.
+ * 닫은 뒤 segment 파일을 직접 고쳐서 (쓰다 죽은 꼬리, 깨진 crc, roll 도중 죽음) 다시 열었을 때
+ * seq 가 빈틈 없이 이어지고 reader 가 끝까지 읽는지 본다.
+ */
+class EventJournalTest {
+
+    private static final int SEGMENT = 1024;   // 기록 64B → segment 당 14건
+    private static final int PER_SEGMENT = 14;
+    private static final int TYPE = 7;
+
+    @TempDir
+    Path dir;
+
+    // =========================
+    // 기록 / roll / 재생
+    // =========================
+    @Test
+    void rollsAcrossSegmentsAndReadsBackInOrder() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= 50; i++) assertEquals(i, j.append(TYPE, payload(i)));
+            assertTrue(segmentFiles().size() >= 4, "segments=" + segmentFiles().size());
+            assertSeqs(j.read(1, 1000), 1, 50);
+            assertSeqs(j.read(30, 1000), 30, 50);
+        }
+        try (EventJournal j = open()) {
+            assertEquals(50, j.lastSeq());
+            assertEquals(51, j.append(TYPE, payload(51)));
+            assertSeqs(j.read(1, 1000), 1, 51);
+        }
+    }
+
+    @Test
+    void reopenAfterSealedTailStartsNewSegment() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= PER_SEGMENT + 1; i++) j.append(TYPE, payload(i)); // 15번째에서 roll
+        }
+        // 두 번째 파일이 header 도 못 쓴 채 죽은 경우와 같게: 지움
+        Files.delete(segmentFiles().get(1));
+        try (EventJournal j = open()) {
+            assertEquals(PER_SEGMENT, j.lastSeq());
+            assertEquals(PER_SEGMENT + 1, j.append(TYPE, payload(PER_SEGMENT + 1)));
+            assertSeqs(j.read(1, 1000), 1, PER_SEGMENT + 1);
+        }
+    }
+
+    @Test
+    void recoverReplaysAfterSnapshot() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= 40; i++) j.append(TYPE, payload(i));
+            j.writeSnapshot(20, "state@20".getBytes(StandardCharsets.UTF_8));
+        }
+        try (EventJournal j = open()) {
+            List<EventJournal.Snapshot> snaps = new ArrayList<>();
+            List<JournalRecord> replayed = new ArrayList<>();
+            long applied = j.recover(snaps::add, replayed::add);
+            assertEquals(40, applied);
+            assertEquals(1, snaps.size());
+            assertEquals(20, snaps.get(0).seq());
+            assertArrayEquals("state@20".getBytes(StandardCharsets.UTF_8), snaps.get(0).state());
+            assertSeqs(replayed, 21, 40);
+            for (JournalRecord r : replayed) {
+                assertEquals(TYPE, r.type());
+                assertArrayEquals(payload(r.seq()), r.payload());
+            }
+        }
+    }
+
+    // =========================
+    // 쓰다 죽은 꼬리 / crc
+    // =========================
+    @Test
+    void tornTailIsTruncatedAndOverwritten() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= 5; i++) j.append(TYPE, payload(i));
+        }
+        // 6번째 기록을 쓰다 죽음: 본문 일부 + length 는 썼지만 crc 는 못 씀
+        Path seg = segmentFiles().get(0);
+        int pos = recordPos(5);
+        writeAt(seg, pos, le(64, 0, 6L, 0L));
+        try (EventJournal j = open()) {
+            assertEquals(5, j.lastSeq());
+            assertEquals(6, j.append(TYPE, payload(6)));
+            assertSeqs(j.read(1, 1000), 1, 6);
+        }
+    }
+
+    @Test
+    void crcMismatchInTailDropsFromThatRecord() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= 8; i++) j.append(TYPE, payload(i));
+        }
+        Path seg = segmentFiles().get(0);
+        writeAt(seg, recordPos(5) + JournalSegment.RECORD_HEADER, new byte[]{(byte) 0xFF}); // 6번째 payload
+        try (EventJournal j = open()) {
+            assertEquals(5, j.lastSeq());
+            assertSeqs(j.read(1, 1000), 1, 5);
+        }
+    }
+
+    @Test
+    void crcMismatchInSealedSegmentFailsReader() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= PER_SEGMENT + 3; i++) j.append(TYPE, payload(i));
+        }
+        Path seg = segmentFiles().get(0);
+        writeAt(seg, recordPos(2) + JournalSegment.RECORD_HEADER, new byte[]{(byte) 0xFF});
+        try (EventJournal j = open()) {
+            assertEquals(PER_SEGMENT + 3, j.lastSeq());
+            assertThrows(IllegalStateException.class, () -> j.read(1, 1000));
+        }
+    }
+
+    // =========================
+    // roll 도중 죽음
+    // =========================
+    @Test
+    void unsealedPreviousSegmentIsSealed() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= PER_SEGMENT + 1; i++) j.append(TYPE, payload(i));
+        }
+        // 다음 파일은 만들었지만 직전 segment 끝 -1 은 못 씀 + 다음 파일에도 아직 기록 없음
+        List<Path> files = segmentFiles();
+        writeAt(files.get(0), recordPos(PER_SEGMENT), le32(0));
+        zeroRecords(files.get(1));
+
+        try (EventJournal j = open()) {
+            assertEquals(PER_SEGMENT, j.lastSeq());
+            assertEquals(PER_SEGMENT + 1, j.append(TYPE, payload(PER_SEGMENT + 1)));
+            assertSeqs(j.read(1, 1000), 1, PER_SEGMENT + 1);
+        }
+        assertEquals(2, segmentFiles().size());
+    }
+
+    @Test
+    void unsealedPreviousSegmentWithLostRecordsDropsEmptyNext() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= PER_SEGMENT + 1; i++) j.append(TYPE, payload(i));
+        }
+        // 직전 segment 의 마지막 두 기록이 디스크에 못 감 → 다음 파일 firstSeq(15) 와 안 맞음
+        List<Path> files = segmentFiles();
+        writeAt(files.get(0), recordPos(PER_SEGMENT - 2), new byte[3 * 64]);
+        zeroRecords(files.get(1));
+
+        try (EventJournal j = open()) {
+            assertEquals(PER_SEGMENT - 2, j.lastSeq());
+            for (long s = PER_SEGMENT - 1; s <= PER_SEGMENT + 5; s++) assertEquals(s, j.append(TYPE, payload(s)));
+            assertSeqs(j.read(1, 1000), 1, PER_SEGMENT + 5);
+        }
+    }
+
+    @Test
+    void unsealedPreviousSegmentBeforeNonEmptyNextIsSealed() throws IOException {
+        try (EventJournal j = open()) {
+            for (int i = 1; i <= PER_SEGMENT + 4; i++) j.append(TYPE, payload(i));
+        }
+        List<Path> files = segmentFiles();
+        writeAt(files.get(0), recordPos(PER_SEGMENT), le32(0));
+
+        try (EventJournal j = open()) {
+            assertEquals(PER_SEGMENT + 4, j.lastSeq());
+            assertSeqs(j.read(1, 1000), 1, PER_SEGMENT + 4);
+        }
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private EventJournal open() throws IOException {
+        return EventJournal.open("test", dir, SEGMENT, FsyncMode.NONE, 1);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(JournalSegment::isSegment).sorted().toList();
+        }
+    }
+
+    /** payload 32B (seq 로 채움) → 기록 64B */
+    private static byte[] payload(long seq) {
+        ByteBuffer b = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 4; i++) b.putLong(seq * 31 + i);
+        return b.array();
+    }
+
+    private static void assertSeqs(List<JournalRecord> records, long from, long to) {
+        assertEquals(to - from + 1, records.size(), "record count");
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(from + i, records.get(i).seq());
+            assertArrayEquals(payload(from + i), records.get(i).payload());
+        }
+    }
+
+    /** segment 안 index 번째(0 부터) 기록 위치 (기록은 모두 64B) */
+    private static int recordPos(int index) {
+        return JournalSegment.FILE_HEADER + index * 64;
+    }
+
+    private static void zeroRecords(Path seg) throws IOException {
+        writeAt(seg, JournalSegment.FILE_HEADER, new byte[SEGMENT - JournalSegment.FILE_HEADER]);
+    }
+
+    private static void writeAt(Path file, int pos, byte[] bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(bytes), pos);
+        }
+    }
+
+    private static byte[] le32(int v) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(v).array();
+    }
+
+    private static byte[] le(int length, int crc, long seq, long ts) {
+        return ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(length).putInt(crc).putLong(seq).putLong(ts).array();
+    }
+}
@@ -0,0 +1,349 @@
+package top.tradesystem.krx.partition;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * krx_daily_price 비분할 vs bas_dd RANGE 분할 (db/krx_daily.sql 과 같은 배치) 비교.
+ * 20년(2006~2025) 평일 × N 종목 합성 데이터로 조회/upsert 지연을 잰다.
+ *
+ * <pre>
+ * ./gradlew benchmark -Dkrx.bench.jdbcUrl='jdbc:mysql://localhost:3306/bench?user=u&amp;password=p&amp;rewriteBatchedStatements=true'
+ *   -Dkrx.bench.symbols=2500   (기본 500, 실데이터 규모는 2500)
+ *   -Dkrx.bench.iterations=200
+ *   -Dkrx.bench.reuse=true      (이미 적재된 bench 테이블 재사용)
+ * </pre>
+ * jdbcUrl 이 없으면 건너뜀. 기본 test task 에서는 제외 (@Tag benchmark).
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DailyPricePartitionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyPricePartitionBenchmarkTest.class);
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final LocalDate FIRST = LocalDate.of(2006, 1, 2);
+    private static final LocalDate LAST = LocalDate.of(2025, 12, 31);
+    private static final String FLAT = "bench_daily_price_flat";
+    private static final String PART = "bench_daily_price_part";
+    private static final String HOT = "bench_daily_price_hot";
+    private static final String ARCHIVE = "bench_daily_price_archive";
+    private static final String ARCHIVED_BEFORE = "20110101";
+
+    // KrxRollupMapper.findTradingDays 와 같은 모양 (hot UNION archive)
+    private static final String CALENDAR_SQL = "SELECT bas_dd FROM " + HOT
+            + " WHERE bas_dd BETWEEN ? AND ? AND market = 'KOSPI'"
+            + " UNION SELECT bas_dd FROM " + ARCHIVE
+            + " WHERE bas_dd BETWEEN ? AND ? AND market = 'KOSPI' ORDER BY bas_dd";
+
+    private final String jdbcUrl = System.getProperty("krx.bench.jdbcUrl");
+    private final int symbols = Integer.getInteger("krx.bench.symbols", 500);
+    private final int iterations = Integer.getInteger("krx.bench.iterations", 200);
+    private final boolean reuse = Boolean.getBoolean("krx.bench.reuse");
+
+    private Connection conn;
+    private List<String> days;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        assumeTrue(jdbcUrl != null && !jdbcUrl.isBlank(), "krx.bench.jdbcUrl not set");
+        conn = DriverManager.getConnection(jdbcUrl);
+        days = tradingDays();
+
+        long expected = (long) days.size() * symbols;
+        for (String table : List.of(FLAT, PART)) {
+            if (reuse && count(table) == expected) continue;
+            exec("DROP TABLE IF EXISTS " + table);
+            exec(ddl(table, PART.equals(table)));
+            long t0 = System.nanoTime();
+            load(table);
+            log.info(String.format(Locale.ROOT, "loaded %s: %,d rows in %.1fs", table, expected, (System.nanoTime() - t0) / 1e9));
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        if (conn != null) conn.close();
+    }
+
+    @Test
+    void partitionPruningOnDayQuery() throws SQLException {
+        String day = days.get(days.size() - 10);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "EXPLAIN SELECT * FROM " + PART + " WHERE bas_dd = ? AND market = 'KOSPI'")) {
+            ps.setString(1, day);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                String partitions = rs.getString("partitions");
+                assertEquals(1, partitions.split(",").length, "expected a single partition, got " + partitions);
+            }
+        }
+    }
+
+    @Test
+    void compareLatency() throws SQLException {
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<String> recent = days.subList(days.size() - 250, days.size());
+
+        log.info(String.format(Locale.ROOT, "%-28s %12s %12s %12s", "case / table", "p50 ms", "p95 ms", "p99 ms"));
+        for (String table : List.of(FLAT, PART)) {
+            report("day query      " + suffix(table), measure(() -> {
+                String day = recent.get(rnd.nextInt(recent.size()));
+                query("SELECT * FROM " + table + " WHERE bas_dd = ? AND market = 'KOSPI' ORDER BY acc_trdval DESC",
+                        day);
+            }));
+            report("symbol 1y      " + suffix(table), measure(() -> {
+                String code = code(rnd.nextInt(symbols));
+                query("SELECT * FROM " + table + " WHERE isu_cd = ? AND bas_dd BETWEEN ? AND ? ORDER BY bas_dd",
+                        code, recent.get(0), recent.get(recent.size() - 1));
+            }));
+            report("prev-day count " + suffix(table), measure(() -> {
+                String day = recent.get(rnd.nextInt(recent.size()));
+                String from = LocalDate.parse(day, YYYYMMDD).minusDays(31).format(YYYYMMDD);
+                query("SELECT COUNT(1) FROM " + table + " WHERE market = 'KOSPI' AND bas_dd >= ? AND bas_dd < ?"
+                        + " AND bas_dd = (SELECT MAX(bas_dd) FROM " + table
+                        + " WHERE market = 'KOSPI' AND bas_dd >= ? AND bas_dd < ?)", from, day, from, day);
+            }));
+            report("upsert day     " + suffix(table), measure(() -> {
+                String day = recent.get(rnd.nextInt(recent.size()));
+                upsertDay(table, day, rnd);
+            }));
+        }
+    }
+
+    /**
+     * 파티션 이관 뒤의 거래일 달력: ARCHIVED_BEFORE 이전 해는 archive 에만 있음.
+     * 경계를 걸친 구간이 hot 만 읽으면 짧아지고, UNION 이면 전체 거래일이 나와야 한다.
+     */
+    @Test
+    void tradingCalendarSpansArchiveBoundary() throws SQLException {
+        exec("DROP TABLE IF EXISTS " + HOT);
+        exec("DROP TABLE IF EXISTS " + ARCHIVE);
+        exec(ddl(HOT, false));
+        exec(ddl(ARCHIVE, false));
+        String codes = "'" + code(1) + "', '" + code(2) + "'"; // KOSPI 종목 (s % 3 != 0)
+        exec("INSERT INTO " + ARCHIVE + " SELECT * FROM " + FLAT
+                + " WHERE bas_dd < '" + ARCHIVED_BEFORE + "' AND isu_cd IN (" + codes + ")");
+        exec("INSERT INTO " + HOT + " SELECT * FROM " + FLAT
+                + " WHERE bas_dd >= '" + ARCHIVED_BEFORE + "' AND isu_cd IN (" + codes + ")");
+
+        String from = "20100601";
+        String to = "20110630";
+        List<String> expected = days.stream().filter(d -> d.compareTo(from) >= 0 && d.compareTo(to) <= 0).toList();
+
+        List<String> calendar = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(CALENDAR_SQL)) {
+            ps.setString(1, from);
+            ps.setString(2, to);
+            ps.setString(3, from);
+            ps.setString(4, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) calendar.add(rs.getString(1));
+            }
+        }
+        assertEquals(expected, calendar);
+
+        long hotOnly = expected.stream().filter(d -> d.compareTo(ARCHIVED_BEFORE) >= 0).count();
+        assertTrue(hotOnly < expected.size(), "range should cross the archive boundary");
+
+        report("calendar hot+archive", measure(() -> query(CALENDAR_SQL, from, to, from, to)));
+    }
+
+    // =========================
+    // 측정
+    // =========================
+    private interface Op {
+        void run() throws SQLException;
+    }
+
+    private long[] measure(Op op) throws SQLException {
+        for (int i = 0; i < Math.min(20, iterations); i++) op.run(); // warm-up (buffer pool)
+        long[] ns = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            op.run();
+            ns[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(ns);
+        return ns;
+    }
+
+    private static void report(String name, long[] sorted) {
+        log.info(String.format(Locale.ROOT, "%-28s %12.3f %12.3f %12.3f", name,
+                pct(sorted, 0.50), pct(sorted, 0.95), pct(sorted, 0.99)));
+    }
+
+    private static double pct(long[] sorted, double p) {
+        int i = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+
+    private static String suffix(String table) {
+        return FLAT.equals(table) ? "[flat]" : "[part]";
+    }
+
+    private void query(String sql, String... params) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) ps.setString(i + 1, params[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // drain
+                }
+            }
+        }
+    }
+
+    // =========================
+    // 합성 데이터
+    // =========================
+    private static List<String> tradingDays() {
+        List<String> out = new ArrayList<>();
+        for (LocalDate d = FIRST; !d.isAfter(LAST); d = d.plusDays(1)) {
+            if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+            out.add(d.format(YYYYMMDD));
+        }
+        return out;
+    }
+
+    private static String code(int i) {
+        return String.format("%06d", 100000 + i * 7);
+    }
+
+    private void load(String table) throws SQLException {
+        boolean auto = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        SplittableRandom rnd = new SplittableRandom(7);
+        try (PreparedStatement ps = conn.prepareStatement(insertSql(table, false))) {
+            int n = 0;
+            for (String day : days) {
+                for (int s = 0; s < symbols; s++) {
+                    bind(ps, day, s, rnd);
+                    ps.addBatch();
+                    if (++n % 5000 == 0) {
+                        ps.executeBatch();
+                        conn.commit();
+                    }
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(auto);
+        }
+    }
+
+    private void upsertDay(String table, String day, SplittableRandom rnd) throws SQLException {
+        boolean auto = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(insertSql(table, true))) {
+            for (int s = 0; s < symbols; s++) {
+                bind(ps, day, s, rnd);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(auto);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, String day, int s, SplittableRandom rnd) throws SQLException {
+        long base = 1000 + (s * 37L) % 200_000;
+        long close = base + rnd.nextLong(-base / 20, base / 20 + 1);
+        long open = close + rnd.nextLong(-base / 50, base / 50 + 1);
+        long high = Math.max(open, close) + rnd.nextLong(0, base / 40 + 1);
+        long low = Math.max(1, Math.min(open, close) - rnd.nextLong(0, base / 40 + 1));
+        long vol = rnd.nextLong(1_000, 5_000_000);
+
+        ps.setString(1, day);
+        ps.setString(2, s % 3 == 0 ? "KOSDAQ" : "KOSPI");
+        ps.setString(3, code(s));
+        ps.setString(4, "BENCH" + s);
+        ps.setString(5, "-");
+        ps.setBigDecimal(6, BigDecimal.valueOf(close));
+        ps.setBigDecimal(7, BigDecimal.valueOf(close - base));
+        ps.setBigDecimal(8, BigDecimal.valueOf((close - base) * 10000 / base, 2));
+        ps.setBigDecimal(9, BigDecimal.valueOf(open));
+        ps.setBigDecimal(10, BigDecimal.valueOf(high));
+        ps.setBigDecimal(11, BigDecimal.valueOf(low));
+        ps.setLong(12, vol);
+        ps.setBigDecimal(13, BigDecimal.valueOf(vol * close));
+        ps.setBigDecimal(14, BigDecimal.valueOf(close * 10_000_000L));
+        ps.setLong(15, 10_000_000L);
+    }
+
+    // KrxDailyPriceMapper.upsertBatch 와 같은 모양
+    private static String insertSql(String table, boolean upsert) {
+        String sql = "INSERT INTO " + table + " (bas_dd, market, isu_cd, isu_nm, sect_tp_nm, tdd_clsprc, cmpprevdd_prc,"
+                + " fluc_rt, tdd_opnprc, tdd_hgprc, tdd_lwprc, acc_trdvol, acc_trdval, mktcap, list_shrs)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        if (!upsert) return sql;
+        return sql + " ON DUPLICATE KEY UPDATE market = VALUES(market), tdd_clsprc = VALUES(tdd_clsprc),"
+                + " cmpprevdd_prc = VALUES(cmpprevdd_prc), fluc_rt = VALUES(fluc_rt), tdd_opnprc = VALUES(tdd_opnprc),"
+                + " tdd_hgprc = VALUES(tdd_hgprc), tdd_lwprc = VALUES(tdd_lwprc), acc_trdvol = VALUES(acc_trdvol),"
+                + " acc_trdval = VALUES(acc_trdval), mktcap = VALUES(mktcap), list_shrs = VALUES(list_shrs),"
+                + " updated_at = CURRENT_TIMESTAMP";
+    }
+
+    // db/krx_daily.sql 의 krx_daily_price 와 같은 컬럼/키/파티션 배치
+    private static String ddl(String table, boolean partitioned) {
+        StringBuilder sb = new StringBuilder()
+                .append("CREATE TABLE ").append(table).append(" (")
+                .append("bas_dd CHAR(8) NOT NULL, market VARCHAR(10) NOT NULL, isu_cd VARCHAR(20) NOT NULL,")
+                .append("isu_nm VARCHAR(200) NULL, sect_tp_nm VARCHAR(100) NULL,")
+                .append("tdd_clsprc DECIMAL(20,2) NULL, cmpprevdd_prc DECIMAL(20,2) NULL, fluc_rt DECIMAL(10,2) NULL,")
+                .append("tdd_opnprc DECIMAL(20,2) NULL, tdd_hgprc DECIMAL(20,2) NULL, tdd_lwprc DECIMAL(20,2) NULL,")
+                .append("acc_trdvol BIGINT NULL, acc_trdval DECIMAL(24,0) NULL, mktcap DECIMAL(24,0) NULL,")
+                .append("list_shrs BIGINT NULL,")
+                .append("updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,")
+                .append("PRIMARY KEY (bas_dd, isu_cd), KEY ix_isu_dd (isu_cd, bas_dd)")
+                .append(") ENGINE = InnoDB DEFAULT CHARSET = utf8mb4");
+        if (!partitioned) return sb.toString();
+
+        sb.append(" PARTITION BY RANGE COLUMNS (bas_dd) (PARTITION p0 VALUES LESS THAN ('20060101')");
+        for (int y = 2006; y <= 2025; y++) {
+            sb.append(", PARTITION p").append(y).append(" VALUES LESS THAN ('").append(y + 1).append("0101')");
+        }
+        sb.append(", PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+        return sb.toString();
+    }
+
+    private long count(String table) {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(1) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        } catch (SQLException e) {
+            return -1; // 테이블 없음
+        }
+    }
+
+    private void exec(String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package top.tradesystem.krx.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import top.tradesystem.krx.config.KrxProperties;
+import top.tradesystem.krx.config.KrxRateLimitProperties;
+import top.tradesystem.krx.config.KrxSchedulerProperties;
+import top.tradesystem.krx.dto.KrxApiQuotaRow;
+import top.tradesystem.krx.repository.KrxApiQuotaMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * KrxRateLimiter AIMD / 우선순위 대기열 / 429 cooldown / 일일 한도.
+ * acquire 는 자리가 있으면 구독 즉시, 없으면 release 안의 drain 에서 완료되므로 future 상태로 바로 확인한다.
+ * cooldown 은 길게 (1분) 잡아 테스트 중에는 풀리지 않게 한다.
+ */
+class KrxRateLimiterTest {
+
+    private static final long COOLDOWN_MS = 60_000;
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final FakeQuotaMapper mapper = new FakeQuotaMapper();
+
+    // =========================
+    // AIMD
+    // =========================
+    @Test
+    void successIncreasesAndOverloadHalvesLimitOncePerCooldown() {
+        KrxRateLimiter limiter = limiter(2, key("k1", 1, 1_000));
+
+        limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT).release(KrxRateLimiter.Outcome.SUCCESS);
+        assertEquals(2.5, limit(limiter), 1e-9); // 2 + 1/2
+
+        limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT).release(KrxRateLimiter.Outcome.OVERLOAD);
+        assertEquals(1.3, limit(limiter), 1e-9); // 2.5 × 0.5 = 1.25 (stats 는 소수 한 자리)
+
+        // 같은 과부하로 실패가 여러 건 와도 cooldown 안에서는 한 번만 줄임
+        limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT).release(KrxRateLimiter.Outcome.OVERLOAD);
+        assertEquals(1.3, limit(limiter), 1e-9);
+
+        // 한도와 무관한 실패는 그대로
+        limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT).release(KrxRateLimiter.Outcome.IGNORED);
+        assertEquals(1.3, limit(limiter), 1e-9);
+    }
+
+    @Test
+    void inFlightIsCappedByLimit() {
+        KrxRateLimiter limiter = limiter(2, key("k1", 1, 1_000));
+
+        KrxRateLimiter.Permit p1 = limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT);
+        KrxRateLimiter.Permit p2 = limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT);
+        CompletableFuture<KrxRateLimiter.Permit> third = limiter.acquire(KrxRequestPriority.NORMAL).toFuture();
+        assertFalse(third.isDone());
+        assertEquals(1, limiter.stats().queued().get("NORMAL"));
+
+        p1.release(KrxRateLimiter.Outcome.IGNORED);
+        assertTrue(third.isDone());
+        p1.release(KrxRateLimiter.Outcome.IGNORED); // 두 번 불러도 한 번만 반영
+        assertEquals(2, limiter.stats().keys().getFirst().inFlight());
+
+        p2.release(KrxRateLimiter.Outcome.IGNORED);
+        third.join().release(KrxRateLimiter.Outcome.IGNORED);
+        assertEquals(0, limiter.stats().keys().getFirst().inFlight());
+    }
+
+    // =========================
+    // 우선순위 대기열
+    // =========================
+    @Test
+    void waitersDrainInPriorityOrder() {
+        KrxRateLimiter limiter = limiter(1, key("k1", 1, 1_000));
+        KrxRateLimiter.Permit held = limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT);
+
+        // 도착 순서와 반대로 나가야 함
+        CompletableFuture<KrxRateLimiter.Permit> bulk = limiter.acquire(KrxRequestPriority.BULK).toFuture();
+        CompletableFuture<KrxRateLimiter.Permit> normal = limiter.acquire(KrxRequestPriority.NORMAL).toFuture();
+        CompletableFuture<KrxRateLimiter.Permit> urgent = limiter.acquire(KrxRequestPriority.URGENT).toFuture();
+        assertFalse(bulk.isDone() || normal.isDone() || urgent.isDone());
+
+        held.release(KrxRateLimiter.Outcome.IGNORED);
+        assertTrue(urgent.isDone());
+        assertFalse(normal.isDone() || bulk.isDone());
+
+        urgent.join().release(KrxRateLimiter.Outcome.IGNORED);
+        assertTrue(normal.isDone());
+        assertFalse(bulk.isDone());
+
+        normal.join().release(KrxRateLimiter.Outcome.IGNORED);
+        assertTrue(bulk.isDone());
+        bulk.join().release(KrxRateLimiter.Outcome.IGNORED);
+    }
+
+    @Test
+    void bulkLeavesOneSlotForUrgentWork() {
+        KrxRateLimiter limiter = limiter(2, key("k1", 1, 1_000));
+
+        KrxRateLimiter.Permit bulk = limiter.acquire(KrxRequestPriority.BULK).block(WAIT);
+        CompletableFuture<KrxRateLimiter.Permit> secondBulk = limiter.acquire(KrxRequestPriority.BULK).toFuture();
+        assertFalse(secondBulk.isDone());
+
+        // BULK 가 기다리는 중에도 남겨 둔 자리로 바로
+        CompletableFuture<KrxRateLimiter.Permit> urgent = limiter.acquire(KrxRequestPriority.URGENT).toFuture();
+        assertTrue(urgent.isDone());
+
+        urgent.join().release(KrxRateLimiter.Outcome.IGNORED);
+        assertFalse(secondBulk.isDone());
+        bulk.release(KrxRateLimiter.Outcome.IGNORED);
+        assertTrue(secondBulk.isDone());
+        secondBulk.join().release(KrxRateLimiter.Outcome.IGNORED);
+    }
+
+    // =========================
+    // 429 / 일일 한도
+    // =========================
+    @Test
+    void throttledKeyCoolsDownAndTrafficMovesToOtherKey() {
+        KrxRateLimiter limiter = limiter(4, key("k1", 1, 1_000), key("k2", 1, 1_000));
+
+        KrxRateLimiter.Permit first = limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT);
+        String throttled = first.keyName();
+        first.release(KrxRateLimiter.Outcome.THROTTLED);
+
+        for (int i = 0; i < 4; i++) {
+            KrxRateLimiter.Permit p = limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT);
+            assertFalse(throttled.equals(p.keyName()), "cooling key " + throttled + " was picked");
+            p.release(KrxRateLimiter.Outcome.IGNORED);
+        }
+        KrxRateLimiter.KeyStats ks = limiter.stats().keys().stream()
+                .filter(k -> k.name().equals(throttled)).findFirst().orElseThrow();
+        assertEquals(1, ks.throttled());
+        assertTrue(ks.cooldownRemainingMs() > 0);
+    }
+
+    @Test
+    void dailyQuotaExhaustionFailsFastAndBulkKeepsReserve() {
+        KrxRateLimiter limiter = limiter(4, key("k1", 1, 10));
+
+        // BULK 는 10 × (1 - 0.1) = 9 건까지
+        for (int i = 0; i < 9; i++) {
+            limiter.acquire(KrxRequestPriority.BULK).block(WAIT).release(KrxRateLimiter.Outcome.IGNORED);
+        }
+        assertQuotaError(limiter.acquire(KrxRequestPriority.BULK).toFuture());
+
+        limiter.acquire(KrxRequestPriority.URGENT).block(WAIT).release(KrxRateLimiter.Outcome.IGNORED);
+        assertQuotaError(limiter.acquire(KrxRequestPriority.URGENT).toFuture());
+        assertEquals(2, limiter.stats().rejected());
+    }
+
+    @Test
+    void flushWritesUsageDeltasAndRereadsTotal() {
+        KrxRateLimiter limiter = limiter(4, key("k1", 1, 1_000));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(KrxRequestPriority.NORMAL).block(WAIT).release(KrxRateLimiter.Outcome.IGNORED);
+        }
+        limiter.flush();
+
+        String day = limiter.stats().day();
+        assertEquals(List.of("k1 " + day + " +3"), mapper.writes);
+        assertEquals(3, limiter.stats().keys().getFirst().used());
+
+        // 다른 노드가 쓴 사용량도 다음 flush 에서 합계로 반영
+        mapper.otherNode("k1", day, 5);
+        limiter.flush();
+        assertEquals(8, limiter.stats().keys().getFirst().used());
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private KrxRateLimiter limiter(int initialLimit, KrxRateLimitProperties.Key... keys) {
+        KrxRateLimitProperties props = new KrxRateLimitProperties(
+                true, List.of(keys), initialLimit, 1, 8, 0.5, 60_000, COOLDOWN_MS, 0.1, 60_000);
+        return new KrxRateLimiter(
+                props,
+                new KrxProperties("https://krx.test/svc/apis/sto", null, "unused", 0, null),
+                new KrxSchedulerProperties(false, null, null, 0, null),
+                mapper,
+                new SimpleMeterRegistry());
+    }
+
+    private static KrxRateLimitProperties.Key key(String name, int weight, int dailyQuota) {
+        return new KrxRateLimitProperties.Key(name, "AUTH-" + name, weight, dailyQuota);
+    }
+
+    private static double limit(KrxRateLimiter limiter) {
+        return limiter.stats().keys().getFirst().limit();
+    }
+
+    private static void assertQuotaError(CompletableFuture<KrxRateLimiter.Permit> f) {
+        ExecutionException e = assertThrows(ExecutionException.class, f::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("quota exhausted"), e.getCause().getMessage());
+    }
+
+    /** krx_api_quota 대신 메모리 합계 */
+    private static final class FakeQuotaMapper implements KrxApiQuotaMapper {
+        final Map<String, Integer> used = new LinkedHashMap<>();
+        final List<String> writes = new ArrayList<>();
+
+        @Override
+        public synchronized List<KrxApiQuotaRow> findByQuotaDd(String quotaDd) {
+            List<KrxApiQuotaRow> out = new ArrayList<>();
+            used.forEach((k, v) -> {
+                String[] p = k.split("\\|");
+                if (p[1].equals(quotaDd)) out.add(new KrxApiQuotaRow(p[0], p[1], v));
+            });
+            return out;
+        }
+
+        @Override
+        public synchronized int addUsage(String keyName, String quotaDd, int delta) {
+            writes.add(keyName + " " + quotaDd + " +" + delta);
+            used.merge(keyName + "|" + quotaDd, delta, Integer::sum);
+            return 1;
+        }
+
+        /** 다른 노드가 같은 키로 쓴 사용량 (writes 에는 남기지 않음) */
+        synchronized void otherNode(String keyName, String quotaDd, int delta) {
+            used.merge(keyName + "|" + quotaDd, delta, Integer::sum);
+        }
+
+        @Override
+        public synchronized int deleteBefore(String quotaDd) {
+            used.keySet().removeIf(k -> k.split("\\|")[1].compareTo(quotaDd) < 0);
+            return 0;
+        }
+    }
+}
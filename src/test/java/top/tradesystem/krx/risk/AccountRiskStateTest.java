@@ -0,0 +1,172 @@
+package top.tradesystem.krx.risk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AccountRiskState 예약 / 해제 / 체결.
+ * 한도·예약·보유보다 많이 빼려는 호출은 false 이고 상태가 그대로인지, 동시 예약이 한도를 넘지 않는지 본다.
+ */
+class AccountRiskStateTest {
+
+    private static final int S = 3;
+
+    // =========================
+    // 예약
+    // =========================
+    @Test
+    void reservationsStopAtLimit() {
+        AccountRiskState a = state();
+        assertTrue(a.tryReserveAccount(600, 1_000));
+        assertTrue(a.tryReserveAccount(400, 1_000));
+        assertFalse(a.tryReserveAccount(1, 1_000));
+        assertEquals(1_000, a.openNotional());
+
+        assertTrue(a.tryReserveSymbol(S, 700, 700));
+        assertFalse(a.tryReserveSymbol(S, 1, 700));
+        assertEquals(700, a.symbolOpen(S));
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedLimit() throws InterruptedException {
+        AccountRiskState a = state();
+        int threads = 8;
+        int perThread = 10_000;
+        long limit = 50_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] ts = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            ts[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    if (a.tryReserveSymbol(S, 3, limit)) accepted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        for (Thread t : ts) t.join();
+
+        assertEquals(limit / 3, accepted.get());
+        assertEquals(limit / 3 * 3, a.symbolOpen(S));
+    }
+
+    @Test
+    void sellReservationNeedsFreePosition() {
+        AccountRiskState a = state();
+        assertFalse(a.tryReserveSell(S, 1)); // 보유 없음
+
+        a.setPosition(S, 10, 1_000);
+        assertTrue(a.tryReserveSell(S, 6));
+        assertFalse(a.tryReserveSell(S, 5)); // 보유 10 - 미체결매도 6
+        assertTrue(a.tryReserveSell(S, 4));
+        assertEquals(10, a.pendingSell(S));
+    }
+
+    // =========================
+    // 해제
+    // =========================
+    @Test
+    void releaseBuyNeverGoesBelowReservation() {
+        AccountRiskState a = reservedBuy(1_000);
+
+        assertFalse(a.tryReleaseBuy(S, 1_001));
+        assertFalse(a.tryReleaseBuy(S, 0));
+        assertEquals(1_000, a.symbolOpen(S));
+        assertEquals(1_000, a.openNotional());
+
+        assertTrue(a.tryReleaseBuy(S, 400));
+        assertTrue(a.tryReleaseBuy(S, 600));
+        assertFalse(a.tryReleaseBuy(S, 1));
+        assertEquals(0, a.symbolOpen(S));
+        assertEquals(0, a.openNotional());
+    }
+
+    @Test
+    void releaseSellNeverGoesBelowReservation() {
+        AccountRiskState a = state();
+        a.setPosition(S, 10, 1_000);
+        assertTrue(a.tryReserveSell(S, 5));
+
+        assertFalse(a.tryReleaseSell(S, 6));
+        assertEquals(5, a.pendingSell(S));
+        assertTrue(a.tryReleaseSell(S, 5));
+        assertEquals(0, a.pendingSell(S));
+        assertEquals(10, a.position(S));
+    }
+
+    // =========================
+    // 체결
+    // =========================
+    @Test
+    void buyFillMovesReservationIntoPosition() {
+        AccountRiskState a = reservedBuy(10 * 1_000);
+
+        // 지정가 1,000 에 낸 주문이 990 에 체결
+        assertTrue(a.fillBuy(S, 4, 1_000, 990));
+        assertEquals(6 * 1_000, a.symbolOpen(S));
+        assertEquals(6 * 1_000, a.openNotional());
+        assertEquals(4, a.position(S));
+        assertEquals(4 * 990, a.costBasis(S));
+
+        // 남은 예약(6주)보다 많은 체결은 반영하지 않음
+        assertFalse(a.fillBuy(S, 7, 1_000, 990));
+        assertEquals(4, a.position(S));
+        assertEquals(6 * 1_000, a.symbolOpen(S));
+    }
+
+    @Test
+    void sellFillRealizesPnlAgainstAverageCost() {
+        AccountRiskState a = state();
+        a.setPosition(S, 10, 1_000);
+        assertTrue(a.tryReserveSell(S, 4));
+
+        assertTrue(a.fillSell(S, 4, 1_100));
+        assertEquals(6, a.position(S));
+        assertEquals(0, a.pendingSell(S));
+        assertEquals(6 * 1_000, a.costBasis(S));
+        assertEquals(4 * 100, a.realizedPnl());
+
+        a.resetDay();
+        assertEquals(0, a.realizedPnl());
+    }
+
+    @Test
+    void sellFillWithoutReservationOrPositionIsRejected() {
+        AccountRiskState a = state();
+        a.setPosition(S, 10, 1_000);
+
+        assertFalse(a.fillSell(S, 1, 1_000)); // 매도 예약 없음
+        assertTrue(a.tryReserveSell(S, 10));
+        a.setPosition(S, 3, 1_000);          // 잔고 동기화로 보유가 줄어듦
+        assertFalse(a.fillSell(S, 4, 1_000)); // 보유보다 많은 체결 → 공매도 보유를 만들지 않음
+
+        assertEquals(3, a.position(S));
+        assertEquals(10, a.pendingSell(S));
+        assertEquals(0, a.realizedPnl());
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private static AccountRiskState state() {
+        return new AccountRiskState("A1", 8, 16);
+    }
+
+    private static AccountRiskState reservedBuy(long notional) {
+        AccountRiskState a = state();
+        assertTrue(a.tryReserveSymbol(S, notional, Long.MAX_VALUE));
+        assertTrue(a.tryReserveAccount(notional, Long.MAX_VALUE));
+        return a;
+    }
+}
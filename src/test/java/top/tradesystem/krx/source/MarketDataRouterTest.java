@@ -0,0 +1,154 @@
+package top.tradesystem.krx.source;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import top.tradesystem.krx.config.KrxSourceProperties;
+import top.tradesystem.krx.dto.Market;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static top.tradesystem.krx.source.StubMarketDataSource.rowsOf;
+
+/**
+ * MarketDataRouter 순위 / hedge / failover.
+ * 원천은 {@link StubMarketDataSource} (Mono.delay) 라 virtual time 으로 hedge 지연을 정확히 돌린다.
+ * health 표본이 없으니 hedge 지연은 hedgeMaxMs(1s).
+ */
+class MarketDataRouterTest {
+
+    private static final Duration HEDGE = Duration.ofMillis(1000);
+    private static final String BAS_DD = "20260116";
+
+    private MarketDataSourceRegistry registry;
+
+    // =========================
+    // hedge
+    // =========================
+    @Test
+    void primaryAnsweringBeforeHedgeDelayWins() {
+        StubMarketDataSource primary = StubMarketDataSource.answering("primary", Duration.ofMillis(200));
+        StubMarketDataSource secondary = StubMarketDataSource.answering("secondary", Duration.ofMillis(10));
+        MarketDataRouter router = router(primary, secondary);
+
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(199))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(rowsOf("primary"))
+                .verifyComplete();
+
+        assertEquals(0, secondary.calls.get(), "secondary must not be called before the hedge delay");
+    }
+
+    @Test
+    void hedgeFiresWhenPrimaryIsSilent() {
+        StubMarketDataSource primary = StubMarketDataSource.answering("primary", Duration.ofSeconds(30));
+        StubMarketDataSource secondary = StubMarketDataSource.answering("secondary", Duration.ofMillis(100));
+        MarketDataRouter router = router(primary, secondary);
+
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .expectNoEvent(HEDGE.plusMillis(99))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(rowsOf("secondary"))
+                .verifyComplete();
+
+        assertEquals(1, secondary.calls.get());
+        assertEquals(1, primary.cancels.get(), "slower primary is cancelled once the hedge wins");
+    }
+
+    @Test
+    void failedHedgeKeepsWaitingForPrimary() {
+        StubMarketDataSource primary = StubMarketDataSource.answering("primary", Duration.ofSeconds(3));
+        StubMarketDataSource secondary = StubMarketDataSource.failing("secondary", Duration.ofMillis(100),
+                new IllegalStateException("mirror down"));
+        MarketDataRouter router = router(primary, secondary);
+
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(2999))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(rowsOf("primary"))
+                .verifyComplete();
+
+        assertEquals(1, secondary.calls.get());
+    }
+
+    @Test
+    void fallbackOnlySourceIsNeverHedged() {
+        StubMarketDataSource primary = StubMarketDataSource.answering("primary", Duration.ofSeconds(5));
+        StubMarketDataSource archive = StubMarketDataSource.fallback("archive", Duration.ZERO);
+        MarketDataRouter router = router(primary, archive);
+
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(5))
+                .expectNext(rowsOf("primary"))
+                .verifyComplete();
+
+        assertEquals(0, archive.calls.get());
+    }
+
+    // =========================
+    // failover
+    // =========================
+    @Test
+    void primaryErrorFailsOverWithoutWaitingForHedge() {
+        StubMarketDataSource primary = StubMarketDataSource.failing("primary", Duration.ofMillis(10),
+                new IllegalStateException("KRX 503"));
+        StubMarketDataSource secondary = StubMarketDataSource.answering("secondary", Duration.ZERO);
+        MarketDataRouter router = router(primary, secondary);
+
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(9))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(rowsOf("secondary"))
+                .verifyComplete();
+
+        assertEquals(1, secondary.calls.get(), "failover and hedge share one secondary call");
+        assertEquals(1, registry.health("primary").snapshot().failures());
+    }
+
+    @Test
+    void fallbackOnlySourceAnswersWhenUpstreamFails() {
+        StubMarketDataSource primary = StubMarketDataSource.failing("primary", Duration.ZERO,
+                new IllegalStateException("KRX 503"));
+        StubMarketDataSource archive = StubMarketDataSource.fallback("archive", Duration.ZERO);
+        MarketDataRouter router = router(primary, archive);
+
+        StepVerifier.create(router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectNext(rowsOf("archive"))
+                .verifyComplete();
+    }
+
+    @Test
+    void allSourcesFailingPropagatesLastError() {
+        StubMarketDataSource primary = StubMarketDataSource.failing("primary", Duration.ZERO,
+                new IllegalStateException("KRX 503"));
+        StubMarketDataSource secondary = StubMarketDataSource.failing("secondary", Duration.ZERO,
+                new IllegalStateException("mirror down"));
+        MarketDataRouter router = router(primary, secondary);
+
+        // hedge 지연(1s)을 기다리지 않고 마지막 원천의 error 그대로
+        StepVerifier.withVirtualTime(() -> router.fetchDailyTrade(BAS_DD, Market.KOSPI))
+                .expectSubscription()
+                .expectErrorMessage("mirror down")
+                .verify();
+
+        assertEquals(1, secondary.calls.get());
+    }
+
+    // =========================
+    // helper
+    // =========================
+    private MarketDataRouter router(MarketDataSource... sources) {
+        List<String> order = Arrays.stream(sources).map(MarketDataSource::id).toList();
+        KrxSourceProperties props = new KrxSourceProperties(order, false, true, 300, HEDGE.toMillis(), 16);
+        registry = new MarketDataSourceRegistry(List.of(sources), props);
+        return new MarketDataRouter(registry, props);
+    }
+}
@@ -0,0 +1,83 @@
+package top.tradesystem.krx.source;
+
+import reactor.core.publisher.Mono;
+import top.tradesystem.krx.dto.KrxIndexFamily;
+import top.tradesystem.krx.dto.Market;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * router 테스트용 원천: 정해진 지연 뒤 고정 응답(또는 error).
+ * 지연은 Mono.delay 라 StepVerifier.withVirtualTime 으로 시간을 돌릴 수 있다.
+ */
+final class StubMarketDataSource implements MarketDataSource {
+
+    private final String id;
+    private final boolean fallbackOnly;
+    private final Duration delay;
+    private final RuntimeException error;
+
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger cancels = new AtomicInteger();
+
+    private StubMarketDataSource(String id, boolean fallbackOnly, Duration delay, RuntimeException error) {
+        this.id = id;
+        this.fallbackOnly = fallbackOnly;
+        this.delay = delay;
+        this.error = error;
+    }
+
+    static StubMarketDataSource answering(String id, Duration delay) {
+        return new StubMarketDataSource(id, false, delay, null);
+    }
+
+    static StubMarketDataSource failing(String id, Duration delay, RuntimeException error) {
+        return new StubMarketDataSource(id, false, delay, error);
+    }
+
+    static StubMarketDataSource fallback(String id, Duration delay) {
+        return new StubMarketDataSource(id, true, delay, null);
+    }
+
+    /** 이 원천이 돌려주는 row (ISU_CD 에 원천 id) */
+    static List<Map<String, String>> rowsOf(String id) {
+        return List.of(Map.of("ISU_CD", id, "TDD_CLSPRC", "71000"));
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public boolean fallbackOnly() {
+        return fallbackOnly;
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchIsuBaseInfo(String basDd, Market market) {
+        return answer();
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchDailyTrade(String basDd, Market market) {
+        return answer();
+    }
+
+    @Override
+    public Mono<List<Map<String, String>>> fetchIndexDaily(String basDd, KrxIndexFamily family) {
+        return answer();
+    }
+
+    private Mono<List<Map<String, String>>> answer() {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            Mono<Long> wait = delay.isZero() ? Mono.just(0L) : Mono.delay(delay);
+            return wait.flatMap(t -> error != null ? Mono.<List<Map<String, String>>>error(error) : Mono.just(rowsOf(id)))
+                    .doOnCancel(cancels::incrementAndGet);
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package top.tradesystem.krx.covariance;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API(SIMD) 커널. jdk.incubator.vector 모듈이 런타임에 있어야 로드된다 ({@link GramKernels}).
+ * incubator 모듈 없이 main 을 컴파일하려고 별도 source set (src/vector/java) 에 둔다.
+ */
+final class VectorGramKernel implements GramKernel {
+
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector-" + S.vectorBitSize();
+    }
+
+    @Override
+    public void dot4(double[] x, int a, int b0, int b1, int b2, int b3, int len, double[] out) {
+        DoubleVector acc0 = DoubleVector.zero(S);
+        DoubleVector acc1 = DoubleVector.zero(S);
+        DoubleVector acc2 = DoubleVector.zero(S);
+        DoubleVector acc3 = DoubleVector.zero(S);
+        int upper = S.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += S.length()) {
+            DoubleVector va = DoubleVector.fromArray(S, x, a + k);
+            acc0 = va.fma(DoubleVector.fromArray(S, x, b0 + k), acc0);
+            acc1 = va.fma(DoubleVector.fromArray(S, x, b1 + k), acc1);
+            acc2 = va.fma(DoubleVector.fromArray(S, x, b2 + k), acc2);
+            acc3 = va.fma(DoubleVector.fromArray(S, x, b3 + k), acc3);
+        }
+        double s0 = acc0.reduceLanes(VectorOperators.ADD);
+        double s1 = acc1.reduceLanes(VectorOperators.ADD);
+        double s2 = acc2.reduceLanes(VectorOperators.ADD);
+        double s3 = acc3.reduceLanes(VectorOperators.ADD);
+        for (; k < len; k++) {
+            double v = x[a + k];
+            s0 += v * x[b0 + k];
+            s1 += v * x[b1 + k];
+            s2 += v * x[b2 + k];
+            s3 += v * x[b3 + k];
+        }
+        out[0] = s0;
+        out[1] = s1;
+        out[2] = s2;
+        out[3] = s3;
+    }
+
+    @Override
+    public double dot(double[] x, int a, int b, int len) {
+        DoubleVector acc = DoubleVector.zero(S);
+        int upper = S.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += S.length()) {
+            acc = DoubleVector.fromArray(S, x, a + k).fma(DoubleVector.fromArray(S, x, b + k), acc);
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < len; k++) s += x[a + k] * x[b + k];
+        return s;
+    }
+
+    @Override
+    public void rank2Row(double[] p, int off, double yi, double[] y, double zi, double[] z, int n) {
+        DoubleVector vyi = DoubleVector.broadcast(S, yi);
+        DoubleVector vzi = DoubleVector.broadcast(S, -zi);
+        int upper = S.loopBound(n);
+        int j = 0;
+        for (; j < upper; j += S.length()) {
+            DoubleVector acc = DoubleVector.fromArray(S, p, off + j);
+            acc = DoubleVector.fromArray(S, y, j).fma(vyi, acc);
+            acc = DoubleVector.fromArray(S, z, j).fma(vzi, acc);
+            acc.intoArray(p, off + j);
+        }
+        for (; j < n; j++) p[off + j] += yi * y[j] - zi * z[j];
+    }
+}